@@ -0,0 +1,174 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Inputs shared by the microbenchmarks. Everything is deterministic so runs can be compared.
+ */
+public final class BenchmarkData {
+
+    public static final Instant NOW = Instant.parse("2026-10-15T12:00:00Z");
+
+    private static final String[] CURRENCIES = {"USD", "USD", "USD", "EUR", "TRY"};
+    private static final String[] NOTES = {"Migros", "Starbucks coffee", "Shell fuel", "Rent", "Netflix",
+            "Pharmacy", "Lunch with \"the team\"", null};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Ledger entries for one family spread over the year before {@link #NOW}, mostly expenses in
+     * the family currency with some foreign ones.
+     */
+    public static List<LedgerEntry> ledgerEntries(int count, long seed) {
+        Random random = new Random(seed);
+        List<LedgerEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LedgerEntry.TransactionType type = random.nextInt(10) == 0
+                    ? LedgerEntry.TransactionType.INCOME : LedgerEntry.TransactionType.EXPENSE;
+            long minor = type == LedgerEntry.TransactionType.INCOME
+                    ? 100_000 + random.nextInt(500_000)
+                    : 100 + (long) (Math.abs(random.nextGaussian()) * 5_000);
+            Instant occurredAt = NOW.minus(random.nextInt(365 * 24 * 60), ChronoUnit.MINUTES);
+
+            LedgerEntry entry = new LedgerEntry("family-1", "member-" + random.nextInt(4), type,
+                    new LedgerEntry.MoneyAmount(minor, CURRENCIES[random.nextInt(CURRENCIES.length)]),
+                    "category-" + random.nextInt(12), occurredAt);
+            entry.setId("entry-" + i);
+            entry.setNotes(NOTES[random.nextInt(NOTES.length)]);
+            entry.setCreatedAt(occurredAt);
+            entry.setUpdatedAt(occurredAt);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * The first page of a ledger listing with {@code rows} entries, shaped like the rows read from
+     * {@code ledger_view}.
+     */
+    public static Page<LedgerEntryResponse> ledgerPage(int rows, long seed) {
+        List<LedgerEntryResponse> content = new ArrayList<>(rows);
+        for (LedgerEntry entry : ledgerEntries(rows, seed)) {
+            LedgerEntryResponse response = new LedgerEntryResponse();
+            response.setId(entry.getId());
+            response.setMemberId(entry.getMemberId());
+            response.setMemberName(entry.getMemberId() + "@example.com");
+            response.setType(entry.getType());
+            response.setAmountMinor(entry.getAmount().getMinor());
+            response.setCurrency(entry.getAmount().getCurrency());
+            response.setCategoryId(entry.getCategoryId());
+            response.setCategoryName("Category " + entry.getCategoryId());
+            response.setCategoryIcon("\uD83D\uDED2");
+            response.setCategoryColor("#4CAF50");
+            response.setOccurredAt(entry.getOccurredAt());
+            response.setNotes(entry.getNotes());
+            response.setAttachments(List.of());
+            response.setCreatedAt(entry.getCreatedAt());
+            response.setUpdatedAt(entry.getUpdatedAt());
+            content.add(response);
+        }
+        // Listings are newest first
+        content.sort(Comparator.comparing(LedgerEntryResponse::getOccurredAt).reversed());
+        return new PageImpl<>(content, PageRequest.of(0, rows), rows * 10L);
+    }
+
+    /**
+     * Size of {@code payload} after gzip at the default level.
+     */
+    public static int gzippedSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+
+    /**
+     * Golden receipt texts from the backend test resources.
+     */
+    public static List<String> receiptCorpus() throws IOException {
+        try (Resources directory = Resources.open("/receipts/golden");
+             Stream<Path> files = Files.list(directory.path)) {
+            List<String> corpus = new ArrayList<>();
+            for (Path path : files.filter(path -> path.toString().endsWith(".txt")).sorted().toList()) {
+                corpus.add(Files.readString(path, StandardCharsets.UTF_8));
+            }
+            return corpus;
+        }
+    }
+
+    /**
+     * Utterances from the labeled voice corpus in the backend test resources.
+     */
+    public static List<String> voiceCorpus() throws IOException {
+        List<String> utterances = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                BenchmarkData.class.getResourceAsStream("/voice/corpus.tsv"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    utterances.add(line.split("\t")[1]);
+                }
+            }
+        }
+        return utterances;
+    }
+
+    // A classpath directory that may live inside benchmarks.jar
+    private static final class Resources implements AutoCloseable {
+        private final Path path;
+        private final FileSystem fileSystem;
+
+        private Resources(Path path, FileSystem fileSystem) {
+            this.path = path;
+            this.fileSystem = fileSystem;
+        }
+
+        static Resources open(String name) throws IOException {
+            try {
+                URI uri = BenchmarkData.class.getResource(name).toURI();
+                if ("jar".equals(uri.getScheme())) {
+                    FileSystem fileSystem = FileSystems.newFileSystem(uri, Map.of());
+                    return new Resources(fileSystem.getPath(name), fileSystem);
+                }
+                return new Resources(Paths.get(uri), null);
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid resource " + name, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileSystem != null) {
+                fileSystem.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.security.JwtAuthenticationFilter;
+import com.expensetracker.security.JwtTokenProvider;
+import com.expensetracker.service.TokenBlacklistService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Authenticates one request with a valid bearer token, the work done in front of every API call.
+ * The blacklist lookup is stubbed so only token parsing and the security context are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJwtSigningThatIsLongEnoughForHs256";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletResponse response;
+    private String authorization;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toMillis(30));
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class, withSettings().stubOnly());
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+
+        filter = new JwtAuthenticationFilter(tokenProvider, new TokenBlacklistService(redisTemplate), Set.of());
+        response = new MockHttpServletResponse();
+        authorization = "Bearer " + tokenProvider.generateAccessToken("user-1", "user@example.com");
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/ledger");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
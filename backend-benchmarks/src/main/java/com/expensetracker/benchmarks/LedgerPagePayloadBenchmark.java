@@ -0,0 +1,103 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.json.LedgerPageWriter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ledger page as the API serves it: JSON with ISO instants, and CBOR with the compact layout
+ * (short names, delta-encoded instants). Encoding writes into a reused buffer; decoding reads the
+ * payload into a tree, as a client without generated bindings would. Payload sizes are printed
+ * once per trial, raw and gzipped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerPagePayloadBenchmark {
+
+    @Param({"20", "100", "500"})
+    private int rows;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final ObjectMapper jsonMapper = new ObjectMapper(jsonFactory);
+    private final ObjectMapper cborMapper = new CBORMapper(cborFactory);
+    private final LedgerPageWriter jsonWriter =
+            new LedgerPageWriter(LedgerPageWriter.fields(""), LedgerPageWriter.Timestamps.ISO);
+    private final LedgerPageWriter cborWriter = LedgerPageWriter.compact(LedgerPageWriter.fields(""));
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 * 1024);
+
+    private Page<LedgerEntryResponse> page;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        page = BenchmarkData.ledgerPage(rows, 42);
+        json = encode(jsonFactory.createGenerator(buffer, JsonEncoding.UTF8), jsonWriter);
+        cbor = encode(cborFactory.createGenerator(buffer), cborWriter);
+        System.out.printf("%n%d rows: JSON %d bytes (%d gzipped), CBOR %d bytes (%d gzipped)%n", rows,
+                json.length, BenchmarkData.gzippedSize(json), cbor.length, BenchmarkData.gzippedSize(cbor));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return encode(jsonFactory.createGenerator(buffer, JsonEncoding.UTF8), jsonWriter);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return encode(cborFactory.createGenerator(buffer), cborWriter);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return jsonMapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode decodeCbor() throws IOException {
+        return cborMapper.readTree(cbor);
+    }
+
+    private byte[] encode(JsonGenerator generator, LedgerPageWriter writer) throws IOException {
+        buffer.reset();
+        try (generator) {
+            writer.write(page, generator);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LedgerPagePayloadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.json.LedgerPageWriter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the ledger listing written as JSON, by the Jackson mapper Spring Boot configures and
+ * by {@link LedgerPageWriter} with ISO and epoch-millisecond timestamps. Output goes to a null
+ * stream, so only serialization is measured. Run with the GC profiler (as {@link #main} does) and
+ * divide {@code gc.alloc.rate.norm} by {@code rows} for the bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerPageSerializationBenchmark {
+
+    @Param({"20", "100", "500"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private LedgerPageWriter isoWriter;
+    private LedgerPageWriter epochMillisWriter;
+    private Page<LedgerEntryResponse> page;
+    // Left open like the response stream the converters write to
+    private final OutputStream out = StreamUtils.nonClosing(OutputStream.nullOutputStream());
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        isoWriter = new LedgerPageWriter(LedgerPageWriter.fields(""), LedgerPageWriter.Timestamps.ISO);
+        epochMillisWriter = new LedgerPageWriter(LedgerPageWriter.fields(""), LedgerPageWriter.Timestamps.EPOCH_MILLIS);
+
+        page = BenchmarkData.ledgerPage(rows, 42);
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        objectMapper.writeValue(out, page);
+    }
+
+    @Benchmark
+    public void writerIso() throws IOException {
+        write(isoWriter);
+    }
+
+    @Benchmark
+    public void writerEpochMillis() throws IOException {
+        write(epochMillisWriter);
+    }
+
+    private void write(LedgerPageWriter writer) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            writer.write(page, generator);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LedgerPageSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.parser.ReceiptTextParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the whole golden receipt corpus per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiptTextParserBenchmark {
+
+    private ReceiptTextParser parser;
+    private List<String> corpus;
+
+    @Setup
+    public void setUp() throws IOException {
+        parser = new ReceiptTextParser();
+        corpus = BenchmarkData.receiptCorpus();
+    }
+
+    @Benchmark
+    public void parseCorpus(Blackhole blackhole) {
+        for (String text : corpus) {
+            blackhole.consume(parser.parse(text));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ReceiptTextParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
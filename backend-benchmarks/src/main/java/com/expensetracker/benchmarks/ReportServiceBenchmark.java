@@ -0,0 +1,92 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.domain.Family;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.reports.ExportResponse;
+import com.expensetracker.dto.reports.ReportSummaryDTO;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRates;
+import com.expensetracker.mongo.AnalyticsReads;
+import com.expensetracker.repository.FamilyRepository;
+import com.expensetracker.service.ReportService;
+import com.expensetracker.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Report aggregation and CSV export over a year of one family's entries. Repositories return a
+ * prebuilt list, so this measures the service work on top of the Mongo query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2025, 10, 15);
+    private static final LocalDate END = LocalDate.of(2026, 10, 15);
+
+    @Param({"1000", "10000", "100000"})
+    private int entries;
+
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() {
+        List<LedgerEntry> ledger = BenchmarkData.ledgerEntries(entries, 42);
+
+        // Stub-only mocks do not record invocations, so they stay flat over millions of calls
+        AnalyticsReads analyticsReads = mock(AnalyticsReads.class, withSettings().stubOnly());
+        when(analyticsReads.find(any(), any(), any(), eq(LedgerEntry.class))).thenReturn(ledger);
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        when(userService.getCurrentUserFamilyId("user-1")).thenReturn("family-1");
+        FamilyRepository familyRepository = mock(FamilyRepository.class, withSettings().stubOnly());
+        when(familyRepository.findById("family-1")).thenReturn(Optional.of(new Family("Family", "USD")));
+
+        FxRateService fxRateService = new FxRateService(() -> new FxRates("USD", BenchmarkData.NOW,
+                Map.of("EUR", new BigDecimal("0.92"), "TRY", new BigDecimal("34.10"))), familyRepository, "USD");
+        reportService = new ReportService(analyticsReads, userService, fxRateService);
+    }
+
+    @Benchmark
+    public ReportSummaryDTO generateReport() {
+        return reportService.generateReport("user-1", START, END);
+    }
+
+    @Benchmark
+    public ExportResponse exportCsv() {
+        return reportService.exportData("user-1", START, END, "CSV");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ReportServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.expensetracker.benchmarks;
+
+import com.expensetracker.parser.VoiceExpenseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the labeled voice corpus one utterance at a time and as a single batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoiceExpenseParserBenchmark {
+
+    private static final Instant NOW = Instant.parse("2026-10-15T12:00:00Z");
+
+    private VoiceExpenseParser parser;
+    private List<String> corpus;
+
+    @Setup
+    public void setUp() throws IOException {
+        parser = new VoiceExpenseParser();
+        corpus = BenchmarkData.voiceCorpus();
+    }
+
+    @Benchmark
+    public void parseEach(Blackhole blackhole) {
+        for (String utterance : corpus) {
+            blackhole.consume(parser.parse(utterance, "USD", null, NOW));
+        }
+    }
+
+    @Benchmark
+    public void parseBatch(Blackhole blackhole) {
+        blackhole.consume(parser.parseAll(corpus, "USD", null, NOW));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(VoiceExpenseParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.expensetracker.benchmarks.load;
+
+import com.expensetracker.datagen.GeneratedFamily;
+import com.expensetracker.datagen.SyntheticDataGenerator;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.repository.NotificationRepository;
+import com.expensetracker.security.JwtTokenProvider;
+import com.expensetracker.security.PasswordEncoder;
+import com.expensetracker.view.LedgerViewProjector;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a year of history per family with the backend's {@link SyntheticDataGenerator}, adds
+ * unread notifications and mints an access token for each family admin.
+ */
+public class FamilySeeder {
+
+    private final MongoTemplate mongoTemplate;
+    private final FxRateService fxRateService;
+    private final NotificationRepository notificationRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final LedgerViewProjector ledgerViewProjector;
+
+    public FamilySeeder(ApplicationContext context) {
+        this.mongoTemplate = context.getBean(MongoTemplate.class);
+        this.fxRateService = context.getBean(FxRateService.class);
+        this.notificationRepository = context.getBean(NotificationRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        this.ledgerViewProjector = context.getBean(LedgerViewProjector.class);
+    }
+
+    /**
+     * @param medianEntries ledger entries of the median family, the largest hold many times more
+     */
+    public List<SeededFamily> seed(int families, int medianEntries, String password, long seed) {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(mongoTemplate, fxRateService,
+                1, Math.max(1, medianEntries / 12));
+        List<GeneratedFamily> generated = ledgerViewProjector.bulkLoad(() -> generator.generate(families, seed,
+                LocalDate.now(), passwordEncoder.encode(password)));
+
+        List<SeededFamily> seeded = new ArrayList<>(generated.size());
+        for (GeneratedFamily family : generated) {
+            String adminId = family.getMemberIds().get(0);
+            String adminEmail = family.getMemberEmails().get(0);
+            List<Notification> notifications = new ArrayList<>();
+            for (int n = 0; n < 5; n++) {
+                notifications.add(new Notification(adminId, family.getFamilyId(),
+                        Notification.NotificationType.BUDGET_ALERT, "Budget alert", "Monthly budget is at " + (80 + n) + "%"));
+            }
+            notificationRepository.saveAll(notifications);
+
+            seeded.add(new SeededFamily(adminId, adminEmail, jwtTokenProvider.generateAccessToken(adminId, adminEmail),
+                    family.getFamilyId(), family.getCategoryIds(), family.getBudgetIds().get(0),
+                    family.getFirstLedgerEntryId()));
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,33 @@
+package com.expensetracker.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+
+/**
+ * Measured outcome of one scenario. Latencies are recorded in microseconds.
+ */
+public record LoadResult(LoadScenario scenario, long requests, long errors, double seconds, Histogram latencies) {
+
+    public static final String CSV_HEADER = "controller,endpoint,requests,errors,requests_per_sec,p50_ms,p90_ms,p99_ms,max_ms";
+
+    public double throughput() {
+        return requests / seconds;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String toCsvLine() {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                scenario.controller(), scenario.name(), requests, errors, throughput(),
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), latencies.getMaxValue() / 1000.0);
+    }
+
+    public String toTableLine() {
+        return String.format(Locale.ROOT, "%-24s %-32s %9d %7d %10.1f %9.2f %9.2f",
+                scenario.controller(), scenario.name(), requests, errors, throughput(),
+                percentileMillis(50), percentileMillis(99));
+    }
+}
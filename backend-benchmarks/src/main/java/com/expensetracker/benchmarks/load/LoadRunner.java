@@ -0,0 +1,85 @@
+package com.expensetracker.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: a fixed number of workers each send a request, wait for the
+ * response and send the next, spreading requests across the seeded families.
+ */
+public class LoadRunner {
+
+    // Anything slower than a minute is recorded as a minute
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+    private final List<SeededFamily> families;
+    private final int concurrency;
+
+    public LoadRunner(List<SeededFamily> families, int concurrency) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.families = families;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Runs the scenario for the warmup period without recording, then for the measured period.
+     */
+    public LoadResult run(LoadScenario scenario, Duration warmup, Duration duration) throws InterruptedException {
+        drive(scenario, warmup);
+        return drive(scenario, duration);
+    }
+
+    private LoadResult drive(LoadScenario scenario, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Histogram> histograms = new ArrayList<>(concurrency);
+        List<Thread> workers = new ArrayList<>(concurrency);
+
+        long started = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            // One histogram per worker, merged afterwards, so recording never contends
+            Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+            histograms.add(histogram);
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    int i = (int) sequence.getAndIncrement();
+                    HttpRequest request = scenario.request().apply(families.get(i % families.size()), i);
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    histogram.recordValue(Math.min(MAX_LATENCY_MICROS,
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent)));
+                }
+            }, "load-" + w);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Histogram merged = new Histogram(MAX_LATENCY_MICROS, 3);
+        histograms.forEach(merged::add);
+        return new LoadResult(scenario, merged.getTotalCount(), errors.get(), seconds, merged);
+    }
+}
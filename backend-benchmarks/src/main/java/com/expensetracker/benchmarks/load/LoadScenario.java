@@ -0,0 +1,73 @@
+package com.expensetracker.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * One request shape fired at one controller.
+ */
+public record LoadScenario(String controller, String name, BiFunction<SeededFamily, Integer, HttpRequest> request) {
+
+    /**
+     * A representative request for every controller. Receipt OCR needs the native Tesseract
+     * libraries, so the receipt controller is exercised through its listing instead.
+     */
+    public static List<LoadScenario> forEveryController(URI api, String password, LocalDate today) {
+        LocalDate yearAgo = today.minusYears(1);
+        return List.of(
+                new LoadScenario("AuthController", "POST /auth/login", (family, i) -> post(api, "/auth/login", null,
+                        "{\"email\":\"" + family.email() + "\",\"password\":\"" + password + "\"}")),
+                new LoadScenario("UserController", "GET /user/current-family",
+                        (family, i) -> get(api, "/user/current-family", family)),
+                new LoadScenario("FamilyController", "GET /families/{id}",
+                        (family, i) -> get(api, "/families/" + family.familyId(), family)),
+                new LoadScenario("CategoryController", "GET /categories",
+                        (family, i) -> get(api, "/categories", family)),
+                new LoadScenario("LedgerController", "GET /ledger",
+                        (family, i) -> get(api, "/ledger?page=" + (i % 5) + "&size=20", family)),
+                new LoadScenario("LedgerController", "POST /ledger", (family, i) -> post(api, "/ledger", family,
+                        "{\"memberId\":\"" + family.userId() + "\",\"type\":\"EXPENSE\",\"amountMinor\":" + (100 + i % 5000)
+                                + ",\"currency\":\"USD\",\"categoryId\":\"" + family.categoryIds().get(i % family.categoryIds().size())
+                                + "\",\"occurredAt\":\"" + today + "T12:00:00Z\",\"notes\":\"Load test " + i + "\"}")),
+                new LoadScenario("BudgetController", "GET /budgets/{id}/status",
+                        (family, i) -> get(api, "/budgets/" + family.budgetId() + "/status", family)),
+                new LoadScenario("RecurringController", "GET /recurring",
+                        (family, i) -> get(api, "/recurring", family)),
+                new LoadScenario("ReportController", "GET /reports/summary",
+                        (family, i) -> get(api, "/reports/summary?startDate=" + yearAgo + "&endDate=" + today, family)),
+                new LoadScenario("ReportController", "GET /reports/export",
+                        (family, i) -> get(api, "/reports/export?startDate=" + yearAgo + "&endDate=" + today, family)),
+                new LoadScenario("NotificationController", "GET /notifications/unread/count",
+                        (family, i) -> get(api, "/notifications/unread/count", family)),
+                new LoadScenario("VoiceExpenseController", "POST /voice/process", (family, i) -> post(api, "/voice/process", family,
+                        "{\"spokenText\":\"I spent " + (5 + i % 50) + " dollars on coffee at Starbucks\"}")),
+                new LoadScenario("ReceiptController", "GET /receipts",
+                        (family, i) -> get(api, "/receipts", family)),
+                new LoadScenario("FileController", "GET /files/ledger/{id}",
+                        (family, i) -> get(api, "/files/ledger/" + family.ledgerEntryId(), family)),
+                new LoadScenario("HealthController", "GET /health/live",
+                        (family, i) -> get(api, "/health/live", null)));
+    }
+
+    private static HttpRequest get(URI api, String path, SeededFamily family) {
+        return builder(api, path, family).GET().build();
+    }
+
+    private static HttpRequest post(URI api, String path, SeededFamily family, String json) {
+        return builder(api, path, family)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest.Builder builder(URI api, String path, SeededFamily family) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(api + path));
+        if (family != null) {
+            builder.header("Authorization", "Bearer " + family.accessToken());
+        }
+        return builder;
+    }
+}
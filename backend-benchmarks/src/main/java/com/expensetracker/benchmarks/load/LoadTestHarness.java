@@ -0,0 +1,95 @@
+package com.expensetracker.benchmarks.load;
+
+import com.expensetracker.ExpenseTrackerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-to-end load test. Starts MongoDB and Redis in containers, boots the backend against them
+ * on a random port, seeds families and drives every controller in turn, printing throughput and
+ * latency percentiles per endpoint and writing them to a CSV file.
+ *
+ * <p>Settings are system properties: {@code load.families}, {@code load.entries-per-family}
+ * (median, the distribution is heavy tailed), {@code load.concurrency}, {@code load.warmup},
+ * {@code load.duration} (ISO-8601 durations), {@code load.seed} and {@code load.output}.
+ * Requires Docker.
+ */
+public class LoadTestHarness {
+
+    private static final String PASSWORD = "loadtest123";
+
+    public static void main(String[] args) throws Exception {
+        int families = Integer.getInteger("load.families", 20);
+        int entriesPerFamily = Integer.getInteger("load.entries-per-family", 5000);
+        int concurrency = Integer.getInteger("load.concurrency", 32);
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        long seed = Long.getLong("load.seed", 42L);
+        Path output = Path.of(System.getProperty("load.output", "target/load-test-results.csv"));
+
+        try (MongoDBContainer mongo = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+             GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                     .withExposedPorts(6379)) {
+            mongo.start();
+            redis.start();
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.data.mongodb.uri=" + mongo.getReplicaSetUrl("expense-tracker"),
+                            "spring.data.redis.host=" + redis.getHost(),
+                            "spring.data.redis.port=" + redis.getMappedPort(6379),
+                            // Tokens are minted once up front and must outlive the run
+                            "app.jwt.access-token-expiration=86400000",
+                            // Measure the handlers, not the limiter
+                            "app.rate-limit.auth.requests-per-minute=100000000",
+                            "app.rate-limit.export.requests-per-hour=100000000",
+                            "app.rate-limit.ocr.requests-per-minute=100000000",
+                            "app.security.argon2.calibrate=false",
+                            "logging.level.root=WARN",
+                            "logging.level.com.expensetracker=WARN")
+                    .run()) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                URI api = URI.create("http://localhost:" + port + "/api/v1");
+
+                List<SeededFamily> seeded = new FamilySeeder(context).seed(families, entriesPerFamily, PASSWORD, seed);
+                LoadRunner runner = new LoadRunner(seeded, concurrency);
+
+                System.out.printf("%-24s %-32s %9s %7s %10s %9s %9s%n",
+                        "Controller", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms");
+                List<LoadResult> results = new ArrayList<>();
+                for (LoadScenario scenario : LoadScenario.forEveryController(api, PASSWORD, LocalDate.now())) {
+                    LoadResult result = runner.run(scenario, warmup, duration);
+                    System.out.println(result.toTableLine());
+                    results.add(result);
+                }
+                write(results, output);
+                System.out.println("Results written to " + output.toAbsolutePath());
+            }
+        }
+    }
+
+    private static void write(List<LoadResult> results, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            writer.println(LoadResult.CSV_HEADER);
+            results.forEach(result -> writer.println(result.toCsvLine()));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.expensetracker.benchmarks.load;
+
+import java.util.List;
+
+/**
+ * One seeded family as seen by its admin user, with the ids the load scenarios address.
+ */
+public record SeededFamily(String userId, String email, String accessToken, String familyId,
+                           List<String> categoryIds, String budgetId, String ledgerEntryId) {
+}
@@ -0,0 +1,71 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.RecurringRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the next run of a batch of recurring rules, the per-rule work of
+ * {@link RecurringService#processRecurringRules()}. Lives in the service package to reach the
+ * package-private calculation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    private static final String[] TIMEZONES = {"UTC", "Europe/Istanbul", "America/New_York", "Asia/Tokyo"};
+    private static final int RULES = 1000;
+
+    private List<RecurringRule> rules;
+
+    @Setup
+    public void setUp() {
+        RecurringRule.Frequency.FrequencyUnit[] units = RecurringRule.Frequency.FrequencyUnit.values();
+        rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            RecurringRule.Frequency frequency = new RecurringRule.Frequency();
+            frequency.setUnit(units[i % units.length]);
+            frequency.setInterval(1 + i % 3);
+
+            RecurringRule rule = new RecurringRule();
+            rule.setFrequency(frequency);
+            rule.setTimezone(TIMEZONES[i % TIMEZONES.length]);
+            // Half the rules started in the past, half start in the future
+            rule.setStartDate(LocalDate.of(2026, 1, 1).plusDays(i % 730));
+            rules.add(rule);
+        }
+    }
+
+    @Benchmark
+    public void calculateNextRuns(Blackhole blackhole) {
+        for (RecurringRule rule : rules) {
+            blackhole.consume(RecurringService.calculateNextRun(rule));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RecurrenceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
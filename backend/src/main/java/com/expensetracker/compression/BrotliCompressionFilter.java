@@ -0,0 +1,122 @@
+package com.expensetracker.compression;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Brotli-encodes responses for clients that accept {@code br}. Tomcat gzips for everyone else
+ * under the same {@code server.compression} MIME types and size threshold, and leaves responses
+ * this filter encoded alone.
+ * <p>
+ * A response is held back until it reaches the threshold, so small responses go out as they are
+ * with their length. Once a request has gone async, as streamed exports and NDJSON listings do,
+ * each flush is passed on: the encoding is settled at the first one and every flush emits a
+ * Brotli block, so rows reach the client as they are produced. The stream is finished on the
+ * async dispatch that ends the request. Server-sent events are not in the MIME list and stream
+ * untouched.
+ */
+public class BrotliCompressionFilter extends OncePerRequestFilter {
+
+    private static final String RESPONSE_ATTRIBUTE = BrotliCompressionFilter.class.getName() + ".response";
+
+    private final Encoder.Parameters parameters;
+    private final int minResponseSize;
+    private final List<MimeType> mimeTypes;
+
+    public BrotliCompressionFilter(int quality, int minResponseSize, String[] mimeTypes) {
+        this.parameters = new Encoder.Parameters().setQuality(quality);
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = Arrays.stream(mimeTypes).map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // The last dispatch of an async request finishes its stream
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod()) || !acceptsBrotli(request.getHeader("Accept-Encoding"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BrotliResponse brotliResponse = (BrotliResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+        if (brotliResponse == null) {
+            brotliResponse = new BrotliResponse(response, request, this);
+            request.setAttribute(RESPONSE_ATTRIBUTE, brotliResponse);
+            filterChain.doFilter(request, brotliResponse);
+        } else {
+            // Async dispatch, the response passed down is already wrapped
+            filterChain.doFilter(request, response);
+        }
+        if (!request.isAsyncStarted()) {
+            brotliResponse.finish();
+        }
+    }
+
+    Encoder.Parameters parameters() {
+        return parameters;
+    }
+
+    int minResponseSize() {
+        return minResponseSize;
+    }
+
+    boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+            return mimeTypes.stream().anyMatch(listed -> listed.includes(mimeType));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header lists {@code br} without ruling it out by
+     * {@code q=0}.
+     */
+    static boolean acceptsBrotli(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("br")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && !positive(parameter.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean positive(String weight) {
+        try {
+            return Double.parseDouble(weight) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
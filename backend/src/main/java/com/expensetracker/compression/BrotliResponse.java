@@ -0,0 +1,275 @@
+package com.expensetracker.compression;
+
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * The response seen below {@link BrotliCompressionFilter}. Output is buffered until the encoding
+ * is settled, then goes to a Brotli stream or straight to the container. Lengths set by the
+ * application are held back, since they describe the body before encoding.
+ * <p>
+ * A write listener hands the stream to the container's non-blocking output. Set before the body
+ * goes out, as async handlers do, it settles the response unencoded; a body already being
+ * compressed keeps its encoder, which writes to the container as its window fills.
+ */
+final class BrotliResponse extends HttpServletResponseWrapper {
+
+    private enum State { BUFFERING, BROTLI, IDENTITY }
+
+    private final HttpServletRequest request;
+    private final BrotliCompressionFilter filter;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private State state = State.BUFFERING;
+    private ServletOutputStream container;
+    private OutputStream target;
+    private long declaredLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean finished;
+    private boolean nonBlocking;
+
+    BrotliResponse(HttpServletResponse response, HttpServletRequest request, BrotliCompressionFilter filter) {
+        super(response);
+        this.request = request;
+        this.filter = filter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        declaredLength = length;
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        declaredLength = length;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            declaredLength = value != null ? Long.parseLong(value) : -1;
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            declaredLength = Long.parseLong(value);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            declaredLength = value;
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            declaredLength = value;
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (flush()) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (state == State.BUFFERING) {
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (state == State.BUFFERING) {
+            buffer.reset();
+            declaredLength = -1;
+        }
+    }
+
+    /**
+     * Sends what is still buffered and ends the Brotli stream. Called once the request is over.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        finished = true;
+        if (nonBlocking && state == State.IDENTITY) {
+            // The listener's writes went straight to the container, which completes them
+            return;
+        }
+        if (state == State.BUFFERING) {
+            // Below the threshold: sent as is, and with its length Tomcat will not gzip it either
+            declaredLength = buffer.size();
+            settle(false);
+        }
+        if (state == State.BROTLI) {
+            target.close();
+        } else {
+            target.flush();
+        }
+    }
+
+    private ServletOutputStream stream() {
+        if (outputStream == null) {
+            outputStream = new EncodingOutputStream();
+        }
+        return outputStream;
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (state == State.BUFFERING) {
+            if (buffer.size() + length < filter.minResponseSize()) {
+                buffer.write(bytes, offset, length);
+                return;
+            }
+            settle(compressible());
+        }
+        target.write(bytes, offset, length);
+    }
+
+    // Whether the flush went through to the container
+    private boolean flush() throws IOException {
+        if (state == State.BUFFERING) {
+            if (!request.isAsyncStarted()) {
+                // Converters flush when done; the body is sent when the filter finishes
+                return false;
+            }
+            settle(compressible());
+        }
+        target.flush();
+        // The Brotli stream writes through a channel and does not flush what it wraps
+        container.flush();
+        return true;
+    }
+
+    private void setWriteListener(WriteListener writeListener) {
+        if (state == State.BUFFERING) {
+            try {
+                settle(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        nonBlocking = true;
+        container.setWriteListener(writeListener);
+    }
+
+    private boolean compressible() {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        return !response.isCommitted()
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && response.getHeader(HttpHeaders.CONTENT_RANGE) == null
+                && filter.compressible(response.getContentType());
+    }
+
+    private void settle(boolean compress) throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (compress) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            container = response.getOutputStream();
+            target = new BrotliOutputStream(StreamUtils.nonClosing(container), filter.parameters());
+            state = State.BROTLI;
+        } else {
+            if (declaredLength >= 0 && !response.isCommitted()) {
+                response.setContentLengthLong(declaredLength);
+            }
+            container = response.getOutputStream();
+            target = container;
+            state = State.IDENTITY;
+        }
+        buffer.writeTo(target);
+        buffer = null;
+    }
+
+    private final class EncodingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            BrotliResponse.this.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            BrotliResponse.this.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            // Blocking writes always are; non-blocking ones when the container can take more
+            return !nonBlocking || container.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            BrotliResponse.this.setWriteListener(writeListener);
+        }
+    }
+}
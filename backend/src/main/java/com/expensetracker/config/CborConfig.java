@@ -0,0 +1,22 @@
+package com.expensetracker.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR for clients that send {@code Accept: application/cbor}, such as the mobile apps on metered
+ * networks. Bodies get the same Jackson settings as JSON ({@code spring.jackson.*}), and this
+ * converter takes the place of the default CBOR one Spring MVC would add without them. Ledger pages
+ * have their own compact layout, see {@code LedgerPageMessageConverter}.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
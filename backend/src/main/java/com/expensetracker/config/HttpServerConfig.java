@@ -0,0 +1,68 @@
+package com.expensetracker.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.expensetracker.compression.BrotliCompressionFilter;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Response compression and connection reuse. Tomcat gzips under {@code server.compression.*}, on
+ * HTTP/1.1 and HTTP/2 alike; {@link BrotliCompressionFilter} answers clients that accept
+ * {@code br} first, under the same MIME types and threshold. HTTP/2 streams get the keep-alive
+ * configured for HTTP/1.1 connections.
+ */
+@Configuration
+public class HttpServerConfig {
+
+    @Bean
+    public FilterRegistrationBean<BrotliCompressionFilter> brotliCompressionFilter(
+            ServerProperties serverProperties,
+            @Value("${app.compression.brotli.enabled:true}") boolean brotliEnabled,
+            @Value("${app.compression.brotli.quality:5}") int quality) {
+        Compression compression = serverProperties.getCompression();
+        FilterRegistrationBean<BrotliCompressionFilter> registration = new FilterRegistrationBean<>(
+                new BrotliCompressionFilter(quality, (int) compression.getMinResponseSize().toBytes(),
+                        compression.getMimeTypes()));
+        // Ahead of security and rate limiting, so their error responses are encoded too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(compression.getEnabled() && brotliEnabled && brotliAvailable());
+        return registration;
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2KeepAlive(
+            ServerProperties serverProperties,
+            @Value("${app.http2.max-concurrent-streams:100}") int maxConcurrentStreams) {
+        Duration keepAliveTimeout = serverProperties.getTomcat().getKeepAliveTimeout();
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    if (keepAliveTimeout != null) {
+                        http2.setKeepAliveTimeout(keepAliveTimeout.toMillis());
+                    }
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                }
+            }
+        });
+    }
+
+    private static boolean brotliAvailable() {
+        if (Brotli4jLoader.isAvailable()) {
+            return true;
+        }
+        System.err.println("Brotli unavailable, responses are gzipped only: "
+                + Brotli4jLoader.getUnavailabilityCause().getMessage());
+        return false;
+    }
+}
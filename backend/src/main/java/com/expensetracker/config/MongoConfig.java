@@ -0,0 +1,22 @@
+package com.expensetracker.config;
+
+import com.expensetracker.mongo.CausalTokenTracker;
+import com.expensetracker.mongo.SlowQueryRecorder;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoConfig {
+
+    // Applies to the blocking and the reactive client alike
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryListener(SlowQueryRecorder slowQueryRecorder) {
+        return settings -> settings.addCommandListener(slowQueryRecorder);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer causalTokenListener(CausalTokenTracker causalTokenTracker) {
+        return settings -> settings.addCommandListener(causalTokenTracker);
+    }
+}
@@ -0,0 +1,34 @@
+package com.expensetracker.config;
+
+import com.expensetracker.controller.ReactiveReadHandler;
+import com.expensetracker.service.ReactiveReadService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Reactive read routes under {@code /api/v1/reactive}, next to the annotated MVC controllers.
+ * Handlers return Mongo publishers which Spring MVC drains asynchronously, so no request thread
+ * is held while a query runs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveRoutesConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveReadService reactiveReadService,
+                                                             ObjectMapper objectMapper) {
+        ReactiveReadHandler handler = new ReactiveReadHandler(reactiveReadService, objectMapper);
+        return RouterFunctions.route()
+                .path("/api/v1/reactive", routes -> routes
+                        .GET("/ledger", handler::getEntries)
+                        .GET("/ledger/recent", handler::getRecentEntries)
+                        .GET("/reports/summary", handler::generateReport)
+                        .GET("/reports/export", handler::exportData))
+                .build();
+    }
+}
@@ -2,9 +2,13 @@ package com.expensetracker.config;
 
 import com.expensetracker.security.JwtAuthenticationFilter;
 import com.expensetracker.security.JwtTokenProvider;
+import com.expensetracker.security.RateLimitFilter;
+import com.expensetracker.service.RateLimitService;
 import com.expensetracker.service.TokenBlacklistService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -15,7 +19,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import java.util.Arrays;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
@@ -24,10 +30,16 @@ public class SecurityConfig {
 
     private final JwtTokenProvider tokenProvider;
     private final TokenBlacklistService tokenBlacklistService;
+    private final RateLimitService rateLimitService;
+    private final Set<String> operatorIds;
 
-    public SecurityConfig(JwtTokenProvider tokenProvider, TokenBlacklistService tokenBlacklistService) {
+    public SecurityConfig(JwtTokenProvider tokenProvider, TokenBlacklistService tokenBlacklistService,
+                          RateLimitService rateLimitService,
+                          @Value("${app.security.operators:}") Set<String> operatorIds) {
         this.tokenProvider = tokenProvider;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.rateLimitService = rateLimitService;
+        this.operatorIds = operatorIds;
     }
 
     @Bean
@@ -36,12 +48,21 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches finish a request that was already authorized (reactive routes)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
+                // Load balancer and orchestrator probes carry no token
+                .requestMatchers(HttpMethod.GET, "/api/v1/health/live", "/api/v1/health/ready").permitAll()
+                // Actuator is read-only for anyone; its write operations are for operators: resetting
+                // the slow query recorder, and restoring archives, which reaches any family's documents
+                .requestMatchers(HttpMethod.DELETE, "/actuator/slowqueries").hasRole(JwtAuthenticationFilter.OPERATOR_ROLE)
+                .requestMatchers(HttpMethod.POST, "/actuator/archive").hasRole(JwtAuthenticationFilter.OPERATOR_ROLE)
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(new JwtAuthenticationFilter(tokenProvider, tokenBlacklistService), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(tokenProvider, tokenBlacklistService, operatorIds), UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimitService), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,50 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.events.FamilyEventHub;
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.service.NotificationService;
+import com.expensetracker.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@Tag(name = "Events", description = "Server-sent events for ledger and notification changes")
+public class EventController {
+
+    private final FamilyEventHub familyEventHub;
+    private final UserService userService;
+    private final NotificationService notificationService;
+
+    public EventController(FamilyEventHub familyEventHub, UserService userService,
+                           NotificationService notificationService) {
+        this.familyEventHub = familyEventHub;
+        this.userService = userService;
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to family events",
+            description = "Streams ledger and notification changes for the current family. The first event, READY, " +
+                    "carries the unread notification count so clients need not poll for it.")
+    public SseEmitter subscribe(@AuthenticationPrincipal UserPrincipal user) throws IOException {
+        String familyId = userService.getCurrentUserFamilyId(user.getId());
+        if (familyId == null) {
+            throw new IllegalStateException("User is not associated with any family");
+        }
+        SseEmitter emitter = familyEventHub.subscribe(familyId, user.getId());
+        emitter.send(SseEmitter.event()
+                .name("READY")
+                .data(Map.of("unreadCount", notificationService.getUnreadCount(user.getId()))));
+        return emitter;
+    }
+}
@@ -41,7 +41,7 @@ public class FileController {
         // Validate that user has access to this ledger entry
         LedgerEntry entry = ledgerService.getEntryById(user.getId(), ledgerEntryId);
         
-        Attachment attachment = fileUploadService.uploadFile(file, ledgerEntryId);
+        Attachment attachment = fileUploadService.uploadFile(user.getId(), file, ledgerEntryId);
         return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
     }
 
@@ -51,7 +51,7 @@ public class FileController {
             @PathVariable String attachmentId,
             @AuthenticationPrincipal UserPrincipal user) {
         
-        String url = fileUploadService.getFileUrl(attachmentId);
+        String url = fileUploadService.getFileUrl(user.getId(), attachmentId);
         return ResponseEntity.ok(Map.of("url", url));
     }
 
@@ -61,7 +61,7 @@ public class FileController {
             @PathVariable String attachmentId,
             @AuthenticationPrincipal UserPrincipal user) {
         
-        byte[] fileContent = fileUploadService.getFileContent(attachmentId);
+        byte[] fileContent = fileUploadService.getFileContent(user.getId(), attachmentId);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
@@ -81,7 +81,7 @@ public class FileController {
         // Validate that user has access to this ledger entry
         LedgerEntry entry = ledgerService.getEntryById(user.getId(), ledgerEntryId);
         
-        List<Attachment> attachments = fileUploadService.getAttachmentsByLedgerEntry(ledgerEntryId);
+        List<Attachment> attachments = fileUploadService.getAttachmentsByLedgerEntry(user.getId(), ledgerEntryId);
         return ResponseEntity.ok(attachments);
     }
 
@@ -91,7 +91,7 @@ public class FileController {
             @PathVariable String attachmentId,
             @AuthenticationPrincipal UserPrincipal user) {
         
-        fileUploadService.deleteAttachment(attachmentId);
+        fileUploadService.deleteAttachment(user.getId(), attachmentId);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
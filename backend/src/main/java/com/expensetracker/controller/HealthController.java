@@ -1,10 +1,9 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.health.HealthSampler;
+import com.expensetracker.health.HealthSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,19 +18,22 @@ import java.util.Map;
 @Tag(name = "Health", description = "Application health and monitoring APIs")
 public class HealthController {
 
-    @Autowired
-    private MongoTemplate mongoTemplate;
+    // Endpoints read the sampler's last snapshot and never touch Mongo or Redis themselves
+    private final HealthSampler healthSampler;
 
-    @Autowired
-    private RedisTemplate<String, String> redisTemplate;
+    public HealthController(HealthSampler healthSampler) {
+        this.healthSampler = healthSampler;
+    }
 
     @GetMapping("/detailed")
     @Operation(summary = "Detailed health check", description = "Get detailed health status of all components")
     public ResponseEntity<Map<String, Object>> detailedHealth() {
+        HealthSnapshot snapshot = healthSampler.snapshot();
         Map<String, Object> health = new HashMap<>();
         health.put("timestamp", Instant.now());
         health.put("status", "UP");
-        health.put("components", getComponentsHealth());
+        health.put("sampled_at", snapshot.getSampledAt());
+        health.put("components", getComponentsHealth(snapshot));
         
         return ResponseEntity.ok(health);
     }
@@ -40,29 +42,24 @@ public class HealthController {
     @Operation(summary = "Basic metrics", description = "Get basic application metrics")
     public ResponseEntity<Map<String, Object>> metrics() {
         Map<String, Object> metrics = new HashMap<>();
+        HealthSnapshot snapshot = healthSampler.snapshot();
         metrics.put("timestamp", Instant.now());
-        
+        metrics.put("sampled_at", snapshot.getSampledAt());
+
         // Database metrics
-        try {
-            long userCount = mongoTemplate.getCollection("users").estimatedDocumentCount();
-            long familyCount = mongoTemplate.getCollection("families").estimatedDocumentCount();
-            long transactionCount = mongoTemplate.getCollection("ledgerEntry").estimatedDocumentCount();
-            
-            Map<String, Object> dbMetrics = new HashMap<>();
-            dbMetrics.put("users", userCount);
-            dbMetrics.put("families", familyCount);
-            dbMetrics.put("transactions", transactionCount);
-            metrics.put("database", dbMetrics);
-        } catch (Exception e) {
-            metrics.put("database", Map.of("status", "error", "message", e.getMessage()));
-        }
+        HealthSnapshot.ComponentHealth mongodb = snapshot.component("mongodb");
+        metrics.put("database", mongodb.isUp()
+                ? mongodb.getDetails()
+                : Map.of("status", "error", "message", mongodb.getError()));
 
         // Redis metrics
-        try {
-            String redisInfo = redisTemplate.getConnectionFactory().getConnection().info().getProperty("used_memory_human");
-            metrics.put("redis", Map.of("memory_usage", redisInfo, "status", "connected"));
-        } catch (Exception e) {
-            metrics.put("redis", Map.of("status", "error", "message", e.getMessage()));
+        HealthSnapshot.ComponentHealth redis = snapshot.component("redis");
+        if (redis.isUp()) {
+            Map<String, Object> redisMetrics = new HashMap<>(redis.getDetails());
+            redisMetrics.put("status", "connected");
+            metrics.put("redis", redisMetrics);
+        } else {
+            metrics.put("redis", Map.of("status", "error", "message", redis.getError()));
         }
 
         // System metrics
@@ -80,17 +77,7 @@ public class HealthController {
     @GetMapping("/ready")
     @Operation(summary = "Readiness check", description = "Check if application is ready to serve requests")
     public ResponseEntity<Map<String, String>> readiness() {
-        Map<String, Object> components = getComponentsHealth();
-        
-        boolean allHealthy = components.values().stream()
-                .allMatch(component -> {
-                    if (component instanceof Map) {
-                        return "UP".equals(((Map<?, ?>) component).get("status"));
-                    }
-                    return false;
-                });
-
-        if (allHealthy) {
+        if (healthSampler.isHealthy()) {
             return ResponseEntity.ok(Map.of(
                     "status", "READY",
                     "timestamp", Instant.now().toString()
@@ -149,25 +136,10 @@ public class HealthController {
         return ResponseEntity.ok(info);
     }
 
-    private Map<String, Object> getComponentsHealth() {
+    private Map<String, Object> getComponentsHealth(HealthSnapshot snapshot) {
         Map<String, Object> components = new HashMap<>();
-
-        // MongoDB health
-        try {
-            mongoTemplate.getDb().runCommand(org.bson.Document.parse("{ ping: 1 }"));
-            components.put("mongodb", Map.of("status", "UP"));
-        } catch (Exception e) {
-            components.put("mongodb", Map.of("status", "DOWN", "error", e.getMessage()));
-        }
-
-        // Redis health
-        try {
-            redisTemplate.getConnectionFactory().getConnection().ping();
-            components.put("redis", Map.of("status", "UP"));
-        } catch (Exception e) {
-            components.put("redis", Map.of("status", "DOWN", "error", e.getMessage()));
-        }
-
+        components.put("mongodb", snapshot.component("mongodb").toMap());
+        components.put("redis", snapshot.component("redis").toMap());
         return components;
     }
 }
\ No newline at end of file
@@ -1,15 +1,16 @@
 package com.expensetracker.controller;
 
-import com.expensetracker.domain.Notification;
+import com.expensetracker.dto.notification.MarkReadRequest;
+import com.expensetracker.dto.notification.NotificationPageDTO;
 import com.expensetracker.security.UserPrincipal;
 import com.expensetracker.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,16 +25,20 @@ public class NotificationController {
     }
 
     @GetMapping
-    @Operation(summary = "Get user notifications", description = "Get all notifications for the current user")
-    public ResponseEntity<List<Notification>> getNotifications(@AuthenticationPrincipal UserPrincipal user) {
-        List<Notification> notifications = notificationService.getUserNotifications(user.getId());
+    @Operation(summary = "Get user notifications", description = "Get a page of notifications for the current user, newest first")
+    public ResponseEntity<NotificationPageDTO> getNotifications(@AuthenticationPrincipal UserPrincipal user,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        NotificationPageDTO notifications = notificationService.getUserNotifications(user.getId(), cursor, size);
         return ResponseEntity.ok(notifications);
     }
 
     @GetMapping("/unread")
-    @Operation(summary = "Get unread notifications", description = "Get all unread notifications for the current user")
-    public ResponseEntity<List<Notification>> getUnreadNotifications(@AuthenticationPrincipal UserPrincipal user) {
-        List<Notification> notifications = notificationService.getUnreadNotifications(user.getId());
+    @Operation(summary = "Get unread notifications", description = "Get a page of unread notifications for the current user, newest first")
+    public ResponseEntity<NotificationPageDTO> getUnreadNotifications(@AuthenticationPrincipal UserPrincipal user,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "20") int size) {
+        NotificationPageDTO notifications = notificationService.getUnreadNotifications(user.getId(), cursor, size);
         return ResponseEntity.ok(notifications);
     }
 
@@ -46,8 +51,24 @@ public class NotificationController {
 
     @PostMapping("/{notificationId}/read")
     @Operation(summary = "Mark as read", description = "Mark a notification as read")
-    public ResponseEntity<Void> markAsRead(@PathVariable String notificationId) {
-        notificationService.markAsRead(notificationId);
+    public ResponseEntity<Void> markAsRead(@AuthenticationPrincipal UserPrincipal user,
+                                           @PathVariable String notificationId) {
+        notificationService.markAsRead(user.getId(), notificationId);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/read")
+    @Operation(summary = "Mark several as read", description = "Mark the given notifications as read in one update")
+    public ResponseEntity<Map<String, Long>> markManyAsRead(@AuthenticationPrincipal UserPrincipal user,
+                                                            @Valid @RequestBody MarkReadRequest request) {
+        long updated = notificationService.markAsRead(user.getId(), request.getIds());
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    @PostMapping("/read-all")
+    @Operation(summary = "Mark all as read", description = "Mark every unread notification of the current user as read")
+    public ResponseEntity<Map<String, Long>> markAllAsRead(@AuthenticationPrincipal UserPrincipal user) {
+        long updated = notificationService.markAllAsRead(user.getId());
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.service.ReactiveReadService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Functional handlers for the reactive read routes registered by
+ * {@link com.expensetracker.config.ReactiveRoutesConfig}.
+ * <p>
+ * List routes return a JSON array by default. Clients sending {@code Accept: application/x-ndjson}
+ * get one JSON object per line instead, written as each document arrives from Mongo.
+ */
+public class ReactiveReadHandler {
+
+    private static final MediaType NDJSON_UTF8 = new MediaType(MediaType.APPLICATION_NDJSON, StandardCharsets.UTF_8);
+    private static final MediaType CSV_UTF8 = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final ReactiveReadService reactiveReadService;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveReadHandler(ReactiveReadService reactiveReadService, ObjectMapper objectMapper) {
+        this.reactiveReadService = reactiveReadService;
+        this.objectMapper = objectMapper;
+    }
+
+    public ServerResponse getEntries(ServerRequest request) {
+        LedgerEntry.TransactionType type = request.param("type").map(LedgerEntry.TransactionType::valueOf).orElse(null);
+        int page = request.param("page").map(Integer::parseInt).orElse(0);
+        int size = request.param("size").map(Integer::parseInt).orElse(20);
+        return list(request, reactiveReadService.getEntries(userId(request), type, page, size));
+    }
+
+    public ServerResponse getRecentEntries(ServerRequest request) {
+        return list(request, reactiveReadService.getRecentEntries(userId(request)));
+    }
+
+    public ServerResponse generateReport(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(reactiveReadService.generateReport(userId(request),
+                        dateParam(request, "startDate"), dateParam(request, "endDate")));
+    }
+
+    public ServerResponse exportData(ServerRequest request) {
+        LocalDate startDate = dateParam(request, "startDate");
+        LocalDate endDate = dateParam(request, "endDate");
+        String format = request.param("format").orElse("CSV");
+        if (!"CSV".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        return ServerResponse.ok()
+                .contentType(CSV_UTF8)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expense_report_" + startDate + "_to_" + endDate + ".csv\"")
+                .body(reactiveReadService.exportCsv(userId(request), startDate, endDate));
+    }
+
+    private ServerResponse list(ServerRequest request, Flux<?> items) {
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok().contentType(NDJSON_UTF8).body(items.map(this::jsonLine));
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(items.collectList());
+    }
+
+    private String jsonLine(Object item) {
+        try {
+            return objectMapper.writeValueAsString(item) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + item.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String userId(ServerRequest request) {
+        return request.principal()
+                .filter(principal -> principal instanceof Authentication)
+                .map(principal -> ((Authentication) principal).getPrincipal())
+                .filter(principal -> principal instanceof UserPrincipal)
+                .map(principal -> ((UserPrincipal) principal).getId())
+                .orElseThrow(() -> new IllegalStateException("No authenticated user"));
+    }
+
+    private static LocalDate dateParam(ServerRequest request, String name) {
+        return LocalDate.parse(request.param(name)
+                .orElseThrow(() -> new IllegalArgumentException(name + " is required")));
+    }
+}
@@ -4,6 +4,7 @@ import com.expensetracker.domain.LedgerEntry;
 import com.expensetracker.domain.VoiceExpenseData;
 import com.expensetracker.dto.ledger.LedgerEntryResponse;
 import com.expensetracker.dto.voice.CreateExpenseFromVoiceRequest;
+import com.expensetracker.dto.voice.VoiceExpenseBatchRequest;
 import com.expensetracker.dto.voice.VoiceExpenseRequest;
 import com.expensetracker.security.UserPrincipal;
 import com.expensetracker.service.VoiceExpenseService;
@@ -37,6 +38,16 @@ public class VoiceExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(data);
     }
 
+    @PostMapping("/process/batch")
+    @Operation(summary = "Process voice expenses in bulk", description = "Process several spoken texts in one request")
+    public ResponseEntity<List<VoiceExpenseData>> processVoiceExpenseBatch(
+            @RequestBody VoiceExpenseBatchRequest request,
+            @AuthenticationPrincipal UserPrincipal user) {
+        
+        List<VoiceExpenseData> data = voiceExpenseService.processVoiceExpenseBatch(request, user.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(data);
+    }
+
     @PostMapping("/create-expense")
     @Operation(summary = "Create expense from voice", description = "Create a ledger entry from processed voice data")
     public ResponseEntity<LedgerEntryResponse> createExpenseFromVoice(
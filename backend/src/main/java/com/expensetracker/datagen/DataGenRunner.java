@@ -0,0 +1,80 @@
+package com.expensetracker.datagen;
+
+import com.expensetracker.domain.User;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.security.PasswordEncoder;
+import com.expensetracker.view.LedgerViewProjector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Fills the configured database with synthetic families and exits:
+ * {@code java -jar app.jar --spring.profiles.active=datagen --app.datagen.families=1000}.
+ */
+@Component
+@Profile("datagen")
+public class DataGenRunner implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final FxRateService fxRateService;
+    private final PasswordEncoder passwordEncoder;
+    private final LedgerViewProjector ledgerViewProjector;
+    private final ConfigurableApplicationContext context;
+    private final int families;
+    private final int years;
+    private final int entriesPerMonth;
+    private final long seed;
+    private final String until;
+    private final String password;
+    private final int batchSize;
+
+    public DataGenRunner(MongoTemplate mongoTemplate, FxRateService fxRateService, PasswordEncoder passwordEncoder,
+                         LedgerViewProjector ledgerViewProjector, ConfigurableApplicationContext context,
+                         @Value("${app.datagen.families:100}") int families,
+                         @Value("${app.datagen.years:3}") int years,
+                         @Value("${app.datagen.entries-per-month:60}") int entriesPerMonth,
+                         @Value("${app.datagen.seed:42}") long seed,
+                         @Value("${app.datagen.until:}") String until,
+                         @Value("${app.datagen.password:datagen123}") String password,
+                         @Value("${app.datagen.batch-size:5000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.fxRateService = fxRateService;
+        this.passwordEncoder = passwordEncoder;
+        this.ledgerViewProjector = ledgerViewProjector;
+        this.context = context;
+        this.families = families;
+        this.years = years;
+        this.entriesPerMonth = entriesPerMonth;
+        this.seed = seed;
+        this.until = until;
+        this.password = password;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Ids are derived from the seed, so a second run would collide with the first
+        if (mongoTemplate.exists(Query.query(Criteria.where("email").regex("^datagen-")), User.class)) {
+            throw new IllegalStateException("Database already contains generated data, point app.datagen at an empty database");
+        }
+
+        LocalDate end = until.isBlank() ? LocalDate.now() : LocalDate.parse(until);
+        System.out.println("Generating " + families + " families with " + years + " years of history until " + end
+                + " (seed " + seed + ")");
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(mongoTemplate, fxRateService, years,
+                entriesPerMonth, batchSize);
+        ledgerViewProjector.bulkLoad(() -> generator.generate(families, seed, end, passwordEncoder.encode(password)));
+
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensetracker.datagen;
+
+import java.util.List;
+
+/**
+ * Ids of one generated family, for callers that want to address the data afterwards.
+ */
+public class GeneratedFamily {
+
+    private final String familyId;
+    private final String currency;
+    private final List<String> memberIds;
+    private final List<String> memberEmails;
+    private final List<String> categoryIds;
+    private final List<String> budgetIds;
+    private final List<String> recurringRuleIds;
+    private final String firstLedgerEntryId;
+    private final long ledgerEntries;
+
+    public GeneratedFamily(String familyId, String currency, List<String> memberIds, List<String> memberEmails,
+                           List<String> categoryIds, List<String> budgetIds, List<String> recurringRuleIds,
+                           String firstLedgerEntryId, long ledgerEntries) {
+        this.familyId = familyId;
+        this.currency = currency;
+        this.memberIds = memberIds;
+        this.memberEmails = memberEmails;
+        this.categoryIds = categoryIds;
+        this.budgetIds = budgetIds;
+        this.recurringRuleIds = recurringRuleIds;
+        this.firstLedgerEntryId = firstLedgerEntryId;
+        this.ledgerEntries = ledgerEntries;
+    }
+
+    public String getFamilyId() { return familyId; }
+
+    public String getCurrency() { return currency; }
+
+    // The first member is the family admin
+    public List<String> getMemberIds() { return memberIds; }
+
+    public List<String> getMemberEmails() { return memberEmails; }
+
+    public List<String> getCategoryIds() { return categoryIds; }
+
+    public List<String> getBudgetIds() { return budgetIds; }
+
+    public List<String> getRecurringRuleIds() { return recurringRuleIds; }
+
+    public String getFirstLedgerEntryId() { return firstLedgerEntryId; }
+
+    public long getLedgerEntries() { return ledgerEntries; }
+}
@@ -0,0 +1,360 @@
+package com.expensetracker.datagen;
+
+import com.expensetracker.domain.Budget;
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.Family;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.RecurringRule;
+import com.expensetracker.domain.User;
+import com.expensetracker.fx.FxRateService;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates families with production-like volume for scale tests and query plan work: members,
+ * categories, budgets, recurring rules and years of ledger history. Family sizes follow a heavy
+ * tail, spend is seasonal and weekend heavy, and salary, rent and subscriptions recur monthly.
+ *
+ * <p>Output is a pure function of the seed, the end date and the sizing, ids included, so two
+ * runs produce the same documents. Only the password hash differs, since it is salted. Write
+ * into an empty database; documents go out through unordered {@link BulkOperations} batches.
+ */
+public class SyntheticDataGenerator {
+
+    private static final int DEFAULT_BATCH_SIZE = 5000;
+    // The largest family spends at most this many times the median
+    private static final int MAX_SCALE = 20;
+    // Spend multiplier per month, January first: post-holiday dip, summer travel, December peak
+    private static final double[] SEASONALITY = {0.85, 0.8, 0.95, 1.0, 1.0, 1.05, 1.15, 1.1, 0.95, 1.0, 1.1, 1.45};
+    private static final String[] CURRENCIES = {"USD", "USD", "USD", "USD", "USD", "USD", "USD", "USD", "EUR", "TRY"};
+    // Minor units of each family currency worth roughly one US cent
+    private static final Map<String, Integer> CURRENCY_SCALE = Map.of("USD", 1, "EUR", 1, "TRY", 30);
+
+    private static final CategoryTemplate[] EXPENSES = {
+            new CategoryTemplate("Groceries", 6_000, 24, "Migros", "Whole Foods", "Trader Joe's", "Carrefour"),
+            new CategoryTemplate("Dining", 3_500, 14, "Starbucks", "Chipotle", "Local Diner", "Sushi Bar"),
+            new CategoryTemplate("Transport", 4_000, 10, "Shell", "Uber", "Metro Card", "BP"),
+            new CategoryTemplate("Utilities", 9_000, 3, "Electric Co", "Water Utility", "Internet"),
+            new CategoryTemplate("Entertainment", 2_500, 6, "Cinema", "Steam", "Concert Tickets"),
+            new CategoryTemplate("Health", 5_000, 3, "Pharmacy", "Dentist", "Gym"),
+            new CategoryTemplate("Shopping", 7_500, 8, "Amazon", "IKEA", "Zara", "Target"),
+            new CategoryTemplate("Travel", 45_000, 1, "Airline", "Hotel", "Car Rental"),
+            new CategoryTemplate("Education", 15_000, 1, "Bookstore", "Online Course"),
+            new CategoryTemplate("Rent", 0, 0),
+            new CategoryTemplate("Subscriptions", 0, 0)
+    };
+    private static final int RENT = 9;
+    private static final int SUBSCRIPTIONS = 10;
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final MongoTemplate mongoTemplate;
+    private final FxRateService fxRateService;
+    private final int yearsOfHistory;
+    private final int medianEntriesPerMonth;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(MongoTemplate mongoTemplate, FxRateService fxRateService,
+                                  int yearsOfHistory, int medianEntriesPerMonth) {
+        this(mongoTemplate, fxRateService, yearsOfHistory, medianEntriesPerMonth, DEFAULT_BATCH_SIZE);
+    }
+
+    public SyntheticDataGenerator(MongoTemplate mongoTemplate, FxRateService fxRateService,
+                                  int yearsOfHistory, int medianEntriesPerMonth, int batchSize) {
+        if (yearsOfHistory < 1 || medianEntriesPerMonth < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("History, entries per month and batch size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.fxRateService = fxRateService;
+        this.yearsOfHistory = yearsOfHistory;
+        this.medianEntriesPerMonth = medianEntriesPerMonth;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Generates {@code families} families whose history ends on {@code until}. Every member
+     * signs in with the password behind {@code passwordHash}.
+     */
+    public List<GeneratedFamily> generate(int families, long seed, LocalDate until, String passwordHash) {
+        List<GeneratedFamily> generated = new ArrayList<>(families);
+        long started = System.nanoTime();
+        long entries = 0;
+        for (int f = 0; f < families; f++) {
+            GeneratedFamily family = generateFamily(f, new Random(seed * 1_000_003L + f), until, passwordHash);
+            generated.add(family);
+            entries += family.getLedgerEntries();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Generated %d families and %d ledger entries in %.1fs (%.0f entries/s)%n",
+                families, entries, seconds, entries / Math.max(seconds, 0.001));
+        return generated;
+    }
+
+    private GeneratedFamily generateFamily(int index, Random random, LocalDate until, String passwordHash) {
+        LocalDate from = until.minusYears(yearsOfHistory).withDayOfMonth(1);
+        Instant createdAt = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        IdSequence ids = new IdSequence(createdAt, index);
+        String currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+        int scale = CURRENCY_SCALE.get(currency);
+
+        Family family = new Family("Family " + index, currency);
+        family.setId(ids.next());
+        family.setCreatedAt(createdAt);
+        family.setUpdatedAt(createdAt);
+
+        // Mostly couples and small households, the odd large one
+        int memberCount = 1 + Math.min(5, (int) Math.abs(random.nextGaussian() * 1.5));
+        List<User> members = new ArrayList<>(memberCount);
+        for (int m = 0; m < memberCount; m++) {
+            User user = new User("datagen-" + index + "-" + m + "@example.com", passwordHash);
+            user.setId(ids.next());
+            user.getFamilies().add(new User.FamilyMembership(family.getId(), m == 0 ? User.Role.ADMIN : User.Role.MEMBER));
+            user.setPreferredFamilyId(family.getId());
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(createdAt);
+            members.add(user);
+        }
+        List<String> memberIds = members.stream().map(User::getId).toList();
+
+        List<Category> categories = new ArrayList<>();
+        for (CategoryTemplate template : EXPENSES) {
+            categories.add(category(ids, family.getId(), template.name, Category.CategoryType.EXPENSE, createdAt));
+        }
+        Category salary = category(ids, family.getId(), "Salary", Category.CategoryType.INCOME, createdAt);
+        Category freelance = category(ids, family.getId(), "Freelance", Category.CategoryType.INCOME, createdAt);
+        categories.add(salary);
+        categories.add(freelance);
+
+        long salaryMinor = scale * (300_000L + random.nextInt(700_000));
+        List<RecurringRule> rules = List.of(
+                recurringRule(ids, family.getId(), memberIds.get(0), "Salary", LedgerEntry.TransactionType.INCOME,
+                        salaryMinor, currency, salary.getId(), from, until, createdAt),
+                recurringRule(ids, family.getId(), memberIds.get(0), "Rent", LedgerEntry.TransactionType.EXPENSE,
+                        salaryMinor * (25 + random.nextInt(15)) / 100, currency, categories.get(RENT).getId(),
+                        from, until, createdAt),
+                recurringRule(ids, family.getId(), memberIds.get(memberIds.size() - 1), "Streaming",
+                        LedgerEntry.TransactionType.EXPENSE, scale * 1_599L, currency,
+                        categories.get(SUBSCRIPTIONS).getId(), from, until, createdAt));
+
+        long entriesPerMonth = Math.max(1, Math.round(medianEntriesPerMonth * paretoScale(random)));
+        long monthlySpend = entriesPerMonth * scale * 5_000L;
+        LocalDate month = until.withDayOfMonth(1);
+        Budget monthly = new Budget(family.getId(), "Monthly", new Budget.Period(Budget.PeriodType.MONTH,
+                month, month.withDayOfMonth(month.lengthOfMonth())), monthlySpend);
+        monthly.setId(ids.next());
+        monthly.setPerCategory(List.of(
+                new Budget.CategoryBudget(categories.get(0).getId(), monthlySpend / 4),
+                new Budget.CategoryBudget(categories.get(1).getId(), monthlySpend / 8)));
+        LocalDate year = until.withDayOfYear(1);
+        Budget yearly = new Budget(family.getId(), "Yearly", new Budget.Period(Budget.PeriodType.YEAR,
+                year, year.plusYears(1).minusDays(1)), monthlySpend * 12);
+        yearly.setId(ids.next());
+        List<Budget> budgets = List.of(monthly, yearly);
+        budgets.forEach(budget -> {
+            budget.setCreatedAt(createdAt);
+            budget.setUpdatedAt(createdAt);
+        });
+
+        insert(List.of(family), Family.class);
+        insert(members, User.class);
+        insert(categories, Category.class);
+        insert(rules, RecurringRule.class);
+        insert(budgets, Budget.class);
+
+        LedgerWriter ledger = new LedgerWriter(currency);
+        for (LocalDate start = from; !start.isAfter(until); start = start.plusMonths(1)) {
+            for (RecurringRule rule : rules) {
+                Instant occurredAt = start.atTime(9, 0).toInstant(ZoneOffset.UTC);
+                LedgerEntry entry = entry(ids, family.getId(), rule.getMemberId(), rule.getType(), rule.getAmountMinor(),
+                        rule.getCurrency(), rule.getCategoryId(), occurredAt, "Recurring: " + rule.getName());
+                entry.setRecurringId(rule.getId());
+                ledger.add(entry);
+            }
+
+            long count = Math.round(entriesPerMonth * SEASONALITY[start.getMonthValue() - 1]
+                    * (0.9 + 0.2 * random.nextDouble()));
+            int lastDay = start.equals(until.withDayOfMonth(1)) ? until.getDayOfMonth() : start.lengthOfMonth();
+            for (long i = 0; i < count; i++) {
+                LocalDate day = weekendHeavyDay(start, lastDay, random);
+                Instant occurredAt = day.atTime(8 + random.nextInt(14), random.nextInt(60)).toInstant(ZoneOffset.UTC);
+                String member = memberIds.get(random.nextInt(memberIds.size()));
+                if (random.nextInt(40) == 0) {
+                    ledger.add(entry(ids, family.getId(), member, LedgerEntry.TransactionType.INCOME,
+                            scale * (20_000L + random.nextInt(200_000)), currency, freelance.getId(), occurredAt,
+                            "Invoice " + (i + 1)));
+                    continue;
+                }
+                int c = pickCategory(random);
+                CategoryTemplate template = EXPENSES[c];
+                // Log-normal around the category median; a few purchases abroad in another currency
+                String entryCurrency = random.nextInt(20) == 0 ? CURRENCIES[random.nextInt(CURRENCIES.length)] : currency;
+                long minor = Math.max(50, Math.round(template.medianMinor * CURRENCY_SCALE.get(entryCurrency)
+                        * Math.exp(0.6 * random.nextGaussian())));
+                ledger.add(entry(ids, family.getId(), member, LedgerEntry.TransactionType.EXPENSE, minor, entryCurrency,
+                        categories.get(c).getId(), occurredAt, template.merchants[random.nextInt(template.merchants.length)]));
+            }
+        }
+        ledger.flush();
+
+        return new GeneratedFamily(family.getId(), currency, memberIds, members.stream().map(User::getEmail).toList(),
+                categories.stream().map(Category::getId).toList(), budgets.stream().map(Budget::getId).toList(),
+                rules.stream().map(RecurringRule::getId).toList(), ledger.firstId, ledger.written);
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+    }
+
+    // Pareto with median 1, capped at MAX_SCALE
+    private static double paretoScale(Random random) {
+        return Math.min(MAX_SCALE, 0.5 / (1.0 - random.nextDouble()));
+    }
+
+    // Saturdays and Sundays are drawn one and a half times as often as weekdays
+    private static LocalDate weekendHeavyDay(LocalDate month, int lastDay, Random random) {
+        while (true) {
+            LocalDate day = month.withDayOfMonth(1 + random.nextInt(lastDay));
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            if (weekend || random.nextInt(3) < 2) {
+                return day;
+            }
+        }
+    }
+
+    private static int pickCategory(Random random) {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        for (int c = 0; c < EXPENSES.length; c++) {
+            pick -= EXPENSES[c].weight;
+            if (pick < 0) {
+                return c;
+            }
+        }
+        throw new IllegalStateException("Category weights out of range");
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (CategoryTemplate template : EXPENSES) {
+            total += template.weight;
+        }
+        return total;
+    }
+
+    private static Category category(IdSequence ids, String familyId, String name, Category.CategoryType type,
+                                     Instant createdAt) {
+        Category category = new Category(familyId, name, type);
+        category.setId(ids.next());
+        category.setCreatedAt(createdAt);
+        category.setUpdatedAt(createdAt);
+        return category;
+    }
+
+    private static RecurringRule recurringRule(IdSequence ids, String familyId, String memberId, String name,
+                                               LedgerEntry.TransactionType type, long amountMinor, String currency,
+                                               String categoryId, LocalDate from, LocalDate until, Instant createdAt) {
+        RecurringRule.Frequency frequency = new RecurringRule.Frequency();
+        frequency.setUnit(RecurringRule.Frequency.FrequencyUnit.MONTHLY);
+        frequency.setInterval(1);
+
+        RecurringRule rule = new RecurringRule();
+        rule.setId(ids.next());
+        rule.setFamilyId(familyId);
+        rule.setMemberId(memberId);
+        rule.setName(name);
+        rule.setType(type);
+        rule.setAmountMinor(amountMinor);
+        rule.setCurrency(currency);
+        rule.setCategoryId(categoryId);
+        rule.setFrequency(frequency);
+        rule.setStartDate(from);
+        rule.setTimezone("UTC");
+        rule.setNextRunAt(until.withDayOfMonth(1).plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        rule.setCreatedAt(createdAt);
+        rule.setUpdatedAt(createdAt);
+        return rule;
+    }
+
+    private static LedgerEntry entry(IdSequence ids, String familyId, String memberId, LedgerEntry.TransactionType type,
+                                     long minor, String currency, String categoryId, Instant occurredAt, String notes) {
+        LedgerEntry entry = new LedgerEntry(familyId, memberId, type, new LedgerEntry.MoneyAmount(minor, currency),
+                categoryId, occurredAt);
+        entry.setId(ids.next());
+        entry.setNotes(notes);
+        entry.setCreatedAt(occurredAt);
+        entry.setUpdatedAt(occurredAt);
+        return entry;
+    }
+
+    // Buffers one family's ledger and writes it in bulk batches
+    private class LedgerWriter {
+        private final String familyCurrency;
+        private final List<LedgerEntry> batch = new ArrayList<>(batchSize);
+        private String firstId;
+        private long written;
+
+        LedgerWriter(String familyCurrency) {
+            this.familyCurrency = familyCurrency;
+        }
+
+        void add(LedgerEntry entry) {
+            entry.setFamilyAmount(fxRateService.toFamilyAmount(entry.getAmount(), familyCurrency));
+            if (firstId == null) {
+                firstId = entry.getId();
+            }
+            batch.add(entry);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                insert(batch, LedgerEntry.class);
+                written += batch.size();
+                batch.clear();
+            }
+        }
+    }
+
+    // ObjectIds built from the history start, the family index and a counter instead of the
+    // machine and process, so they repeat from run to run
+    private static class IdSequence {
+        private final int timestamp;
+        private final int family;
+        private int counter;
+
+        IdSequence(Instant timestamp, int family) {
+            this.timestamp = (int) timestamp.getEpochSecond();
+            this.family = family;
+        }
+
+        String next() {
+            ByteBuffer bytes = ByteBuffer.allocate(12).putInt(timestamp).putInt(family).putInt(counter++);
+            return new ObjectId(bytes.array()).toHexString();
+        }
+    }
+
+    private static class CategoryTemplate {
+        private final String name;
+        private final long medianMinor;
+        private final int weight;
+        private final String[] merchants;
+
+        CategoryTemplate(String name, long medianMinor, int weight, String... merchants) {
+            this.name = name;
+            this.medianMinor = medianMinor;
+            this.weight = weight;
+            this.merchants = merchants;
+        }
+    }
+}
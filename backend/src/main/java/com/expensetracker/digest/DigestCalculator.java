@@ -0,0 +1,109 @@
+package com.expensetracker.digest;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRateSnapshot;
+import com.expensetracker.mongo.AnalyticsReads;
+import com.expensetracker.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Summarizes a family's ledger over a digest window with one aggregation. Entries are grouped by
+ * type, category and the currency their amount is available in; only the group totals are
+ * converted to the family currency, so the rate table is applied a handful of times instead of
+ * once per entry.
+ */
+@Component
+@Timed("service.invocations")
+public class DigestCalculator {
+
+    static final int TOP_CATEGORIES = 3;
+
+    private final AnalyticsReads analyticsReads;
+    private final CategoryRepository categoryRepository;
+    private final FxRateService fxRateService;
+
+    public DigestCalculator(AnalyticsReads analyticsReads, CategoryRepository categoryRepository,
+                            FxRateService fxRateService) {
+        this.analyticsReads = analyticsReads;
+        this.categoryRepository = categoryRepository;
+        this.fxRateService = fxRateService;
+    }
+
+    public FamilyDigest summarize(String familyId, String currency, Instant from, Instant to) {
+        // Entries already converted to the family currency at write time are summed as such
+        Document inFamilyCurrency = new Document("$eq", List.of("$familyAmount.currency", currency));
+        AggregationOperation group = context -> new Document("$group", new Document()
+                .append("_id", new Document("type", "$type")
+                        .append("categoryId", "$categoryId")
+                        .append("currency", new Document("$cond", List.of(inFamilyCurrency, currency, "$amount.currency"))))
+                .append("minor", new Document("$sum",
+                        new Document("$cond", List.of(inFamilyCurrency, "$familyAmount.minor", "$amount.minor"))))
+                .append("entries", new Document("$sum", 1)));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("familyId").is(familyId)
+                        .and("occurredAt").gte(from).lt(to)
+                        .and("deletedAt").is(null)),
+                group);
+        List<Document> groups = analyticsReads.aggregate(AnalyticsReads.Path.DIGESTS, null, aggregation,
+                LedgerEntry.class, Document.class);
+
+        FxRateSnapshot rates = fxRateService.snapshot();
+        long income = 0;
+        long expense = 0;
+        long entries = 0;
+        Map<String, Long> spentByCategory = new HashMap<>();
+        for (Document row : groups) {
+            Document key = row.get("_id", Document.class);
+            // Entries without a currency predate multi-currency support and are in the family's
+            String entryCurrency = key.getString("currency") != null ? key.getString("currency") : currency;
+            long amount;
+            try {
+                amount = rates.convert(((Number) row.get("minor")).longValue(), entryCurrency, currency);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Digest of family " + familyId + " skips " + entryCurrency
+                        + " entries: " + e.getMessage());
+                continue;
+            }
+            entries += ((Number) row.get("entries")).longValue();
+            if (LedgerEntry.TransactionType.INCOME.name().equals(key.getString("type"))) {
+                income += amount;
+            } else {
+                expense += amount;
+                if (key.getString("categoryId") != null) {
+                    spentByCategory.merge(key.getString("categoryId"), amount, Long::sum);
+                }
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = spentByCategory.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_CATEGORIES)
+                .toList();
+        Map<String, String> names = new HashMap<>();
+        if (!top.isEmpty()) {
+            names = categoryRepository.findByFamilyIdAndIdIn(familyId, top.stream().map(Map.Entry::getKey).toList()).stream()
+                    .collect(Collectors.toMap(Category::getId, Category::getName));
+        }
+        List<FamilyDigest.CategoryTotal> topCategories = new ArrayList<>(top.size());
+        for (Map.Entry<String, Long> category : top) {
+            topCategories.add(new FamilyDigest.CategoryTotal(
+                    names.getOrDefault(category.getKey(), "Diğer"), category.getValue()));
+        }
+        return new FamilyDigest(currency, income, expense, entries, topCategories);
+    }
+}
@@ -0,0 +1,302 @@
+package com.expensetracker.digest;
+
+import com.expensetracker.domain.DigestRun;
+import com.expensetracker.domain.Family;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.User;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the weekly summary and monthly report digests.
+ * <p>
+ * Each check makes sure a {@link DigestRun} exists for the last complete ISO week and calendar
+ * month (UTC), then claims unfinished shards of open runs and works them on the digest pool. A
+ * shard walks its family id range in order: one aggregation per family, fanned out as a
+ * notification to every member, then a checkpoint that also renews the shard's lease. A shard
+ * whose instance died is claimed again once its lease runs out and resumes after its checkpoint;
+ * the notification's digest key keeps the family in flight from being notified twice.
+ */
+@Component
+public class DigestJob {
+
+    private static final int FAMILY_PAGE = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final DigestCalculator digestCalculator;
+    private final FxRateService fxRateService;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int shardCount;
+    private final Duration shardLease;
+    private final String owner = UUID.randomUUID().toString();
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final ExecutorService shardPool;
+
+    public DigestJob(MongoTemplate mongoTemplate,
+                     UserRepository userRepository,
+                     DigestCalculator digestCalculator,
+                     FxRateService fxRateService,
+                     NotificationService notificationService,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.digest.enabled:true}") boolean enabled,
+                     @Value("${app.digest.shards:8}") int shardCount,
+                     @Value("${app.digest.parallelism:4}") int parallelism,
+                     @Value("${app.digest.shard-lease:PT10M}") Duration shardLease) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.digestCalculator = digestCalculator;
+        this.fxRateService = fxRateService;
+        this.notificationService = notificationService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.shardLease = shardLease;
+        AtomicInteger threads = new AtomicInteger();
+        this.shardPool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "digest-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.digest.check-interval:PT15M}",
+            initialDelayString = "${app.digest.initial-delay:PT1M}")
+    public void check() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            for (DigestRun.Period period : DigestRun.Period.values()) {
+                ensureRun(window(period, now));
+            }
+            List<DigestRun> open = mongoTemplate.find(new Query(Criteria.where("completedAt").is(null)), DigestRun.class);
+            for (DigestRun run : open) {
+                for (DigestRun.Shard shard : run.getShards()) {
+                    String key = run.getId() + "#" + shard.getIndex();
+                    if (shard.isDone() || !running.add(key)) {
+                        continue;
+                    }
+                    if (!claim(run, shard.getIndex(), now)) {
+                        running.remove(key);
+                        continue;
+                    }
+                    // Hand off, the scheduler thread must not wait for a digest
+                    shardPool.execute(() -> {
+                        try {
+                            processShard(run, shard.getIndex());
+                        } catch (Exception e) {
+                            // The lease runs out and the shard is picked up again from its checkpoint
+                            System.err.println("Digest shard " + key + " failed: " + e.getMessage());
+                        } finally {
+                            running.remove(key);
+                        }
+                    });
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Digest check failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The last complete week or month before {@code now}, with no shards yet.
+     */
+    static DigestRun window(DigestRun.Period period, Instant now) {
+        LocalDate today = now.atZone(ZoneOffset.UTC).toLocalDate();
+        DigestRun run = new DigestRun();
+        run.setPeriod(period);
+        if (period == DigestRun.Period.WEEKLY) {
+            LocalDate end = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            LocalDate start = end.minusWeeks(1);
+            run.setId(String.format("WEEKLY:%d-W%02d", start.get(IsoFields.WEEK_BASED_YEAR),
+                    start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+            run.setFrom(start.atStartOfDay().toInstant(ZoneOffset.UTC));
+            run.setTo(end.atStartOfDay().toInstant(ZoneOffset.UTC));
+        } else {
+            YearMonth month = YearMonth.from(today).minusMonths(1);
+            run.setId("MONTHLY:" + month);
+            run.setFrom(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+            run.setTo(month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        }
+        return run;
+    }
+
+    /**
+     * Splits sorted family ids into up to {@code count} contiguous ranges of even size.
+     */
+    static List<DigestRun.Shard> shards(List<String> familyIds, int count) {
+        int shards = Math.max(1, Math.min(count, familyIds.size()));
+        List<DigestRun.Shard> result = new ArrayList<>(shards);
+        for (int index = 0; index < shards; index++) {
+            String from = index == 0 ? null : familyIds.get(index * familyIds.size() / shards);
+            String to = index == shards - 1 ? null : familyIds.get((index + 1) * familyIds.size() / shards);
+            result.add(new DigestRun.Shard(index, from, to));
+        }
+        return result;
+    }
+
+    private void ensureRun(DigestRun run) {
+        if (mongoTemplate.exists(new Query(Criteria.where("_id").is(run.getId())), DigestRun.class)) {
+            return;
+        }
+        Query families = new Query(Criteria.where("deletedAt").is(null)).with(Sort.by(Sort.Direction.ASC, "_id"));
+        families.fields().include("_id");
+        List<String> familyIds = mongoTemplate.find(families, Family.class).stream().map(Family::getId).toList();
+        run.setShards(shards(familyIds, shardCount));
+        try {
+            mongoTemplate.insert(run);
+        } catch (DuplicateKeyException e) {
+            // Another instance created it first
+        }
+    }
+
+    private boolean claim(DigestRun run, int index, Instant now) {
+        Query claimable = new Query(Criteria.where("_id").is(run.getId()).and("shards").elemMatch(
+                Criteria.where("index").is(index).and("done").is(false).orOperator(
+                        Criteria.where("leaseUntil").is(null),
+                        Criteria.where("leaseUntil").lt(now))));
+        return mongoTemplate.updateFirst(claimable, new Update()
+                .set("shards.$.owner", owner)
+                .set("shards.$.leaseUntil", now.plus(shardLease)), DigestRun.class).getModifiedCount() > 0;
+    }
+
+    void processShard(DigestRun run, int index) {
+        DigestRun.Shard shard = run.getShards().get(index);
+        String after = checkpointOf(run.getId(), index);
+        while (true) {
+            Criteria range = Criteria.where("deletedAt").is(null);
+            if (after != null || shard.getFromFamilyId() != null || shard.getToFamilyId() != null) {
+                Criteria id = range.and("_id");
+                if (after != null) {
+                    id.gt(after);
+                } else if (shard.getFromFamilyId() != null) {
+                    id.gte(shard.getFromFamilyId());
+                }
+                if (shard.getToFamilyId() != null) {
+                    id.lt(shard.getToFamilyId());
+                }
+            }
+            List<Family> families = mongoTemplate.find(new Query(range)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(FAMILY_PAGE), Family.class);
+            if (families.isEmpty()) {
+                break;
+            }
+
+            Map<String, List<User>> members = membersOf(families);
+            for (Family family : families) {
+                digestFamily(run, family, members.getOrDefault(family.getId(), List.of()));
+                if (!checkpoint(run.getId(), index, family.getId())) {
+                    // Lease lost to another instance, it continues from this checkpoint
+                    return;
+                }
+                after = family.getId();
+            }
+            if (families.size() < FAMILY_PAGE) {
+                break;
+            }
+        }
+
+        mongoTemplate.updateFirst(shardOwned(run.getId(), index),
+                new Update().set("shards.$.done", true).unset("shards.$.leaseUntil"), DigestRun.class);
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(run.getId())
+                        .and("completedAt").is(null)
+                        .and("shards").not().elemMatch(Criteria.where("done").is(false))),
+                new Update().set("completedAt", Instant.now()), DigestRun.class);
+    }
+
+    private void digestFamily(DigestRun run, Family family, List<User> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        String currency = family.getCurrency() != null
+                ? family.getCurrency() : fxRateService.snapshot().getBaseCurrency();
+        FamilyDigest digest = digestCalculator.summarize(family.getId(), currency, run.getFrom(), run.getTo());
+        meterRegistry.counter("digest.families", "period", run.getPeriod().name()).increment();
+        if (digest.isEmpty()) {
+            // Nothing was recorded, an all-zero summary is not worth a notification
+            return;
+        }
+        String content = digest.render(run);
+        Notification.NotificationType type = run.getPeriod() == DigestRun.Period.WEEKLY
+                ? Notification.NotificationType.WEEKLY_SUMMARY
+                : Notification.NotificationType.MONTHLY_REPORT;
+        for (User member : members) {
+            if (notificationService.createDigest(type, member.getId(), family.getId(), run.getId(), content)) {
+                meterRegistry.counter("digest.notifications", "period", run.getPeriod().name()).increment();
+            }
+        }
+    }
+
+    private Map<String, List<User>> membersOf(List<Family> families) {
+        Set<String> ids = new HashSet<>();
+        families.forEach(family -> ids.add(family.getId()));
+        Map<String, List<User>> members = new HashMap<>();
+        for (User user : userRepository.findByFamiliesFamilyIdInAndDeletedAtIsNull(ids)) {
+            for (User.FamilyMembership membership : user.getFamilies()) {
+                if (ids.contains(membership.getFamilyId())) {
+                    members.computeIfAbsent(membership.getFamilyId(), id -> new ArrayList<>()).add(user);
+                }
+            }
+        }
+        return members;
+    }
+
+    private String checkpointOf(String runId, int index) {
+        DigestRun current = mongoTemplate.findById(runId, DigestRun.class);
+        return current != null ? current.getShards().get(index).getCheckpoint() : null;
+    }
+
+    private boolean checkpoint(String runId, int index, String familyId) {
+        return mongoTemplate.updateFirst(shardOwned(runId, index), new Update()
+                .set("shards.$.checkpoint", familyId)
+                .inc("shards.$.families", 1)
+                .set("shards.$.leaseUntil", Instant.now().plus(shardLease)), DigestRun.class).getModifiedCount() > 0;
+    }
+
+    private Query shardOwned(String runId, int index) {
+        return new Query(Criteria.where("_id").is(runId).and("shards").elemMatch(
+                Criteria.where("index").is(index).and("owner").is(owner)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shardPool.shutdownNow();
+    }
+}
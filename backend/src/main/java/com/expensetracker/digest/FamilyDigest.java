@@ -0,0 +1,73 @@
+package com.expensetracker.digest;
+
+import com.expensetracker.domain.DigestRun;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Totals of one family over a digest window, in the family currency, and the text members receive.
+ */
+public class FamilyDigest {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("dd.MM.yyyy").withZone(ZoneOffset.UTC);
+
+    private final String currency;
+    private final long incomeMinor;
+    private final long expenseMinor;
+    private final long entries;
+    private final List<CategoryTotal> topCategories;
+
+    public record CategoryTotal(String name, long spentMinor) {}
+
+    FamilyDigest(String currency, long incomeMinor, long expenseMinor, long entries, List<CategoryTotal> topCategories) {
+        this.currency = currency;
+        this.incomeMinor = incomeMinor;
+        this.expenseMinor = expenseMinor;
+        this.entries = entries;
+        this.topCategories = topCategories;
+    }
+
+    public boolean isEmpty() {
+        return entries == 0;
+    }
+
+    public String render(DigestRun run) {
+        StringBuilder content = new StringBuilder();
+        // The window end is exclusive, the last day shown is the one before it
+        content.append("Dönem: ").append(DAY.format(run.getFrom())).append(" - ")
+                .append(DAY.format(run.getTo().minusSeconds(1))).append('\n');
+        content.append("Gelir: ").append(money(incomeMinor)).append('\n');
+        content.append("Gider: ").append(money(expenseMinor)).append('\n');
+        content.append("Bakiye: ").append(money(incomeMinor - expenseMinor)).append('\n');
+        content.append("İşlem sayısı: ").append(entries);
+        if (!topCategories.isEmpty()) {
+            content.append("\nEn çok harcama yapılan kategoriler:");
+            for (CategoryTotal category : topCategories) {
+                content.append("\n- ").append(category.name()).append(": ").append(money(category.spentMinor()));
+            }
+        }
+        return content.toString();
+    }
+
+    private String money(long minor) {
+        return BigDecimal.valueOf(minor, fractionDigits()).toPlainString() + " " + currency;
+    }
+
+    private int fractionDigits() {
+        try {
+            return Math.max(0, Currency.getInstance(currency).getDefaultFractionDigits());
+        } catch (IllegalArgumentException e) {
+            return 2;
+        }
+    }
+
+    public String getCurrency() { return currency; }
+    public long getIncomeMinor() { return incomeMinor; }
+    public long getExpenseMinor() { return expenseMinor; }
+    public long getEntries() { return entries; }
+    public List<CategoryTotal> getTopCategories() { return topCategories; }
+}
@@ -1,14 +1,19 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import java.time.Instant;
 
 @Document(collection = "attachments")
+@Sharded(shardKey = "familyId", immutableKey = true)
+@CompoundIndex(def = "{'familyId': 1, 'ledgerEntryId': 1}")
 public class Attachment {
     @Id
     private String id;
+    private String familyId;
     private String ledgerEntryId;
     private String filename;
     private String originalFilename;
@@ -22,9 +27,10 @@ public class Attachment {
         this.uploadedAt = Instant.now();
     }
 
-    public Attachment(String ledgerEntryId, String filename, String originalFilename, 
+    public Attachment(String familyId, String ledgerEntryId, String filename, String originalFilename, 
                      String contentType, long size, String storageKey) {
         this();
+        this.familyId = familyId;
         this.ledgerEntryId = ledgerEntryId;
         this.filename = filename;
         this.originalFilename = originalFilename;
@@ -37,6 +43,9 @@ public class Attachment {
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+
     public String getLedgerEntryId() { return ledgerEntryId; }
     public void setLedgerEntryId(String ledgerEntryId) { this.ledgerEntryId = ledgerEntryId; }
 
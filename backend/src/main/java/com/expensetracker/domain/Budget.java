@@ -1,7 +1,9 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -11,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "budgets")
+@Sharded(shardKey = "familyId", immutableKey = true)
+@CompoundIndex(def = "{'familyId': 1, 'period.start': 1, 'period.end': 1}")
 public class Budget {
     @Id
     private String id;
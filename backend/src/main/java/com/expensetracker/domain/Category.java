@@ -3,12 +3,14 @@ package com.expensetracker.domain;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
 
 @Document(collection = "categories")
+@Sharded(shardKey = "familyId", immutableKey = true)
 @CompoundIndex(def = "{'familyId': 1, 'name': 1, 'type': 1}", unique = true)
 public class Category {
     @Id
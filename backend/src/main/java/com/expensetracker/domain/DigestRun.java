@@ -0,0 +1,97 @@
+package com.expensetracker.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One weekly or monthly digest over all families, split into shards of contiguous family id
+ * ranges. Each shard records the last family it finished, so a run picks up where it stopped.
+ */
+@Document(collection = "digest_runs")
+public class DigestRun {
+    @Id
+    private String id; // Period and window, e.g. WEEKLY:2026-W42
+    private Period period;
+    private Instant from; // Inclusive
+    private Instant to; // Exclusive
+    private List<Shard> shards = new ArrayList<>();
+    private Instant createdAt;
+    private Instant completedAt;
+
+    public enum Period {
+        WEEKLY, MONTHLY
+    }
+
+    public DigestRun() {
+        this.createdAt = Instant.now();
+    }
+
+    public static class Shard {
+        private int index;
+        private String fromFamilyId; // Inclusive, null for the first shard
+        private String toFamilyId; // Exclusive, null for the last shard
+        private String checkpoint; // Last family whose digest went out
+        private String owner;
+        private Instant leaseUntil;
+        private boolean done;
+        private int families;
+
+        public Shard() {}
+
+        public Shard(int index, String fromFamilyId, String toFamilyId) {
+            this.index = index;
+            this.fromFamilyId = fromFamilyId;
+            this.toFamilyId = toFamilyId;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getFromFamilyId() { return fromFamilyId; }
+        public void setFromFamilyId(String fromFamilyId) { this.fromFamilyId = fromFamilyId; }
+
+        public String getToFamilyId() { return toFamilyId; }
+        public void setToFamilyId(String toFamilyId) { this.toFamilyId = toFamilyId; }
+
+        public String getCheckpoint() { return checkpoint; }
+        public void setCheckpoint(String checkpoint) { this.checkpoint = checkpoint; }
+
+        public String getOwner() { return owner; }
+        public void setOwner(String owner) { this.owner = owner; }
+
+        public Instant getLeaseUntil() { return leaseUntil; }
+        public void setLeaseUntil(Instant leaseUntil) { this.leaseUntil = leaseUntil; }
+
+        public boolean isDone() { return done; }
+        public void setDone(boolean done) { this.done = done; }
+
+        public int getFamilies() { return families; }
+        public void setFamilies(int families) { this.families = families; }
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Period getPeriod() { return period; }
+    public void setPeriod(Period period) { this.period = period; }
+
+    public Instant getFrom() { return from; }
+    public void setFrom(Instant from) { this.from = from; }
+
+    public Instant getTo() { return to; }
+    public void setTo(Instant to) { this.to = to; }
+
+    public List<Shard> getShards() { return shards; }
+    public void setShards(List<Shard> shards) { this.shards = shards; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
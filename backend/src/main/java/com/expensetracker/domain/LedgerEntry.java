@@ -3,6 +3,7 @@ package com.expensetracker.domain;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -10,6 +11,10 @@ import java.time.Instant;
 import java.util.List;
 
 @Document(collection = "ledger")
+// A family's ledger outgrows one chunk, so _id splits it further; the key also backs the shard key
+@Sharded(shardKey = {"familyId", "_id"}, immutableKey = true)
+@CompoundIndex(def = "{'familyId': 1, '_id': 1}")
+@CompoundIndex(def = "{'familyId': 1, 'type': 1, 'occurredAt': -1}")
 @CompoundIndex(def = "{'familyId': 1, 'occurredAt': -1}")
 @CompoundIndex(def = "{'familyId': 1, 'categoryId': 1, 'occurredAt': -1}")
 public class LedgerEntry {
@@ -28,6 +33,8 @@ public class LedgerEntry {
     @NotNull
     private MoneyAmount amount;
     
+    private MoneyAmount familyAmount; // Amount in the family currency at write time, null if no rate was known
+    
     @NotNull
     private String categoryId;
     
@@ -99,6 +106,9 @@ public class LedgerEntry {
     public MoneyAmount getAmount() { return amount; }
     public void setAmount(MoneyAmount amount) { this.amount = amount; }
 
+    public MoneyAmount getFamilyAmount() { return familyAmount; }
+    public void setFamilyAmount(MoneyAmount familyAmount) { this.familyAmount = familyAmount; }
+
     public String getCategoryId() { return categoryId; }
     public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
 
@@ -0,0 +1,106 @@
+package com.expensetracker.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read model of a ledger entry, shaped like the listing response: amounts are flat, and the
+ * category and member are copied in so a listing reads one collection. Soft-deleted entries stay
+ * as tombstones with {@code deletedAt} set, which listings filter out. Maintained by
+ * {@code LedgerViewProjector}; never written to directly.
+ */
+@Document(collection = "ledger_view")
+@Sharded(shardKey = {"familyId", "_id"}, immutableKey = true)
+// Projections merge on the shard key, which needs a unique index on it
+@CompoundIndex(def = "{'familyId': 1, '_id': 1}", unique = true)
+// Listings, newest first, with _id breaking ties between entries at the same instant
+@CompoundIndex(def = "{'familyId': 1, 'occurredAt': -1, '_id': -1}")
+@CompoundIndex(def = "{'familyId': 1, 'type': 1, 'occurredAt': -1, '_id': -1}")
+// Category edits rewrite the copies in every entry of the category
+@CompoundIndex(def = "{'familyId': 1, 'categoryId': 1}")
+public class LedgerView {
+    @Id
+    private String id; // Same as the ledger entry
+    private String familyId;
+    private String memberId;
+    private String memberName; // Users have no display name, members show as their email
+    private LedgerEntry.TransactionType type;
+    private long amountMinor;
+    private String currency;
+    private String categoryId;
+    private String categoryName;
+    private String categoryIcon;
+    private String categoryColor;
+    private Instant occurredAt;
+    private String notes;
+    private List<String> attachments;
+    private String recurringId;
+    private Instant createdAt;
+    private Instant updatedAt; // Of the entry, a row is only replaced by a projection at least as new
+    private Instant deletedAt; // Set on tombstones, which are never replaced
+    private Instant projectedAt;
+
+    public LedgerView() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+
+    public String getMemberId() { return memberId; }
+    public void setMemberId(String memberId) { this.memberId = memberId; }
+
+    public String getMemberName() { return memberName; }
+    public void setMemberName(String memberName) { this.memberName = memberName; }
+
+    public LedgerEntry.TransactionType getType() { return type; }
+    public void setType(LedgerEntry.TransactionType type) { this.type = type; }
+
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public String getCategoryIcon() { return categoryIcon; }
+    public void setCategoryIcon(String categoryIcon) { this.categoryIcon = categoryIcon; }
+
+    public String getCategoryColor() { return categoryColor; }
+    public void setCategoryColor(String categoryColor) { this.categoryColor = categoryColor; }
+
+    public Instant getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public List<String> getAttachments() { return attachments; }
+    public void setAttachments(List<String> attachments) { this.attachments = attachments; }
+
+    public String getRecurringId() { return recurringId; }
+    public void setRecurringId(String recurringId) { this.recurringId = recurringId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Instant getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(Instant deletedAt) { this.deletedAt = deletedAt; }
+
+    public Instant getProjectedAt() { return projectedAt; }
+    public void setProjectedAt(Instant projectedAt) { this.projectedAt = projectedAt; }
+}
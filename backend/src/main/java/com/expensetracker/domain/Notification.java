@@ -1,12 +1,26 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import java.time.Instant;
 import java.util.Map;
 
 @Document(collection = "notifications")
+// Every read is by recipient, and members of several families get notifications from each
+@Sharded(shardKey = "userId", immutableKey = true)
+// Listings page on (createdAt, _id), so _id completes both sort orders
+@CompoundIndex(def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(def = "{'userId': 1, 'isRead': 1, 'createdAt': -1, '_id': -1}")
+// Email outbox: only notifications waiting for delivery are indexed, oldest first
+@CompoundIndex(def = "{'emailSent': 1, 'createdAt': 1}", partialFilter = "{'emailSent': false, 'emailStatus': 'PENDING'}")
+// Retention sweeps
+@CompoundIndex(def = "{'createdAt': 1}")
+// A digest reaches each member once per period, however often its shard is retried. Unique
+// indexes on a sharded collection must start with the shard key
+@CompoundIndex(def = "{'userId': 1, 'digestKey': 1}", unique = true, partialFilter = "{'digestKey': {'$exists': true}}")
 public class Notification {
     @Id
     private String id;
@@ -16,14 +30,27 @@ public class Notification {
     private String title;
     private String message;
     private Map<String, Object> data;
+    private String digestKey; // Digest run and recipient, null for other notifications
     private boolean isRead = false;
+    // Set when marked read, the retention TTL index counts from it
+    private Instant readAt;
     private boolean emailSent = false;
+    // Outbox state, null for notifications that are not emailed
+    private EmailStatus emailStatus;
+    private int emailAttempts;
+    private Instant nextAttemptAt;
+    private String claimToken;
+    private String lastEmailError;
     private Instant createdAt;
 
     public enum NotificationType {
         BUDGET_ALERT, BUDGET_EXCEEDED, WEEKLY_SUMMARY, MONTHLY_REPORT
     }
 
+    public enum EmailStatus {
+        PENDING, SENT, DEAD
+    }
+
     // Constructors
     public Notification() {
         this.createdAt = Instant.now();
@@ -60,12 +87,33 @@ public class Notification {
     public Map<String, Object> getData() { return data; }
     public void setData(Map<String, Object> data) { this.data = data; }
 
+    public String getDigestKey() { return digestKey; }
+    public void setDigestKey(String digestKey) { this.digestKey = digestKey; }
+
     public boolean isRead() { return isRead; }
     public void setRead(boolean read) { isRead = read; }
 
+    public Instant getReadAt() { return readAt; }
+    public void setReadAt(Instant readAt) { this.readAt = readAt; }
+
     public boolean isEmailSent() { return emailSent; }
     public void setEmailSent(boolean emailSent) { this.emailSent = emailSent; }
 
+    public EmailStatus getEmailStatus() { return emailStatus; }
+    public void setEmailStatus(EmailStatus emailStatus) { this.emailStatus = emailStatus; }
+
+    public int getEmailAttempts() { return emailAttempts; }
+    public void setEmailAttempts(int emailAttempts) { this.emailAttempts = emailAttempts; }
+
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public String getLastEmailError() { return lastEmailError; }
+    public void setLastEmailError(String lastEmailError) { this.lastEmailError = lastEmailError; }
+
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -9,6 +10,9 @@ import java.util.List;
 import java.util.Map;
 
 @Document(collection = "receipt_data")
+@CompoundIndex(def = "{'userId': 1, 'createdAt': -1}")
+// Retention sweeps
+@CompoundIndex(def = "{'createdAt': 1}")
 public class ReceiptData {
     @Id
     private String id;
@@ -16,11 +20,14 @@ public class ReceiptData {
     private String storeName;
     private String storeAddress;
     private BigDecimal totalAmount;
+    private BigDecimal subtotalAmount;
+    private BigDecimal taxAmount;
     private String currency;
     private LocalDateTime date;
     private List<ReceiptItem> items;
     private String suggestedCategory;
     private double confidence; // OCR confidence score
+    private Map<String, Double> fieldConfidences;
     private Map<String, Object> metadata;
     private String attachmentId; // Reference to the original receipt image
     private LocalDateTime createdAt;
@@ -72,6 +79,22 @@ public class ReceiptData {
         this.totalAmount = totalAmount;
     }
 
+    public BigDecimal getSubtotalAmount() {
+        return subtotalAmount;
+    }
+
+    public void setSubtotalAmount(BigDecimal subtotalAmount) {
+        this.subtotalAmount = subtotalAmount;
+    }
+
+    public BigDecimal getTaxAmount() {
+        return taxAmount;
+    }
+
+    public void setTaxAmount(BigDecimal taxAmount) {
+        this.taxAmount = taxAmount;
+    }
+
     public String getCurrency() {
         return currency;
     }
@@ -112,6 +135,14 @@ public class ReceiptData {
         this.confidence = confidence;
     }
 
+    public Map<String, Double> getFieldConfidences() {
+        return fieldConfidences;
+    }
+
+    public void setFieldConfidences(Map<String, Double> fieldConfidences) {
+        this.fieldConfidences = fieldConfidences;
+    }
+
     public Map<String, Object> getMetadata() {
         return metadata;
     }
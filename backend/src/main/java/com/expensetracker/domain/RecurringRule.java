@@ -1,13 +1,18 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 @Document(collection = "recurring_rules")
+@Sharded(shardKey = "familyId", immutableKey = true)
+@CompoundIndex(def = "{'isPaused': 1, 'nextRunAt': 1}")
+@CompoundIndex(def = "{'familyId': 1, 'isPaused': 1, 'nextRunAt': 1}")
 public class RecurringRule {
     @Id
     private String id;
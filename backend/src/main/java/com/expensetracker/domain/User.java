@@ -1,6 +1,7 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -12,6 +13,8 @@ import java.util.List;
 import java.util.Set;
 
 @Document(collection = "users")
+// Family member lookups
+@CompoundIndex(def = "{'families.familyId': 1}")
 public class User {
     @Id
     private String id;
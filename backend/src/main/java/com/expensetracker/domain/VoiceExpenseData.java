@@ -1,6 +1,7 @@
 package com.expensetracker.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -9,6 +10,9 @@ import java.util.List;
 import java.util.Map;
 
 @Document(collection = "voice_expense_data")
+@CompoundIndex(def = "{'userId': 1, 'createdAt': -1}")
+// Retention sweeps
+@CompoundIndex(def = "{'createdAt': 1}")
 public class VoiceExpenseData {
     @Id
     private String id;
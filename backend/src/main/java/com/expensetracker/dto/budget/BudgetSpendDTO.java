@@ -4,12 +4,24 @@ import java.time.LocalDate;
 import java.util.List;
 
 public class BudgetSpendDTO {
+    private String currency; // Family currency spending is reported in
     private PeriodDTO period;
     private SpendingSummaryDTO overall;
     private List<CategorySpendingDTO> byCategory;
+    private Long unconvertedEntries; // Entries left out of the spending for lack of an FX rate
+    private List<String> unconvertedCurrencies;
 
     public BudgetSpendDTO() {}
 
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Long getUnconvertedEntries() { return unconvertedEntries; }
+    public void setUnconvertedEntries(Long unconvertedEntries) { this.unconvertedEntries = unconvertedEntries; }
+
+    public List<String> getUnconvertedCurrencies() { return unconvertedCurrencies; }
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) { this.unconvertedCurrencies = unconvertedCurrencies; }
+
     public static class PeriodDTO {
         private LocalDate start;
         private LocalDate end;
@@ -8,11 +8,14 @@ import java.util.List;
 public class LedgerEntryResponse {
     private String id;
     private String memberId;
+    private String memberName;
     private LedgerEntry.TransactionType type;
     private Long amountMinor;
     private String currency;
     private String categoryId;
     private String categoryName;
+    private String categoryIcon;
+    private String categoryColor;
     private Instant occurredAt;
     private String notes;
     private List<String> attachments;
@@ -28,6 +31,9 @@ public class LedgerEntryResponse {
     public String getMemberId() { return memberId; }
     public void setMemberId(String memberId) { this.memberId = memberId; }
 
+    public String getMemberName() { return memberName; }
+    public void setMemberName(String memberName) { this.memberName = memberName; }
+
     public LedgerEntry.TransactionType getType() { return type; }
     public void setType(LedgerEntry.TransactionType type) { this.type = type; }
 
@@ -43,6 +49,12 @@ public class LedgerEntryResponse {
     public String getCategoryName() { return categoryName; }
     public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
 
+    public String getCategoryIcon() { return categoryIcon; }
+    public void setCategoryIcon(String categoryIcon) { this.categoryIcon = categoryIcon; }
+
+    public String getCategoryColor() { return categoryColor; }
+    public void setCategoryColor(String categoryColor) { this.categoryColor = categoryColor; }
+
     public Instant getOccurredAt() { return occurredAt; }
     public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
 
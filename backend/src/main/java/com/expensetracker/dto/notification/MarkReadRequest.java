@@ -0,0 +1,17 @@
+package com.expensetracker.dto.notification;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class MarkReadRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<String> ids;
+
+    public MarkReadRequest() {}
+
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+}
@@ -0,0 +1,21 @@
+package com.expensetracker.dto.notification;
+
+import java.util.List;
+
+public class NotificationPageDTO {
+    private List<NotificationSummaryDTO> items;
+    private String nextCursor; // Pass back as ?cursor= for the next page, null on the last one
+
+    public NotificationPageDTO() {}
+
+    public NotificationPageDTO(List<NotificationSummaryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NotificationSummaryDTO> getItems() { return items; }
+    public void setItems(List<NotificationSummaryDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,48 @@
+package com.expensetracker.dto.notification;
+
+import com.expensetracker.domain.Notification;
+
+import java.time.Instant;
+
+/**
+ * A notification as listed: everything but the type-specific {@code data} and delivery state.
+ */
+public class NotificationSummaryDTO {
+    private String id;
+    private Notification.NotificationType type;
+    private String title;
+    private String message;
+    private boolean read;
+    private Instant createdAt;
+
+    public NotificationSummaryDTO() {}
+
+    public static NotificationSummaryDTO from(Notification notification) {
+        NotificationSummaryDTO summary = new NotificationSummaryDTO();
+        summary.setId(notification.getId());
+        summary.setType(notification.getType());
+        summary.setTitle(notification.getTitle());
+        summary.setMessage(notification.getMessage());
+        summary.setRead(notification.isRead());
+        summary.setCreatedAt(notification.getCreatedAt());
+        return summary;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Notification.NotificationType getType() { return type; }
+    public void setType(Notification.NotificationType type) { this.type = type; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public boolean isRead() { return read; }
+    public void setRead(boolean read) { this.read = read; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
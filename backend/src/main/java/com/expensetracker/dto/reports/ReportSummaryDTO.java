@@ -3,15 +3,27 @@ package com.expensetracker.dto.reports;
 import java.util.List;
 
 public class ReportSummaryDTO {
+    private String currency; // Family currency all totals are reported in
     private Long totalIncomeMinor;
     private Long totalExpensesMinor;
     private Long balanceMinor;
     private List<CategorySummaryDTO> perCategory;
     private List<MonthlySummaryDTO> perMonth;
     private List<TransactionSummaryDTO> recentTransactions;
+    private Long unconvertedEntries; // Entries left out of the totals for lack of an FX rate
+    private List<String> unconvertedCurrencies;
 
     public ReportSummaryDTO() {}
 
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Long getUnconvertedEntries() { return unconvertedEntries; }
+    public void setUnconvertedEntries(Long unconvertedEntries) { this.unconvertedEntries = unconvertedEntries; }
+
+    public List<String> getUnconvertedCurrencies() { return unconvertedCurrencies; }
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) { this.unconvertedCurrencies = unconvertedCurrencies; }
+
     public static class CategorySummaryDTO {
         private String categoryId;
         private Long spentMinor;
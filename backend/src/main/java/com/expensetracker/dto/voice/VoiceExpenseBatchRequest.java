@@ -0,0 +1,42 @@
+package com.expensetracker.dto.voice;
+
+import java.util.List;
+
+public class VoiceExpenseBatchRequest {
+    private List<String> utterances;
+    private String preferredCurrency = "USD";
+    private String language; // "en" or "tr", detected per utterance when omitted
+
+    // Constructors
+    public VoiceExpenseBatchRequest() {}
+
+    public VoiceExpenseBatchRequest(List<String> utterances, String preferredCurrency) {
+        this.utterances = utterances;
+        this.preferredCurrency = preferredCurrency;
+    }
+
+    // Getters and Setters
+    public List<String> getUtterances() {
+        return utterances;
+    }
+
+    public void setUtterances(List<String> utterances) {
+        this.utterances = utterances;
+    }
+
+    public String getPreferredCurrency() {
+        return preferredCurrency;
+    }
+
+    public void setPreferredCurrency(String preferredCurrency) {
+        this.preferredCurrency = preferredCurrency;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+}
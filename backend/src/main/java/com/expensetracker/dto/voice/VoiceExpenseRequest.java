@@ -3,6 +3,7 @@ package com.expensetracker.dto.voice;
 public class VoiceExpenseRequest {
     private String spokenText;
     private String preferredCurrency = "USD";
+    private String language; // "en" or "tr", detected from the text when omitted
 
     // Constructors
     public VoiceExpenseRequest() {}
@@ -28,4 +29,12 @@ public class VoiceExpenseRequest {
     public void setPreferredCurrency(String preferredCurrency) {
         this.preferredCurrency = preferredCurrency;
     }
-}
\ No newline at end of file
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+}
@@ -0,0 +1,8 @@
+package com.expensetracker.email;
+
+/**
+ * A rendered email. {@code id} is the notification it was rendered for and is how transports
+ * report per-message failures.
+ */
+public record EmailMessage(String id, String from, String to, String subject, String body) {
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Text with {@code {name}} placeholders, split into literal and placeholder segments once so
+ * rendering a batch is only appends.
+ */
+public final class EmailTemplate {
+
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = text.indexOf('{', position);
+            int close = open < 0 ? -1 : text.indexOf('}', open);
+            if (close < 0) {
+                literals.add(text.substring(position));
+                break;
+            }
+            literals.add(text.substring(position, open));
+            names.add(text.substring(open + 1, close));
+            position = close + 1;
+        }
+        return new EmailTemplate(literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    /**
+     * Fills in the placeholders; a missing value renders as an empty string.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder rendered = new StringBuilder(literalLength + 32 * names.length);
+        for (int i = 0; i < names.length; i++) {
+            rendered.append(literals[i]).append(values.getOrDefault(names[i], ""));
+        }
+        return rendered.append(literals[names.length]).toString();
+    }
+}
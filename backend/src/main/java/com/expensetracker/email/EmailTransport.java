@@ -0,0 +1,17 @@
+package com.expensetracker.email;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers rendered emails. Selected with {@code app.email.transport}.
+ */
+public interface EmailTransport {
+
+    /**
+     * Sends a batch, ideally over one connection. A failure of one message must not stop the
+     * others; the returned map holds the error for each message id that was not sent and is empty
+     * when all were.
+     */
+    Map<String, String> send(List<EmailMessage> messages);
+}
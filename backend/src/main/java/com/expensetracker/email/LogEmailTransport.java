@@ -0,0 +1,25 @@
+package com.expensetracker.email;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints emails to standard out instead of sending them. The default for local development.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "log", matchIfMissing = true)
+public class LogEmailTransport implements EmailTransport {
+
+    @Override
+    public Map<String, String> send(List<EmailMessage> messages) {
+        for (EmailMessage message : messages) {
+            System.out.println("EMAIL TO: " + message.to());
+            System.out.println("SUBJECT: " + message.subject());
+            System.out.println("MESSAGE: " + message.body());
+        }
+        return Map.of();
+    }
+}
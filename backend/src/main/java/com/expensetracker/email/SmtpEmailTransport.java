@@ -0,0 +1,76 @@
+package com.expensetracker.email;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends through the SMTP server configured under {@code spring.mail.*}. A batch goes out over a
+ * single connection.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "smtp")
+public class SmtpEmailTransport implements EmailTransport {
+
+    private final JavaMailSender mailSender;
+
+    public SmtpEmailTransport(JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    @Override
+    public Map<String, String> send(List<EmailMessage> messages) {
+        Map<String, String> failures = new HashMap<>();
+        // MimeMessage keeps identity equality; insertion order keeps the batch order on the wire
+        Map<MimeMessage, String> ids = new LinkedHashMap<>();
+        for (EmailMessage message : messages) {
+            try {
+                ids.put(toMime(message), message.id());
+            } catch (MessagingException e) {
+                failures.put(message.id(), "Invalid message: " + e.getMessage());
+            }
+        }
+        if (ids.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(ids.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Nothing was attempted, typically the connection itself failed
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+            e.getFailedMessages().forEach((failed, cause) -> {
+                String id = ids.get(failed);
+                if (id != null) {
+                    failures.put(id, cause.getMessage());
+                }
+            });
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMime(EmailMessage message) throws MessagingException {
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, StandardCharsets.UTF_8.name());
+        helper.setFrom(message.from());
+        helper.setTo(message.to());
+        helper.setSubject(message.subject());
+        helper.setText(message.body());
+        return mime;
+    }
+}
@@ -0,0 +1,46 @@
+package com.expensetracker.events;
+
+/**
+ * A change pushed to the connected clients of one family. Events carry ids only; clients fetch
+ * what they need, so nothing a member may not see travels over the channel.
+ */
+public class FamilyEvent {
+
+    public enum Type {
+        LEDGER_CREATED, LEDGER_UPDATED, LEDGER_DELETED, NOTIFICATION_CREATED, NOTIFICATION_READ
+    }
+
+    private Type type;
+    private String familyId;
+    // Set for events only one member should see, such as their own notifications
+    private String userId;
+    // Null when an event covers several entities, such as marking all notifications read
+    private String entityId;
+    private long publishedAt;
+
+    public FamilyEvent() {
+    }
+
+    public FamilyEvent(Type type, String familyId, String userId, String entityId) {
+        this.type = type;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.entityId = entityId;
+        this.publishedAt = System.currentTimeMillis();
+    }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getEntityId() { return entityId; }
+    public void setEntityId(String entityId) { this.entityId = entityId; }
+
+    public long getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(long publishedAt) { this.publishedAt = publishedAt; }
+}
@@ -0,0 +1,239 @@
+package com.expensetracker.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event connections on this node, grouped by family, and the Redis listener that
+ * relays published {@link FamilyEvent}s to them.
+ * <p>
+ * The relay thread only queues events; writes happen on a pool of {@code app.events.send-threads},
+ * in order per stream. A client that falls {@code app.events.send-queue} events behind, or whose
+ * write fails, has its stream completed so it reconnects instead of holding up the others.
+ * <p>
+ * Instruments {@code events.connections} (open streams), {@code events.lag} (publish to relay),
+ * {@code events.delivered} per event type and {@code events.dropped} (streams closed as too slow).
+ */
+@Component
+public class FamilyEventHub implements MessageListener {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration streamTimeout;
+    private final Executor sendPool;
+    private final int sendQueue;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Timer lag;
+
+    @Autowired
+    public FamilyEventHub(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${app.events.stream-timeout:PT30M}") Duration streamTimeout,
+                          @Value("${app.events.send-threads:4}") int sendThreads,
+                          @Value("${app.events.send-queue:64}") int sendQueue) {
+        this(objectMapper, meterRegistry, streamTimeout, sendPool(sendThreads), sendQueue);
+    }
+
+    FamilyEventHub(ObjectMapper objectMapper, MeterRegistry meterRegistry, Duration streamTimeout,
+                   Executor sendPool, int sendQueue) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.streamTimeout = streamTimeout;
+        this.sendPool = sendPool;
+        this.sendQueue = sendQueue;
+        Gauge.builder("events.connections", connections, AtomicInteger::get)
+                .description("Open event streams on this node")
+                .register(meterRegistry);
+        this.lag = Timer.builder("events.lag")
+                .description("Time from publishing an event to relaying it on this node")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static ExecutorService sendPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "family-event-send-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream for a member. Streams end after {@code app.events.stream-timeout}; clients
+     * reconnect and get a fresh ready event.
+     */
+    public SseEmitter subscribe(String familyId, String userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        register(familyId, userId, emitter);
+        return emitter;
+    }
+
+    void register(String familyId, String userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.computeIfAbsent(familyId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        connections.incrementAndGet();
+        Runnable remove = () -> unregister(familyId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+    }
+
+    private void unregister(String familyId, Subscriber subscriber) {
+        subscribers.computeIfPresent(familyId, (id, family) -> {
+            if (family.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return family.isEmpty() ? null : family;
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        FamilyEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), FamilyEvent.class);
+        } catch (IOException e) {
+            System.err.println("Ignoring malformed family event: " + e.getMessage());
+            return;
+        }
+        lag.record(Math.max(0, System.currentTimeMillis() - event.getPublishedAt()), TimeUnit.MILLISECONDS);
+        deliver(event);
+    }
+
+    void deliver(FamilyEvent event) {
+        Set<Subscriber> family = subscribers.get(event.getFamilyId());
+        if (family == null) {
+            return;
+        }
+        for (Subscriber subscriber : family) {
+            if (event.getUserId() != null && !event.getUserId().equals(subscriber.userId)) {
+                continue;
+            }
+            enqueue(event.getFamilyId(), subscriber, new Outgoing(event.getType().name(),
+                    SseEmitter.event().name(event.getType().name()).data(event)));
+        }
+    }
+
+    /**
+     * Comments keep idle streams open through proxies and reveal clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        subscribers.forEach((familyId, family) -> family.forEach(subscriber ->
+                enqueue(familyId, subscriber, new Outgoing(null, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sendPool instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void enqueue(String familyId, Subscriber subscriber, Outgoing outgoing) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (subscriber.queued.incrementAndGet() > sendQueue) {
+            // Too far behind to catch up. Its drain completes the stream once the stuck write
+            // returns; the emitter's monitor is held until then, so it is not touched here.
+            if (subscriber.closed.compareAndSet(false, true)) {
+                meterRegistry.counter("events.dropped").increment();
+                unregister(familyId, subscriber);
+            }
+            return;
+        }
+        subscriber.pending.add(outgoing);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sendPool.execute(() -> drain(familyId, subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(String familyId, Subscriber subscriber) {
+        while (true) {
+            Outgoing outgoing;
+            while ((outgoing = subscriber.pending.poll()) != null) {
+                if (subscriber.closed.get()) {
+                    // The client reconnects and starts from a fresh ready event
+                    subscriber.pending.clear();
+                    subscriber.emitter.complete();
+                    return;
+                }
+                subscriber.queued.decrementAndGet();
+                if (send(familyId, subscriber, outgoing.event) && outgoing.type != null) {
+                    meterRegistry.counter("events.delivered", "type", outgoing.type).increment();
+                }
+            }
+            subscriber.draining.set(false);
+            // Queued after the last poll but before the flag dropped: nobody else will drain it
+            if (subscriber.pending.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(String familyId, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone; completing lets the container clean up the async request
+            subscriber.closed.set(true);
+            unregister(familyId, subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private record Outgoing(String type, SseEmitter.SseEventBuilder event) {
+    }
+
+    private static final class Subscriber {
+        private final String userId;
+        private final SseEmitter emitter;
+        private final Queue<Outgoing> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
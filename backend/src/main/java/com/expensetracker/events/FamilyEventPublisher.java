@@ -0,0 +1,36 @@
+package com.expensetracker.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes family events to Redis, from where every node relays them to its own connected
+ * clients. Publishing is best effort: a lost event only means a client refreshes on its next
+ * reconnect, so failures never fail the write that caused them.
+ */
+@Component
+public class FamilyEventPublisher {
+
+    static final String CHANNEL_PREFIX = "events:family:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public FamilyEventPublisher(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publish(FamilyEvent.Type type, String familyId, String userId, String entityId) {
+        if (familyId == null) {
+            return;
+        }
+        try {
+            FamilyEvent event = new FamilyEvent(type, familyId, userId, entityId);
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + familyId, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            System.err.println("Failed to publish " + type + " event: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.expensetracker.events;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Subscribes this node to every family channel and hands messages to the {@link FamilyEventHub}.
+ * <p>
+ * The subscription is not a lifecycle bean because a listener container refuses to start without
+ * Redis, which would take the whole application down with it. Instead it is attempted once the
+ * application is ready and again every {@code app.events.resubscribe-interval} until it holds;
+ * after that the client re-subscribes by itself across reconnects.
+ */
+@Component
+public class FamilyEventRelay {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final FamilyEventHub familyEventHub;
+    // A single relay thread keeps events in publish order
+    private final ExecutorService relayThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "family-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // The scheduler and shutdown can race; a lock rather than synchronized keeps carriers unpinned
+    private final ReentrantLock subscriptionLock = new ReentrantLock();
+    private RedisMessageListenerContainer container;
+
+    public FamilyEventRelay(RedisConnectionFactory connectionFactory, FamilyEventHub familyEventHub) {
+        this.connectionFactory = connectionFactory;
+        this.familyEventHub = familyEventHub;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.events.resubscribe-interval:PT10S}",
+            initialDelayString = "${app.events.resubscribe-interval:PT10S}")
+    public void ensureSubscribed() {
+        subscriptionLock.lock();
+        try {
+            if (container != null && container.isListening()) {
+                return;
+            }
+            destroy(container);
+            container = null;
+
+            RedisMessageListenerContainer candidate = new RedisMessageListenerContainer();
+            candidate.setConnectionFactory(connectionFactory);
+            candidate.setTaskExecutor(new ConcurrentTaskExecutor(relayThread));
+            candidate.addMessageListener(familyEventHub, new PatternTopic(FamilyEventPublisher.CHANNEL_PREFIX + "*"));
+            try {
+                candidate.afterPropertiesSet();
+                candidate.start();
+                container = candidate;
+            } catch (Exception e) {
+                System.err.println("Family events not relayed yet, Redis subscription failed: " + e.getMessage());
+                destroy(candidate);
+            }
+        } finally {
+            subscriptionLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptionLock.lock();
+        try {
+            destroy(container);
+            container = null;
+            relayThread.shutdownNow();
+        } finally {
+            subscriptionLock.unlock();
+        }
+    }
+
+    private static void destroy(RedisMessageListenerContainer container) {
+        if (container == null) {
+            return;
+        }
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            // Already broken, nothing left to release
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.expensetracker.fx;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Reads rates from a properties file:
+ * <pre>
+ * base=USD
+ * as-of=2026-10-01T00:00:00Z
+ * rate.EUR=0.92
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "app.fx.provider", havingValue = "file", matchIfMissing = true)
+public class FileFxRateProvider implements FxRateProvider {
+
+    private static final String RATE_PREFIX = "rate.";
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    public FileFxRateProvider(ResourceLoader resourceLoader,
+                              @Value("${app.fx.rates-file:classpath:fx/rates.properties}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @Override
+    public FxRates fetchRates() {
+        Resource resource = resourceLoader.getResource(location);
+        Properties properties = new Properties();
+        try (InputStream input = resource.getInputStream();
+             Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read FX rates from " + location, e);
+        }
+
+        String base = properties.getProperty("base");
+        if (base == null) {
+            throw new IllegalStateException("FX rate file " + location + " has no base currency");
+        }
+        String asOf = properties.getProperty("as-of");
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(RATE_PREFIX)) {
+                rates.put(name.substring(RATE_PREFIX.length()), new BigDecimal(properties.getProperty(name).trim()));
+            }
+        }
+        return new FxRates(base.trim(), asOf != null ? Instant.parse(asOf.trim()) : Instant.now(), rates);
+    }
+}
@@ -0,0 +1,10 @@
+package com.expensetracker.fx;
+
+/**
+ * Source of exchange rates. The default implementation reads a local rate file; a feed backed
+ * provider can replace it by registering its own bean and setting {@code app.fx.provider}.
+ */
+public interface FxRateProvider {
+
+    FxRates fetchRates();
+}
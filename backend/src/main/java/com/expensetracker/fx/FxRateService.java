@@ -0,0 +1,85 @@
+package com.expensetracker.fx;
+
+import com.expensetracker.domain.Family;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.repository.FamilyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FxRateSnapshot}. Refreshes build a new snapshot off to the side and
+ * swap it in atomically, so readers never see a half loaded table. Callers aggregating many
+ * entries should take one {@link #snapshot()} and convert against it.
+ */
+@Service
+public class FxRateService {
+
+    private final FxRateProvider provider;
+    private final FamilyRepository familyRepository;
+    private final AtomicReference<FxRateSnapshot> current;
+
+    public FxRateService(FxRateProvider provider, FamilyRepository familyRepository,
+                         @Value("${app.fx.base-currency:USD}") String baseCurrency) {
+        this.provider = provider;
+        this.familyRepository = familyRepository;
+        this.current = new AtomicReference<>(FxRateSnapshot.empty(baseCurrency));
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.fx.refresh-interval:PT1H}", initialDelayString = "${app.fx.refresh-interval:PT1H}")
+    public void refresh() {
+        try {
+            current.set(FxRateSnapshot.of(provider.fetchRates()));
+        } catch (Exception e) {
+            // Keep serving the previous table rather than failing conversions
+            System.err.println("Failed to refresh FX rates: " + e.getMessage());
+        }
+    }
+
+    public FxRateSnapshot snapshot() {
+        return current.get();
+    }
+
+    public String familyCurrency(String familyId) {
+        return familyRepository.findById(familyId)
+                .map(Family::getCurrency)
+                .orElse(current.get().getBaseCurrency());
+    }
+
+    /**
+     * Converts an amount into the family currency for storing alongside the original. Returns
+     * null when no rate is known; readers then convert on the fly.
+     */
+    public LedgerEntry.MoneyAmount toFamilyAmount(LedgerEntry.MoneyAmount amount, String familyCurrency) {
+        FxRateSnapshot rates = current.get();
+        if (amount.getCurrency().equals(familyCurrency)) {
+            return new LedgerEntry.MoneyAmount(amount.getMinor(), familyCurrency);
+        }
+        if (!rates.supports(amount.getCurrency()) || !rates.supports(familyCurrency)) {
+            return null;
+        }
+        return new LedgerEntry.MoneyAmount(
+                rates.convert(amount.getMinor(), amount.getCurrency(), familyCurrency), familyCurrency);
+    }
+
+    /**
+     * Amount of an entry in the given currency, preferring the value converted at write time.
+     * Empty when the entry's currency has no rate; callers leave such entries out of their totals
+     * and report them, as digests do.
+     */
+    public OptionalLong amountIn(LedgerEntry entry, String currency, FxRateSnapshot rates) {
+        LedgerEntry.MoneyAmount stored = entry.getFamilyAmount();
+        if (stored != null && currency.equals(stored.getCurrency())) {
+            return OptionalLong.of(stored.getMinor());
+        }
+        String entryCurrency = entry.getAmount().getCurrency();
+        if (!entryCurrency.equals(currency) && (!rates.supports(entryCurrency) || !rates.supports(currency))) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(rates.convert(entry.getAmount().getMinor(), entryCurrency, currency));
+    }
+}
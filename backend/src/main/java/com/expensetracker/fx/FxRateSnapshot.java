@@ -0,0 +1,136 @@
+package com.expensetracker.fx;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable cross-rate table between every pair of known currencies.
+ * <p>
+ * Rates are precomputed in minor units and scaled by {@link #SCALE}, so a conversion is one
+ * map lookup per currency and a single {@code long} multiplication. Products that would overflow
+ * a {@code long} (roughly above 10^8 major units) fall back to exact {@link BigInteger} math.
+ */
+public final class FxRateSnapshot {
+
+    static final long SCALE = 1_000_000_000L;
+
+    private static final BigDecimal SCALE_DECIMAL = BigDecimal.valueOf(SCALE);
+    private static final BigInteger SCALE_INTEGER = BigInteger.valueOf(SCALE);
+
+    private final String baseCurrency;
+    private final Instant asOf;
+    private final Map<String, Integer> indexes;
+    private final long[] scaledRates; // row major, [from * size + to]
+    private final int size;
+
+    private FxRateSnapshot(String baseCurrency, Instant asOf, Map<String, Integer> indexes, long[] scaledRates) {
+        this.baseCurrency = baseCurrency;
+        this.asOf = asOf;
+        this.indexes = indexes;
+        this.scaledRates = scaledRates;
+        this.size = indexes.size();
+    }
+
+    public static FxRateSnapshot of(FxRates rates) {
+        List<String> currencies = new ArrayList<>();
+        List<BigDecimal> perBase = new ArrayList<>();
+        currencies.add(rates.getBaseCurrency());
+        perBase.add(BigDecimal.ONE);
+        rates.getRates().forEach((currency, rate) -> {
+            if (!currency.equals(rates.getBaseCurrency()) && rate.signum() > 0) {
+                currencies.add(currency);
+                perBase.add(rate);
+            }
+        });
+
+        int size = currencies.size();
+        int[] fractionDigits = new int[size];
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indexes.put(currencies.get(i), i);
+            fractionDigits[i] = fractionDigits(currencies.get(i));
+        }
+
+        long[] scaledRates = new long[size * size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                BigDecimal majorRate = perBase.get(to).divide(perBase.get(from), MathContext.DECIMAL128);
+                scaledRates[from * size + to] = majorRate
+                        .scaleByPowerOfTen(fractionDigits[to] - fractionDigits[from])
+                        .multiply(SCALE_DECIMAL)
+                        .setScale(0, RoundingMode.HALF_UP)
+                        .longValueExact();
+            }
+        }
+        return new FxRateSnapshot(rates.getBaseCurrency(), rates.getAsOf(), indexes, scaledRates);
+    }
+
+    public static FxRateSnapshot empty(String baseCurrency) {
+        return of(new FxRates(baseCurrency, Instant.EPOCH, Map.of()));
+    }
+
+    public String getBaseCurrency() { return baseCurrency; }
+
+    public Instant getAsOf() { return asOf; }
+
+    public boolean supports(String currency) {
+        return currency != null && indexes.containsKey(currency);
+    }
+
+    /**
+     * Converts an amount in minor units, rounding half away from zero.
+     *
+     * @throws IllegalArgumentException when either currency has no rate
+     */
+    public long convert(long minor, String from, String to) {
+        if (from.equals(to)) {
+            return minor;
+        }
+        Integer fromIndex = indexes.get(from);
+        Integer toIndex = indexes.get(to);
+        if (fromIndex == null || toIndex == null) {
+            throw new IllegalArgumentException("No FX rate for " + (fromIndex == null ? from : to));
+        }
+        return multiply(minor, scaledRates[fromIndex * size + toIndex]);
+    }
+
+    static long multiply(long minor, long scaledRate) {
+        long high = Math.multiplyHigh(minor, scaledRate);
+        long low = minor * scaledRate;
+        if (high != (low >> 63)) {
+            return multiplyExact(minor, scaledRate);
+        }
+        long quotient = low / SCALE;
+        long remainder = low % SCALE;
+        if (Math.abs(remainder) * 2 >= SCALE) {
+            quotient += Long.signum(low);
+        }
+        return quotient;
+    }
+
+    private static long multiplyExact(long minor, long scaledRate) {
+        BigInteger[] division = BigInteger.valueOf(minor).multiply(BigInteger.valueOf(scaledRate))
+                .divideAndRemainder(SCALE_INTEGER);
+        BigInteger quotient = division[0];
+        if (division[1].abs().shiftLeft(1).compareTo(SCALE_INTEGER) >= 0) {
+            quotient = quotient.add(BigInteger.valueOf(division[1].signum()));
+        }
+        return quotient.longValueExact();
+    }
+
+    private static int fractionDigits(String currency) {
+        try {
+            return Math.max(0, Currency.getInstance(currency).getDefaultFractionDigits());
+        } catch (IllegalArgumentException e) {
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.expensetracker.fx;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Raw rate table as delivered by an {@link FxRateProvider}. Every rate is the number of units
+ * of that currency bought by one unit of {@code baseCurrency}.
+ */
+public class FxRates {
+
+    private final String baseCurrency;
+    private final Instant asOf;
+    private final Map<String, BigDecimal> rates;
+
+    public FxRates(String baseCurrency, Instant asOf, Map<String, BigDecimal> rates) {
+        this.baseCurrency = baseCurrency;
+        this.asOf = asOf;
+        this.rates = rates;
+    }
+
+    public String getBaseCurrency() { return baseCurrency; }
+
+    public Instant getAsOf() { return asOf; }
+
+    public Map<String, BigDecimal> getRates() { return rates; }
+}
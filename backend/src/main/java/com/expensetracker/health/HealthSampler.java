@@ -0,0 +1,147 @@
+package com.expensetracker.health;
+
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Probes Mongo and Redis on a fixed interval and publishes the results as an immutable
+ * {@link HealthSnapshot}, so health endpoints answer from memory however often they are polled.
+ * <p>
+ * Probes run in parallel on their own threads and each one is given up on after
+ * {@code app.health.probe-timeout}. A probe that is still running from an earlier round is not
+ * started again; its component is reported down until it returns.
+ */
+@Component
+public class HealthSampler {
+
+    private static final Map<String, String> COUNTED_COLLECTIONS = Map.of(
+            "users", "users", "families", "families", "transactions", "ledger");
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration probeTimeout;
+    private final Duration maxAge;
+    private final ExecutorService probes;
+    private final Map<String, CompletableFuture<HealthSnapshot.ComponentHealth>> running = new ConcurrentHashMap<>();
+    private final AtomicReference<HealthSnapshot> current = new AtomicReference<>(HealthSnapshot.initial());
+
+    public HealthSampler(MongoTemplate mongoTemplate, RedisTemplate<String, String> redisTemplate,
+                         @Value("${app.health.sample-interval:PT5S}") Duration sampleInterval,
+                         @Value("${app.health.probe-timeout:PT2S}") Duration probeTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.redisTemplate = redisTemplate;
+        this.probeTimeout = probeTimeout;
+        // Missing a couple of rounds is tolerated before readiness drops
+        this.maxAge = sampleInterval.multipliedBy(3).plus(probeTimeout);
+        this.probes = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probes.shutdownNow();
+    }
+
+    @Scheduled(fixedRateString = "${app.health.sample-interval:PT5S}")
+    public void sample() {
+        refresh();
+    }
+
+    public HealthSnapshot snapshot() {
+        return current.get();
+    }
+
+    public boolean isHealthy() {
+        return current.get().isHealthy(Instant.now(), maxAge);
+    }
+
+    /**
+     * Starts a round of probes and returns without waiting; the snapshot is swapped in once every
+     * probe has answered or timed out.
+     */
+    CompletableFuture<HealthSnapshot> refresh() {
+        CompletableFuture<HealthSnapshot.ComponentHealth> mongodb = probe("mongodb", this::probeMongo);
+        CompletableFuture<HealthSnapshot.ComponentHealth> redis = probe("redis", this::probeRedis);
+        return mongodb.thenCombine(redis, (mongoHealth, redisHealth) -> {
+            Map<String, HealthSnapshot.ComponentHealth> components = new LinkedHashMap<>();
+            components.put("mongodb", mongoHealth);
+            components.put("redis", redisHealth);
+            HealthSnapshot snapshot = new HealthSnapshot(Instant.now(), components);
+            current.set(snapshot);
+            return snapshot;
+        });
+    }
+
+    private CompletableFuture<HealthSnapshot.ComponentHealth> probe(String name,
+                                                                   Supplier<HealthSnapshot.ComponentHealth> probe) {
+        CompletableFuture<HealthSnapshot.ComponentHealth> previous = running.get(name);
+        if (previous != null && !previous.isDone()) {
+            return CompletableFuture.completedFuture(HealthSnapshot.ComponentHealth.down("previous probe still running"));
+        }
+        CompletableFuture<HealthSnapshot.ComponentHealth> task;
+        try {
+            task = CompletableFuture.supplyAsync(probe, probes);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(HealthSnapshot.ComponentHealth.down(e.getMessage()));
+        }
+        running.put(name, task);
+        // Time out a copy so the task itself stays tracked until it really finishes
+        return task.copy()
+                .completeOnTimeout(HealthSnapshot.ComponentHealth.down("timed out after " + probeTimeout.toMillis() + "ms"),
+                        probeTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> HealthSnapshot.ComponentHealth.down(
+                        (e.getCause() != null ? e.getCause() : e).getMessage()));
+    }
+
+    private HealthSnapshot.ComponentHealth probeMongo() {
+        long start = System.nanoTime();
+        mongoTemplate.getDb().runCommand(new Document("ping", 1));
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        EstimatedDocumentCountOptions options = new EstimatedDocumentCountOptions()
+                .maxTime(probeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        Map<String, Object> counts = new LinkedHashMap<>();
+        COUNTED_COLLECTIONS.forEach((metric, collection) ->
+                counts.put(metric, mongoTemplate.getCollection(collection).estimatedDocumentCount(options)));
+        return HealthSnapshot.ComponentHealth.up(latency, counts);
+    }
+
+    private HealthSnapshot.ComponentHealth probeRedis() {
+        long start = System.nanoTime();
+        // execute() hands the connection back to the factory when the callback returns
+        Properties memory = redisTemplate.execute((RedisCallback<Properties>) connection -> ping(connection));
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String usedMemory = memory != null ? memory.getProperty("used_memory_human") : null;
+        return HealthSnapshot.ComponentHealth.up(latency,
+                usedMemory != null ? Map.of("memory_usage", usedMemory) : Map.of());
+    }
+
+    private static Properties ping(RedisConnection connection) {
+        connection.ping();
+        return connection.serverCommands().info("memory");
+    }
+}
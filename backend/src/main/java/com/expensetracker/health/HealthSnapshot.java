@@ -0,0 +1,97 @@
+package com.expensetracker.health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of one round of dependency probes. Built once per sample, then only read.
+ */
+public final class HealthSnapshot {
+
+    private final Instant sampledAt;
+    private final Map<String, ComponentHealth> components;
+
+    HealthSnapshot(Instant sampledAt, Map<String, ComponentHealth> components) {
+        this.sampledAt = sampledAt;
+        this.components = Map.copyOf(components);
+    }
+
+    /**
+     * Placeholder until the first sample completes; reports every component as unknown.
+     */
+    static HealthSnapshot initial() {
+        return new HealthSnapshot(null, Map.of());
+    }
+
+    public Instant getSampledAt() {
+        return sampledAt;
+    }
+
+    public Map<String, ComponentHealth> getComponents() {
+        return components;
+    }
+
+    public ComponentHealth component(String name) {
+        return components.getOrDefault(name, ComponentHealth.UNKNOWN);
+    }
+
+    /**
+     * True when every probe succeeded and the sample is recent enough to trust.
+     */
+    public boolean isHealthy(Instant now, Duration maxAge) {
+        return sampledAt != null
+                && !sampledAt.plus(maxAge).isBefore(now)
+                && !components.isEmpty()
+                && components.values().stream().allMatch(ComponentHealth::isUp);
+    }
+
+    public static final class ComponentHealth {
+
+        static final ComponentHealth UNKNOWN = new ComponentHealth("UNKNOWN", -1, "not sampled yet", Map.of());
+
+        private final String status;
+        private final long latencyMillis;
+        private final String error;
+        private final Map<String, Object> details;
+
+        private ComponentHealth(String status, long latencyMillis, String error, Map<String, Object> details) {
+            this.status = status;
+            this.latencyMillis = latencyMillis;
+            this.error = error;
+            this.details = Map.copyOf(details);
+        }
+
+        static ComponentHealth up(long latencyMillis, Map<String, Object> details) {
+            return new ComponentHealth("UP", latencyMillis, null, details);
+        }
+
+        static ComponentHealth down(String error) {
+            return new ComponentHealth("DOWN", -1, error != null ? error : "unknown error", Map.of());
+        }
+
+        public boolean isUp() {
+            return "UP".equals(status);
+        }
+
+        public String getStatus() { return status; }
+        public long getLatencyMillis() { return latencyMillis; }
+        public String getError() { return error; }
+        public Map<String, Object> getDetails() { return details; }
+
+        /**
+         * Response body form: status plus probe latency, or the error when the probe failed.
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status);
+            if (error != null) {
+                map.put("error", error);
+            } else {
+                map.put("latency_ms", latencyMillis);
+            }
+            return map;
+        }
+    }
+}
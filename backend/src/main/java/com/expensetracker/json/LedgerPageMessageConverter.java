@@ -0,0 +1,101 @@
+package com.expensetracker.json;
+
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Serves {@code Page<LedgerEntryResponse>} bodies through {@link LedgerPageWriter} instead of the
+ * Jackson converters. Spring Boot puts converter beans ahead of its defaults, so every ledger page
+ * comes here while other bodies keep going to Jackson.
+ * <p>
+ * Clients that accept {@code application/cbor} get the page in CBOR with the
+ * {@link LedgerPageWriter#compact compact} layout; JSON keeps the names other endpoints use.
+ * <p>
+ * A generator is bound to one response stream, so each response gets its own from the shared
+ * {@link JsonFactory} of the application's {@link ObjectMapper}, which recycles the generator
+ * buffers per thread.
+ */
+@Component
+public class LedgerPageMessageConverter extends AbstractGenericHttpMessageConverter<Page<LedgerEntryResponse>> {
+
+    private final JsonFactory jsonFactory;
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final LedgerPageWriter writer;
+    private final LedgerPageWriter compactWriter;
+
+    public LedgerPageMessageConverter(ObjectMapper objectMapper,
+                                      @Value("${app.json.ledger.fields:}") String fields,
+                                      @Value("${app.json.ledger.timestamps:iso}") String timestamps) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), MediaType.APPLICATION_CBOR);
+        this.jsonFactory = objectMapper.getFactory();
+        this.writer = new LedgerPageWriter(LedgerPageWriter.fields(fields), LedgerPageWriter.timestamps(timestamps));
+        this.compactWriter = LedgerPageWriter.compact(LedgerPageWriter.fields(fields));
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return isLedgerPage(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Only the generic type tells a ledger page from any other page
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Page<LedgerEntryResponse> page, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(outputMessage.getHeaders().getContentType())) {
+            try (JsonGenerator generator = cborFactory.createGenerator(body)) {
+                compactWriter.write(page, generator);
+            }
+            return;
+        }
+        try (JsonGenerator generator = jsonFactory.createGenerator(body, JsonEncoding.UTF8)) {
+            writer.write(page, generator);
+        }
+    }
+
+    @Override
+    public Page<LedgerEntryResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Ledger pages are only written", inputMessage);
+    }
+
+    @Override
+    protected Page<LedgerEntryResponse> readInternal(Class<? extends Page<LedgerEntryResponse>> clazz,
+                                                     HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Ledger pages are only written", inputMessage);
+    }
+
+    static boolean isLedgerPage(@Nullable Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == Page.class
+                && parameterized.getActualTypeArguments()[0] == LedgerEntryResponse.class;
+    }
+}
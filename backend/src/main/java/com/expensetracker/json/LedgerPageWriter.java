@@ -0,0 +1,315 @@
+package com.expensetracker.json;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes a page of ledger entries straight to a {@link JsonGenerator}, without Jackson's bean
+ * introspection. Field names are pre-encoded, amounts are written unboxed, and instants are
+ * formatted into a buffer kept for the page, so a row allocates nothing beyond what the generator
+ * needs for its strings.
+ * <p>
+ * The output is what Jackson writes for the same page, less the {@code pageable} and {@code sort}
+ * objects, which only echo the request. Null fields are left out, as everywhere else in the API.
+ * Instants are ISO-8601 strings like {@link Instant#toString()}, or epoch milliseconds.
+ * <p>
+ * The {@link #compact} layout is for binary formats on mobile networks. Row fields, which repeat
+ * on every row, get their {@link Field#shortName() short names}. Each instant is written as the
+ * milliseconds since the same field of the previous row that had it, or since the epoch on the
+ * first, so a page sorted by time carries small numbers.
+ */
+public class LedgerPageWriter {
+
+    public enum Field {
+        ID("id", "i"),
+        MEMBER_ID("memberId", "m"),
+        MEMBER_NAME("memberName", "mn"),
+        TYPE("type", "t"),
+        AMOUNT_MINOR("amountMinor", "a"),
+        CURRENCY("currency", "c"),
+        CATEGORY_ID("categoryId", "ci"),
+        CATEGORY_NAME("categoryName", "cn"),
+        CATEGORY_ICON("categoryIcon", "cic"),
+        CATEGORY_COLOR("categoryColor", "cc"),
+        OCCURRED_AT("occurredAt", "o"),
+        NOTES("notes", "n"),
+        ATTACHMENTS("attachments", "at"),
+        RECURRING_ID("recurringId", "r"),
+        CREATED_AT("createdAt", "ca"),
+        UPDATED_AT("updatedAt", "ua");
+
+        private final SerializedString name;
+        private final SerializedString shortName;
+
+        Field(String name, String shortName) {
+            this.name = new SerializedString(name);
+            this.shortName = new SerializedString(shortName);
+        }
+
+        public String jsonName() {
+            return name.getValue();
+        }
+
+        public String shortName() {
+            return shortName.getValue();
+        }
+    }
+
+    public enum Timestamps { ISO, EPOCH_MILLIS, DELTA_MILLIS }
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString NUMBER_OF_ELEMENTS = new SerializedString("numberOfElements");
+    private static final SerializedString FIRST = new SerializedString("first");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString EMPTY = new SerializedString("empty");
+    private static final SerializedString[] TYPES = Arrays.stream(LedgerEntry.TransactionType.values())
+            .map(type -> new SerializedString(type.name()))
+            .toArray(SerializedString[]::new);
+
+    private final Field[] fields;
+    private final Timestamps timestamps;
+    private final boolean shortNames;
+
+    public LedgerPageWriter(Set<Field> fields, Timestamps timestamps) {
+        this(fields, timestamps, false);
+    }
+
+    private LedgerPageWriter(Set<Field> fields, Timestamps timestamps, boolean shortNames) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("A ledger page needs at least one field");
+        }
+        this.fields = EnumSet.copyOf(fields).toArray(Field[]::new);
+        this.timestamps = timestamps;
+        this.shortNames = shortNames;
+    }
+
+    /**
+     * Short field names and delta-encoded instants.
+     */
+    public static LedgerPageWriter compact(Set<Field> fields) {
+        return new LedgerPageWriter(fields, Timestamps.DELTA_MILLIS, true);
+    }
+
+    /**
+     * Fields by their JSON names, e.g. {@code "id,amountMinor,occurredAt"}; blank means all.
+     */
+    public static Set<Field> fields(String names) {
+        if (names == null || names.isBlank()) {
+            return EnumSet.allOf(Field.class);
+        }
+        Set<Field> fields = EnumSet.noneOf(Field.class);
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            fields.add(Arrays.stream(Field.values())
+                    .filter(field -> field.jsonName().equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown ledger field: " + trimmed)));
+        }
+        return fields;
+    }
+
+    /**
+     * {@code iso} or {@code epoch-millis}.
+     */
+    public static Timestamps timestamps(String format) {
+        return switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "iso" -> Timestamps.ISO;
+            case "epoch-millis" -> Timestamps.EPOCH_MILLIS;
+            default -> throw new IllegalArgumentException("Unknown timestamp format: " + format);
+        };
+    }
+
+    public void write(Page<LedgerEntryResponse> page, JsonGenerator generator) throws IOException {
+        Instants instants = new Instants(timestamps);
+        List<LedgerEntryResponse> content = page.getContent();
+
+        generator.writeStartObject();
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+        for (int i = 0; i < content.size(); i++) {
+            writeEntry(content.get(i), generator, instants);
+        }
+        generator.writeEndArray();
+        number(generator, TOTAL_ELEMENTS, page.getTotalElements());
+        number(generator, TOTAL_PAGES, page.getTotalPages());
+        number(generator, NUMBER, page.getNumber());
+        number(generator, SIZE, page.getSize());
+        number(generator, NUMBER_OF_ELEMENTS, page.getNumberOfElements());
+        generator.writeFieldName(FIRST);
+        generator.writeBoolean(page.isFirst());
+        generator.writeFieldName(LAST);
+        generator.writeBoolean(page.isLast());
+        generator.writeFieldName(EMPTY);
+        generator.writeBoolean(page.isEmpty());
+        generator.writeEndObject();
+    }
+
+    private void writeEntry(LedgerEntryResponse entry, JsonGenerator generator, Instants instants)
+            throws IOException {
+        generator.writeStartObject();
+        for (Field field : fields) {
+            switch (field) {
+                case ID -> string(generator, name(field), entry.getId());
+                case MEMBER_ID -> string(generator, name(field), entry.getMemberId());
+                case MEMBER_NAME -> string(generator, name(field), entry.getMemberName());
+                case TYPE -> {
+                    if (entry.getType() != null) {
+                        generator.writeFieldName(name(field));
+                        generator.writeString(TYPES[entry.getType().ordinal()]);
+                    }
+                }
+                case AMOUNT_MINOR -> {
+                    if (entry.getAmountMinor() != null) {
+                        number(generator, name(field), entry.getAmountMinor());
+                    }
+                }
+                case CURRENCY -> string(generator, name(field), entry.getCurrency());
+                case CATEGORY_ID -> string(generator, name(field), entry.getCategoryId());
+                case CATEGORY_NAME -> string(generator, name(field), entry.getCategoryName());
+                case CATEGORY_ICON -> string(generator, name(field), entry.getCategoryIcon());
+                case CATEGORY_COLOR -> string(generator, name(field), entry.getCategoryColor());
+                case OCCURRED_AT -> instants.write(generator, name(field), field, entry.getOccurredAt());
+                case NOTES -> string(generator, name(field), entry.getNotes());
+                case ATTACHMENTS -> {
+                    List<String> attachments = entry.getAttachments();
+                    if (attachments != null) {
+                        generator.writeFieldName(name(field));
+                        generator.writeStartArray();
+                        for (int i = 0; i < attachments.size(); i++) {
+                            generator.writeString(attachments.get(i));
+                        }
+                        generator.writeEndArray();
+                    }
+                }
+                case RECURRING_ID -> string(generator, name(field), entry.getRecurringId());
+                case CREATED_AT -> instants.write(generator, name(field), field, entry.getCreatedAt());
+                case UPDATED_AT -> instants.write(generator, name(field), field, entry.getUpdatedAt());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private SerializedString name(Field field) {
+        return shortNames ? field.shortName : field.name;
+    }
+
+    private static void string(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static void number(JsonGenerator generator, SerializedString name, long value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+
+    /**
+     * Writes the instants of one page, keeping what the format carries over from row to row.
+     */
+    private static final class Instants {
+        private final Timestamps timestamps;
+        private final IsoInstants isoInstants;
+        private final long[] previous;
+
+        Instants(Timestamps timestamps) {
+            this.timestamps = timestamps;
+            this.isoInstants = timestamps == Timestamps.ISO ? new IsoInstants() : null;
+            this.previous = timestamps == Timestamps.DELTA_MILLIS ? new long[Field.values().length] : null;
+        }
+
+        void write(JsonGenerator generator, SerializedString name, Field field, Instant value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            generator.writeFieldName(name);
+            switch (timestamps) {
+                case ISO -> isoInstants.write(value, generator);
+                case EPOCH_MILLIS -> generator.writeNumber(value.toEpochMilli());
+                case DELTA_MILLIS -> {
+                    long millis = value.toEpochMilli();
+                    generator.writeNumber(millis - previous[field.ordinal()]);
+                    previous[field.ordinal()] = millis;
+                }
+            }
+        }
+    }
+
+    /**
+     * Formats instants as {@link Instant#toString()} does into one buffer. Entries of a page mostly
+     * fall on a few days, so the date part is kept until an instant on another day comes along.
+     */
+    static final class IsoInstants {
+        private static final int SECONDS_PER_DAY = 86_400;
+
+        // yyyy-MM-ddTHH:mm:ss.nnnnnnnnnZ
+        private final char[] buffer = new char[30];
+        private long day = Long.MIN_VALUE;
+
+        void write(Instant instant, JsonGenerator generator) throws IOException {
+            long seconds = instant.getEpochSecond();
+            long epochDay = Math.floorDiv(seconds, SECONDS_PER_DAY);
+            if (epochDay != day) {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                if (date.getYear() < 0 || date.getYear() > 9999) {
+                    // Signed or expanded years, which ledger data never has
+                    generator.writeString(instant.toString());
+                    return;
+                }
+                digits(date.getYear(), 0, 4);
+                buffer[4] = '-';
+                digits(date.getMonthValue(), 5, 2);
+                buffer[7] = '-';
+                digits(date.getDayOfMonth(), 8, 2);
+                buffer[10] = 'T';
+                day = epochDay;
+            }
+            int secondOfDay = Math.floorMod(seconds, SECONDS_PER_DAY);
+            digits(secondOfDay / 3600, 11, 2);
+            buffer[13] = ':';
+            digits(secondOfDay / 60 % 60, 14, 2);
+            buffer[16] = ':';
+            digits(secondOfDay % 60, 17, 2);
+            int length = 19;
+            int nano = instant.getNano();
+            if (nano != 0) {
+                // Milli, micro or nano precision, whichever shows every digit
+                buffer[length++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    length = digits(nano / 1_000_000, length, 3);
+                } else if (nano % 1_000 == 0) {
+                    length = digits(nano / 1_000, length, 6);
+                } else {
+                    length = digits(nano, length, 9);
+                }
+            }
+            buffer[length++] = 'Z';
+            generator.writeString(buffer, 0, length);
+        }
+
+        private int digits(int value, int offset, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            return offset + width;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.expensetracker.mongo;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.TagSet;
+import com.mongodb.client.ClientSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs analytical reads with the read preference configured for their path
+ * ({@code app.mongo.read-preference.<path>}), so reports, exports, budget status and digests can
+ * be served by secondaries at most {@code app.mongo.analytics.max-staleness} behind.
+ * <p>
+ * When the requesting user wrote recently, the read runs in a causally consistent session advanced
+ * to that write's cluster time: the server answering it waits until it has replicated the write,
+ * so users always see their own changes while everyone else's reads stay off the primary.
+ */
+@Component
+public class AnalyticsReads {
+
+    public enum Path {
+        REPORTS, EXPORTS, BUDGETS, DIGESTS
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final CausalTokenTracker causalTokenTracker;
+    private final MeterRegistry meterRegistry;
+    private final Map<Path, ReadPreference> readPreferences = new EnumMap<>(Path.class);
+
+    public AnalyticsReads(MongoTemplate mongoTemplate, CausalTokenTracker causalTokenTracker, MeterRegistry meterRegistry,
+                          @Value("${app.mongo.analytics.max-staleness:PT90S}") Duration maxStaleness,
+                          @Value("${app.mongo.read-preference.reports:secondaryPreferred}") String reports,
+                          @Value("${app.mongo.read-preference.exports:secondaryPreferred}") String exports,
+                          @Value("${app.mongo.read-preference.budgets:secondaryPreferred}") String budgets,
+                          @Value("${app.mongo.read-preference.digests:secondaryPreferred}") String digests) {
+        this.mongoTemplate = mongoTemplate;
+        this.causalTokenTracker = causalTokenTracker;
+        this.meterRegistry = meterRegistry;
+        readPreferences.put(Path.REPORTS, readPreference(reports, maxStaleness));
+        readPreferences.put(Path.EXPORTS, readPreference(exports, maxStaleness));
+        readPreferences.put(Path.BUDGETS, readPreference(budgets, maxStaleness));
+        readPreferences.put(Path.DIGESTS, readPreference(digests, maxStaleness));
+    }
+
+    /**
+     * Parses a read preference mode name. Every mode but {@code primary} gets the staleness bound.
+     */
+    static ReadPreference readPreference(String mode, Duration maxStaleness) {
+        if ("primary".equalsIgnoreCase(mode)) {
+            return ReadPreference.primary();
+        }
+        return ReadPreference.valueOf(mode, List.<TagSet>of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    public ReadPreference readPreferenceFor(Path path) {
+        return readPreferences.get(path);
+    }
+
+    /**
+     * @param userId the user the read is for, null for background jobs
+     */
+    public <T> List<T> find(Path path, String userId, Query query, Class<T> type) {
+        Query routed = query.withReadPreference(readPreferences.get(path));
+        return run(path, userId, operations -> operations.find(routed, type));
+    }
+
+    public <O> List<O> aggregate(Path path, String userId, Aggregation aggregation, Class<?> inputType,
+                                 Class<O> outputType) {
+        Aggregation routed = aggregation.withOptions(AggregationOptions.builder()
+                .readPreference(readPreferences.get(path))
+                .build());
+        return run(path, userId, operations -> operations.aggregate(routed, inputType, outputType).getMappedResults());
+    }
+
+    private <T> T run(Path path, String userId, Function<MongoOperations, T> reads) {
+        Optional<CausalTokenTracker.Token> token = readPreferences.get(path).isSecondaryOk()
+                ? causalTokenTracker.tokenOf(userId)
+                : Optional.empty();
+        meterRegistry.counter("mongodb.analytics.reads", "path", path.name().toLowerCase(),
+                "causal", String.valueOf(token.isPresent())).increment();
+        if (token.isEmpty()) {
+            return reads.apply(mongoTemplate);
+        }
+        try (ClientSession session = mongoTemplate.getMongoDatabaseFactory()
+                .getSession(ClientSessionOptions.builder().causallyConsistent(true).build())) {
+            session.advanceClusterTime(token.get().clusterTime());
+            session.advanceOperationTime(token.get().operationTime());
+            return reads.apply(mongoTemplate.withSession(session));
+        }
+    }
+}
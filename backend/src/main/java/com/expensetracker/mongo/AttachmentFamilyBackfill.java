@@ -0,0 +1,114 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.domain.Attachment;
+import com.expensetracker.domain.LedgerEntry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Gives attachments stored before they carried a {@code familyId} the family of their ledger entry.
+ * Runs once the application is ready, ahead of {@link ShardingInitializer} so the shard key is in
+ * place before the collection is sharded. Later startups find nothing to do through the
+ * {@code familyId} index.
+ * <p>
+ * Attachments whose entry no longer exists keep no family and stay unreachable. Until a pass has
+ * completed, {@link #isComplete()} is false and attachment lookups also accept unmigrated rows
+ * owned through their ledger entry.
+ */
+@Component
+public class AttachmentFamilyBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private volatile boolean complete;
+
+    public AttachmentFamilyBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            long updated = backfill();
+            complete = true;
+            if (updated > 0) {
+                System.err.println("Attachments given their family: " + updated);
+            }
+        } catch (Exception e) {
+            System.err.println("Attachment family backfill failed, lookups keep checking ledger entries: "
+                    + e.getMessage());
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Sets the family of every attachment without one whose ledger entry exists, in batches by id.
+     * Returns how many attachments were updated.
+     */
+    long backfill() {
+        long updated = 0;
+        String after = null;
+        while (true) {
+            Criteria missing = Criteria.where("familyId").is(null);
+            if (after != null) {
+                missing = missing.and("id").gt(after);
+            }
+            Query page = new Query(missing).with(Sort.by("id")).limit(BATCH_SIZE);
+            page.fields().include("ledgerEntryId");
+            List<Attachment> batch = mongoTemplate.find(page, Attachment.class);
+            if (batch.isEmpty()) {
+                return updated;
+            }
+            updated += assignFamilies(batch);
+            after = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private long assignFamilies(List<Attachment> batch) {
+        List<String> entryIds = batch.stream()
+                .map(Attachment::getLedgerEntryId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (entryIds.isEmpty()) {
+            return 0;
+        }
+        Query entries = new Query(Criteria.where("id").in(entryIds));
+        entries.fields().include("familyId");
+        Map<String, String> families = mongoTemplate.find(entries, LedgerEntry.class).stream()
+                .filter(entry -> entry.getFamilyId() != null)
+                .collect(Collectors.toMap(LedgerEntry::getId, LedgerEntry::getFamilyId));
+
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attachment.class);
+        int queued = 0;
+        for (Attachment attachment : batch) {
+            String familyId = families.get(attachment.getLedgerEntryId());
+            if (familyId != null) {
+                // Left alone if an upload or an earlier pass got there first
+                updates.updateOne(new Query(Criteria.where("id").is(attachment.getId()).and("familyId").is(null)),
+                        new Update().set("familyId", familyId));
+                queued++;
+            }
+        }
+        return queued > 0 ? updates.execute().getModifiedCount() : 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Remembers, per user, the cluster time of their last acknowledged write, so a later read on a
+ * secondary can be made causally consistent with it (see {@link AnalyticsReads}).
+ * <p>
+ * The blocking driver reports a command on the thread that issued it, which for request handling
+ * is the thread holding the caller's security context. Writes from background jobs carry no user
+ * and are not tracked. A token is kept for {@code app.mongo.analytics.max-staleness}: past that,
+ * every secondary the driver may pick has replicated the write anyway.
+ */
+@Component
+public class CausalTokenTracker implements CommandListener {
+
+    private static final Set<String> WRITES = Set.of("insert", "update", "delete", "findAndModify");
+
+    public record Token(BsonTimestamp operationTime, BsonDocument clusterTime) {}
+
+    private final Cache<String, Token> tokens;
+
+    public CausalTokenTracker(@Value("${app.mongo.analytics.max-staleness:PT90S}") Duration maxStaleness) {
+        this.tokens = Caffeine.newBuilder()
+                .expireAfterWrite(maxStaleness)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public Optional<Token> tokenOf(String userId) {
+        return userId == null ? Optional.empty() : Optional.ofNullable(tokens.getIfPresent(userId));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        if (!WRITES.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument response = event.getResponse();
+        // Standalone servers report neither, there is nothing to be causal with
+        if (!response.isTimestamp("operationTime") || !response.isDocument("$clusterTime")) {
+            return;
+        }
+        String userId = currentUserId();
+        if (userId == null) {
+            return;
+        }
+        Token written = new Token(response.getTimestamp("operationTime"), response.getDocument("$clusterTime"));
+        tokens.asMap().merge(userId, written,
+                (previous, next) -> next.operationTime().compareTo(previous.operationTime()) >= 0 ? next : previous);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal user ? user.getId() : null;
+    }
+}
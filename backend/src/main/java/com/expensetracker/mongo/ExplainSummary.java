@@ -0,0 +1,80 @@
+package com.expensetracker.mongo;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of an {@code executionStats} explain worth keeping next to a slow query shape.
+ */
+public class ExplainSummary {
+
+    private final long docsExamined;
+    private final long keysExamined;
+    private final long returned;
+    private final String plan;
+
+    ExplainSummary(long docsExamined, long keysExamined, long returned, String plan) {
+        this.docsExamined = docsExamined;
+        this.keysExamined = keysExamined;
+        this.returned = returned;
+        this.plan = plan;
+    }
+
+    /**
+     * Reads a find, count or distinct explain, or an aggregate one whose first stage is the
+     * {@code $cursor} that runs the query.
+     */
+    static ExplainSummary of(Document explain) {
+        Document source = explain;
+        List<?> stages = explain.getList("stages", Object.class);
+        if (stages != null && !stages.isEmpty() && stages.get(0) instanceof Document first
+                && first.get("$cursor") instanceof Document cursor) {
+            source = cursor;
+        }
+        Document stats = source.get("executionStats", Document.class);
+        Document planner = source.get("queryPlanner", Document.class);
+        Document winningPlan = planner != null ? planner.get("winningPlan", Document.class) : null;
+        // Plans run by the slot-based engine wrap the classic tree in queryPlan
+        if (winningPlan != null && winningPlan.get("queryPlan") instanceof Document queryPlan) {
+            winningPlan = queryPlan;
+        }
+        return new ExplainSummary(
+                number(stats, "totalDocsExamined"),
+                number(stats, "totalKeysExamined"),
+                number(stats, "nReturned"),
+                winningPlan != null ? describe(winningPlan) : "unknown");
+    }
+
+    // FETCH <- IXSCAN familyId_1_occurredAt_-1, with sibling inputs joined by " + "
+    static String describe(Document stage) {
+        String name = stage.getString("stage");
+        StringBuilder description = new StringBuilder(name != null ? name : "?");
+        if (stage.getString("indexName") != null) {
+            description.append(' ').append(stage.getString("indexName"));
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            description.append(" <- ").append(describe(input));
+        } else if (stage.get("inputStages") instanceof List<?> inputs) {
+            List<String> described = new ArrayList<>();
+            for (Object input : inputs) {
+                if (input instanceof Document document) {
+                    described.add(describe(document));
+                }
+            }
+            description.append(" <- (").append(String.join(" + ", described)).append(')');
+        }
+        return description.toString();
+    }
+
+    private static long number(Document document, String field) {
+        return document != null && document.get(field) instanceof Number value ? value.longValue() : -1;
+    }
+
+    public long getDocsExamined() { return docsExamined; }
+    public long getKeysExamined() { return keysExamined; }
+    public long getReturned() { return returned; }
+    public String getPlan() { return plan; }
+    public boolean isCollectionScan() { return plan.contains("COLLSCAN"); }
+}
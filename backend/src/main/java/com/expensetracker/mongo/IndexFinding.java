@@ -0,0 +1,48 @@
+package com.expensetracker.mongo;
+
+/**
+ * How well the existing indexes of a collection serve one repository query method.
+ */
+public class IndexFinding {
+
+    public enum Status {
+        /** An index covers every equality predicate, then the range or sort */
+        INDEXED,
+        /** An index narrows the scan but the rest of the filter or the sort runs on documents */
+        PARTIAL,
+        /** No index is usable, the query scans the collection */
+        MISSING
+    }
+
+    private final String repository;
+    private final String method;
+    private final String collection;
+    private final Status status;
+    private final String index;
+    private final String suggestion;
+
+    IndexFinding(String repository, String method, String collection, Status status, String index, String suggestion) {
+        this.repository = repository;
+        this.method = method;
+        this.collection = collection;
+        this.status = status;
+        this.index = index;
+        this.suggestion = suggestion;
+    }
+
+    public String getRepository() { return repository; }
+    public String getMethod() { return method; }
+    public String getCollection() { return collection; }
+    public Status getStatus() { return status; }
+    // Name of the best index found, null when MISSING
+    public String getIndex() { return index; }
+    // Index that would fully serve the query, null when INDEXED
+    public String getSuggestion() { return suggestion; }
+
+    @Override
+    public String toString() {
+        return repository + "." + method + " on " + collection + ": " + status
+                + (index != null ? " via " + index : "")
+                + (suggestion != null ? ", consider " + suggestion : "");
+    }
+}
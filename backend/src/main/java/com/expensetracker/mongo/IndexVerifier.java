@@ -0,0 +1,291 @@
+package com.expensetracker.mongo;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Compares the indexes each repository query method needs with the indexes that exist once the
+ * application is up, and logs or fails on queries that would scan their collection.
+ * <p>
+ * Equality predicates must form a prefix of an index, followed by the first range predicate or
+ * sort key. Predicates an index cannot narrow on ({@code IsNull}, {@code Not}, regexes) are allowed
+ * anywhere in the prefix but never required. Modes ({@code app.mongo.index-verification}):
+ * {@code warn} logs partial and missing indexes, {@code fail} also refuses to start when one is
+ * missing, {@code off} skips the check.
+ */
+@Component
+public class IndexVerifier {
+
+    private static final Set<Part.Type> EQUALITY = EnumSet.of(Part.Type.SIMPLE_PROPERTY, Part.Type.TRUE,
+            Part.Type.FALSE, Part.Type.IN);
+    private static final Set<Part.Type> RANGE = EnumSet.of(Part.Type.BETWEEN, Part.Type.LESS_THAN,
+            Part.Type.LESS_THAN_EQUAL, Part.Type.GREATER_THAN, Part.Type.GREATER_THAN_EQUAL, Part.Type.BEFORE,
+            Part.Type.AFTER, Part.Type.STARTING_WITH);
+    private static final Set<String> RANGE_OPERATORS = Set.of("$gt", "$gte", "$lt", "$lte");
+    private static final Set<String> EQUALITY_OPERATORS = Set.of("$eq", "$in");
+
+    private final ApplicationContext applicationContext;
+    private final MongoTemplate mongoTemplate;
+    private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+    private final String mode;
+    private volatile List<IndexFinding> findings = List.of();
+
+    public IndexVerifier(ApplicationContext applicationContext, MongoTemplate mongoTemplate,
+                         @Value("${app.mongo.index-verification:warn}") String mode) {
+        this.applicationContext = applicationContext;
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mongoTemplate.getConverter().getMappingContext();
+        this.mode = mode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if ("off".equalsIgnoreCase(mode)) {
+            return;
+        }
+        List<IndexFinding> results = new ArrayList<>();
+        Map<Class<?>, Map<String, List<String>>> indexesByType = new LinkedHashMap<>();
+        for (RepositoryFactoryInformation<?, ?> factory
+                : applicationContext.getBeansOfType(RepositoryFactoryInformation.class).values()) {
+            RepositoryInformation repository = factory.getRepositoryInformation();
+            Class<?> domainType = repository.getDomainType();
+            Map<String, List<String>> indexes;
+            try {
+                indexes = indexesByType.computeIfAbsent(domainType, this::existingIndexes);
+            } catch (Exception e) {
+                System.err.println("Index verification skipped for " + repository.getRepositoryInterface().getSimpleName()
+                        + ": " + e.getMessage());
+                continue;
+            }
+            String collection = mappingContext.getRequiredPersistentEntity(domainType).getCollection();
+            for (Method method : repository.getQueryMethods()) {
+                List<QueryShape> shapes = shapesOf(method, domainType);
+                if (!shapes.isEmpty()) {
+                    results.add(evaluate(repository.getRepositoryInterface().getSimpleName(), method.getName(),
+                            collection, shapes, indexes));
+                }
+            }
+        }
+        results.sort(Comparator.comparing(IndexFinding::getRepository).thenComparing(IndexFinding::getMethod));
+        findings = List.copyOf(results);
+
+        List<IndexFinding> missing = new ArrayList<>();
+        for (IndexFinding finding : findings) {
+            if (finding.getStatus() != IndexFinding.Status.INDEXED) {
+                System.err.println("Index check: " + finding);
+            }
+            if (finding.getStatus() == IndexFinding.Status.MISSING) {
+                missing.add(finding);
+            }
+        }
+        if ("fail".equalsIgnoreCase(mode) && !missing.isEmpty()) {
+            throw new IllegalStateException("Repository queries without a usable index: " + missing);
+        }
+    }
+
+    /**
+     * Findings of the last verification, empty when it has not run or is turned off.
+     */
+    public List<IndexFinding> getFindings() {
+        return findings;
+    }
+
+    private Map<String, List<String>> existingIndexes(Class<?> domainType) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        for (IndexInfo index : mongoTemplate.indexOps(domainType).getIndexInfo()) {
+            indexes.put(index.getName(), index.getIndexFields().stream().map(IndexField::getKey).toList());
+        }
+        return indexes;
+    }
+
+    /**
+     * Predicates of a query method by field name, one shape per {@code Or} branch. Empty when the
+     * method has no filter to index, or cannot be parsed.
+     */
+    List<QueryShape> shapesOf(Method method, Class<?> domainType) {
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        try {
+            if (query != null && StringUtils.hasText(query.value())) {
+                QueryShape shape = QueryShape.parse(query.value(), query.sort());
+                return shape.isEmpty() ? List.of() : List.of(shape);
+            }
+            PartTree tree = new PartTree(method.getName(), domainType);
+            List<QueryShape> shapes = new ArrayList<>();
+            for (PartTree.OrPart branch : tree) {
+                QueryShape shape = new QueryShape();
+                for (Part part : branch) {
+                    String field = fieldName(part.getProperty());
+                    if (EQUALITY.contains(part.getType())) {
+                        shape.equality.add(field);
+                    } else if (RANGE.contains(part.getType())) {
+                        shape.range.add(field);
+                    } else {
+                        shape.filter.add(field);
+                    }
+                }
+                for (Sort.Order order : tree.getSort()) {
+                    shape.sort.put(fieldName(PropertyPath.from(order.getProperty(), domainType)),
+                            order.isAscending() ? 1 : -1);
+                }
+                if (!shape.isEmpty()) {
+                    shapes.add(shape);
+                }
+            }
+            return shapes;
+        } catch (RuntimeException e) {
+            // Custom implementations and methods Spring Data resolves some other way
+            return List.of();
+        }
+    }
+
+    private String fieldName(PropertyPath path) {
+        return mappingContext.getPersistentPropertyPath(path).toDotPath(MongoPersistentProperty::getFieldName);
+    }
+
+    /**
+     * Grades a method by its worst {@code Or} branch, each against the best index for it.
+     */
+    static IndexFinding evaluate(String repository, String method, String collection, List<QueryShape> shapes,
+                                 Map<String, List<String>> indexes) {
+        IndexFinding.Status worst = IndexFinding.Status.INDEXED;
+        String worstIndex = null;
+        String suggestion = null;
+        for (QueryShape shape : shapes) {
+            IndexFinding.Status best = IndexFinding.Status.MISSING;
+            String bestIndex = null;
+            for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+                IndexFinding.Status status = grade(shape, index.getValue());
+                if (status.ordinal() < best.ordinal()) {
+                    best = status;
+                    bestIndex = index.getKey();
+                }
+            }
+            if (best.ordinal() > worst.ordinal() || (best == worst && worstIndex == null)) {
+                worst = best;
+                worstIndex = bestIndex;
+            }
+            if (best != IndexFinding.Status.INDEXED && suggestion == null) {
+                suggestion = shape.suggestion();
+            }
+        }
+        return new IndexFinding(repository, method, collection, worst, worstIndex, suggestion);
+    }
+
+    static IndexFinding.Status grade(QueryShape shape, List<String> keys) {
+        if (keys.isEmpty()) {
+            return IndexFinding.Status.MISSING;
+        }
+        // A lookup by id is a single document whatever else is filtered on
+        if (shape.equality.contains("_id")) {
+            return keys.get(0).equals("_id") ? IndexFinding.Status.INDEXED : IndexFinding.Status.MISSING;
+        }
+        Set<String> covered = new LinkedHashSet<>();
+        int next = 0;
+        while (next < keys.size() && (shape.equality.contains(keys.get(next)) || shape.filter.contains(keys.get(next)))) {
+            covered.add(keys.get(next));
+            next++;
+        }
+        String firstSort = shape.sort.isEmpty() ? null : shape.sort.keySet().iterator().next();
+        if (covered.containsAll(shape.equality)) {
+            boolean rangeOrSortServed = (shape.range.isEmpty() && firstSort == null)
+                    || (next < keys.size() && (shape.range.contains(keys.get(next)) || keys.get(next).equals(firstSort)));
+            if (rangeOrSortServed) {
+                return IndexFinding.Status.INDEXED;
+            }
+        }
+        String leading = keys.get(0);
+        return shape.equality.contains(leading) || shape.range.contains(leading) || leading.equals(firstSort)
+                ? IndexFinding.Status.PARTIAL : IndexFinding.Status.MISSING;
+    }
+
+    /**
+     * Field names a query filters or sorts on, split by how an index can use them.
+     */
+    static class QueryShape {
+        final Set<String> equality = new LinkedHashSet<>();
+        final Set<String> range = new LinkedHashSet<>();
+        final Set<String> filter = new LinkedHashSet<>();
+        final Map<String, Integer> sort = new LinkedHashMap<>();
+
+        boolean isEmpty() {
+            return equality.isEmpty() && range.isEmpty() && sort.isEmpty();
+        }
+
+        /**
+         * Reads a JSON {@code @Query}; placeholders only stand in for values so they become 0.
+         */
+        static QueryShape parse(String query, String sort) {
+            QueryShape shape = new QueryShape();
+            Document filter = Document.parse(placeholdersToZero(query));
+            filter.forEach((field, value) -> {
+                if (field.startsWith("$")) {
+                    return;
+                }
+                if (value == null) {
+                    shape.filter.add(field);
+                } else if (value instanceof Document operators && !operators.isEmpty()
+                        && operators.keySet().stream().allMatch(key -> key.startsWith("$"))) {
+                    if (operators.keySet().stream().anyMatch(RANGE_OPERATORS::contains)) {
+                        shape.range.add(field);
+                    } else if (operators.keySet().stream().anyMatch(EQUALITY_OPERATORS::contains)) {
+                        shape.equality.add(field);
+                    } else {
+                        shape.filter.add(field);
+                    }
+                } else {
+                    shape.equality.add(field);
+                }
+            });
+            if (StringUtils.hasText(sort)) {
+                Document.parse(placeholdersToZero(sort)).forEach((field, direction) ->
+                        shape.sort.put(field, direction instanceof Number number && number.intValue() < 0 ? -1 : 1));
+            }
+            return shape;
+        }
+
+        private static String placeholdersToZero(String json) {
+            return json.replaceAll("\\?#\\{[^}]*}", "0").replaceAll("\\?\\d+", "0");
+        }
+
+        String suggestion() {
+            StringJoiner keys = new StringJoiner(", ", "{", "}");
+            equality.forEach(field -> keys.add(field + ": 1"));
+            if (!sort.isEmpty()) {
+                sort.forEach((field, direction) -> keys.add(field + ": " + direction));
+            } else if (!range.isEmpty()) {
+                keys.add(range.iterator().next() + ": 1");
+            }
+            return keys.toString();
+        }
+    }
+}
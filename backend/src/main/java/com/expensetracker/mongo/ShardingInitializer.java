@@ -0,0 +1,102 @@
+package com.expensetracker.mongo;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shards the collection of every {@link Sharded} entity once the application is up, when
+ * {@code app.mongo.sharding.enabled} is set and the application connects through a mongos.
+ * <p>
+ * Shard keys are ranged unless an entity asks for {@link ShardingStrategy#HASH}, which hashes the
+ * first key field. Ranged keys lead with {@code familyId} (or {@code userId} for notifications), so
+ * zones can pin ranges of families to shards with {@code updateZoneKeyRange}. The indexes backing
+ * each key are declared on the entities and exist before this runs. Collections already sharded
+ * on the same key are left as they are.
+ */
+@Component
+public class ShardingInitializer {
+
+    private final MongoTemplate mongoTemplate;
+    private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+    private final boolean enabled;
+
+    public ShardingInitializer(MongoTemplate mongoTemplate,
+                               @Value("${app.mongo.sharding.enabled:false}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mongoTemplate.getConverter().getMappingContext();
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            shardCollections().forEach((collection, key) ->
+                    System.err.println("Collection " + collection + " sharded on " + key.toJson()));
+        } catch (Exception e) {
+            // Typically a replica set or standalone server, which has no shardCollection command
+            System.err.println("Sharding setup skipped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Enables sharding for the database and shards each sharded entity's collection. Returns the
+     * key of every collection that is sharded afterwards, by collection name.
+     */
+    Map<String, Document> shardCollections() {
+        MongoDatabase admin = mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("admin");
+        String database = mongoTemplate.getDb().getName();
+        admin.runCommand(new Document("enableSharding", database));
+
+        List<? extends MongoPersistentEntity<?>> entities = mappingContext.getPersistentEntities().stream()
+                .filter(MongoPersistentEntity::isSharded)
+                .sorted(Comparator.comparing(MongoPersistentEntity::getCollection))
+                .toList();
+        Map<String, Document> sharded = new LinkedHashMap<>();
+        for (MongoPersistentEntity<?> entity : entities) {
+            Document key = shardKey(entity);
+            try {
+                admin.runCommand(new Document("shardCollection", database + "." + entity.getCollection())
+                        .append("key", key));
+                sharded.put(entity.getCollection(), key);
+            } catch (MongoCommandException e) {
+                System.err.println("Could not shard " + entity.getCollection() + " on " + key.toJson()
+                        + ": " + e.getErrorMessage());
+            }
+        }
+        return sharded;
+    }
+
+    /**
+     * The shard key of an entity by stored field name, e.g. {@code {familyId: 1, _id: 1}}.
+     */
+    static Document shardKey(MongoPersistentEntity<?> entity) {
+        Sharded sharded = entity.findAnnotation(Sharded.class);
+        boolean hashed = sharded != null && sharded.shardingStrategy() == ShardingStrategy.HASH;
+        Document key = new Document();
+        for (String property : entity.getShardKey().getPropertyNames()) {
+            MongoPersistentProperty persistentProperty = entity.getPersistentProperty(property);
+            String field = persistentProperty != null ? persistentProperty.getFieldName() : property;
+            key.append(field, hashed && key.isEmpty() ? "hashed" : 1);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,42 @@
+package com.expensetracker.mongo;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowqueries}: recent slow Mongo commands, totals per query shape with their
+ * explain summaries, and the startup index findings. {@code DELETE} clears the recorded commands;
+ * it is for operators only, see {@code SecurityConfig}.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder recorder;
+    private final IndexVerifier indexVerifier;
+
+    public SlowQueryEndpoint(SlowQueryRecorder recorder, IndexVerifier indexVerifier) {
+        this.recorder = recorder;
+        this.indexVerifier = indexVerifier;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMillis", recorder.getThreshold().toMillis());
+        report.put("shapes", recorder.shapes());
+        report.put("recent", recorder.recent());
+        report.put("indexes", indexVerifier.getFindings());
+        return report;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+}
@@ -0,0 +1,391 @@
+package com.expensetracker.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Driver command listener that keeps the most recent slow commands and per-shape totals, where a
+ * shape is the command with every literal replaced by {@code "?"}.
+ * <p>
+ * The first slow occurrence of a read shape, and then at most once per {@code explain-interval},
+ * is explained with {@code executionStats} on a single background thread to capture documents
+ * and keys examined and the winning plan. Explains that would queue up are dropped.
+ */
+@Component
+public class SlowQueryRecorder implements CommandListener {
+
+    private static final Set<String> RECORDED = Set.of("find", "aggregate", "count", "distinct",
+            "update", "delete", "findAndModify");
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+    // Session and cluster bookkeeping the server rejects inside an explain
+    private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime", "$readPreference",
+            "txnNumber", "autocommit", "startTransaction", "signature", "readConcern");
+    private static final int MAX_SHAPES = 1000;
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+    private final int capacity;
+    private final boolean explain;
+    private final Duration explainInterval;
+    private final Map<Integer, BsonDocument> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ArrayDeque<SlowQuery> recent = new ArrayDeque<>();
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final ThreadPoolExecutor explainer;
+
+    public SlowQueryRecorder(ObjectProvider<MongoTemplate> mongoTemplate, MeterRegistry meterRegistry,
+                             @Value("${app.mongo.slow-query.threshold:100ms}") Duration threshold,
+                             @Value("${app.mongo.slow-query.capacity:200}") int capacity,
+                             @Value("${app.mongo.slow-query.explain:true}") boolean explain,
+                             @Value("${app.mongo.slow-query.explain-interval:10m}") Duration explainInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+        this.explain = explain;
+        this.explainInterval = explainInterval;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mongo-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (RECORDED.contains(event.getCommandName())) {
+            // The event's document is backed by a pooled buffer that is released after this call
+            inFlight.put(event.getRequestId(), event.getCommand().clone());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        BsonDocument command = inFlight.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (command != null && elapsed >= thresholdNanos) {
+            record(event.getDatabaseName(), event.getCommandName(), command, elapsed, docsReturned(event.getResponse()));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        BsonDocument command = inFlight.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (command != null && elapsed >= thresholdNanos) {
+            record(event.getDatabaseName(), event.getCommandName(), command, elapsed, -1);
+        }
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    /**
+     * Most recent slow commands, newest first.
+     */
+    public List<SlowQuery> recent() {
+        recentLock.lock();
+        try {
+            List<SlowQuery> copy = new ArrayList<>(recent);
+            Collections.reverse(copy);
+            return copy;
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Slow shapes ordered by the total time spent in them.
+     */
+    public List<ShapeStats> shapes() {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(ShapeStats::getTotalMillis).reversed())
+                .toList();
+    }
+
+    public void clear() {
+        recentLock.lock();
+        try {
+            recent.clear();
+        } finally {
+            recentLock.unlock();
+        }
+        shapes.clear();
+    }
+
+    void record(String database, String commandName, BsonDocument command, long elapsedNanos, long docsReturned) {
+        String collection = collection(commandName, command);
+        String shape = shape(commandName, command);
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+
+        recentLock.lock();
+        try {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(new SlowQuery(Instant.now(), database, collection, commandName, shape, millis, docsReturned));
+        } finally {
+            recentLock.unlock();
+        }
+        Counter.builder("mongodb.slow.commands")
+                .tag("collection", collection)
+                .tag("command", commandName)
+                .description("Commands slower than app.mongo.slow-query.threshold")
+                .register(meterRegistry)
+                .increment();
+
+        String key = commandName + " " + collection + " " + shape;
+        ShapeStats stats = shapes.get(key);
+        if (stats == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(key, k -> new ShapeStats(collection, commandName, shape));
+        }
+        stats.add(millis, docsReturned);
+        if (explain && EXPLAINABLE.contains(commandName) && stats.claimExplain(explainInterval)) {
+            submitExplain(database, command, stats);
+        }
+    }
+
+    private void submitExplain(String database, BsonDocument command, ShapeStats stats) {
+        try {
+            explainer.execute(() -> {
+                try {
+                    BsonDocument explained = new BsonDocument();
+                    command.forEach((field, value) -> {
+                        if (!DRIVER_FIELDS.contains(field)) {
+                            explained.put(field, value);
+                        }
+                    });
+                    Document result = mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database)
+                            .runCommand(new BsonDocument("explain", explained)
+                                    .append("verbosity", new BsonString("executionStats")));
+                    stats.explained(ExplainSummary.of(result));
+                } catch (Exception e) {
+                    System.err.println("Failed to explain slow " + stats.getCommand() + " on " + stats.getCollection()
+                            + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Explainer busy, a later occurrence of the shape will try again
+            stats.releaseExplain();
+        }
+    }
+
+    private static String collection(String commandName, BsonDocument command) {
+        BsonValue value = command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "(database)";
+    }
+
+    static String shape(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                copyRedacted(command, "filter", shape);
+                copyRedacted(command, "sort", shape);
+                copyRedacted(command, "projection", shape);
+            }
+            case "count" -> copyRedacted(command, "query", shape);
+            case "distinct" -> {
+                copyRedacted(command, "key", shape);
+                copyRedacted(command, "query", shape);
+            }
+            case "aggregate" -> copyRedacted(command, "pipeline", shape);
+            case "findAndModify" -> {
+                copyRedacted(command, "query", shape);
+                copyRedacted(command, "sort", shape);
+            }
+            case "update" -> copyFirstStatement(command, "updates", "q", shape);
+            case "delete" -> copyFirstStatement(command, "deletes", "q", shape);
+            default -> {
+            }
+        }
+        return shape.toJson();
+    }
+
+    private static void copyRedacted(BsonDocument command, String field, BsonDocument shape) {
+        BsonValue value = command.get(field);
+        if (value != null) {
+            // Sort and projection values are part of the shape, not user data
+            shape.put(field, field.equals("sort") || field.equals("projection") || field.equals("key")
+                    ? value : redact(value));
+        }
+    }
+
+    private static void copyFirstStatement(BsonDocument command, String field, String query, BsonDocument shape) {
+        BsonValue statements = command.get(field);
+        if (statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                && statements.asArray().get(0).isDocument()) {
+            BsonValue filter = statements.asArray().get(0).asDocument().get(query);
+            if (filter != null) {
+                shape.put(query, redact(filter));
+            }
+        }
+    }
+
+    // Keeps field names and operators, replaces literals; null stays null since it changes the plan
+    static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((field, nested) -> redacted.put(field, redact(nested)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // Pipelines and $and/$or keep their structure, value lists collapse to one placeholder
+            if (!array.isEmpty() && array.stream().allMatch(BsonValue::isDocument)) {
+                BsonArray redacted = new BsonArray();
+                array.forEach(element -> redacted.add(redact(element)));
+                return redacted;
+            }
+            return new BsonString("?");
+        }
+        return value.isNull() ? BsonNull.VALUE : new BsonString("?");
+    }
+
+    static long docsReturned(BsonDocument response) {
+        if (response == null) {
+            return -1;
+        }
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().get("firstBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : -1;
+        }
+        BsonValue n = response.get("n");
+        if (n != null && n.isNumber()) {
+            return n.asNumber().longValue();
+        }
+        BsonValue values = response.get("values");
+        return values != null && values.isArray() ? values.asArray().size() : -1;
+    }
+
+    /**
+     * One slow command as it was observed.
+     */
+    public static class SlowQuery {
+        private final Instant at;
+        private final String database;
+        private final String collection;
+        private final String command;
+        private final String shape;
+        private final long durationMillis;
+        private final long docsReturned;
+
+        SlowQuery(Instant at, String database, String collection, String command, String shape,
+                  long durationMillis, long docsReturned) {
+            this.at = at;
+            this.database = database;
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+            this.durationMillis = durationMillis;
+            this.docsReturned = docsReturned;
+        }
+
+        public Instant getAt() { return at; }
+        public String getDatabase() { return database; }
+        public String getCollection() { return collection; }
+        public String getCommand() { return command; }
+        public String getShape() { return shape; }
+        public long getDurationMillis() { return durationMillis; }
+        // First batch for cursors, n for counts and writes, -1 when unknown or failed
+        public long getDocsReturned() { return docsReturned; }
+    }
+
+    /**
+     * Totals for one query shape, with the latest explain when there is one.
+     */
+    public static class ShapeStats {
+        private final String collection;
+        private final String command;
+        private final String shape;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLong lastDocsReturned = new AtomicLong(-1);
+        private final AtomicLong explainClaimedAt = new AtomicLong(Long.MIN_VALUE);
+        private volatile Instant lastSeen;
+        private volatile ExplainSummary explain;
+
+        ShapeStats(String collection, String command, String shape) {
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+
+        void add(long millis, long docsReturned) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+            lastDocsReturned.set(docsReturned);
+            lastSeen = Instant.now();
+        }
+
+        boolean claimExplain(Duration interval) {
+            long now = System.nanoTime();
+            long claimed = explainClaimedAt.get();
+            return (claimed == Long.MIN_VALUE || now - claimed >= interval.toNanos())
+                    && explainClaimedAt.compareAndSet(claimed, now);
+        }
+
+        void releaseExplain() {
+            explainClaimedAt.set(Long.MIN_VALUE);
+        }
+
+        void explained(ExplainSummary summary) {
+            this.explain = summary;
+        }
+
+        public String getCollection() { return collection; }
+        public String getCommand() { return command; }
+        public String getShape() { return shape; }
+        public long getCount() { return count.get(); }
+        public long getTotalMillis() { return totalMillis.get(); }
+        public long getMaxMillis() { return maxMillis.get(); }
+        public long getLastDocsReturned() { return lastDocsReturned.get(); }
+        public Instant getLastSeen() { return lastSeen; }
+        public ExplainSummary getExplain() { return explain; }
+    }
+}
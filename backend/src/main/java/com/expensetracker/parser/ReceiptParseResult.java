@@ -0,0 +1,60 @@
+package com.expensetracker.parser;
+
+import com.expensetracker.domain.ReceiptItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Output of a single {@link ReceiptTextParser} pass over OCR text.
+ * Amounts are null when the corresponding field could not be found.
+ */
+public class ReceiptParseResult {
+
+    public static final String FIELD_STORE_NAME = "storeName";
+    public static final String FIELD_DATE = "date";
+    public static final String FIELD_ITEMS = "items";
+    public static final String FIELD_SUBTOTAL = "subtotal";
+    public static final String FIELD_TAX = "tax";
+    public static final String FIELD_TOTAL = "total";
+
+    private final String storeName;
+    private final LocalDateTime date;
+    private final List<ReceiptItem> items;
+    private final BigDecimal subtotal;
+    private final BigDecimal tax;
+    private final BigDecimal total;
+    private final Map<String, Double> fieldConfidences;
+    private final double confidence;
+
+    public ReceiptParseResult(String storeName, LocalDateTime date, List<ReceiptItem> items,
+                              BigDecimal subtotal, BigDecimal tax, BigDecimal total,
+                              Map<String, Double> fieldConfidences, double confidence) {
+        this.storeName = storeName;
+        this.date = date;
+        this.items = items;
+        this.subtotal = subtotal;
+        this.tax = tax;
+        this.total = total;
+        this.fieldConfidences = fieldConfidences;
+        this.confidence = confidence;
+    }
+
+    public String getStoreName() { return storeName; }
+
+    public LocalDateTime getDate() { return date; }
+
+    public List<ReceiptItem> getItems() { return items; }
+
+    public BigDecimal getSubtotal() { return subtotal; }
+
+    public BigDecimal getTax() { return tax; }
+
+    public BigDecimal getTotal() { return total; }
+
+    public Map<String, Double> getFieldConfidences() { return fieldConfidences; }
+
+    public double getConfidence() { return confidence; }
+}
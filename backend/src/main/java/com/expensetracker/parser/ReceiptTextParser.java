@@ -0,0 +1,369 @@
+package com.expensetracker.parser;
+
+import com.expensetracker.domain.ReceiptItem;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule based receipt parser. The OCR text is tokenized into lines once and every line is
+ * classified in a single pass; all patterns are compiled once per class load.
+ * <p>
+ * Amounts are tracked internally as minor units (cents) and only converted to
+ * {@link BigDecimal} when the result is built.
+ */
+@Component
+public class ReceiptTextParser {
+
+    public static final String UNKNOWN_STORE = "Unknown Store";
+
+    private static final int STORE_NAME_LINES = 3;
+    // Since JDK 19 \b only treats ASCII as word characters unless Unicode classes are enabled,
+    // which would break keywords ending in Turkish letters such as "FİŞ" or "ÜSTÜ"
+    private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+
+    // Trailing amount: "3.49", "1,234.56", "1.234,56", "$ 12.00 A", "45,90 TL"
+    private static final Pattern PRICE_AT_END = Pattern.compile(
+            "(-)?(?:[$€£₺]\\s?)?(\\d{1,3}(?:[.,]\\d{3})+|\\d+)(?:[.,](\\d{2}))?\\s*(?:TL|TRY|USD|EUR|GBP|[$€£₺]|[A-Z*])?\\s*$");
+
+    private static final Pattern SUBTOTAL_KEYWORD = Pattern.compile(
+            "\\b(?:SUB[\\s-]?TOTAL|ARA\\s?TOPLAM)\\b", FLAGS);
+    private static final Pattern SKIP_KEYWORD = Pattern.compile(
+            "\\b(?:CHANGE|CASH|CARD|VISA|MASTERCARD|AMEX|DEBIT|CREDIT|TENDER(?:ED)?|PAID|SAVINGS|DISCOUNT|TIP"
+                    + "|NAK[İI]T|KRED[İI]|KART|PARA\\s+[ÜU]ST[ÜU])\\b", FLAGS);
+    private static final Pattern TAX_KEYWORD = Pattern.compile(
+            "\\b(?:TAX|VAT|GST|HST|KDV|TOPKDV)\\b", FLAGS);
+    private static final Pattern TAX_INCLUDED = Pattern.compile("\\bINCL", FLAGS);
+    private static final Pattern TOTAL_KEYWORD = Pattern.compile(
+            "\\b(?:GRAND\\s+TOTAL|TOTAL|AMOUNT\\s+DUE|BALANCE\\s+DUE|GENEL\\s+TOPLAM|TOPLAM)\\b", FLAGS);
+    private static final Pattern TURKISH_MARKER = Pattern.compile(
+            "\\b(?:KDV|TOPLAM|TL|F[İI][ŞS]|NAK[İI]T)\\b|₺", FLAGS);
+
+    // "2 x MILK" or "MILK 2 @ 1.50"
+    private static final Pattern QUANTITY = Pattern.compile(
+            "^(\\d{1,3})\\s*[x×@]\\s+(.+)$|^(.+?)\\s+(\\d{1,3})\\s*[x×@]\\s*(?:[$€£₺]\\s?)?\\d+(?:[.,]\\d{2})?$", FLAGS);
+
+    private static final Pattern DATE_ISO = Pattern.compile(
+            "\\b(\\d{4})[-/.](\\d{1,2})[-/.](\\d{1,2})\\b");
+    private static final Pattern DATE_NUMERIC = Pattern.compile(
+            "\\b(\\d{1,2})([/.\\-])(\\d{1,2})\\2(\\d{4}|\\d{2})\\b");
+    private static final Pattern DATE_DAY_MONTH_NAME = Pattern.compile(
+            "\\b(\\d{1,2})[\\s.\\-]+(\\p{L}{3,9})\\.?[\\s.\\-,]+(\\d{4})\\b");
+    private static final Pattern DATE_MONTH_NAME_DAY = Pattern.compile(
+            "\\b(\\p{L}{3,9})\\.?\\s+(\\d{1,2}),?\\s+(\\d{4})\\b");
+    private static final Pattern TIME = Pattern.compile(
+            "\\b([01]?\\d|2[0-3]):([0-5]\\d)(?::([0-5]\\d))?\\b");
+
+    private static final Map<String, Integer> MONTHS = new HashMap<>();
+
+    static {
+        String[] english = {"jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"};
+        String[] turkish = {"oca", "şub", "mar", "nis", "may", "haz", "tem", "ağu", "eyl", "eki", "kas", "ara"};
+        for (int i = 0; i < 12; i++) {
+            MONTHS.put(english[i], i + 1);
+            MONTHS.put(turkish[i], i + 1);
+        }
+        // OCR frequently drops Turkish diacritics
+        MONTHS.put("sub", 2);
+        MONTHS.put("agu", 8);
+    }
+
+    public ReceiptParseResult parse(String ocrText) {
+        ParseState state = new ParseState();
+        if (ocrText != null) {
+            int length = ocrText.length();
+            int start = 0;
+            while (start <= length) {
+                int end = ocrText.indexOf('\n', start);
+                if (end < 0) {
+                    end = length;
+                }
+                String line = ocrText.substring(start, end).trim();
+                if (!line.isEmpty()) {
+                    processLine(line, state);
+                }
+                start = end + 1;
+            }
+        }
+        return state.toResult();
+    }
+
+    private void processLine(String line, ParseState state) {
+        int lineIndex = state.nonEmptyLines++;
+        boolean hasDigit = false;
+        boolean hasLetter = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (Character.isLetter(c)) {
+                hasLetter = true;
+            }
+        }
+
+        if (!state.turkish && TURKISH_MARKER.matcher(line).find()) {
+            state.turkish = true;
+        }
+
+        if (!hasDigit) {
+            if (state.storeName == null && lineIndex < STORE_NAME_LINES && hasLetter && line.length() > 3
+                    && !TOTAL_KEYWORD.matcher(line).find()) {
+                state.storeName = line;
+                state.storeConfidence = lineIndex == 0 ? 0.9 : 0.7;
+            }
+            return;
+        }
+
+        if (state.time == null) {
+            Matcher timeMatcher = TIME.matcher(line);
+            if (timeMatcher.find()) {
+                int second = timeMatcher.group(3) != null ? Integer.parseInt(timeMatcher.group(3)) : 0;
+                state.time = LocalTime.of(Integer.parseInt(timeMatcher.group(1)),
+                        Integer.parseInt(timeMatcher.group(2)), second);
+            }
+        }
+
+        if (state.date == null && state.pendingDay == 0 && matchDate(line, state)) {
+            return;
+        }
+
+        Matcher price = PRICE_AT_END.matcher(line);
+        if (!price.find()) {
+            return;
+        }
+        boolean hasCents = price.group(3) != null;
+        boolean negative = price.group(1) != null;
+        long minor = toMinor(price.group(2), price.group(3));
+        if (minor < 0) {
+            return;
+        }
+
+        if (SUBTOTAL_KEYWORD.matcher(line).find()) {
+            state.subtotal = minor;
+            return;
+        }
+        if (SKIP_KEYWORD.matcher(line).find()) {
+            return;
+        }
+        if (TAX_KEYWORD.matcher(line).find() && !TAX_INCLUDED.matcher(line).find()) {
+            state.tax = state.tax < 0 ? minor : state.tax + minor;
+            return;
+        }
+        if (TOTAL_KEYWORD.matcher(line).find()) {
+            state.total = Math.max(state.total, minor);
+            return;
+        }
+
+        if (!hasCents || negative || minor == 0) {
+            return;
+        }
+        state.largestAmount = Math.max(state.largestAmount, minor);
+
+        String name = line.substring(0, price.start()).trim();
+        int quantity = 1;
+        Matcher qty = QUANTITY.matcher(name);
+        if (qty.matches()) {
+            if (qty.group(1) != null) {
+                quantity = Integer.parseInt(qty.group(1));
+                name = qty.group(2).trim();
+            } else {
+                quantity = Integer.parseInt(qty.group(4));
+                name = qty.group(3).trim();
+            }
+        }
+        if (!containsLetter(name)) {
+            return;
+        }
+        ReceiptItem item = new ReceiptItem();
+        item.setName(name);
+        item.setPrice(BigDecimal.valueOf(minor, 2));
+        item.setQuantity(Math.max(quantity, 1));
+        state.items.add(item);
+        state.itemsMinor += minor;
+    }
+
+    private boolean matchDate(String line, ParseState state) {
+        Matcher m = DATE_ISO.matcher(line);
+        if (m.find() && setDate(state, Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)),
+                Integer.parseInt(m.group(3)), 0.95)) {
+            return true;
+        }
+
+        m = DATE_NUMERIC.matcher(line);
+        if (m.find()) {
+            int first = Integer.parseInt(m.group(1));
+            int second = Integer.parseInt(m.group(3));
+            int year = normalizeYear(Integer.parseInt(m.group(4)));
+            boolean dotted = ".".equals(m.group(2));
+            if (dotted || first > 12) {
+                return setDate(state, year, second, first, 0.85);
+            }
+            if (second > 12) {
+                return setDate(state, year, first, second, 0.85);
+            }
+            // Day/month order is ambiguous; resolved from locale markers once the pass is complete
+            state.pendingDay = first;
+            state.pendingMonth = second;
+            state.pendingYear = year;
+            return true;
+        }
+
+        m = DATE_DAY_MONTH_NAME.matcher(line);
+        if (m.find()) {
+            Integer month = monthOf(m.group(2));
+            if (month != null && setDate(state, Integer.parseInt(m.group(3)), month,
+                    Integer.parseInt(m.group(1)), 0.9)) {
+                return true;
+            }
+        }
+
+        m = DATE_MONTH_NAME_DAY.matcher(line);
+        if (m.find()) {
+            Integer month = monthOf(m.group(1));
+            return month != null && setDate(state, Integer.parseInt(m.group(3)), month,
+                    Integer.parseInt(m.group(2)), 0.9);
+        }
+        return false;
+    }
+
+    private static boolean setDate(ParseState state, int year, int month, int day, double confidence) {
+        try {
+            state.date = LocalDate.of(year, month, day);
+            state.dateConfidence = confidence;
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    private static Integer monthOf(String word) {
+        String lower = word.toLowerCase(Locale.ROOT).replace("\u0307", "");
+        return lower.length() < 3 ? null : MONTHS.get(lower.substring(0, 3));
+    }
+
+    private static int normalizeYear(int year) {
+        return year < 100 ? 2000 + year : year;
+    }
+
+    private static long toMinor(String whole, String cents) {
+        long value = 0;
+        int digits = 0;
+        for (int i = 0; i < whole.length(); i++) {
+            char c = whole.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 13) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+        }
+        value *= 100;
+        if (cents != null) {
+            value += (cents.charAt(0) - '0') * 10 + (cents.charAt(1) - '0');
+        }
+        return value;
+    }
+
+    private static boolean containsLetter(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetter(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BigDecimal toAmount(long minor) {
+        return minor < 0 ? null : BigDecimal.valueOf(minor, 2);
+    }
+
+    private static final class ParseState {
+        int nonEmptyLines;
+        boolean turkish;
+
+        String storeName;
+        double storeConfidence;
+
+        LocalDate date;
+        double dateConfidence;
+        int pendingDay;
+        int pendingMonth;
+        int pendingYear;
+        LocalTime time;
+
+        final List<ReceiptItem> items = new ArrayList<>();
+        long itemsMinor;
+        long subtotal = -1;
+        long tax = -1;
+        long total = -1;
+        long largestAmount = -1;
+
+        ReceiptParseResult toResult() {
+            if (date == null && pendingDay > 0) {
+                if (turkish) {
+                    setDate(this, pendingYear, pendingMonth, pendingDay, 0.6);
+                } else {
+                    setDate(this, pendingYear, pendingDay, pendingMonth, 0.6);
+                }
+            }
+
+            double totalConfidence;
+            boolean taxReconciles = subtotal >= 0 && tax >= 0 && total >= 0 && subtotal + tax == total;
+            if (total >= 0) {
+                totalConfidence = taxReconciles ? 0.98 : (itemsMinor == total ? 0.95 : 0.85);
+            } else if (largestAmount >= 0) {
+                total = largestAmount;
+                totalConfidence = 0.4;
+            } else {
+                totalConfidence = 0.0;
+            }
+
+            long reference = subtotal >= 0 ? subtotal : (total >= 0 && tax >= 0 ? total - tax : total);
+            double itemsConfidence;
+            if (items.isEmpty()) {
+                itemsConfidence = 0.0;
+            } else if (reference <= 0) {
+                itemsConfidence = 0.5;
+            } else if (itemsMinor == reference) {
+                itemsConfidence = 0.95;
+            } else {
+                itemsConfidence = Math.max(0.2, 0.9 - (double) Math.abs(itemsMinor - reference) / reference);
+            }
+
+            Map<String, Double> confidences = new HashMap<>();
+            confidences.put(ReceiptParseResult.FIELD_STORE_NAME, storeConfidence);
+            confidences.put(ReceiptParseResult.FIELD_DATE, date != null ? dateConfidence : 0.0);
+            confidences.put(ReceiptParseResult.FIELD_ITEMS, itemsConfidence);
+            confidences.put(ReceiptParseResult.FIELD_SUBTOTAL, subtotal >= 0 ? (taxReconciles ? 0.98 : 0.9) : 0.0);
+            confidences.put(ReceiptParseResult.FIELD_TAX, tax >= 0 ? (taxReconciles ? 0.98 : 0.9) : 0.0);
+            confidences.put(ReceiptParseResult.FIELD_TOTAL, totalConfidence);
+
+            double overall = 0.4 * totalConfidence
+                    + 0.3 * itemsConfidence
+                    + 0.15 * confidences.get(ReceiptParseResult.FIELD_DATE)
+                    + 0.15 * storeConfidence;
+
+            LocalDateTime dateTime = date == null ? null : date.atTime(time != null ? time : LocalTime.MIDNIGHT);
+            return new ReceiptParseResult(
+                    storeName != null ? storeName : UNKNOWN_STORE,
+                    dateTime,
+                    items,
+                    toAmount(subtotal),
+                    toAmount(tax),
+                    toAmount(total),
+                    confidences,
+                    Math.round(overall * 100) / 100.0);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.expensetracker.parser;
+
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule based parser for spoken expenses such as "I spent $12.50 on lunch at Chipotle yesterday"
+ * or "dün Migros'ta 245,90 TL market alışverişi".
+ * <p>
+ * Grammars are compiled once per class load. {@link #parseAll} additionally reuses one set of
+ * {@link Matcher}s per grammar across the whole batch. Relative dates are resolved in UTC.
+ */
+@Component
+public class VoiceExpenseParser {
+
+    public static final String LANGUAGE_ENGLISH = "en";
+    public static final String LANGUAGE_TURKISH = "tr";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Letters are listed in both cases, case folding would let the English "I" match "ı"
+    private static final Pattern TURKISH_HINT = Pattern.compile(
+            "[çğışöüÇĞİŞÖÜ₺]|(?iu)\\b(?:tl|lira|kuruş|dün|bugün|harcadım|ödedim|verdim|aldım|için)\\b",
+            Pattern.UNICODE_CHARACTER_CLASS);
+    private static final String TRAILING_PUNCTUATION = ".,!?;:'’-";
+
+    /**
+     * @param language {@code "en"} or {@code "tr"}; anything else detects the language per utterance
+     */
+    public VoiceParseResult parse(String text, String preferredCurrency, String language, Instant now) {
+        return parseAll(List.of(text == null ? "" : text), preferredCurrency, language, now).get(0);
+    }
+
+    public List<VoiceParseResult> parseAll(List<String> texts, String preferredCurrency, String language,
+                                           Instant now) {
+        VoiceGrammar fixedGrammar = grammarFor(language);
+        Matcher turkishHint = TURKISH_HINT.matcher("");
+        Session english = null;
+        Session turkish = null;
+
+        List<VoiceParseResult> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            String utterance = text == null ? "" : text;
+            VoiceGrammar grammar = fixedGrammar != null ? fixedGrammar
+                    : turkishHint.reset(utterance).find() ? VoiceGrammar.TURKISH : VoiceGrammar.ENGLISH;
+            Session session;
+            if (grammar == VoiceGrammar.TURKISH) {
+                session = turkish != null ? turkish : (turkish = new Session(grammar));
+            } else {
+                session = english != null ? english : (english = new Session(grammar));
+            }
+            results.add(session.parse(utterance, preferredCurrency, now));
+        }
+        return results;
+    }
+
+    private static VoiceGrammar grammarFor(String language) {
+        if (language == null) {
+            return null;
+        }
+        String normalized = language.trim().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith(LANGUAGE_TURKISH)) {
+            return VoiceGrammar.TURKISH;
+        }
+        if (normalized.startsWith(LANGUAGE_ENGLISH)) {
+            return VoiceGrammar.ENGLISH;
+        }
+        return null;
+    }
+
+    /**
+     * Matchers for one grammar. Not thread safe, a session lives for a single parse call.
+     */
+    private static final class Session {
+        private final VoiceGrammar grammar;
+        private final Matcher[] amounts;
+        private final Matcher[] merchants;
+        private final Matcher currencyMention;
+        private final Matcher descriptionKeyword;
+        private final Matcher filler;
+        private final Matcher daysAgo;
+        private final Matcher fixedDay;
+        private final Matcher lastWeekday;
+        private final Matcher whitespace = WHITESPACE.matcher("");
+
+        Session(VoiceGrammar grammar) {
+            this.grammar = grammar;
+            this.amounts = new Matcher[grammar.amountRules.length];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = grammar.amountRules[i].pattern.matcher("");
+            }
+            this.merchants = new Matcher[grammar.merchantPatterns.length];
+            for (int i = 0; i < merchants.length; i++) {
+                merchants[i] = grammar.merchantPatterns[i].matcher("");
+            }
+            this.currencyMention = grammar.currencyMention.matcher("");
+            this.descriptionKeyword = grammar.descriptionKeyword.matcher("");
+            this.filler = grammar.filler.matcher("");
+            this.daysAgo = grammar.daysAgo.matcher("");
+            this.fixedDay = grammar.fixedDay.matcher("");
+            this.lastWeekday = grammar.lastWeekday.matcher("");
+        }
+
+        VoiceParseResult parse(String text, String preferredCurrency, Instant now) {
+            Map<String, Double> confidences = new HashMap<>();
+            // Spans claimed by a field are blanked so the description fallback only sees the rest
+            char[] residue = text.toCharArray();
+
+            // Amount: rules are ordered by specificity, the first match wins
+            Long amountMinor = null;
+            String currency = null;
+            double amountConfidence = 0.0;
+            for (int i = 0; i < amounts.length && amountMinor == null; i++) {
+                Matcher matcher = amounts[i].reset(text);
+                if (matcher.find()) {
+                    VoiceGrammar.AmountRule rule = grammar.amountRules[i];
+                    try {
+                        amountMinor = rule.amountMinor(matcher);
+                    } catch (ArithmeticException e) {
+                        continue;
+                    }
+                    if (rule.currencyGroup > 0) {
+                        currency = grammar.currencyCode(normalize(matcher.group(rule.currencyGroup)));
+                    }
+                    amountConfidence = rule.confidence;
+                    blank(residue, matcher.start(), matcher.end());
+                }
+            }
+            confidences.put(VoiceParseResult.FIELD_AMOUNT, amountConfidence);
+
+            double currencyConfidence = 0.95;
+            if (currency == null) {
+                if (currencyMention.reset(text).find()) {
+                    currency = grammar.currencyCode(normalize(currencyMention.group()));
+                    currencyConfidence = 0.8;
+                }
+                if (currency == null) {
+                    currency = preferredCurrency;
+                    currencyConfidence = 0.5;
+                }
+            }
+            confidences.put(VoiceParseResult.FIELD_CURRENCY, currencyConfidence);
+
+            Instant occurredAt = resolveDate(text, now, residue, confidences);
+
+            String merchant = null;
+            for (Matcher matcher : merchants) {
+                if (matcher.reset(text).find()) {
+                    merchant = stripTrailingPunctuation(matcher.group(1));
+                    blank(residue, matcher.start(), matcher.end());
+                    break;
+                }
+            }
+            confidences.put(VoiceParseResult.FIELD_MERCHANT, merchant != null ? 0.8 : 0.0);
+
+            String description;
+            boolean recognized = true;
+            if (descriptionKeyword.reset(text).find()) {
+                description = grammar.descriptionLabel(normalize(descriptionKeyword.group(1)));
+                confidences.put(VoiceParseResult.FIELD_DESCRIPTION, 0.8);
+            } else {
+                String rest = filler.reset(new String(residue)).replaceAll(" ");
+                rest = whitespace.reset(rest).replaceAll(" ").trim().toLowerCase(grammar.locale);
+                rest = stripTrailingPunctuation(rest);
+                recognized = !rest.isEmpty();
+                description = recognized ? rest : grammar.defaultDescription;
+                confidences.put(VoiceParseResult.FIELD_DESCRIPTION, recognized ? 0.6 : 0.3);
+            }
+
+            return new VoiceParseResult(grammar.language, amountMinor, currency, description, recognized,
+                    merchant, occurredAt, confidences);
+        }
+
+        private Instant resolveDate(String text, Instant now, char[] residue, Map<String, Double> confidences) {
+            int daysBack = -1;
+            Matcher matched = null;
+            if (daysAgo.reset(text).find()) {
+                daysBack = Integer.parseInt(daysAgo.group(1));
+                matched = daysAgo;
+            } else if (fixedDay.reset(text).find()) {
+                Integer offset = grammar.fixedDayOffset(normalize(fixedDay.group()));
+                if (offset != null) {
+                    daysBack = offset;
+                    matched = fixedDay;
+                }
+            } else if (lastWeekday.reset(text).find()) {
+                DayOfWeek target = grammar.weekday(normalize(lastWeekday.group(1)));
+                if (target != null) {
+                    DayOfWeek today = now.atZone(ZoneOffset.UTC).getDayOfWeek();
+                    int diff = (today.getValue() - target.getValue() + 7) % 7;
+                    daysBack = diff == 0 ? 7 : diff;
+                    matched = lastWeekday;
+                }
+            }
+
+            if (matched == null) {
+                confidences.put(VoiceParseResult.FIELD_DATE, 0.5);
+                return now;
+            }
+            blank(residue, matched.start(), matched.end());
+            confidences.put(VoiceParseResult.FIELD_DATE, 0.9);
+            return now.minus(Duration.ofDays(daysBack));
+        }
+
+        private String normalize(String value) {
+            return whitespace.reset(value).replaceAll(" ").toLowerCase(grammar.locale);
+        }
+    }
+
+    private static void blank(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            chars[i] = ' ';
+        }
+    }
+
+    private static String stripTrailingPunctuation(String value) {
+        int end = value.length();
+        while (end > 0 && TRAILING_PUNCTUATION.indexOf(value.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return value.substring(0, end).trim();
+    }
+}
@@ -0,0 +1,281 @@
+package com.expensetracker.parser;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locale specific rules used by {@link VoiceExpenseParser}. Grammars are immutable and all
+ * of their patterns are compiled once when the class is loaded.
+ */
+final class VoiceGrammar {
+
+    // Unicode classes keep \b and \w correct around Turkish letters such as "ş" and "ı"
+    private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+
+    private static final String EN_CURRENCY = "dollars?|usd|bucks?|euros?|eur|pounds?|quid|gbp|liras?|try|tl";
+    private static final String TR_CURRENCY = "türk\\s+lirası|lira(?:lık)?|tl|dolar(?:lık)?|usd|euro(?:luk)?|avro|eur|sterlin|gbp";
+    private static final String TR_LOCATIVE_SUFFIX = "['’]n?(?:da|de|ta|te|dan|den|tan|ten)\\b";
+
+    static final VoiceGrammar ENGLISH = english();
+    static final VoiceGrammar TURKISH = turkish();
+
+    final String language;
+    final Locale locale;
+    final AmountRule[] amountRules;
+    final Pattern currencyMention;
+    final Pattern[] merchantPatterns;
+    final Pattern descriptionKeyword;
+    final Pattern filler;
+    final Pattern daysAgo;
+    final Pattern fixedDay;
+    final Pattern lastWeekday;
+    final String defaultDescription;
+
+    private final Map<String, String> currencyCodes;
+    private final Map<String, String> descriptionLabels;
+    private final Map<String, Integer> fixedDayOffsets;
+    private final Map<String, DayOfWeek> weekdays;
+
+    private VoiceGrammar(String language, Locale locale, AmountRule[] amountRules, Pattern currencyMention,
+                         Map<String, String> currencyCodes, Pattern[] merchantPatterns,
+                         Pattern descriptionKeyword, Map<String, String> descriptionLabels, String defaultDescription,
+                         Pattern filler, Pattern daysAgo, Pattern fixedDay, Map<String, Integer> fixedDayOffsets,
+                         Pattern lastWeekday, Map<String, DayOfWeek> weekdays) {
+        this.language = language;
+        this.locale = locale;
+        this.amountRules = amountRules;
+        this.currencyMention = currencyMention;
+        this.currencyCodes = currencyCodes;
+        this.merchantPatterns = merchantPatterns;
+        this.descriptionKeyword = descriptionKeyword;
+        this.descriptionLabels = descriptionLabels;
+        this.defaultDescription = defaultDescription;
+        this.filler = filler;
+        this.daysAgo = daysAgo;
+        this.fixedDay = fixedDay;
+        this.fixedDayOffsets = fixedDayOffsets;
+        this.lastWeekday = lastWeekday;
+        this.weekdays = weekdays;
+    }
+
+    /** Lookup helpers expect keys already lower-cased with {@link #locale} and whitespace collapsed. */
+    String currencyCode(String key) {
+        return currencyCodes.get(key);
+    }
+
+    String descriptionLabel(String key) {
+        return descriptionLabels.get(key);
+    }
+
+    Integer fixedDayOffset(String key) {
+        return fixedDayOffsets.get(key);
+    }
+
+    DayOfWeek weekday(String key) {
+        return weekdays.get(key);
+    }
+
+    private static VoiceGrammar english() {
+        AmountRule[] amountRules = {
+                // "25 dollars and 50 cents"
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d+)\\s*(" + EN_CURRENCY + ")\\s*(?:and\\s+)?(\\d{1,2})\\s*(?:cents?|pence|p)\\b", FLAGS),
+                        1, 3, 2, 0.95, false),
+                // "$25.50", "€1,200"
+                new AmountRule(Pattern.compile(
+                        "([$€£₺])\\s*(\\d{1,3}(?:,\\d{3})+|\\d+)(?:\\.(\\d{1,2}))?", FLAGS),
+                        2, 3, 1, 0.95),
+                // "25.50 dollars", "12 euros"
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d{1,3}(?:,\\d{3})+|\\d+)(?:\\.(\\d{1,2}))?\\s*(" + EN_CURRENCY + ")\\b", FLAGS),
+                        1, 2, 3, 0.9),
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d{1,3}(?:,\\d{3})+|\\d+)\\.(\\d{2})\\b", FLAGS),
+                        1, 2, 0, 0.6),
+                // "spent 25 on lunch"
+                new AmountRule(Pattern.compile(
+                        "\\b(?:spent|paid|cost|costs|was)\\s+(\\d+)\\b", FLAGS),
+                        1, 0, 0, 0.5)
+        };
+
+        Map<String, String> currencyCodes = new HashMap<>();
+        putAll(currencyCodes, "USD", "$", "dollar", "dollars", "usd", "buck", "bucks");
+        putAll(currencyCodes, "EUR", "€", "euro", "euros", "eur");
+        putAll(currencyCodes, "GBP", "£", "pound", "pounds", "quid", "gbp");
+        putAll(currencyCodes, "TRY", "₺", "lira", "liras", "try", "tl");
+
+        Pattern[] merchantPatterns = {
+                Pattern.compile("\\b(?:at|from)\\s+(\\p{L}[\\p{L}\\d&'.\\-]*"
+                        + "(?:\\s+(?!(?:today|yesterday|tonight|this|last|for|on|and|with|around|about|ago|days?)\\b)"
+                        + "\\p{L}[\\p{L}\\d&'.\\-]*){0,3})", FLAGS)
+        };
+
+        Map<String, String> descriptionLabels = new HashMap<>();
+        putAll(descriptionLabels, "Coffee", "coffee", "latte", "cappuccino", "espresso");
+        putAll(descriptionLabels, "Lunch", "lunch");
+        putAll(descriptionLabels, "Dinner", "dinner");
+        putAll(descriptionLabels, "Breakfast", "breakfast");
+        putAll(descriptionLabels, "Groceries", "groceries", "grocery");
+        putAll(descriptionLabels, "Gas", "gas", "fuel");
+        putAll(descriptionLabels, "Parking", "parking");
+        putAll(descriptionLabels, "Transportation", "taxi", "uber", "lyft", "ride");
+
+        Map<String, Integer> fixedDayOffsets = new HashMap<>();
+        putAll(fixedDayOffsets, 0, "today", "tonight", "this morning", "this afternoon", "this evening");
+        putAll(fixedDayOffsets, 1, "yesterday");
+        putAll(fixedDayOffsets, 2, "day before yesterday", "the day before yesterday");
+
+        Map<String, DayOfWeek> weekdays = new HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            weekdays.put(day.name().toLowerCase(Locale.ROOT), day);
+        }
+
+        return new VoiceGrammar("en", Locale.ENGLISH, amountRules,
+                Pattern.compile("[$€£₺]|\\b(?:" + EN_CURRENCY + ")\\b", FLAGS), currencyCodes,
+                merchantPatterns,
+                Pattern.compile("\\b(coffee|latte|cappuccino|espresso|lunch|dinner|breakfast|groceries|grocery"
+                        + "|gas|fuel|parking|taxi|uber|lyft|ride)\\b", FLAGS),
+                descriptionLabels, "Expense",
+                Pattern.compile("\\b(?:i|i've|we|just|spent|spend|paid|pay|cost|costs|me|bought|buy|purchased?|got"
+                        + "|on|for|a|an|the|and|some|cents?|" + EN_CURRENCY + ")\\b|[$€£₺]|\\d+(?:[.,]\\d+)*", FLAGS),
+                Pattern.compile("\\b(\\d{1,2})\\s+days?\\s+ago\\b", FLAGS),
+                Pattern.compile("\\b(?:(?:the\\s+)?day\\s+before\\s+yesterday|yesterday|today|tonight"
+                        + "|this\\s+(?:morning|afternoon|evening))\\b", FLAGS),
+                fixedDayOffsets,
+                Pattern.compile("\\blast\\s+(monday|tuesday|wednesday|thursday|friday|saturday|sunday)\\b", FLAGS),
+                weekdays);
+    }
+
+    private static VoiceGrammar turkish() {
+        AmountRule[] amountRules = {
+                // "25 lira 50 kuruş"
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d+)\\s*(tl|lira)\\s*(?:ve\\s+)?(\\d{1,2})\\s*kuruş\\b", FLAGS),
+                        1, 3, 2, 0.95, false),
+                // "₺25,50"
+                new AmountRule(Pattern.compile(
+                        "([₺$€£])\\s*(\\d{1,3}(?:\\.\\d{3})+|\\d+)(?:,(\\d{1,2}))?", FLAGS),
+                        2, 3, 1, 0.95),
+                // "1.250,50 TL", "45 liralık"; speech to text sometimes emits "25.50 TL"
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d{1,3}(?:\\.\\d{3})+|\\d+)(?:[.,](\\d{1,2}))?\\s*(" + TR_CURRENCY + ")\\b", FLAGS),
+                        1, 2, 3, 0.9),
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d{1,3}(?:\\.\\d{3})+|\\d+),(\\d{2})\\b", FLAGS),
+                        1, 2, 0, 0.6),
+                // "markete 50 verdim"
+                new AmountRule(Pattern.compile(
+                        "\\b(\\d+)\\s+(?:harcadım|harcadık|ödedim|ödedik|verdim|verdik)\\b", FLAGS),
+                        1, 0, 0, 0.5)
+        };
+
+        Map<String, String> currencyCodes = new HashMap<>();
+        putAll(currencyCodes, "TRY", "₺", "tl", "lira", "liralık", "türk lirası");
+        putAll(currencyCodes, "USD", "$", "dolar", "dolarlık", "usd");
+        putAll(currencyCodes, "EUR", "€", "euro", "euroluk", "avro", "eur");
+        putAll(currencyCodes, "GBP", "£", "sterlin", "gbp");
+
+        Pattern[] merchantPatterns = {
+                // "Migros'ta", "Kahve Dünyası'ndan"; sentence initial date words are not merchants
+                Pattern.compile("\\b(?!(?:Dün|Bugün|Geçen|Bu)\\b)(\\p{Lu}[\\p{L}\\d&.\\-]*(?:\\s+\\p{Lu}[\\p{L}\\d&.\\-]*){0,2})"
+                        + TR_LOCATIVE_SUFFIX, Pattern.UNICODE_CHARACTER_CLASS),
+                // Lower-case transcripts: "migros'tan"
+                Pattern.compile("\\b(\\p{L}[\\p{L}\\d&.\\-]*)" + TR_LOCATIVE_SUFFIX, FLAGS)
+        };
+
+        Map<String, String> descriptionLabels = new HashMap<>();
+        putAll(descriptionLabels, "Kahve", "kahve", "latte");
+        putAll(descriptionLabels, "Öğle yemeği", "öğle yemeği", "öğlen yemeği");
+        putAll(descriptionLabels, "Akşam yemeği", "akşam yemeği");
+        putAll(descriptionLabels, "Kahvaltı", "kahvaltı");
+        putAll(descriptionLabels, "Market", "market", "bakkal", "manav");
+        putAll(descriptionLabels, "Yakıt", "benzin", "yakıt", "mazot");
+        putAll(descriptionLabels, "Otopark", "otopark");
+        putAll(descriptionLabels, "Ulaşım", "taksi", "uber", "otobüs", "metro");
+
+        Map<String, Integer> fixedDayOffsets = new HashMap<>();
+        putAll(fixedDayOffsets, 0, "bugün", "bu sabah", "bu akşam");
+        putAll(fixedDayOffsets, 1, "dün");
+        putAll(fixedDayOffsets, 2, "dünden önceki gün", "evvelsi gün", "önceki gün");
+
+        Map<String, DayOfWeek> weekdays = new HashMap<>();
+        String[] names = {"pazartesi", "salı", "çarşamba", "perşembe", "cuma", "cumartesi", "pazar"};
+        for (int i = 0; i < names.length; i++) {
+            weekdays.put(names[i], DayOfWeek.of(i + 1));
+        }
+
+        return new VoiceGrammar("tr", Locale.forLanguageTag("tr"), amountRules,
+                Pattern.compile("[$€£₺]|\\b(?:" + TR_CURRENCY + ")\\b", FLAGS), currencyCodes,
+                merchantPatterns,
+                // Stems only, Turkish attaches case suffixes: "markete", "benzine", "taksiye"
+                Pattern.compile("\\b(kahve|latte|öğlen?\\s+yemeği|akşam\\s+yemeği|kahvaltı|market|bakkal|manav"
+                        + "|benzin|yakıt|mazot|otopark|taksi|uber|otobüs|metro)\\p{L}*", FLAGS),
+                descriptionLabels, "Harcama",
+                Pattern.compile("\\b(?:harcadım|harcadık|ödedim|ödedik|verdim|verdik|aldım|aldık|için|bir|ve|kuruş|"
+                        + TR_CURRENCY + ")\\b|[$€£₺]|\\d+(?:[.,]\\d+)*", FLAGS),
+                Pattern.compile("\\b(\\d{1,2})\\s+gün\\s+önce\\b", FLAGS),
+                Pattern.compile("\\b(?:dünden\\s+önceki\\s+gün|evvelsi\\s+gün|önceki\\s+gün|bugün|bu\\s+sabah"
+                        + "|bu\\s+akşam|dün)\\b", FLAGS),
+                fixedDayOffsets,
+                Pattern.compile("\\bgeçen\\s+(pazartesi|salı|çarşamba|perşembe|cumartesi|cuma|pazar)\\b", FLAGS),
+                weekdays);
+    }
+
+    private static <V> void putAll(Map<String, V> map, V value, String... keys) {
+        for (String key : keys) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * One amount phrasing. Group indexes are fixed per rule; {@code 0} marks a group the rule
+     * does not capture.
+     */
+    static final class AmountRule {
+        final Pattern pattern;
+        final double confidence;
+        private final int majorGroup;
+        private final int minorGroup;
+        final int currencyGroup;
+        private final boolean decimalMinor;
+
+        AmountRule(Pattern pattern, int majorGroup, int minorGroup, int currencyGroup, double confidence) {
+            this(pattern, majorGroup, minorGroup, currencyGroup, confidence, true);
+        }
+
+        AmountRule(Pattern pattern, int majorGroup, int minorGroup, int currencyGroup, double confidence,
+                   boolean decimalMinor) {
+            this.pattern = pattern;
+            this.majorGroup = majorGroup;
+            this.minorGroup = minorGroup;
+            this.currencyGroup = currencyGroup;
+            this.confidence = confidence;
+            this.decimalMinor = decimalMinor;
+        }
+
+        long amountMinor(Matcher matcher) {
+            long major = 0;
+            String majorText = matcher.group(majorGroup);
+            for (int i = 0; i < majorText.length(); i++) {
+                char c = majorText.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    major = Math.addExact(Math.multiplyExact(major, 10), c - '0');
+                }
+            }
+            long minor = 0;
+            String minorText = minorGroup == 0 ? null : matcher.group(minorGroup);
+            if (minorText != null) {
+                minor = Long.parseLong(minorText);
+                // A single decimal digit is tenths ("25.5"), a spoken "5 cents" is not
+                if (decimalMinor && minorText.length() == 1) {
+                    minor *= 10;
+                }
+            }
+            return Math.addExact(Math.multiplyExact(major, 100), minor);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.parser;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Fields extracted from one spoken utterance by {@link VoiceExpenseParser}.
+ * {@code amountMinor} and {@code merchant} are null when nothing was recognised.
+ */
+public class VoiceParseResult {
+
+    public static final String FIELD_AMOUNT = "amount";
+    public static final String FIELD_CURRENCY = "currency";
+    public static final String FIELD_DESCRIPTION = "description";
+    public static final String FIELD_MERCHANT = "merchant";
+    public static final String FIELD_DATE = "date";
+
+    private final String language;
+    private final Long amountMinor;
+    private final String currency;
+    private final String description;
+    private final boolean descriptionRecognized;
+    private final String merchant;
+    private final Instant occurredAt;
+    private final Map<String, Double> fieldConfidences;
+
+    public VoiceParseResult(String language, Long amountMinor, String currency, String description,
+                            boolean descriptionRecognized, String merchant, Instant occurredAt,
+                            Map<String, Double> fieldConfidences) {
+        this.language = language;
+        this.amountMinor = amountMinor;
+        this.currency = currency;
+        this.description = description;
+        this.descriptionRecognized = descriptionRecognized;
+        this.merchant = merchant;
+        this.occurredAt = occurredAt;
+        this.fieldConfidences = fieldConfidences;
+    }
+
+    public String getLanguage() { return language; }
+
+    public Long getAmountMinor() { return amountMinor; }
+
+    public String getCurrency() { return currency; }
+
+    public String getDescription() { return description; }
+
+    public boolean isDescriptionRecognized() { return descriptionRecognized; }
+
+    public String getMerchant() { return merchant; }
+
+    public Instant getOccurredAt() { return occurredAt; }
+
+    public Map<String, Double> getFieldConfidences() { return fieldConfidences; }
+}
@@ -5,9 +5,11 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttachmentRepository extends MongoRepository<Attachment, String> {
-    List<Attachment> findByLedgerEntryId(String ledgerEntryId);
-    void deleteByLedgerEntryId(String ledgerEntryId);
+    Optional<Attachment> findByIdAndFamilyId(String id, String familyId);
+    List<Attachment> findByFamilyIdAndLedgerEntryId(String familyId, String ledgerEntryId);
+    void deleteByIdAndFamilyId(String id, String familyId);
 }
\ No newline at end of file
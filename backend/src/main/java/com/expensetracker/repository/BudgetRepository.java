@@ -5,6 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,11 @@ public interface BudgetRepository extends MongoRepository<Budget, String> {
      */
     Optional<Budget> findByIdAndFamilyId(String id, String familyId);
     
+    /**
+     * Find budgets by ID within the given families, so the lookup stays on their shards
+     */
+    List<Budget> findByFamilyIdInAndIdIn(Collection<String> familyIds, Collection<String> ids);
+    
     /**
      * Find budgets that overlap with a specific date range
      */
@@ -4,6 +4,7 @@ import com.expensetracker.domain.Category;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +16,7 @@ public interface CategoryRepository extends MongoRepository<Category, String> {
     
     Optional<Category> findByIdAndFamilyIdAndDeletedAtIsNull(String id, String familyId);
     
+    List<Category> findByFamilyIdAndIdIn(String familyId, Collection<String> ids);
+    
     boolean existsByFamilyIdAndNameAndTypeAndDeletedAtIsNull(String familyId, String name, Category.CategoryType type);
 }
\ No newline at end of file
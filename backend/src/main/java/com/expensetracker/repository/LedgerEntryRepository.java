@@ -14,6 +14,8 @@ import java.util.Optional;
 @Repository
 public interface LedgerEntryRepository extends MongoRepository<LedgerEntry, String> {
     Optional<LedgerEntry> findByIdAndFamilyIdAndDeletedAtIsNull(String id, String familyId);
+
+    boolean existsByIdAndFamilyId(String id, String familyId);
     
     Page<LedgerEntry> findByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(String familyId, Pageable pageable);
     
@@ -4,12 +4,7 @@ import com.expensetracker.domain.Notification;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface NotificationRepository extends MongoRepository<Notification, String> {
-    List<Notification> findByUserIdOrderByCreatedAtDesc(String userId);
-    List<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(String userId, boolean isRead);
-    List<Notification> findByEmailSentFalse();
     long countByUserIdAndIsRead(String userId, boolean isRead);
 }
\ No newline at end of file
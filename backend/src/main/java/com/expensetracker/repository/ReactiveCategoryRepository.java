@@ -0,0 +1,12 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.domain.Category;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveCategoryRepository extends ReactiveMongoRepository<Category, String> {
+    // Includes deleted categories so old entries keep their category name
+    Flux<Category> findByFamilyId(String familyId);
+}
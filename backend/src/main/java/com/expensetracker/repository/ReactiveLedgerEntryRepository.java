@@ -0,0 +1,22 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.domain.LedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface ReactiveLedgerEntryRepository extends ReactiveMongoRepository<LedgerEntry, String> {
+    Flux<LedgerEntry> findByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(String familyId, Pageable pageable);
+    
+    Flux<LedgerEntry> findByFamilyIdAndTypeAndDeletedAtIsNullOrderByOccurredAtDesc(String familyId, LedgerEntry.TransactionType type, Pageable pageable);
+    
+    @Query("{'familyId': ?0, 'occurredAt': {'$gte': ?1, '$lte': ?2}, 'deletedAt': null}")
+    Flux<LedgerEntry> findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(String familyId, Instant from, Instant to);
+    
+    Flux<LedgerEntry> findTop5ByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(String familyId);
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RecurringRuleRepository extends MongoRepository<RecurringRule, String> {
@@ -15,6 +16,10 @@ public interface RecurringRuleRepository extends MongoRepository<RecurringRule,
     
     List<RecurringRule> findByFamilyId(String familyId);
     
+    Optional<RecurringRule> findByIdAndFamilyId(String id, String familyId);
+    
+    void deleteByIdAndFamilyId(String id, String familyId);
+    
     @Query("{ 'nextRunAt' : { $lte : ?0 }, 'isPaused' : false }")
     List<RecurringRule> findDueRules(Instant currentTime);
     
@@ -4,6 +4,8 @@ import com.expensetracker.domain.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +13,6 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmailAndDeletedAtIsNull(String email);
     
     boolean existsByEmailAndDeletedAtIsNull(String email);
+
+    List<User> findByFamiliesFamilyIdInAndDeletedAtIsNull(Collection<String> familyIds);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.expensetracker.retention;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/archive}: archived months per collection. {@code POST} with
+ * {@code collection}, {@code month} ({@code yyyy-MM}) and optionally {@code userId} restores a
+ * bundle into its collection. Restores reach every family's data, so {@code SecurityConfig} only
+ * lets operators ({@code app.security.operators}) through.
+ */
+@Component
+@Endpoint(id = "archive")
+public class ArchiveEndpoint {
+
+    private final ArchiveStore archiveStore;
+    private final RetentionCompactor retentionCompactor;
+
+    public ArchiveEndpoint(ArchiveStore archiveStore, RetentionCompactor retentionCompactor) {
+        this.archiveStore = archiveStore;
+        this.retentionCompactor = retentionCompactor;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Integer>> bundles() {
+        return archiveStore.bundles();
+    }
+
+    @WriteOperation
+    public Map<String, Object> restore(String collection, String month, @Nullable String userId) {
+        long restored = retentionCompactor.restore(collection, month, userId);
+        return Map.of("collection", collection, "month", month, "restored", restored);
+    }
+}
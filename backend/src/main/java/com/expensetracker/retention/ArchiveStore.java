@@ -0,0 +1,132 @@
+package com.expensetracker.retention;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monthly archive bundles on the local file system:
+ * {@code <archive-directory>/<collection>/<yyyy-MM>/<part>.jsonl.gz}, one document per line in
+ * extended JSON so ids, dates and decimals come back with their BSON types. Every compaction batch
+ * writes its own part, so concurrent writers never share a file, and a part only appears under its
+ * final name once it is complete and synced.
+ */
+@Component
+public class ArchiveStore {
+
+    private static final String PART_SUFFIX = ".jsonl.gz";
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private final Path root;
+
+    public ArchiveStore(@Value("${app.retention.archive-directory:./archive}") String archiveDirectory) {
+        this.root = Paths.get(archiveDirectory);
+    }
+
+    /**
+     * Writes one part to the bundle of the given month and returns its path.
+     */
+    public Path write(String collection, YearMonth month, String partName, List<Document> documents) {
+        Path bundle = root.resolve(collection).resolve(month.toString());
+        Path part = bundle.resolve(partName + PART_SUFFIX);
+        Path temporary = bundle.resolve(partName + PART_SUFFIX + ".tmp");
+        try {
+            Files.createDirectories(bundle);
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+                for (Document document : documents) {
+                    writer.write(document.toJson(JSON));
+                    writer.newLine();
+                }
+            }
+            // Originals are deleted right after this returns, so the part must be on disk first
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return Files.move(temporary, part, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive part " + part, e);
+        }
+    }
+
+    /**
+     * Streams every document of a month's bundle to the consumer, part by part.
+     */
+    public void read(String collection, YearMonth month, Consumer<Document> consumer) {
+        for (Path part : parts(root.resolve(collection).resolve(month.toString()))) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(part)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        consumer.accept(Document.parse(line));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive part " + part, e);
+            }
+        }
+    }
+
+    /**
+     * Archived months per collection, with the number of parts in each.
+     */
+    public Map<String, Map<String, Integer>> bundles() {
+        Map<String, Map<String, Integer>> bundles = new TreeMap<>();
+        for (Path collection : children(root)) {
+            Map<String, Integer> months = new TreeMap<>();
+            for (Path month : children(collection)) {
+                months.put(month.getFileName().toString(), parts(month).size());
+            }
+            bundles.put(collection.getFileName().toString(), months);
+        }
+        return bundles;
+    }
+
+    private static List<Path> parts(Path bundle) {
+        if (!Files.isDirectory(bundle)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(bundle)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(PART_SUFFIX)).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archive bundle " + bundle, e);
+        }
+    }
+
+    private static List<Path> children(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return new ArrayList<>(entries.filter(Files::isDirectory).sorted().toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.expensetracker.retention;
+
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.ReceiptData;
+import com.expensetracker.domain.VoiceExpenseData;
+import com.expensetracker.service.UnreadNotificationCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the hot collections to their retention windows.
+ * <p>
+ * Read notifications expire through a TTL index on {@code readAt}, counted from when they were
+ * read. Everything older than a collection's {@code archive-after} is moved by the nightly
+ * compaction into monthly bundles of the {@link ArchiveStore}: each batch is written and synced
+ * before its documents are deleted, so a crash in between leaves a duplicate, never a loss.
+ * {@link #restore} puts a month back for support cases, only inserting documents the collection
+ * no longer has; restored documents are stamped with {@code restoredAt} and left alone for
+ * {@code app.retention.restore-hold}. A zero duration turns the TTL or a collection's compaction
+ * off.
+ */
+@Component
+public class RetentionCompactor {
+
+    static final String TTL_INDEX = "readAt_ttl";
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchiveStore archiveStore;
+    private final UnreadNotificationCounter unreadCounter;
+    private final MeterRegistry meterRegistry;
+    private final String notifications;
+    private final Duration notificationReadTtl;
+    private final Duration restoreHold;
+    private final int batchSize;
+    // Archive-after per collection, keyed by collection name
+    private final Map<String, Duration> archiveAfter = new LinkedHashMap<>();
+
+    public RetentionCompactor(MongoTemplate mongoTemplate, ArchiveStore archiveStore,
+                              UnreadNotificationCounter unreadCounter, MeterRegistry meterRegistry,
+                              @Value("${app.retention.notifications.read-ttl:P90D}") Duration notificationReadTtl,
+                              @Value("${app.retention.notifications.archive-after:P365D}") Duration notificationArchiveAfter,
+                              @Value("${app.retention.receipt-data.archive-after:P180D}") Duration receiptArchiveAfter,
+                              @Value("${app.retention.voice-expense-data.archive-after:P180D}") Duration voiceArchiveAfter,
+                              @Value("${app.retention.restore-hold:P30D}") Duration restoreHold,
+                              @Value("${app.retention.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveStore = archiveStore;
+        this.unreadCounter = unreadCounter;
+        this.meterRegistry = meterRegistry;
+        this.notifications = mongoTemplate.getCollectionName(Notification.class);
+        this.notificationReadTtl = notificationReadTtl;
+        this.restoreHold = restoreHold;
+        this.batchSize = batchSize;
+        archiveAfter.put(notifications, notificationArchiveAfter);
+        archiveAfter.put(mongoTemplate.getCollectionName(ReceiptData.class), receiptArchiveAfter);
+        archiveAfter.put(mongoTemplate.getCollectionName(VoiceExpenseData.class), voiceArchiveAfter);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTtlIndex() {
+        try {
+            boolean exists = mongoTemplate.indexOps(notifications).getIndexInfo().stream()
+                    .anyMatch(index -> index.getName().equals(TTL_INDEX));
+            if (notificationReadTtl.isZero()) {
+                if (exists) {
+                    mongoTemplate.indexOps(notifications).dropIndex(TTL_INDEX);
+                }
+            } else if (exists) {
+                // A changed TTL is applied in place, recreating the index would scan the collection
+                mongoTemplate.getDb().runCommand(new Document("collMod", notifications)
+                        .append("index", new Document("name", TTL_INDEX)
+                                .append("expireAfterSeconds", notificationReadTtl.toSeconds())));
+            } else {
+                mongoTemplate.indexOps(notifications).ensureIndex(new Index()
+                        .on("readAt", Sort.Direction.ASC).named(TTL_INDEX).expire(notificationReadTtl));
+            }
+        } catch (Exception e) {
+            System.err.println("Notification TTL index not applied: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.retention.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        Instant now = Instant.now();
+        for (String collection : archiveAfter.keySet()) {
+            try {
+                int archived = compact(collection, now);
+                if (archived > 0) {
+                    System.out.println("Archived " + archived + " documents from " + collection);
+                }
+            } catch (Exception e) {
+                // Whatever was archived before the failure is already deleted, the rest waits for the next run
+                System.err.println("Compaction of " + collection + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Archives and deletes every document of the collection past its window. Returns how many.
+     */
+    int compact(String collection, Instant now) {
+        Duration window = archiveAfter.get(collection);
+        if (window == null || window.isZero()) {
+            return 0;
+        }
+        Date cutoff = Date.from(now.minus(window));
+        Date heldSince = Date.from(now.minus(restoreHold));
+        int archived = 0;
+        List<Document> batch;
+        do {
+            Query due = new Query(Criteria.where("createdAt").lt(cutoff).orOperator(
+                    Criteria.where("restoredAt").exists(false),
+                    Criteria.where("restoredAt").lt(heldSince)))
+                    .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                    .limit(batchSize);
+            batch = mongoTemplate.find(due, Document.class, collection);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<YearMonth, List<Document>> byMonth = new TreeMap<>();
+            for (Document document : batch) {
+                byMonth.computeIfAbsent(monthOf(document), month -> new ArrayList<>()).add(document);
+            }
+            String partName = now.toEpochMilli() + "-" + batch.get(0).get("_id");
+            byMonth.forEach((month, documents) -> archiveStore.write(collection, month, partName, documents));
+
+            List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), collection);
+            invalidateUnreadCounters(collection, batch);
+            meterRegistry.counter("retention.archived", "collection", collection).increment(batch.size());
+            archived += batch.size();
+        } while (batch.size() == batchSize);
+        return archived;
+    }
+
+    /**
+     * Puts a month's archived documents back into their collection, optionally only one user's.
+     * Only documents missing from the collection are inserted; a document still there is left as
+     * it is, never replaced by its archived copy. Returns how many documents were inserted.
+     */
+    public long restore(String collection, String month, String userId) {
+        if (!archiveAfter.containsKey(collection)) {
+            throw new IllegalArgumentException("No retention policy for collection " + collection);
+        }
+        YearMonth bundle;
+        try {
+            bundle = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Month must be formatted yyyy-MM: " + month);
+        }
+        Date restoredAt = new Date();
+        List<Document> pending = new ArrayList<>();
+        long[] restored = {0};
+        archiveStore.read(collection, bundle, document -> {
+            if (userId != null && !userId.equals(document.get("userId"))) {
+                return;
+            }
+            document.put("restoredAt", restoredAt);
+            // A read timestamp would hand restored notifications straight back to the TTL monitor
+            document.remove("readAt");
+            pending.add(document);
+            if (pending.size() == batchSize) {
+                restored[0] += insertMissing(collection, pending);
+                pending.clear();
+            }
+        });
+        restored[0] += insertMissing(collection, pending);
+        return restored[0];
+    }
+
+    // Live documents win over their archived copies, so only what is missing is written
+    private int insertMissing(String collection, List<Document> documents) {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (Document document : documents) {
+            // An upsert into a sharded collection has to name the whole shard key
+            Document filter = new Document("_id", document.get("_id"));
+            if (collection.equals(notifications)) {
+                filter.append("userId", document.get("userId"));
+            }
+            Update update = new Update();
+            document.forEach((field, value) -> {
+                if (!filter.containsKey(field)) {
+                    update.setOnInsert(field, value);
+                }
+            });
+            operations.upsert(new BasicQuery(filter), update);
+        }
+        int inserted = operations.execute().getUpserts().size();
+        invalidateUnreadCounters(collection, documents);
+        return inserted;
+    }
+
+    // Unread notifications moving in or out of the collection leave their owners' counters wrong
+    private void invalidateUnreadCounters(String collection, List<Document> documents) {
+        if (!collection.equals(notifications)) {
+            return;
+        }
+        Set<String> userIds = new HashSet<>();
+        for (Document document : documents) {
+            if (!Boolean.TRUE.equals(document.get("isRead")) && document.get("userId") instanceof String userId) {
+                userIds.add(userId);
+            }
+        }
+        unreadCounter.invalidate(userIds);
+    }
+
+    private static YearMonth monthOf(Document document) {
+        Object createdAt = document.get("createdAt");
+        Instant instant = createdAt instanceof Date date ? date.toInstant() : Instant.EPOCH;
+        return YearMonth.from(instant.atZone(ZoneOffset.UTC));
+    }
+}
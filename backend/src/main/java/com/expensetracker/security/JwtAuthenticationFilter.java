@@ -2,6 +2,8 @@ package com.expensetracker.security;
 
 import com.expensetracker.service.TokenBlacklistService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -12,15 +14,29 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Granted to the users listed in {@code app.security.operators}, for the actuator write
+     * operations (slow query reset, archive restores).
+     */
+    public static final String OPERATOR_ROLE = "OPERATOR";
+
+    private static final List<GrantedAuthority> OPERATOR_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_" + OPERATOR_ROLE));
+
     private final JwtTokenProvider tokenProvider;
     private final TokenBlacklistService tokenBlacklistService;
+    private final Set<String> operatorIds;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, TokenBlacklistService tokenBlacklistService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, TokenBlacklistService tokenBlacklistService,
+                                   Set<String> operatorIds) {
         this.tokenProvider = tokenProvider;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.operatorIds = operatorIds;
     }
 
     @Override
@@ -33,9 +49,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String userId = tokenProvider.getUserIdFromToken(token);
             String email = tokenProvider.getEmailFromToken(token);
 
-            UserPrincipal userPrincipal = new UserPrincipal(userId, email);
+            UserPrincipal userPrincipal = new UserPrincipal(userId, email,
+                    operatorIds.contains(userId) ? OPERATOR_AUTHORITIES : Collections.emptyList());
             UsernamePasswordAuthenticationToken authentication = 
-                new UsernamePasswordAuthenticationToken(userPrincipal, null, Collections.emptyList());
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -2,26 +2,151 @@ package com.expensetracker.security;
 
 import de.mkammerer.argon2.Argon2;
 import de.mkammerer.argon2.Argon2Factory;
+import de.mkammerer.argon2.Argon2Helper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Argon2 hashing on a dedicated executor.
+ * <p>
+ * Each hash allocates {@code memory-kib} of native memory, so the number of concurrent hashes is
+ * capped by a semaphore sized to {@code app.security.argon2.memory-budget-mb}. Callers wait at
+ * most {@code queue-timeout} for a slot and otherwise get a
+ * {@link PasswordHashingUnavailableException}. Iterations can be calibrated at startup so one
+ * hash takes about {@code target-latency} on this hardware.
+ */
 @Component
 public class PasswordEncoder {
-    
+
     private final Argon2 argon2;
+    private final int memoryKib;
+    private final int parallelism;
+    private final int iterations;
+    private final Duration queueTimeout;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
 
-    public PasswordEncoder() {
+    public PasswordEncoder(MeterRegistry meterRegistry,
+                           @Value("${app.security.argon2.memory-kib:65536}") int memoryKib,
+                           @Value("${app.security.argon2.iterations:2}") int iterations,
+                           @Value("${app.security.argon2.parallelism:1}") int parallelism,
+                           @Value("${app.security.argon2.calibrate:true}") boolean calibrate,
+                           @Value("${app.security.argon2.target-latency:250ms}") Duration targetLatency,
+                           @Value("${app.security.argon2.memory-budget-mb:512}") int memoryBudgetMb,
+                           @Value("${app.security.argon2.queue-timeout:2s}") Duration queueTimeout) {
         this.argon2 = Argon2Factory.create();
+        this.memoryKib = memoryKib;
+        this.parallelism = parallelism;
+        this.queueTimeout = queueTimeout;
+
+        // Configured iterations are a floor; calibration may only make hashes stronger
+        int chosenIterations = iterations;
+        if (calibrate) {
+            chosenIterations = Math.max(iterations,
+                    Argon2Helper.findIterations(argon2, targetLatency.toMillis(), memoryKib, parallelism));
+        }
+        this.iterations = chosenIterations;
+
+        int maxConcurrent = Math.max(1, memoryBudgetMb * 1024 / memoryKib);
+        this.permits = new Semaphore(maxConcurrent, true);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "argon2-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        System.out.println("Argon2 configured: memory=" + memoryKib + "KiB, iterations=" + this.iterations
+                + ", parallelism=" + parallelism + ", maxConcurrent=" + maxConcurrent);
+
+        this.encodeTimer = Timer.builder("security.password.hash")
+                .tag("operation", "encode")
+                .description("Argon2 hashing time, excluding time queued")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("security.password.hash")
+                .tag("operation", "verify")
+                .description("Argon2 hashing time, excluding time queued")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.hash.rejected")
+                .description("Hash requests that timed out waiting for a slot")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.queue", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a hashing slot")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Hashes currently running")
+                .register(meterRegistry);
     }
 
     public String encode(String rawPassword) {
-        return argon2.hash(2, 65536, 1, rawPassword.toCharArray());
+        char[] password = rawPassword.toCharArray();
+        return execute(encodeTimer, () -> {
+            try {
+                return argon2.hash(iterations, memoryKib, parallelism, password);
+            } finally {
+                argon2.wipeArray(password);
+            }
+        });
     }
 
+    /**
+     * Verifies with the parameters stored in the hash, so hashes made before a recalibration keep
+     * working.
+     */
     public boolean matches(String rawPassword, String encodedPassword) {
+        char[] password = rawPassword.toCharArray();
+        return execute(verifyTimer, () -> {
+            try {
+                return argon2.verify(encodedPassword, password);
+            } finally {
+                argon2.wipeArray(password);
+            }
+        });
+    }
+
+    private <T> T execute(Timer timer, Callable<T> hashing) {
+        boolean acquired;
         try {
-            return argon2.verify(encodedPassword, rawPassword.toCharArray());
+            acquired = permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing");
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Password hashing is at capacity, try again shortly");
+        }
+
+        try {
+            return executor.submit(() -> timer.recordCallable(hashing)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while hashing password");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
         } finally {
-            argon2.wipeArray(rawPassword.toCharArray());
+            permits.release();
         }
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,16 @@
+package com.expensetracker.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when no Argon2 slot frees up within the queue timeout. Mapped to 503 so clients retry
+ * instead of piling more hashing work onto a saturated node.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
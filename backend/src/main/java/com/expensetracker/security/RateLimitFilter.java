@@ -0,0 +1,85 @@
+package com.expensetracker.security;
+
+import com.expensetracker.service.RateLimitPolicy;
+import com.expensetracker.service.RateLimitService;
+import io.github.bucket4j.ConsumptionProbe;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimitService} buckets to the expensive endpoints. Runs after
+ * {@link JwtAuthenticationFilter} so per-user limits can use the authenticated principal.
+ * The client IP is taken from the servlet request; behind a proxy enable
+ * {@code server.forward-headers-strategy} instead of trusting raw forwarding headers here.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+
+    public RateLimitFilter(RateLimitService rateLimitService) {
+        this.rateLimitService = rateLimitService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RateLimitPolicy policy = policyFor(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = policy == RateLimitPolicy.AUTH ? "ip:" + request.getRemoteAddr() : clientKey(request);
+        ConsumptionProbe probe = rateLimitService.tryConsume(policy, key);
+        if (probe == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (probe.isConsumed()) {
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+    }
+
+    private static RateLimitPolicy policyFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/v1/auth/")) {
+            return RateLimitPolicy.AUTH;
+        }
+        if (path.equals("/api/v1/reports/export") || path.equals("/api/v1/reactive/reports/export")) {
+            return RateLimitPolicy.EXPORT;
+        }
+        if (path.equals("/api/v1/receipts/process")) {
+            return RateLimitPolicy.OCR;
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
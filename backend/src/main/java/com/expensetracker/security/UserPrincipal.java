@@ -9,10 +9,16 @@ import java.util.Collections;
 public class UserPrincipal implements UserDetails {
     private String id;
     private String email;
+    private Collection<? extends GrantedAuthority> authorities;
 
     public UserPrincipal(String id, String email) {
+        this(id, email, Collections.emptyList());
+    }
+
+    public UserPrincipal(String id, String email, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.email = email;
+        this.authorities = authorities;
     }
 
     public String getId() {
@@ -31,7 +37,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.emptyList();
+        return authorities;
     }
 
     @Override
@@ -7,9 +7,11 @@ import com.expensetracker.dto.auth.SignupRequest;
 import com.expensetracker.repository.UserRepository;
 import com.expensetracker.security.JwtTokenProvider;
 import com.expensetracker.security.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("service.invocations")
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -4,32 +4,46 @@ import com.expensetracker.domain.Budget;
 import com.expensetracker.domain.LedgerEntry;
 import com.expensetracker.dto.budget.BudgetDTO;
 import com.expensetracker.dto.budget.BudgetSpendDTO;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRateSnapshot;
+import com.expensetracker.mongo.AnalyticsReads;
 import com.expensetracker.repository.BudgetRepository;
-import com.expensetracker.repository.LedgerEntryRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AnalyticsReads analyticsReads;
     private final UserService userService;
     private final NotificationService notificationService;
+    private final FxRateService fxRateService;
 
     public BudgetService(BudgetRepository budgetRepository, 
-                        LedgerEntryRepository ledgerEntryRepository, 
+                        AnalyticsReads analyticsReads,
                         UserService userService,
-                        NotificationService notificationService) {
+                        NotificationService notificationService,
+                        FxRateService fxRateService) {
         this.budgetRepository = budgetRepository;
-        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.analyticsReads = analyticsReads;
         this.userService = userService;
         this.notificationService = notificationService;
+        this.fxRateService = fxRateService;
     }
 
     /**
@@ -126,25 +140,36 @@ public class BudgetService {
         Budget budget = budgetRepository.findByIdAndFamilyId(budgetId, familyId)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
 
-        // Get spending data for the budget period
-        List<LedgerEntry> entries = ledgerEntryRepository.findByFamilyIdAndTypeAndOccurredAtBetweenAndDeletedAtIsNull(
-                familyId,
-                LedgerEntry.TransactionType.EXPENSE,
-                budget.getPeriod().getStart().atStartOfDay().atZone(java.time.ZoneOffset.UTC).toInstant(),
-                budget.getPeriod().getEnd().atTime(23, 59, 59).atZone(java.time.ZoneOffset.UTC).toInstant()
-        );
-
-        // Calculate overall spending
-        long totalSpent = entries.stream()
-                .mapToLong(entry -> entry.getAmount().getMinor())
-                .sum();
-
-        // Calculate spending by category
-        Map<String, Long> spendingByCategory = entries.stream()
-                .collect(Collectors.groupingBy(
-                        LedgerEntry::getCategoryId,
-                        Collectors.summingLong(entry -> entry.getAmount().getMinor())
-                ));
+        // Get spending data for the budget period, from a secondary unless the user just wrote
+        Query expenses = new Query(Criteria.where("familyId").is(familyId)
+                .and("type").is(LedgerEntry.TransactionType.EXPENSE)
+                .and("occurredAt")
+                        .gte(budget.getPeriod().getStart().atStartOfDay().atZone(java.time.ZoneOffset.UTC).toInstant())
+                        .lte(budget.getPeriod().getEnd().atTime(23, 59, 59).atZone(java.time.ZoneOffset.UTC).toInstant())
+                .and("deletedAt").is(null));
+        List<LedgerEntry> entries = analyticsReads.find(AnalyticsReads.Path.BUDGETS, userId, expenses, LedgerEntry.class);
+
+        // Budget limits are in the family currency, so convert every entry into it
+        String currency = fxRateService.familyCurrency(familyId);
+        FxRateSnapshot rates = fxRateService.snapshot();
+
+        // Calculate overall spending and spending by category
+        long totalSpent = 0;
+        Map<String, Long> spendingByCategory = new HashMap<>();
+        long unconvertedEntries = 0;
+        Set<String> unconvertedCurrencies = new TreeSet<>();
+        for (LedgerEntry entry : entries) {
+            OptionalLong amount = fxRateService.amountIn(entry, currency, rates);
+            if (amount.isEmpty()) {
+                // No rate for the entry's currency: left out of the spending and flagged
+                unconvertedEntries++;
+                unconvertedCurrencies.add(entry.getAmount().getCurrency());
+                continue;
+            }
+            long spent = amount.getAsLong();
+            totalSpent += spent;
+            spendingByCategory.merge(entry.getCategoryId(), spent, Long::sum);
+        }
 
         // Check for budget alerts
         double usagePercentage = budget.getOverallLimitMinor() > 0 ? 
@@ -158,7 +183,13 @@ public class BudgetService {
             notificationService.createBudgetExceededAlert(userId, budgetId, usagePercentage);
         }
 
-        return buildBudgetSpendDTO(budget, totalSpent, spendingByCategory);
+        BudgetSpendDTO spendDTO = buildBudgetSpendDTO(budget, totalSpent, spendingByCategory);
+        spendDTO.setCurrency(currency);
+        if (unconvertedEntries > 0) {
+            spendDTO.setUnconvertedEntries(unconvertedEntries);
+            spendDTO.setUnconvertedCurrencies(new ArrayList<>(unconvertedCurrencies));
+        }
+        return spendDTO;
     }
 
     // Helper methods
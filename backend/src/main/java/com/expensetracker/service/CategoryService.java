@@ -5,6 +5,7 @@ import com.expensetracker.dto.category.CategoryResponse;
 import com.expensetracker.dto.category.CreateCategoryRequest;
 import com.expensetracker.repository.CategoryRepository;
 import com.expensetracker.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -12,14 +13,18 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final UserService userService;
+    private final MerchantCategoryService merchantCategoryService;
 
-    public CategoryService(CategoryRepository categoryRepository, UserService userService) {
+    public CategoryService(CategoryRepository categoryRepository, UserService userService,
+                           MerchantCategoryService merchantCategoryService) {
         this.categoryRepository = categoryRepository;
         this.userService = userService;
+        this.merchantCategoryService = merchantCategoryService;
     }
 
     public List<CategoryResponse> getCategories(UserPrincipal user, Category.CategoryType type) {
@@ -49,6 +54,9 @@ public class CategoryService {
         category.setColor(request.getColor());
         
         category = categoryRepository.save(category);
+        if (category.getType() == Category.CategoryType.EXPENSE) {
+            merchantCategoryService.recordChoice(familyId, category.getName(), category.getId());
+        }
         return toResponse(category);
     }
 
@@ -75,6 +83,7 @@ public class CategoryService {
         
         category.setDeletedAt(Instant.now());
         categoryRepository.save(category);
+        merchantCategoryService.forgetCategory(familyId, categoryId);
     }
 
     private CategoryResponse toResponse(Category category) {
@@ -1,77 +1,102 @@
 package com.expensetracker.service;
 
-import com.expensetracker.domain.User;
 import com.expensetracker.domain.Budget;
-import org.springframework.stereotype.Service;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.User;
+import com.expensetracker.email.EmailMessage;
+import com.expensetracker.email.EmailTemplate;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Renders notification emails. Sending is left to {@link NotificationDispatcher}.
+ */
 @Service
+@Timed("service.invocations")
 public class EmailService {
 
+    private static final EmailTemplate BUDGET_ALERT_SUBJECT = EmailTemplate.compile("Bütçe Uyarısı - {budget}");
+    private static final EmailTemplate BUDGET_ALERT_BODY = EmailTemplate.compile(
+            "Merhaba {email},\n\n" +
+            "{budget} bütçenizin %{percent}'ını kullandınız.\n" +
+            "Detaylar için uygulamayı kontrol edin.\n\n" +
+            "İyi günler!");
+    private static final EmailTemplate WEEKLY_SUMMARY_SUBJECT = EmailTemplate.compile("Haftalık Harcama Özeti");
+    private static final EmailTemplate WEEKLY_SUMMARY_BODY = EmailTemplate.compile(
+            "Merhaba {email},\n\n" +
+            "Bu haftaki harcama özetiniz:\n\n" +
+            "{content}\n\n" +
+            "Detaylı rapor için uygulamayı ziyaret edin.\n\n" +
+            "İyi günler!");
+    private static final EmailTemplate MONTHLY_REPORT_SUBJECT = EmailTemplate.compile("Aylık Finansal Rapor");
+    private static final EmailTemplate MONTHLY_REPORT_BODY = EmailTemplate.compile(
+            "Merhaba {email},\n\n" +
+            "Bu ay finansal durumunuz:\n\n" +
+            "{content}\n\n" +
+            "Detaylı analiz için uygulamayı kullanın.\n\n" +
+            "İyi günler!");
+
     @Value("${app.email.from:noreply@expensetracker.com}")
     private String fromEmail;
 
     @Value("${app.email.enabled:false}")
     private boolean emailEnabled;
 
-    public void sendBudgetAlert(User user, Budget budget, double usagePercentage) {
-        if (!emailEnabled) {
-            return;
-        }
-
-        String subject = "Bütçe Uyarısı - " + budget.getName();
-        String message = String.format(
-            "Merhaba %s,\n\n" +
-            "%s bütçenizin %%%d'ını kullandınız.\n" +
-            "Detaylar için uygulamayı kontrol edin.\n\n" +
-            "İyi günler!",
-            user.getEmail(), budget.getName(), (int)usagePercentage
-        );
-
-        // For now, just log the email content
-        // In a real implementation, this would use JavaMailSender
-        System.out.println("EMAIL TO: " + user.getEmail());
-        System.out.println("SUBJECT: " + subject);
-        System.out.println("MESSAGE: " + message);
+    public boolean isEnabled() {
+        return emailEnabled;
     }
 
-    public void sendWeeklySummary(User user, String summaryContent) {
-        if (!emailEnabled) {
-            return;
+    /**
+     * Renders one message per notification whose recipient, and budget for budget alerts, is in
+     * the given maps. Notifications that cannot be rendered are left out.
+     */
+    public List<EmailMessage> render(List<Notification> notifications, Map<String, User> users,
+                                     Map<String, Budget> budgets) {
+        List<EmailMessage> messages = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            User user = users.get(notification.getUserId());
+            if (user == null) {
+                continue;
+            }
+            Map<String, Object> data = notification.getData() != null ? notification.getData() : Map.of();
+            switch (notification.getType()) {
+                case BUDGET_ALERT -> {
+                    Budget budget = budgets.get(String.valueOf(data.get("budgetId")));
+                    if (budget == null) {
+                        continue;
+                    }
+                    Object usage = data.get("usagePercentage");
+                    Map<String, String> values = Map.of("email", user.getEmail(), "budget", budget.getName(),
+                            "percent", String.valueOf(usage instanceof Number number ? number.intValue() : 0));
+                    messages.add(message(notification, user, BUDGET_ALERT_SUBJECT.render(values),
+                            BUDGET_ALERT_BODY.render(values)));
+                }
+                case WEEKLY_SUMMARY -> {
+                    Map<String, String> values = Map.of("email", user.getEmail(),
+                            "content", String.valueOf(data.getOrDefault("content", "")));
+                    messages.add(message(notification, user, WEEKLY_SUMMARY_SUBJECT.render(values),
+                            WEEKLY_SUMMARY_BODY.render(values)));
+                }
+                case MONTHLY_REPORT -> {
+                    Map<String, String> values = Map.of("email", user.getEmail(),
+                            "content", String.valueOf(data.getOrDefault("content", "")));
+                    messages.add(message(notification, user, MONTHLY_REPORT_SUBJECT.render(values),
+                            MONTHLY_REPORT_BODY.render(values)));
+                }
+                default -> {
+                    // No email template for this type
+                }
+            }
         }
-
-        String subject = "Haftalık Harcama Özeti";
-        String message = String.format(
-            "Merhaba %s,\n\n" +
-            "Bu haftaki harcama özetiniz:\n\n" +
-            "%s\n\n" +
-            "Detaylı rapor için uygulamayı ziyaret edin.\n\n" +
-            "İyi günler!",
-            user.getEmail(), summaryContent
-        );
-
-        System.out.println("EMAIL TO: " + user.getEmail());
-        System.out.println("SUBJECT: " + subject);
-        System.out.println("MESSAGE: " + message);
+        return messages;
     }
 
-    public void sendMonthlyReport(User user, String reportContent) {
-        if (!emailEnabled) {
-            return;
-        }
-
-        String subject = "Aylık Finansal Rapor";
-        String message = String.format(
-            "Merhaba %s,\n\n" +
-            "Bu ay finansal durumunuz:\n\n" +
-            "%s\n\n" +
-            "Detaylı analiz için uygulamayı kullanın.\n\n" +
-            "İyi günler!",
-            user.getEmail(), reportContent
-        );
-
-        System.out.println("EMAIL TO: " + user.getEmail());
-        System.out.println("SUBJECT: " + subject);
-        System.out.println("MESSAGE: " + message);
+    private EmailMessage message(Notification notification, User user, String subject, String body) {
+        return new EmailMessage(notification.getId(), fromEmail, user.getEmail(), subject, body);
     }
-}
\ No newline at end of file
+}
@@ -7,11 +7,13 @@ import com.expensetracker.dto.family.FamilyResponse;
 import com.expensetracker.repository.FamilyRepository;
 import com.expensetracker.repository.UserRepository;
 import com.expensetracker.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 
 @Service
+@Timed("service.invocations")
 public class FamilyService {
 
     private final FamilyRepository familyRepository;
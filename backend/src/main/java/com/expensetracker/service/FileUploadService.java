@@ -1,7 +1,10 @@
 package com.expensetracker.service;
 
 import com.expensetracker.domain.Attachment;
+import com.expensetracker.mongo.AttachmentFamilyBackfill;
 import com.expensetracker.repository.AttachmentRepository;
+import com.expensetracker.repository.LedgerEntryRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,13 +14,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@Timed("service.invocations")
 public class FileUploadService {
 
     private final AttachmentRepository attachmentRepository;
+    private final UserService userService;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AttachmentFamilyBackfill attachmentFamilyBackfill;
 
     @Value("${app.file.upload.directory:./uploads}")
     private String uploadDirectory;
@@ -25,12 +34,18 @@ public class FileUploadService {
     @Value("${app.file.max-size:10485760}") // 10MB default
     private long maxFileSize;
 
-    public FileUploadService(AttachmentRepository attachmentRepository) {
+    public FileUploadService(AttachmentRepository attachmentRepository, UserService userService,
+                             LedgerEntryRepository ledgerEntryRepository,
+                             AttachmentFamilyBackfill attachmentFamilyBackfill) {
         this.attachmentRepository = attachmentRepository;
+        this.userService = userService;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.attachmentFamilyBackfill = attachmentFamilyBackfill;
     }
 
-    public Attachment uploadFile(MultipartFile file, String ledgerEntryId) {
+    public Attachment uploadFile(String userId, MultipartFile file, String ledgerEntryId) {
         validateFile(file);
+        String familyId = userService.getCurrentUserFamilyId(userId);
         
         try {
             // Create upload directory if it doesn't exist
@@ -48,6 +63,7 @@ public class FileUploadService {
             
             // Create attachment record
             Attachment attachment = new Attachment();
+            attachment.setFamilyId(familyId);
             attachment.setLedgerEntryId(ledgerEntryId);
             attachment.setFilename(uniqueFilename);
             attachment.setOriginalFilename(originalFilename);
@@ -62,18 +78,16 @@ public class FileUploadService {
         }
     }
 
-    public String getFileUrl(String attachmentId) {
-        Attachment attachment = attachmentRepository.findById(attachmentId)
-                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+    public String getFileUrl(String userId, String attachmentId) {
+        Attachment attachment = getAttachment(userId, attachmentId);
         
         // For local file storage, return a relative URL
         // In a real implementation, this would generate a signed URL for MinIO
         return "/api/v1/files/" + attachmentId + "/download";
     }
 
-    public byte[] getFileContent(String attachmentId) {
-        Attachment attachment = attachmentRepository.findById(attachmentId)
-                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+    public byte[] getFileContent(String userId, String attachmentId) {
+        Attachment attachment = getAttachment(userId, attachmentId);
         
         try {
             Path filePath = Paths.get(attachment.getStorageKey());
@@ -83,13 +97,19 @@ public class FileUploadService {
         }
     }
 
-    public List<Attachment> getAttachmentsByLedgerEntry(String ledgerEntryId) {
-        return attachmentRepository.findByLedgerEntryId(ledgerEntryId);
+    public List<Attachment> getAttachmentsByLedgerEntry(String userId, String ledgerEntryId) {
+        String familyId = userService.getCurrentUserFamilyId(userId);
+        List<Attachment> attachments = attachmentRepository.findByFamilyIdAndLedgerEntryId(familyId, ledgerEntryId);
+        if (!attachmentFamilyBackfill.isComplete() && ledgerEntryRepository.existsByIdAndFamilyId(ledgerEntryId, familyId)) {
+            // Stored before attachments carried a family; the entry shows they belong to this one
+            attachments = new ArrayList<>(attachments);
+            attachments.addAll(attachmentRepository.findByFamilyIdAndLedgerEntryId(null, ledgerEntryId));
+        }
+        return attachments;
     }
 
-    public void deleteAttachment(String attachmentId) {
-        Attachment attachment = attachmentRepository.findById(attachmentId)
-                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+    public void deleteAttachment(String userId, String attachmentId) {
+        Attachment attachment = getAttachment(userId, attachmentId);
         
         try {
             // Delete file from filesystem
@@ -97,13 +117,26 @@ public class FileUploadService {
             Files.deleteIfExists(filePath);
             
             // Delete attachment record
-            attachmentRepository.deleteById(attachmentId);
+            attachmentRepository.deleteByIdAndFamilyId(attachmentId, attachment.getFamilyId());
             
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file: " + e.getMessage(), e);
         }
     }
 
+    // Looking attachments up within the user's family keeps the read on the family's shard
+    private Attachment getAttachment(String userId, String attachmentId) {
+        String familyId = userService.getCurrentUserFamilyId(userId);
+        Optional<Attachment> attachment = attachmentRepository.findByIdAndFamilyId(attachmentId, familyId);
+        if (attachment.isEmpty() && !attachmentFamilyBackfill.isComplete()) {
+            // Until the backfill has run, older attachments are only owned through their ledger entry
+            attachment = attachmentRepository.findById(attachmentId)
+                    .filter(found -> found.getFamilyId() == null && found.getLedgerEntryId() != null
+                            && ledgerEntryRepository.existsByIdAndFamilyId(found.getLedgerEntryId(), familyId));
+        }
+        return attachment.orElseThrow(() -> new RuntimeException("Attachment not found"));
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
@@ -2,32 +2,61 @@ package com.expensetracker.service;
 
 import com.expensetracker.domain.Category;
 import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.LedgerView;
 import com.expensetracker.dto.ledger.CreateLedgerEntryRequest;
 import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.events.FamilyEvent;
+import com.expensetracker.events.FamilyEventPublisher;
+import com.expensetracker.fx.FxRateService;
 import com.expensetracker.repository.CategoryRepository;
 import com.expensetracker.repository.LedgerEntryRepository;
 import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.view.LedgerViewProjector;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 public class LedgerService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "occurredAt", "_id");
+
     private final LedgerEntryRepository ledgerEntryRepository;
     private final CategoryRepository categoryRepository;
     private final UserService userService;
+    private final MerchantCategoryService merchantCategoryService;
+    private final FxRateService fxRateService;
+    private final FamilyEventPublisher familyEventPublisher;
+    private final MongoTemplate mongoTemplate;
+    private final LedgerViewProjector ledgerViewProjector;
 
-    public LedgerService(LedgerEntryRepository ledgerEntryRepository, CategoryRepository categoryRepository, UserService userService) {
+    public LedgerService(LedgerEntryRepository ledgerEntryRepository, CategoryRepository categoryRepository,
+                         UserService userService, MerchantCategoryService merchantCategoryService,
+                         FxRateService fxRateService, FamilyEventPublisher familyEventPublisher,
+                         MongoTemplate mongoTemplate, LedgerViewProjector ledgerViewProjector) {
         this.ledgerEntryRepository = ledgerEntryRepository;
         this.categoryRepository = categoryRepository;
         this.userService = userService;
+        this.merchantCategoryService = merchantCategoryService;
+        this.fxRateService = fxRateService;
+        this.familyEventPublisher = familyEventPublisher;
+        this.mongoTemplate = mongoTemplate;
+        this.ledgerViewProjector = ledgerViewProjector;
     }
 
     public LedgerEntryResponse createEntry(UserPrincipal user, CreateLedgerEntryRequest request) {
@@ -48,11 +77,16 @@ public class LedgerService {
                 request.getOccurredAt()
         );
         
+        entry.setFamilyAmount(fxRateService.toFamilyAmount(amount, fxRateService.familyCurrency(familyId)));
         entry.setNotes(request.getNotes());
         entry.setAttachments(request.getAttachments());
         
         entry = ledgerEntryRepository.save(entry);
-        return toResponse(entry, category.getName());
+        if (entry.getType() == LedgerEntry.TransactionType.EXPENSE) {
+            merchantCategoryService.recordChoice(familyId, entry.getNotes(), entry.getCategoryId());
+        }
+        familyEventPublisher.publish(FamilyEvent.Type.LEDGER_CREATED, familyId, null, entry.getId());
+        return toResponse(entry, category);
     }
 
     public Page<LedgerEntryResponse> getEntries(UserPrincipal user, LedgerEntry.TransactionType type, 
@@ -61,17 +95,16 @@ public class LedgerService {
         String familyId = userService.getCurrentUserFamilyId(user.getId());
         Pageable pageable = PageRequest.of(page, size);
         
-        Page<LedgerEntry> entries;
+        Criteria criteria = Criteria.where("familyId").is(familyId).and("deletedAt").is(null);
         if (type != null) {
-            entries = ledgerEntryRepository.findByFamilyIdAndTypeAndDeletedAtIsNullOrderByOccurredAtDesc(familyId, type, pageable);
-        } else {
-            entries = ledgerEntryRepository.findByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(familyId, pageable);
+            criteria = criteria.and("type").is(type);
         }
-        
-        return entries.map(entry -> {
-            String categoryName = getCategoryName(entry.getCategoryId());
-            return toResponse(entry, categoryName);
-        });
+        List<LedgerEntryResponse> entries = listing(familyId, new Query(criteria).with(pageable).with(NEWEST_FIRST));
+        // The count is skipped when the page itself shows where the listing ends
+        Query all = new Query(criteria);
+        return PageableExecutionUtils.getPage(entries, pageable, () -> ledgerViewProjector.isReady()
+                ? mongoTemplate.count(all, LedgerView.class)
+                : mongoTemplate.count(all, LedgerEntry.class));
     }
 
     public LedgerEntryResponse updateEntry(UserPrincipal user, String entryId, CreateLedgerEntryRequest request) {
@@ -89,6 +122,7 @@ public class LedgerService {
         entry.setMemberId(request.getMemberId());
         entry.setType(request.getType());
         entry.setAmount(amount);
+        entry.setFamilyAmount(fxRateService.toFamilyAmount(amount, fxRateService.familyCurrency(familyId)));
         entry.setCategoryId(request.getCategoryId());
         entry.setOccurredAt(request.getOccurredAt());
         entry.setNotes(request.getNotes());
@@ -96,7 +130,11 @@ public class LedgerService {
         entry.setUpdatedAt(Instant.now());
         
         entry = ledgerEntryRepository.save(entry);
-        return toResponse(entry, category.getName());
+        if (entry.getType() == LedgerEntry.TransactionType.EXPENSE) {
+            merchantCategoryService.recordChoice(familyId, entry.getNotes(), entry.getCategoryId());
+        }
+        familyEventPublisher.publish(FamilyEvent.Type.LEDGER_UPDATED, familyId, null, entry.getId());
+        return toResponse(entry, category);
     }
 
     public void deleteEntry(UserPrincipal user, String entryId) {
@@ -105,21 +143,19 @@ public class LedgerService {
         LedgerEntry entry = ledgerEntryRepository.findByIdAndFamilyIdAndDeletedAtIsNull(entryId, familyId)
                 .orElseThrow(() -> new RuntimeException("Ledger entry not found"));
         
-        entry.setDeletedAt(Instant.now());
+        // A later updatedAt orders the delete after any update still being projected
+        Instant now = Instant.now();
+        entry.setDeletedAt(now);
+        entry.setUpdatedAt(now);
         ledgerEntryRepository.save(entry);
+        familyEventPublisher.publish(FamilyEvent.Type.LEDGER_DELETED, familyId, null, entry.getId());
     }
 
     public List<LedgerEntryResponse> getRecentEntries(UserPrincipal user) {
         String familyId = userService.getCurrentUserFamilyId(user.getId());
         
-        List<LedgerEntry> entries = ledgerEntryRepository.findTop5ByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(familyId);
-        
-        return entries.stream()
-                .map(entry -> {
-                    String categoryName = getCategoryName(entry.getCategoryId());
-                    return toResponse(entry, categoryName);
-                })
-                .collect(Collectors.toList());
+        return listing(familyId, new Query(Criteria.where("familyId").is(familyId).and("deletedAt").is(null))
+                .with(NEWEST_FIRST).limit(5));
     }
 
     public LedgerEntry getEntryById(String userId, String entryId) {
@@ -129,12 +165,38 @@ public class LedgerService {
                 .orElseThrow(() -> new RuntimeException("Ledger entry not found"));
     }
 
-    private String getCategoryName(String categoryId) {
-        Optional<Category> category = categoryRepository.findById(categoryId);
-        return category.map(Category::getName).orElse("Unknown");
+    /**
+     * Listings read the denormalized {@code ledger_view} rows straight into responses, one index
+     * range scan with no category lookups. Queries name {@code deletedAt: null}, which skips the
+     * view's tombstones and the ledger's soft-deleted entries alike. Until the view's first rebuild
+     * has completed it may be missing rows, so the ledger is read instead, with the page's
+     * categories looked up in one query.
+     */
+    private List<LedgerEntryResponse> listing(String familyId, Query query) {
+        if (ledgerViewProjector.isReady()) {
+            return mongoTemplate.query(LedgerView.class).as(LedgerEntryResponse.class).matching(query).all();
+        }
+        List<LedgerEntry> entries = mongoTemplate.find(query, LedgerEntry.class);
+        Set<String> categoryIds = entries.stream().map(LedgerEntry::getCategoryId).collect(Collectors.toSet());
+        Map<String, Category> categories = categoryIds.isEmpty() ? Map.of()
+                : categoryRepository.findByFamilyIdAndIdIn(familyId, categoryIds).stream()
+                        .collect(Collectors.toMap(Category::getId, Function.identity()));
+        return entries.stream()
+                .map(entry -> {
+                    Category category = categories.get(entry.getCategoryId());
+                    return category != null ? toResponse(entry, category) : toResponse(entry, "Unknown");
+                })
+                .toList();
+    }
+
+    private static LedgerEntryResponse toResponse(LedgerEntry entry, Category category) {
+        LedgerEntryResponse response = toResponse(entry, category.getName());
+        response.setCategoryIcon(category.getIcon());
+        response.setCategoryColor(category.getColor());
+        return response;
     }
 
-    private LedgerEntryResponse toResponse(LedgerEntry entry, String categoryName) {
+    static LedgerEntryResponse toResponse(LedgerEntry entry, String categoryName) {
         LedgerEntryResponse response = new LedgerEntryResponse();
         response.setId(entry.getId());
         response.setMemberId(entry.getMemberId());
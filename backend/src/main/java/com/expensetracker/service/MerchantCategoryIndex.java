@@ -0,0 +1,176 @@
+package com.expensetracker.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token to category frequency table for a single family.
+ * <p>
+ * Category ids are interned into small integer slots and every token maps to a packed
+ * {@code long[]} of {@code (slot << 32) | count} entries. Writes replace a token's array
+ * (copy-on-write) so lookups never lock and never see a partially updated table. Writers use a
+ * {@link ReentrantLock} rather than {@code synchronized} so they never pin a virtual thread.
+ */
+public final class MerchantCategoryIndex {
+
+    private static final double MIN_SCORE = 0.3;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "from", "at", "on", "of", "to", "my", "in", "with", "receipt", "recurring",
+            "spent", "paid", "bought", "dollars", "dollar", "usd", "eur", "try",
+            "ve", "ile", "bir", "için", "fiş", "fis", "lira", "tl");
+
+    private final Map<String, Integer> categorySlots = new HashMap<>();
+    private final ConcurrentHashMap<String, long[]> tokens = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile String[] categories = new String[0];
+
+    public void record(String text, String categoryId, int weight) {
+        if (text == null || categoryId == null || weight <= 0) {
+            return;
+        }
+        List<String> textTokens = tokenize(text);
+        writeLock.lock();
+        try {
+            int slot = slotFor(categoryId);
+            for (String token : textTokens) {
+                long[] entries = tokens.get(token);
+                tokens.put(token, increment(entries, slot, weight));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeCategory(String categoryId) {
+        writeLock.lock();
+        try {
+            Integer slot = categorySlots.get(categoryId);
+            if (slot != null) {
+                String[] updated = categories.clone();
+                updated[slot] = null;
+                categories = updated;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the best matching category id for the given text, or null when no learned
+     * token is specific enough.
+     */
+    public String suggest(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] knownCategories = categories;
+        if (knownCategories.length == 0) {
+            return null;
+        }
+        double[] scores = new double[knownCategories.length];
+        for (String token : tokenize(text)) {
+            long[] entries = tokens.get(token);
+            if (entries == null) {
+                continue;
+            }
+            long total = 0;
+            for (long entry : entries) {
+                total += (int) entry;
+            }
+            // Tokens seen with many categories ("market", "store") carry less signal
+            double specificity = 1.0 / entries.length;
+            for (long entry : entries) {
+                int slot = (int) (entry >>> 32);
+                if (slot < knownCategories.length && knownCategories[slot] != null) {
+                    scores[slot] += (double) (int) entry / total * specificity;
+                }
+            }
+        }
+
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0 && (best < 0 || scores[i] > scores[best])) {
+                best = i;
+            }
+        }
+        return best >= 0 && scores[best] >= MIN_SCORE ? knownCategories[best] : null;
+    }
+
+    public int tokenCount() {
+        return tokens.size();
+    }
+
+    private int slotFor(String categoryId) {
+        Integer slot = categorySlots.get(categoryId);
+        if (slot != null) {
+            if (categories[slot] == null) {
+                String[] updated = categories.clone();
+                updated[slot] = categoryId;
+                categories = updated;
+            }
+            return slot;
+        }
+        int newSlot = categories.length;
+        String[] updated = new String[newSlot + 1];
+        System.arraycopy(categories, 0, updated, 0, newSlot);
+        updated[newSlot] = categoryId;
+        categorySlots.put(categoryId, newSlot);
+        categories = updated;
+        return newSlot;
+    }
+
+    private static long[] increment(long[] entries, int slot, int weight) {
+        if (entries == null) {
+            return new long[]{pack(slot, weight)};
+        }
+        for (int i = 0; i < entries.length; i++) {
+            if ((int) (entries[i] >>> 32) == slot) {
+                long[] updated = entries.clone();
+                updated[i] = pack(slot, (int) entries[i] + weight);
+                return updated;
+            }
+        }
+        long[] updated = new long[entries.length + 1];
+        System.arraycopy(entries, 0, updated, 0, entries.length);
+        updated[entries.length] = pack(slot, weight);
+        return updated;
+    }
+
+    private static long pack(int slot, int count) {
+        return ((long) slot << 32) | (count & 0xFFFFFFFFL);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(result, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    private static void addToken(List<String> result, String token) {
+        if (token.length() < 2 || STOP_WORDS.contains(token) || result.contains(token)) {
+            return;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                result.add(token);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.LedgerEntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Suggests real category ids for receipts and voice expenses from what each family has
+ * already booked. Indexes are built lazily from the family's recent ledger history and
+ * kept up to date as new entries are written.
+ */
+@Service
+@Timed("service.invocations")
+public class MerchantCategoryService {
+
+    private static final int CATEGORY_NAME_WEIGHT = 2;
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final CategoryRepository categoryRepository;
+    private final Cache<String, MerchantCategoryIndex> indexes;
+
+    @Value("${app.suggestions.history-size:2000}")
+    private int historySize;
+
+    public MerchantCategoryService(LedgerEntryRepository ledgerEntryRepository,
+                                   CategoryRepository categoryRepository,
+                                   @Value("${app.suggestions.max-families:10000}") long maxFamilies,
+                                   @Value("${app.suggestions.idle-expiry:6h}") Duration idleExpiry,
+                                   MeterRegistry meterRegistry) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.categoryRepository = categoryRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxFamilies)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "merchant.category.index");
+        Gauge.builder("cache.hit.ratio", indexes, cache -> cache.stats().hitRate())
+                .tag("cache", "merchant.category.index")
+                .description("Share of lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    public String suggestCategory(String familyId, String text) {
+        if (familyId == null || text == null || text.isBlank()) {
+            return null;
+        }
+        return index(familyId).suggest(text);
+    }
+
+    /**
+     * Records a category choice. Families whose index is not loaded are skipped, the entry is
+     * picked up from the ledger when the index is next built.
+     */
+    public void recordChoice(String familyId, String text, String categoryId) {
+        if (familyId == null) {
+            return;
+        }
+        MerchantCategoryIndex index = indexes.getIfPresent(familyId);
+        if (index != null) {
+            index.record(text, categoryId, 1);
+        }
+    }
+
+    public void forgetCategory(String familyId, String categoryId) {
+        MerchantCategoryIndex index = indexes.getIfPresent(familyId);
+        if (index != null) {
+            index.removeCategory(categoryId);
+        }
+    }
+
+    /**
+     * Loads outside of the cache's compute so the Mongo reads never run while holding a map bin
+     * lock (which would pin a virtual thread). Concurrent misses may build twice; the first one
+     * stored wins.
+     */
+    private MerchantCategoryIndex index(String familyId) {
+        MerchantCategoryIndex index = indexes.getIfPresent(familyId);
+        if (index != null) {
+            return index;
+        }
+        MerchantCategoryIndex built = buildIndex(familyId);
+        MerchantCategoryIndex existing = indexes.asMap().putIfAbsent(familyId, built);
+        return existing != null ? existing : built;
+    }
+
+    private MerchantCategoryIndex buildIndex(String familyId) {
+        MerchantCategoryIndex index = new MerchantCategoryIndex();
+
+        // Category names give new families a usable cold-start vocabulary
+        Set<String> activeCategoryIds = new HashSet<>();
+        for (Category category : categoryRepository.findByFamilyIdAndTypeAndDeletedAtIsNull(
+                familyId, Category.CategoryType.EXPENSE)) {
+            activeCategoryIds.add(category.getId());
+            index.record(category.getName(), category.getId(), CATEGORY_NAME_WEIGHT);
+        }
+
+        ledgerEntryRepository.findByFamilyIdAndTypeAndDeletedAtIsNullOrderByOccurredAtDesc(
+                        familyId, LedgerEntry.TransactionType.EXPENSE, PageRequest.of(0, historySize))
+                .filter(entry -> activeCategoryIds.contains(entry.getCategoryId()))
+                .forEach(entry -> index.record(entry.getNotes(), entry.getCategoryId(), 1));
+
+        return index;
+    }
+}
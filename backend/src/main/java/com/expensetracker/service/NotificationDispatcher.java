@@ -0,0 +1,216 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Budget;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.User;
+import com.expensetracker.email.EmailMessage;
+import com.expensetracker.email.EmailTransport;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification email outbox. Each round claims a batch of pending notifications,
+ * loads their recipients and budgets with one query each, renders and hands the whole batch to
+ * the {@link EmailTransport}, then records every outcome in one bulk write.
+ * <p>
+ * A claim moves {@code nextAttemptAt} past {@code app.email.claim-timeout}, which hides the batch
+ * from other instances and lets it reappear if this one dies mid-send. Failed messages are retried
+ * with exponential backoff from {@code app.email.retry-backoff}; after
+ * {@code app.email.max-attempts} they are dead-lettered with their last error.
+ */
+@Service
+@Timed("service.invocations")
+public class NotificationDispatcher {
+
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final BudgetRepository budgetRepository;
+    private final EmailService emailService;
+    private final EmailTransport emailTransport;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration claimTimeout;
+
+    public NotificationDispatcher(MongoTemplate mongoTemplate,
+                                  UserRepository userRepository,
+                                  BudgetRepository budgetRepository,
+                                  EmailService emailService,
+                                  EmailTransport emailTransport,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.email.batch-size:100}") int batchSize,
+                                  @Value("${app.email.max-attempts:5}") int maxAttempts,
+                                  @Value("${app.email.retry-backoff:PT1M}") Duration retryBackoff,
+                                  @Value("${app.email.claim-timeout:PT5M}") Duration claimTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.budgetRepository = budgetRepository;
+        this.emailService = emailService;
+        this.emailTransport = emailTransport;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.dispatch-interval:PT10S}")
+    public void dispatch() {
+        if (!emailService.isEnabled()) {
+            return;
+        }
+        try {
+            // Keep going while batches come back full, a backlog drains in one run
+            int claimed;
+            do {
+                claimed = dispatchBatch(Instant.now());
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            // Claimed notifications become visible again after the claim timeout
+            System.err.println("Failed to dispatch notification emails: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Claims, sends and settles one batch. Returns how many notifications were claimed.
+     */
+    int dispatchBatch(Instant now) {
+        String claimToken = UUID.randomUUID().toString();
+        List<Notification> batch = claim(now, claimToken);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> userIds = new HashSet<>();
+        Set<String> budgetIds = new HashSet<>();
+        Set<String> budgetFamilyIds = new HashSet<>();
+        for (Notification notification : batch) {
+            userIds.add(notification.getUserId());
+            if (notification.getData() != null && notification.getData().get("budgetId") != null) {
+                budgetIds.add(String.valueOf(notification.getData().get("budgetId")));
+                budgetFamilyIds.add(notification.getFamilyId());
+            }
+        }
+        Map<String, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        Map<String, Budget> budgets = budgetIds.isEmpty() ? Map.of() : budgetRepository.findByFamilyIdInAndIdIn(budgetFamilyIds, budgetIds).stream()
+                .collect(Collectors.toMap(Budget::getId, budget -> budget));
+
+        List<EmailMessage> messages = emailService.render(batch, users, budgets);
+        Map<String, String> failures = new HashMap<>();
+        if (!messages.isEmpty()) {
+            try {
+                failures.putAll(emailTransport.send(messages));
+            } catch (RuntimeException e) {
+                messages.forEach(message -> failures.put(message.id(), e.getMessage()));
+            }
+        }
+        Set<String> rendered = messages.stream().map(EmailMessage::id).collect(Collectors.toSet());
+
+        BulkOperations outcomes = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class);
+        for (Notification notification : batch) {
+            // Matching the claim keeps a worker whose claim expired from overwriting a newer one, the
+            // recipient routes the update to its shard
+            Query claimed = new Query(Criteria.where("_id").is(notification.getId())
+                    .and("userId").is(notification.getUserId())
+                    .and("claimToken").is(claimToken));
+            if (!rendered.contains(notification.getId())) {
+                outcomes.updateOne(claimed, deadLetter(notification, "Recipient or email template data not found"));
+            } else if (failures.containsKey(notification.getId())) {
+                outcomes.updateOne(claimed, failed(notification, failures.get(notification.getId()), now));
+            } else {
+                outcomes.updateOne(claimed, new Update()
+                        .set("emailSent", true)
+                        .set("emailStatus", Notification.EmailStatus.SENT)
+                        .inc("emailAttempts", 1)
+                        .unset("nextAttemptAt")
+                        .unset("claimToken")
+                        .unset("lastEmailError"));
+                count("sent");
+            }
+        }
+        outcomes.execute();
+        return batch.size();
+    }
+
+    /**
+     * Picks the oldest due notifications and stamps them with the claim token. Of the candidates,
+     * only those no other worker claimed in the meantime are returned.
+     */
+    private List<Notification> claim(Instant now, String claimToken) {
+        Query due = new Query(Criteria.where("emailSent").is(false)
+                .and("emailStatus").is(Notification.EmailStatus.PENDING)
+                .and("nextAttemptAt").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(batchSize);
+        due.fields().include("_id");
+        List<String> candidates = mongoTemplate.find(due, Notification.class).stream()
+                .map(Notification::getId)
+                .toList();
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(candidates)
+                        .and("emailStatus").is(Notification.EmailStatus.PENDING)
+                        .and("nextAttemptAt").lte(now)),
+                new Update().set("claimToken", claimToken).set("nextAttemptAt", now.plus(claimTimeout)),
+                Notification.class);
+        return mongoTemplate.find(
+                new Query(Criteria.where("_id").in(candidates).and("claimToken").is(claimToken)),
+                Notification.class);
+    }
+
+    private Update failed(Notification notification, String error, Instant now) {
+        int attempts = notification.getEmailAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            return deadLetter(notification, error);
+        }
+        count("retried");
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS));
+        return new Update()
+                .set("emailAttempts", attempts)
+                .set("nextAttemptAt", now.plus(backoff))
+                .set("lastEmailError", error)
+                .unset("claimToken");
+    }
+
+    private Update deadLetter(Notification notification, String error) {
+        count("dead");
+        return new Update()
+                .set("emailStatus", Notification.EmailStatus.DEAD)
+                .set("emailAttempts", notification.getEmailAttempts() + 1)
+                .set("lastEmailError", error)
+                .unset("nextAttemptAt")
+                .unset("claimToken");
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("notifications.email", "outcome", outcome).increment();
+    }
+}
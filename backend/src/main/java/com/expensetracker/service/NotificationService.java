@@ -1,31 +1,62 @@
 package com.expensetracker.service;
 
 import com.expensetracker.domain.Notification;
-import com.expensetracker.domain.User;
-import com.expensetracker.domain.Budget;
+import com.expensetracker.dto.notification.NotificationPageDTO;
+import com.expensetracker.dto.notification.NotificationSummaryDTO;
+import com.expensetracker.events.FamilyEvent;
+import com.expensetracker.events.FamilyEventPublisher;
 import com.expensetracker.repository.NotificationRepository;
+import io.micrometer.core.annotation.Timed;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
+/**
+ * Creates, lists and marks notifications. Emailed ones are written once with a pending outbox
+ * state and sent later by {@link NotificationDispatcher}, so nothing here waits on mail delivery.
+ * <p>
+ * Listings are keyset-paginated on {@code (createdAt, _id)} descending and read through the
+ * {@code userId, [isRead,] createdAt, _id} indexes, so a page costs the same however deep it is.
+ * They return summaries without the type-specific {@code data}.
+ */
 @Service
+@Timed("service.invocations")
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final EmailService emailService;
     private final UserService userService;
-    private final BudgetService budgetService;
+    private final FamilyEventPublisher familyEventPublisher;
+    private final MongoTemplate mongoTemplate;
+    private final UnreadNotificationCounter unreadCounter;
+
+    static final int MAX_PAGE_SIZE = 100;
 
     public NotificationService(NotificationRepository notificationRepository, 
                              EmailService emailService,
                              UserService userService,
-                             BudgetService budgetService) {
+                             FamilyEventPublisher familyEventPublisher,
+                             MongoTemplate mongoTemplate,
+                             UnreadNotificationCounter unreadCounter) {
         this.notificationRepository = notificationRepository;
         this.emailService = emailService;
         this.userService = userService;
-        this.budgetService = budgetService;
+        this.familyEventPublisher = familyEventPublisher;
+        this.mongoTemplate = mongoTemplate;
+        this.unreadCounter = unreadCounter;
     }
 
     public void createBudgetAlert(String userId, String budgetId, double usagePercentage) {
@@ -43,19 +74,9 @@ public class NotificationService {
         data.put("usagePercentage", usagePercentage);
         notification.setData(data);
         
+        queueEmail(notification);
         notificationRepository.save(notification);
-        
-        // Send email
-        try {
-            User user = userService.findById(userId);
-            Budget budget = budgetService.getBudgetByFamilyAndId(familyId, budgetId);
-            emailService.sendBudgetAlert(user, budget, usagePercentage);
-            notification.setEmailSent(true);
-            notificationRepository.save(notification);
-        } catch (Exception e) {
-            // Log error but don't fail the notification creation
-            System.err.println("Failed to send budget alert email: " + e.getMessage());
-        }
+        publishCreated(notification);
     }
 
     public void createBudgetExceededAlert(String userId, String budgetId, double usagePercentage) {
@@ -74,47 +95,151 @@ public class NotificationService {
         notification.setData(data);
         
         notificationRepository.save(notification);
+        publishCreated(notification);
     }
 
-    public void createWeeklySummary(String userId, String summaryContent) {
-        String familyId = userService.getCurrentUserFamilyId(userId);
-        
+    /**
+     * Creates a weekly summary or monthly report for one member of the family. Returns false when
+     * the member already has this run's digest.
+     */
+    public boolean createDigest(Notification.NotificationType type, String userId, String familyId,
+                                String runId, String summaryContent) {
         Notification notification = new Notification();
         notification.setUserId(userId);
         notification.setFamilyId(familyId);
-        notification.setType(Notification.NotificationType.WEEKLY_SUMMARY);
-        notification.setTitle("Haftalık Özet");
-        notification.setMessage("Bu haftaki harcama özetiniz hazır");
-        
-        notificationRepository.save(notification);
+        notification.setType(type);
+        if (type == Notification.NotificationType.MONTHLY_REPORT) {
+            notification.setTitle("Aylık Rapor");
+            notification.setMessage("Bu ayki finansal raporunuz hazır");
+        } else {
+            notification.setTitle("Haftalık Özet");
+            notification.setMessage("Bu haftaki harcama özetiniz hazır");
+        }
+        notification.setData(Map.of("content", summaryContent, "digest", runId));
+        notification.setDigestKey(runId + ":" + familyId + ":" + userId);
         
-        // Send email
+        queueEmail(notification);
         try {
-            User user = userService.findById(userId);
-            emailService.sendWeeklySummary(user, summaryContent);
-            notification.setEmailSent(true);
-            notificationRepository.save(notification);
-        } catch (Exception e) {
-            System.err.println("Failed to send weekly summary email: " + e.getMessage());
+            notificationRepository.insert(notification);
+        } catch (DuplicateKeyException e) {
+            return false;
         }
+        publishCreated(notification);
+        return true;
     }
 
-    public List<Notification> getUserNotifications(String userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public NotificationPageDTO getUserNotifications(String userId, String cursor, int size) {
+        return page(Criteria.where("userId").is(userId), cursor, size);
     }
 
-    public List<Notification> getUnreadNotifications(String userId) {
-        return notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
+    public NotificationPageDTO getUnreadNotifications(String userId, String cursor, int size) {
+        return page(Criteria.where("userId").is(userId).and("isRead").is(false), cursor, size);
     }
 
-    public void markAsRead(String notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        });
+    public void markAsRead(String userId, String notificationId) {
+        markAsRead(userId, List.of(notificationId));
+    }
+
+    /**
+     * Marks the given notifications of the user read in one update and returns how many changed.
+     * Ids that are unknown, already read or someone else's are skipped.
+     */
+    public long markAsRead(String userId, Collection<String> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = notificationIds.stream().map(NotificationService::toObjectId).toList();
+        long updated = markRead(Criteria.where("userId").is(userId).and("isRead").is(false).and("_id").in(ids));
+        if (updated > 0) {
+            publishRead(userId, notificationIds.size() == 1 ? notificationIds.iterator().next() : null, updated);
+        }
+        return updated;
+    }
+
+    public long markAllAsRead(String userId) {
+        long updated = markRead(Criteria.where("userId").is(userId).and("isRead").is(false));
+        if (updated > 0) {
+            publishRead(userId, null, updated);
+        }
+        return updated;
     }
 
     public long getUnreadCount(String userId) {
-        return notificationRepository.countByUserIdAndIsRead(userId, false);
+        return unreadCounter.get(userId);
+    }
+
+    private NotificationPageDTO page(Criteria filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            filter.orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("_id").lt(toObjectId(after.id())));
+        }
+        // One extra row tells whether another page follows without a count
+        Query query = new Query(filter)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit + 1);
+        query.fields().include("type", "title", "message", "isRead", "createdAt");
+        List<Notification> rows = mongoTemplate.find(query, Notification.class);
+
+        List<Notification> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            Notification last = page.get(page.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new NotificationPageDTO(page.stream().map(NotificationSummaryDTO::from).toList(), nextCursor);
+    }
+
+    // A targeted update, so it cannot overwrite delivery state the dispatcher is writing
+    private long markRead(Criteria filter) {
+        return mongoTemplate.updateMulti(new Query(filter), new Update().set("isRead", true).set("readAt", Instant.now()), Notification.class)
+                .getModifiedCount();
+    }
+
+    private void publishCreated(Notification notification) {
+        unreadCounter.increment(notification.getUserId());
+        familyEventPublisher.publish(FamilyEvent.Type.NOTIFICATION_CREATED, notification.getFamilyId(),
+                notification.getUserId(), notification.getId());
+    }
+
+    private void publishRead(String userId, String notificationId, long updated) {
+        unreadCounter.decrement(userId, updated);
+        familyEventPublisher.publish(FamilyEvent.Type.NOTIFICATION_READ,
+                userService.getCurrentUserFamilyId(userId), userId, notificationId);
+    }
+
+    private static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    /**
+     * Position after the last notification of a page, opaque to clients.
+     */
+    record Cursor(Instant createdAt, String id) {
+
+        String encode() {
+            String raw = createdAt.toEpochMilli() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new Cursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                        raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid notification cursor");
+            }
+        }
+    }
+
+    private void queueEmail(Notification notification) {
+        if (emailService.isEnabled()) {
+            notification.setEmailStatus(Notification.EmailStatus.PENDING);
+            notification.setNextAttemptAt(notification.getCreatedAt());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.ReceiptData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Caches OCR output by image content so that retried or duplicate receipt uploads skip the
+ * Tesseract pass. Entries are keyed by SHA-256 of the image bytes plus the OCR engine and
+ * config version, so bumping either invalidates every cached result.
+ */
+@Service
+@Timed("service.invocations")
+public class OcrResultCache {
+
+    private static final String KEY_PREFIX = "ocr_result:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${app.ocr.engine:tesseract-5.9}")
+    private String ocrEngine;
+
+    @Value("${app.ocr.config-version:1}")
+    private String configVersion;
+
+    @Value("${app.ocr.cache.ttl:7d}")
+    private Duration ttl;
+
+    public OcrResultCache(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("receipt.ocr.cache.requests")
+                .tag("result", "hit")
+                .description("OCR cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("receipt.ocr.cache.requests")
+                .tag("result", "miss")
+                .description("OCR cache lookups")
+                .register(meterRegistry);
+        Gauge.builder("receipt.ocr.cache.hit.ratio", this, OcrResultCache::hitRatio)
+                .description("Share of OCR cache lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    public String hash(byte[] imageBytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imageBytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<CachedOcrResult> get(String imageHash) {
+        try {
+            String json = redisTemplate.opsForValue().get(key(imageHash));
+            if (json != null) {
+                CachedOcrResult cached = objectMapper.readValue(json, CachedOcrResult.class);
+                hits.increment();
+                return Optional.of(cached);
+            }
+        } catch (Exception e) {
+            // A broken cache must never fail receipt processing
+            System.err.println("OCR cache lookup failed: " + e.getMessage());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String imageHash, String ocrText, ReceiptData receiptData) {
+        try {
+            String json = objectMapper.writeValueAsString(new CachedOcrResult(ocrText, receiptData));
+            redisTemplate.opsForValue().set(key(imageHash), json, ttl);
+        } catch (Exception e) {
+            System.err.println("OCR cache write failed: " + e.getMessage());
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private String key(String imageHash) {
+        return KEY_PREFIX + ocrEngine + ":" + configVersion + ":" + imageHash;
+    }
+
+    public static class CachedOcrResult {
+        private String ocrText;
+        private ReceiptData receiptData;
+
+        public CachedOcrResult() {}
+
+        public CachedOcrResult(String ocrText, ReceiptData receiptData) {
+            this.ocrText = ocrText;
+            this.receiptData = receiptData;
+        }
+
+        public String getOcrText() { return ocrText; }
+        public void setOcrText(String ocrText) { this.ocrText = ocrText; }
+
+        public ReceiptData getReceiptData() { return receiptData; }
+        public void setReceiptData(ReceiptData receiptData) { this.receiptData = receiptData; }
+    }
+}
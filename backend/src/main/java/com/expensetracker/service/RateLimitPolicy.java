@@ -0,0 +1,21 @@
+package com.expensetracker.service;
+
+/**
+ * Request classes that get their own bucket. Auth is keyed by client IP since callers are not
+ * signed in yet; the expensive authenticated endpoints are keyed by user.
+ */
+public enum RateLimitPolicy {
+    AUTH("auth"),
+    EXPORT("export"),
+    OCR("ocr");
+
+    private final String tag;
+
+    RateLimitPolicy(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,182 @@
+package com.expensetracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Token buckets shared across nodes through Redis.
+ * <p>
+ * Remote buckets are cached per key so Bucket4j can consume from a small locally reserved
+ * allowance between Redis round trips, and a key that was just rejected is refused locally
+ * until its refill time without asking Redis again. Redis failures fail open.
+ */
+@Service
+@Timed("service.invocations")
+public class RateLimitService {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final Map<RateLimitPolicy, Supplier<BucketConfiguration>> configurations = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Optimization> optimizations = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Counter[]> counters = new EnumMap<>(RateLimitPolicy.class);
+    private final Cache<String, LocalBucket> buckets;
+    private final ReentrantLock proxyManagerLock = new ReentrantLock();
+    private volatile ProxyManager<String> proxyManager;
+
+    public RateLimitService(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry,
+                            @Value("${app.rate-limit.auth.requests-per-minute:10}") long authPerMinute,
+                            @Value("${app.rate-limit.export.requests-per-hour:5}") long exportPerHour,
+                            @Value("${app.rate-limit.ocr.requests-per-minute:20}") long ocrPerMinute,
+                            @Value("${app.rate-limit.local.sync-interval:1s}") Duration syncInterval,
+                            @Value("${app.rate-limit.local.max-keys:100000}") long maxKeys) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build();
+        // A miss costs a Redis round trip to rebuild the bucket proxy
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate.limit.buckets");
+        Gauge.builder("cache.hit.ratio", buckets, cache -> cache.stats().hitRate())
+                .tag("cache", "rate.limit.buckets")
+                .description("Share of lookups served from the cache")
+                .register(meterRegistry);
+
+        register(RateLimitPolicy.AUTH, authPerMinute, Duration.ofMinutes(1), syncInterval, meterRegistry);
+        register(RateLimitPolicy.EXPORT, exportPerHour, Duration.ofHours(1), syncInterval, meterRegistry);
+        register(RateLimitPolicy.OCR, ocrPerMinute, Duration.ofMinutes(1), syncInterval, meterRegistry);
+    }
+
+    /**
+     * Takes one token for the given key.
+     *
+     * @return the probe, or null when Redis is unavailable and the request is let through
+     */
+    public ConsumptionProbe tryConsume(RateLimitPolicy policy, String key) {
+        Counter[] policyCounters = counters.get(policy);
+        try {
+            LocalBucket local = buckets.get(policy.getTag() + ":" + key, cacheKey -> new LocalBucket(
+                    proxyManager().builder()
+                            .withOptimization(optimizations.get(policy))
+                            .build(KEY_PREFIX + cacheKey, configurations.get(policy))));
+
+            long blockedFor = local.blockedUntilNanos - System.nanoTime();
+            if (blockedFor > 0) {
+                policyCounters[1].increment();
+                return ConsumptionProbe.rejected(0, blockedFor, blockedFor);
+            }
+
+            ConsumptionProbe probe = local.bucket.tryConsumeAndReturnRemaining(1);
+            if (probe.isConsumed()) {
+                policyCounters[0].increment();
+            } else {
+                local.blockedUntilNanos = System.nanoTime() + probe.getNanosToWaitForRefill();
+                policyCounters[1].increment();
+            }
+            return probe;
+        } catch (RuntimeException e) {
+            policyCounters[2].increment();
+            System.err.println("Rate limiter unavailable, allowing request: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void register(RateLimitPolicy policy, long capacity, Duration period, Duration syncInterval,
+                          MeterRegistry meterRegistry) {
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(capacity).refillGreedy(capacity, period))
+                .build();
+        configurations.put(policy, () -> configuration);
+
+        // Let each node spend up to a tenth of the limit before syncing; tiny limits only batch
+        long unsynchronized = capacity / 10;
+        optimizations.put(policy, unsynchronized > 0
+                ? Optimizations.delaying(new DelayParameters(unsynchronized, syncInterval))
+                : Optimizations.batching());
+
+        Counter[] policyCounters = new Counter[3];
+        String[] results = {"allowed", "rejected", "error"};
+        for (int i = 0; i < results.length; i++) {
+            policyCounters[i] = Counter.builder("http.rate_limit.requests")
+                    .tag("policy", policy.getTag())
+                    .tag("result", results[i])
+                    .description("Requests checked against a rate limit")
+                    .register(meterRegistry);
+        }
+        counters.put(policy, policyCounters);
+    }
+
+    private ProxyManager<String> proxyManager() {
+        ProxyManager<String> manager = proxyManager;
+        if (manager == null) {
+            // Connecting blocks on I/O, so avoid synchronized which would pin a virtual thread
+            proxyManagerLock.lock();
+            try {
+                manager = proxyManager;
+                if (manager == null) {
+                    manager = createProxyManager();
+                    proxyManager = manager;
+                }
+            } finally {
+                proxyManagerLock.unlock();
+            }
+        }
+        return manager;
+    }
+
+    // Connects lazily so a Redis outage at startup does not keep the application down
+    private ProxyManager<String> createProxyManager() {
+        if (!(redisConnectionFactory instanceof LettuceConnectionFactory lettuce)) {
+            throw new IllegalStateException("Rate limiting requires the Lettuce Redis driver");
+        }
+        ExpirationAfterWriteStrategy expiration =
+                ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10));
+        AbstractRedisClient client = lettuce.getNativeClient();
+        ProxyManager<byte[]> manager;
+        if (client instanceof RedisClusterClient clusterClient) {
+            manager = LettuceBasedProxyManager.builderFor(clusterClient).withExpirationStrategy(expiration).build();
+        } else {
+            manager = LettuceBasedProxyManager.builderFor((RedisClient) client).withExpirationStrategy(expiration).build();
+        }
+        return manager.withMapper((String key) -> key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class LocalBucket {
+        private final BucketProxy bucket;
+        private volatile long blockedUntilNanos;
+
+        private LocalBucket(BucketProxy bucket) {
+            this.bucket = bucket;
+            this.blockedUntilNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.Family;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.dto.reports.ReportSummaryDTO;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRateSnapshot;
+import com.expensetracker.repository.ReactiveCategoryRepository;
+import com.expensetracker.repository.ReactiveFamilyRepository;
+import com.expensetracker.repository.ReactiveLedgerEntryRepository;
+import com.expensetracker.repository.ReactiveUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Non-blocking versions of the read-heavy ledger and report queries. Entries are pulled from the
+ * Mongo cursor as the caller requests them, so reports and exports over long date ranges never
+ * hold the whole range in memory and a slow client slows the cursor down instead of buffering.
+ * <p>
+ * Calls feed the same {@code service.invocations} timer as the blocking services, measured from
+ * subscription to the last element rather than to the return of the method.
+ */
+@Service
+public class ReactiveReadService {
+
+    private final ReactiveLedgerEntryRepository ledgerEntryRepository;
+    private final ReactiveCategoryRepository categoryRepository;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveFamilyRepository familyRepository;
+    private final FxRateService fxRateService;
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveReadService(ReactiveLedgerEntryRepository ledgerEntryRepository,
+                               ReactiveCategoryRepository categoryRepository,
+                               ReactiveUserRepository userRepository,
+                               ReactiveFamilyRepository familyRepository,
+                               FxRateService fxRateService,
+                               MeterRegistry meterRegistry) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.familyRepository = familyRepository;
+        this.fxRateService = fxRateService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Flux<LedgerEntryResponse> getEntries(String userId, LedgerEntry.TransactionType type, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return timed("getEntries", familyId(userId).flatMapMany(familyId -> withCategoryNames(familyId, type != null
+                ? ledgerEntryRepository.findByFamilyIdAndTypeAndDeletedAtIsNullOrderByOccurredAtDesc(familyId, type, pageable)
+                : ledgerEntryRepository.findByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(familyId, pageable))));
+    }
+
+    public Flux<LedgerEntryResponse> getRecentEntries(String userId) {
+        return timed("getRecentEntries", familyId(userId).flatMapMany(familyId -> withCategoryNames(familyId,
+                ledgerEntryRepository.findTop5ByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc(familyId))));
+    }
+
+    public Mono<ReportSummaryDTO> generateReport(String userId, LocalDate startDate, LocalDate endDate) {
+        return timed("generateReport", requireFamilyId(userId, "User must belong to a family to generate reports")
+                .flatMap(familyId -> familyCurrency(familyId).flatMap(currency -> {
+                    // All totals are in the family currency, converted once per entry against one rate table
+                    FxRateSnapshot rates = fxRateService.snapshot();
+                    return entriesBetween(familyId, startDate, endDate)
+                            .reduceWith(() -> new ReportAccumulator(currency),
+                                    (report, entry) -> report.add(entry, fxRateService.amountIn(entry, currency, rates)))
+                            .map(ReportAccumulator::toSummary);
+                })));
+    }
+
+    /**
+     * CSV export as a stream of lines, header first, in the same format as
+     * {@link ReportService#exportData}.
+     */
+    public Flux<String> exportCsv(String userId, LocalDate startDate, LocalDate endDate) {
+        return timed("exportCsv", requireFamilyId(userId, "User must belong to a family to export data")
+                .flatMapMany(familyId -> entriesBetween(familyId, startDate, endDate)
+                        .map(entry -> ReportService.appendCsvLine(new StringBuilder(128), entry).toString())
+                        .startWith(ReportService.CSV_HEADER)));
+    }
+
+    private Flux<LedgerEntry> entriesBetween(String familyId, LocalDate startDate, LocalDate endDate) {
+        Instant from = startDate.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant to = endDate.atTime(23, 59, 59).toInstant(ZoneOffset.UTC);
+        return ledgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(familyId, from, to);
+    }
+
+    // Empty when the user has no family yet, matching the blocking path's empty results
+    private Mono<String> familyId(String userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+                .mapNotNull(UserService::currentFamilyId);
+    }
+
+    private Mono<String> requireFamilyId(String userId, String message) {
+        return familyId(userId).switchIfEmpty(Mono.error(() -> new RuntimeException(message)));
+    }
+
+    private Mono<String> familyCurrency(String familyId) {
+        return familyRepository.findById(familyId)
+                .mapNotNull(Family::getCurrency)
+                .defaultIfEmpty(fxRateService.snapshot().getBaseCurrency());
+    }
+
+    // One category query per request rather than one per entry
+    private Flux<LedgerEntryResponse> withCategoryNames(String familyId, Flux<LedgerEntry> entries) {
+        return categoryRepository.findByFamilyId(familyId)
+                .collectMap(Category::getId, Category::getName)
+                .flatMapMany(names -> entries.map(entry -> LedgerService.toResponse(entry, categoryName(names, entry))));
+    }
+
+    private <T> Flux<T> timed(String method, Flux<T> publisher) {
+        return Flux.defer(() -> {
+            Invocation invocation = new Invocation(method);
+            return publisher.doOnError(invocation::failed).doFinally(invocation::stop);
+        });
+    }
+
+    private <T> Mono<T> timed(String method, Mono<T> publisher) {
+        return Mono.defer(() -> {
+            Invocation invocation = new Invocation(method);
+            return publisher.doOnError(invocation::failed).doFinally(invocation::stop);
+        });
+    }
+
+    // Tagged like Micrometer's TimedAspect so both paths land in one series per method
+    private class Invocation {
+        private final String method;
+        private final Timer.Sample sample = Timer.start(meterRegistry);
+        private String exception = "none";
+
+        Invocation(String method) {
+            this.method = method;
+        }
+
+        void failed(Throwable error) {
+            exception = error.getClass().getSimpleName();
+        }
+
+        void stop(SignalType signal) {
+            sample.stop(Timer.builder("service.invocations")
+                    .tag("class", ReactiveReadService.class.getName())
+                    .tag("method", method)
+                    .tag("exception", signal == SignalType.CANCEL ? "cancelled" : exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String categoryName(Map<String, String> names, LedgerEntry entry) {
+        String name = names.get(entry.getCategoryId());
+        return name != null ? name : "Unknown";
+    }
+}
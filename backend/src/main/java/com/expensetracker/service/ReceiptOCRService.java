@@ -3,16 +3,21 @@ package com.expensetracker.service;
 import com.expensetracker.domain.Attachment;
 import com.expensetracker.domain.LedgerEntry;
 import com.expensetracker.domain.ReceiptData;
-import com.expensetracker.domain.ReceiptItem;
 import com.expensetracker.dto.ledger.CreateLedgerEntryRequest;
 import com.expensetracker.dto.ledger.LedgerEntryResponse;
 import com.expensetracker.dto.receipt.CreateExpenseFromReceiptRequest;
+import com.expensetracker.parser.ReceiptParseResult;
+import com.expensetracker.parser.ReceiptTextParser;
 import com.expensetracker.repository.ReceiptDataRepository;
 import com.expensetracker.security.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import net.sourceforge.tess4j.ITesseract;
 import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,24 +26,35 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
+@Timed("service.invocations")
 public class ReceiptOCRService {
 
     private final FileUploadService fileUploadService;
     private final LedgerService ledgerService;
     private final CategoryService categoryService;
     private final ReceiptDataRepository receiptDataRepository;
-    private final ITesseract tesseract;
+    private final ReceiptTextParser receiptTextParser;
+    private final OcrResultCache ocrResultCache;
+    private final UserService userService;
+    private final MerchantCategoryService merchantCategoryService;
+    // Tesseract is neither thread safe nor friendly to virtual threads (native calls pin the
+    // carrier), so each OCR pass runs on a small platform pool with one engine per thread
+    private final ThreadLocal<ITesseract> tesseract;
+    private final ExecutorService ocrExecutor;
 
     @Value("${app.ai.mock:true}")
     private boolean mockAIResponse;
@@ -46,37 +62,73 @@ public class ReceiptOCRService {
     public ReceiptOCRService(FileUploadService fileUploadService, 
                            LedgerService ledgerService,
                            CategoryService categoryService,
-                           ReceiptDataRepository receiptDataRepository) {
+                           ReceiptDataRepository receiptDataRepository,
+                           ReceiptTextParser receiptTextParser,
+                           OcrResultCache ocrResultCache,
+                           UserService userService,
+                           MerchantCategoryService merchantCategoryService,
+                           @Value("${app.ocr.max-concurrent:2}") int maxConcurrentOcr,
+                           MeterRegistry meterRegistry) {
         this.fileUploadService = fileUploadService;
         this.ledgerService = ledgerService;
         this.categoryService = categoryService;
         this.receiptDataRepository = receiptDataRepository;
+        this.receiptTextParser = receiptTextParser;
+        this.ocrResultCache = ocrResultCache;
+        this.userService = userService;
+        this.merchantCategoryService = merchantCategoryService;
         
         // Initialize Tesseract
-        this.tesseract = new Tesseract();
-        // For production, set the data path to where tessdata is located
-        // tesseract.setDatapath("/usr/share/tesseract-ocr/4.00/tessdata/");
+        this.tesseract = ThreadLocal.withInitial(() -> {
+            ITesseract engine = new Tesseract();
+            // For production, set the data path to where tessdata is located
+            // engine.setDatapath("/usr/share/tesseract-ocr/4.00/tessdata/");
+            return engine;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        // Exports executor.queued / executor.active so OCR backlog shows up next to request latency
+        this.ocrExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(Math.max(1, maxConcurrentOcr), runnable -> {
+                    Thread thread = new Thread(runnable, "ocr-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }), "ocr");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ocrExecutor.shutdown();
     }
 
     public ReceiptData processReceipt(MultipartFile receiptImage, String userId) {
         try {
             // 1. Upload file
-            Attachment attachment = fileUploadService.uploadFile(receiptImage, "temp");
-            
-            // 2. Perform OCR
-            String ocrText = performOCR(attachment);
+            String imageHash = ocrResultCache.hash(receiptImage.getBytes());
+            Attachment attachment = fileUploadService.uploadFile(userId, receiptImage, "temp");
             
-            // 3. Parse with basic parsing (mock AI for now)
-            ReceiptData receiptData = parseReceiptWithBasicLogic(ocrText);
+            // 2. Reuse a previous OCR pass over the same image, or perform OCR and parse
+            ReceiptData receiptData;
+            Optional<OcrResultCache.CachedOcrResult> cached = ocrResultCache.get(imageHash);
+            if (cached.isPresent()) {
+                receiptData = cached.get().getReceiptData();
+                receiptData.setId(null);
+                receiptData.setCreatedAt(LocalDateTime.now());
+                receiptData.getMetadata().put("ocrCache", "hit");
+            } else {
+                String ocrText = performOCR(attachment);
+                receiptData = parseReceiptWithBasicLogic(ocrText);
+                ocrResultCache.put(imageHash, ocrText, receiptData);
+            }
+            receiptData.getMetadata().put("imageHash", imageHash);
             
-            // 4. Set metadata
+            // 3. Set metadata
             receiptData.setUserId(userId);
             receiptData.setAttachmentId(attachment.getId());
             
-            // 5. Enhance receipt data
+            // 4. Enhance receipt data
             enhanceReceiptData(receiptData, userId);
             
-            // 6. Save to repository
+            // 5. Save to repository
             return receiptDataRepository.save(receiptData);
             
         } catch (Exception e) {
@@ -90,135 +142,57 @@ public class ReceiptOCRService {
         BufferedImage image = ImageIO.read(filePath.toFile());
         
         // Perform OCR
-        return tesseract.doOCR(image);
+        try {
+            return ocrExecutor.submit(() -> tesseract.get().doOCR(image)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for OCR", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TesseractException tesseractException) {
+                throw tesseractException;
+            }
+            throw new IllegalStateException("OCR failed", e.getCause());
+        }
     }
 
     private ReceiptData parseReceiptWithBasicLogic(String ocrText) {
+        ReceiptParseResult parsed = receiptTextParser.parse(ocrText);
+
         ReceiptData receiptData = new ReceiptData();
-        
-        // Basic parsing logic using regex patterns
-        receiptData.setStoreName(extractStoreName(ocrText));
-        receiptData.setTotalAmount(extractTotalAmount(ocrText));
-        receiptData.setDate(extractDate(ocrText));
-        receiptData.setItems(extractItems(ocrText));
-        receiptData.setConfidence(0.8); // Mock confidence score
+        receiptData.setStoreName(parsed.getStoreName());
+        receiptData.setTotalAmount(parsed.getTotal() != null ? parsed.getTotal() : BigDecimal.ZERO);
+        receiptData.setSubtotalAmount(parsed.getSubtotal());
+        receiptData.setTaxAmount(parsed.getTax());
+        receiptData.setDate(parsed.getDate() != null ? parsed.getDate() : LocalDateTime.now());
+        receiptData.setItems(parsed.getItems());
+        receiptData.setConfidence(parsed.getConfidence());
+        receiptData.setFieldConfidences(parsed.getFieldConfidences());
         
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("ocrText", ocrText);
-        metadata.put("parseMethod", "basic");
+        metadata.put("parseMethod", "rules");
         receiptData.setMetadata(metadata);
         
         return receiptData;
     }
 
-    private String extractStoreName(String ocrText) {
-        // Look for common store patterns in the first few lines
-        String[] lines = ocrText.split("\\n");
-        for (int i = 0; i < Math.min(3, lines.length); i++) {
-            String line = lines[i].trim();
-            if (line.length() > 3 && !line.matches(".*\\d.*")) {
-                return line;
-            }
-        }
-        return "Unknown Store";
-    }
-
-    private BigDecimal extractTotalAmount(String ocrText) {
-        // Look for total amount patterns
-        Pattern totalPattern = Pattern.compile("(?i)total[\\s:]*\\$?([0-9]+\\.?[0-9]*)");
-        Matcher matcher = totalPattern.matcher(ocrText);
-        
-        if (matcher.find()) {
-            try {
-                return new BigDecimal(matcher.group(1));
-            } catch (NumberFormatException e) {
-                // Fall back to first decimal number found
-            }
-        }
-        
-        // Fallback: look for any decimal number
-        Pattern amountPattern = Pattern.compile("\\$?([0-9]+\\.[0-9]{2})");
-        matcher = amountPattern.matcher(ocrText);
-        if (matcher.find()) {
-            try {
-                return new BigDecimal(matcher.group(1));
-            } catch (NumberFormatException e) {
-                return BigDecimal.ZERO;
-            }
-        }
-        
-        return BigDecimal.ZERO;
-    }
-
-    private LocalDateTime extractDate(String ocrText) {
-        // For now, return current date
-        // In a real implementation, this would parse date patterns from OCR text
-        return LocalDateTime.now();
-    }
-
-    private List<ReceiptItem> extractItems(String ocrText) {
-        List<ReceiptItem> items = new ArrayList<>();
-        
-        // Basic item extraction - look for lines with prices
-        String[] lines = ocrText.split("\\n");
-        Pattern itemPattern = Pattern.compile("(.+)\\s+\\$?([0-9]+\\.?[0-9]*)");
-        
-        for (String line : lines) {
-            Matcher matcher = itemPattern.matcher(line.trim());
-            if (matcher.find()) {
-                String itemName = matcher.group(1).trim();
-                String priceStr = matcher.group(2);
-                
-                try {
-                    BigDecimal price = new BigDecimal(priceStr);
-                    if (price.compareTo(BigDecimal.ZERO) > 0) {
-                        ReceiptItem item = new ReceiptItem();
-                        item.setName(itemName);
-                        item.setPrice(price);
-                        item.setQuantity(1);
-                        items.add(item);
-                    }
-                } catch (NumberFormatException ignored) {
-                    // Skip invalid prices
-                }
-            }
-        }
-        
-        return items;
-    }
-
     private void enhanceReceiptData(ReceiptData data, String userId) {
-        // Suggest category based on store name
-        String suggestedCategory = suggestCategoryByStoreName(data.getStoreName());
-        data.setSuggestedCategory(suggestedCategory);
+        // Suggest one of the family's categories from the store name and line items
+        String familyId = userService.getCurrentUserFamilyId(userId);
+        data.setSuggestedCategory(merchantCategoryService.suggestCategory(familyId, describe(data)));
         
         // Validate amount format
         if (data.getTotalAmount() != null) {
-            data.setTotalAmount(data.getTotalAmount().setScale(2, BigDecimal.ROUND_HALF_UP));
+            data.setTotalAmount(data.getTotalAmount().setScale(2, RoundingMode.HALF_UP));
         }
     }
 
-    private String suggestCategoryByStoreName(String storeName) {
-        if (storeName == null) return null;
-        
-        String lowerStoreName = storeName.toLowerCase();
-        
-        // Basic category suggestions based on common store names
-        if (lowerStoreName.contains("starbucks") || lowerStoreName.contains("coffee") || 
-            lowerStoreName.contains("cafe")) {
-            return "food-dining";
-        } else if (lowerStoreName.contains("grocery") || lowerStoreName.contains("market") ||
-                   lowerStoreName.contains("walmart") || lowerStoreName.contains("target")) {
-            return "groceries";
-        } else if (lowerStoreName.contains("gas") || lowerStoreName.contains("shell") ||
-                   lowerStoreName.contains("exxon") || lowerStoreName.contains("bp")) {
-            return "transportation";
-        } else if (lowerStoreName.contains("pharmacy") || lowerStoreName.contains("cvs") ||
-                   lowerStoreName.contains("walgreens")) {
-            return "healthcare";
+    private String describe(ReceiptData data) {
+        StringBuilder text = new StringBuilder(data.getStoreName() != null ? data.getStoreName() : "");
+        if (data.getItems() != null) {
+            data.getItems().forEach(item -> text.append(' ').append(item.getName()));
         }
-        
-        return "other";
+        return text.toString();
     }
 
     public LedgerEntryResponse createExpenseFromReceipt(CreateExpenseFromReceiptRequest request, String userId) {
@@ -238,7 +212,14 @@ public class ReceiptOCRService {
         // Create UserPrincipal for the service call
         UserPrincipal userPrincipal = new UserPrincipal(userId, "");
         
-        return ledgerService.createEntry(userPrincipal, ledgerRequest);
+        LedgerEntryResponse response = ledgerService.createEntry(userPrincipal, ledgerRequest);
+        
+        // Notes only carry the store name when no description was given
+        if (request.getDescription() != null) {
+            merchantCategoryService.recordChoice(userService.getCurrentUserFamilyId(userId),
+                    request.getStoreName(), request.getCategoryId());
+        }
+        return response;
     }
 
     public List<ReceiptData> getUserReceiptData(String userId) {
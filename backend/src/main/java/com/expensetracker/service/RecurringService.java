@@ -6,6 +6,7 @@ import com.expensetracker.dto.ledger.CreateLedgerEntryRequest;
 import com.expensetracker.dto.recurring.RecurringRuleDTO;
 import com.expensetracker.repository.RecurringRuleRepository;
 import com.expensetracker.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 public class RecurringService {
 
     private final RecurringRuleRepository recurringRuleRepository;
@@ -75,13 +77,9 @@ public class RecurringService {
     public RecurringRuleDTO updateRecurringRule(String userId, String ruleId, RecurringRuleDTO dto) {
         String familyId = userService.getCurrentUserFamilyId(userId);
         
-        RecurringRule rule = recurringRuleRepository.findById(ruleId)
+        RecurringRule rule = recurringRuleRepository.findByIdAndFamilyId(ruleId, familyId)
                 .orElseThrow(() -> new RuntimeException("Recurring rule not found"));
         
-        if (!rule.getFamilyId().equals(familyId)) {
-            throw new RuntimeException("Access denied to recurring rule");
-        }
-        
         rule.setName(dto.getName());
         rule.setType(LedgerEntry.TransactionType.valueOf(dto.getType()));
         rule.setAmountMinor(dto.getAmountMinor());
@@ -114,14 +112,10 @@ public class RecurringService {
     public void deleteRecurringRule(String userId, String ruleId) {
         String familyId = userService.getCurrentUserFamilyId(userId);
         
-        RecurringRule rule = recurringRuleRepository.findById(ruleId)
+        RecurringRule rule = recurringRuleRepository.findByIdAndFamilyId(ruleId, familyId)
                 .orElseThrow(() -> new RuntimeException("Recurring rule not found"));
         
-        if (!rule.getFamilyId().equals(familyId)) {
-            throw new RuntimeException("Access denied to recurring rule");
-        }
-        
-        recurringRuleRepository.deleteById(ruleId);
+        recurringRuleRepository.deleteByIdAndFamilyId(ruleId, familyId);
     }
 
     public void processRecurringRules() {
@@ -156,7 +150,8 @@ public class RecurringService {
         ledgerService.createEntry(userPrincipal, request);
     }
 
-    private Instant calculateNextRun(RecurringRule rule) {
+    // Package-private so backend-benchmarks can time it directly
+    static Instant calculateNextRun(RecurringRule rule) {
         LocalDate nextDate = rule.getStartDate();
         ZoneId zoneId = ZoneId.of(rule.getTimezone());
         LocalDate today = LocalDate.now(zoneId);
@@ -0,0 +1,128 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.reports.ReportSummaryDTO;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Folds ledger entries into a {@link ReportSummaryDTO} one at a time, so a report never needs the
+ * whole date range in memory. Shared by the blocking and the reactive report paths.
+ */
+final class ReportAccumulator {
+
+    private static final int RECENT_LIMIT = 10;
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final String currency;
+    private long totalIncome;
+    private long totalExpenses;
+    private final Map<String, Long> categorySpending = new HashMap<>();
+    private final Map<String, long[]> monthlyData = new HashMap<>(); // month -> {income, expense}
+    // Oldest of the newest entries on top, so it is the one evicted
+    private final PriorityQueue<Recent> recent = new PriorityQueue<>(
+            Comparator.comparing((Recent r) -> r.entry.getCreatedAt()).thenComparing(r -> -r.sequence));
+    private long sequence;
+    private long unconvertedEntries;
+    private final Set<String> unconvertedCurrencies = new TreeSet<>();
+
+    ReportAccumulator(String currency) {
+        this.currency = currency;
+    }
+
+    /**
+     * @param amount the entry amount already converted to the report currency
+     */
+    ReportAccumulator add(LedgerEntry entry, OptionalLong amount) {
+        if (amount.isEmpty()) {
+            // No rate for the entry's currency: left out of the totals and flagged on the report
+            unconvertedEntries++;
+            unconvertedCurrencies.add(entry.getAmount().getCurrency());
+            return this;
+        }
+        return add(entry, amount.getAsLong());
+    }
+
+    /**
+     * @param amount the entry amount already converted to the report currency
+     */
+    ReportAccumulator add(LedgerEntry entry, long amount) {
+        boolean income = entry.getType() == LedgerEntry.TransactionType.INCOME;
+        if (income) {
+            totalIncome += amount;
+        } else {
+            totalExpenses += amount;
+        }
+
+        if (entry.getType() == LedgerEntry.TransactionType.EXPENSE) {
+            categorySpending.merge(entry.getCategoryId(), amount, Long::sum);
+        }
+
+        String monthKey = entry.getOccurredAt().atZone(ZoneOffset.UTC).format(MONTH_FORMATTER);
+        monthlyData.computeIfAbsent(monthKey, k -> new long[2])[income ? 0 : 1] += amount;
+
+        recent.add(new Recent(entry, amount, sequence++));
+        if (recent.size() > RECENT_LIMIT) {
+            recent.poll();
+        }
+        return this;
+    }
+
+    ReportSummaryDTO toSummary() {
+        ReportSummaryDTO report = new ReportSummaryDTO();
+        report.setCurrency(currency);
+        report.setTotalIncomeMinor(totalIncome);
+        report.setTotalExpensesMinor(totalExpenses);
+        report.setBalanceMinor(totalIncome - totalExpenses);
+        if (unconvertedEntries > 0) {
+            report.setUnconvertedEntries(unconvertedEntries);
+            report.setUnconvertedCurrencies(new ArrayList<>(unconvertedCurrencies));
+        }
+
+        List<ReportSummaryDTO.CategorySummaryDTO> categoryData = new ArrayList<>();
+        categorySpending.forEach((categoryId, spent) -> {
+            ReportSummaryDTO.CategorySummaryDTO cat = new ReportSummaryDTO.CategorySummaryDTO();
+            cat.setCategoryId(categoryId);
+            cat.setSpentMinor(spent);
+            categoryData.add(cat);
+        });
+        report.setPerCategory(categoryData);
+
+        List<ReportSummaryDTO.MonthlySummaryDTO> monthlyList = new ArrayList<>();
+        monthlyData.forEach((monthKey, totals) -> {
+            ReportSummaryDTO.MonthlySummaryDTO month = new ReportSummaryDTO.MonthlySummaryDTO();
+            month.setMonth(monthKey);
+            month.setIncomeMinor(totals[0]);
+            month.setExpenseMinor(totals[1]);
+            monthlyList.add(month);
+        });
+        report.setPerMonth(monthlyList);
+
+        // Newest first; entries created at the same instant keep their query order
+        List<Recent> newest = new ArrayList<>(recent);
+        newest.sort(recent.comparator().reversed());
+        List<ReportSummaryDTO.TransactionSummaryDTO> recentTransactions = new ArrayList<>();
+        for (Recent r : newest) {
+            ReportSummaryDTO.TransactionSummaryDTO tx = new ReportSummaryDTO.TransactionSummaryDTO();
+            tx.setId(r.entry.getId());
+            tx.setCategoryId(r.entry.getCategoryId());
+            tx.setAmountMinor(r.amount);
+            recentTransactions.add(tx);
+        }
+        report.setRecentTransactions(recentTransactions);
+        return report;
+    }
+
+    private record Recent(LedgerEntry entry, long amount, long sequence) {
+    }
+}
@@ -3,26 +3,32 @@ package com.expensetracker.service;
 import com.expensetracker.domain.LedgerEntry;
 import com.expensetracker.dto.reports.ReportSummaryDTO;
 import com.expensetracker.dto.reports.ExportResponse;
-import com.expensetracker.repository.LedgerEntryRepository;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRateSnapshot;
+import com.expensetracker.mongo.AnalyticsReads;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 public class ReportService {
 
-    private final LedgerEntryRepository ledgerEntryRepository;
+    // Reports and exports read from secondaries, see AnalyticsReads
+    private final AnalyticsReads analyticsReads;
     private final UserService userService;
+    private final FxRateService fxRateService;
 
-    public ReportService(LedgerEntryRepository ledgerEntryRepository, UserService userService) {
-        this.ledgerEntryRepository = ledgerEntryRepository;
+    public ReportService(AnalyticsReads analyticsReads, UserService userService,
+                         FxRateService fxRateService) {
+        this.analyticsReads = analyticsReads;
         this.userService = userService;
+        this.fxRateService = fxRateService;
     }
 
     public ReportSummaryDTO generateReport(String userId, LocalDate startDate, LocalDate endDate) {
@@ -31,91 +37,20 @@ public class ReportService {
             throw new RuntimeException("User must belong to a family to generate reports");
         }
 
-        List<LedgerEntry> entries = ledgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(
-                familyId, 
-                startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC),
-                endDate.atTime(23, 59, 59).toInstant(java.time.ZoneOffset.UTC));
+        List<LedgerEntry> entries = analyticsReads.find(AnalyticsReads.Path.REPORTS, userId,
+                entriesBetween(familyId,
+                        startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC),
+                        endDate.atTime(23, 59, 59).toInstant(java.time.ZoneOffset.UTC)),
+                LedgerEntry.class);
 
-        ReportSummaryDTO report = new ReportSummaryDTO();
-        
-        // Calculate totals
-        long totalIncome = 0;
-        long totalExpenses = 0;
-        
-        for (LedgerEntry entry : entries) {
-            if (entry.getType() == LedgerEntry.TransactionType.INCOME) {
-                totalIncome += entry.getAmount().getMinor();
-            } else {
-                totalExpenses += entry.getAmount().getMinor();
-            }
-        }
-        
-        report.setTotalIncomeMinor(totalIncome);
-        report.setTotalExpensesMinor(totalExpenses);
-        report.setBalanceMinor(totalIncome - totalExpenses);
-        
-        // Per category summary
-        Map<String, Long> categorySpending = new HashMap<>();
-        for (LedgerEntry entry : entries) {
-            if (entry.getType() == LedgerEntry.TransactionType.EXPENSE) {
-                categorySpending.merge(entry.getCategoryId(), entry.getAmount().getMinor(), Long::sum);
-            }
-        }
-        
-        List<ReportSummaryDTO.CategorySummaryDTO> categoryData = categorySpending.entrySet().stream()
-                .map(e -> {
-                    ReportSummaryDTO.CategorySummaryDTO cat = new ReportSummaryDTO.CategorySummaryDTO();
-                    cat.setCategoryId(e.getKey());
-                    cat.setSpentMinor(e.getValue());
-                    return cat;
-                })
-                .collect(Collectors.toList());
-        report.setPerCategory(categoryData);
-        
-        // Monthly summary
-        Map<String, MonthlyData> monthlyData = new HashMap<>();
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("yyyy-MM");
-        
+        // All totals are in the family currency, converted once per entry against one rate table
+        String currency = fxRateService.familyCurrency(familyId);
+        FxRateSnapshot rates = fxRateService.snapshot();
+        ReportAccumulator report = new ReportAccumulator(currency);
         for (LedgerEntry entry : entries) {
-            String monthKey = entry.getOccurredAt().atZone(java.time.ZoneOffset.UTC).format(monthFormatter);
-            MonthlyData data = monthlyData.computeIfAbsent(monthKey, k -> new MonthlyData());
-            
-            if (entry.getType() == LedgerEntry.TransactionType.INCOME) {
-                data.income += entry.getAmount().getMinor();
-            } else {
-                data.expense += entry.getAmount().getMinor();
-            }
+            report.add(entry, fxRateService.amountIn(entry, currency, rates));
         }
-        
-        List<ReportSummaryDTO.MonthlySummaryDTO> monthlyList = monthlyData.entrySet().stream()
-                .map(e -> {
-                    ReportSummaryDTO.MonthlySummaryDTO month = new ReportSummaryDTO.MonthlySummaryDTO();
-                    month.setMonth(e.getKey());
-                    month.setIncomeMinor(e.getValue().income);
-                    month.setExpenseMinor(e.getValue().expense);
-                    return month;
-                })
-                .collect(Collectors.toList());
-        report.setPerMonth(monthlyList);
-        
-        // Recent transactions (last 10)
-        List<LedgerEntry> recentEntries = entries.stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(10)
-                .collect(Collectors.toList());
-        
-        List<ReportSummaryDTO.TransactionSummaryDTO> recentTransactions = recentEntries.stream()
-                .map(e -> {
-                    ReportSummaryDTO.TransactionSummaryDTO tx = new ReportSummaryDTO.TransactionSummaryDTO();
-                    tx.setId(e.getId());
-                    tx.setCategoryId(e.getCategoryId());
-                    tx.setAmountMinor(e.getAmount().getMinor());
-                    return tx;
-                })
-                .collect(Collectors.toList());
-        report.setRecentTransactions(recentTransactions);
-        
-        return report;
+        return report.toSummary();
     }
 
     public ExportResponse exportData(String userId, LocalDate startDate, LocalDate endDate, String format) {
@@ -124,10 +59,11 @@ public class ReportService {
             throw new RuntimeException("User must belong to a family to export data");
         }
 
-        List<LedgerEntry> entries = ledgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(
-                familyId, 
-                startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC),
-                endDate.atTime(23, 59, 59).toInstant(java.time.ZoneOffset.UTC));
+        List<LedgerEntry> entries = analyticsReads.find(AnalyticsReads.Path.EXPORTS, userId,
+                entriesBetween(familyId,
+                        startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC),
+                        endDate.atTime(23, 59, 59).toInstant(java.time.ZoneOffset.UTC)),
+                LedgerEntry.class);
 
         ExportResponse response = new ExportResponse();
         
@@ -142,26 +78,34 @@ public class ReportService {
         return response;
     }
 
+    // Same filter as LedgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull
+    private static Query entriesBetween(String familyId, Instant from, Instant to) {
+        return new Query(Criteria.where("familyId").is(familyId)
+                .and("occurredAt").gte(from).lte(to)
+                .and("deletedAt").is(null));
+    }
+
     private String generateCSV(List<LedgerEntry> entries) {
         StringBuilder csv = new StringBuilder();
-        csv.append("Date,Type,Amount,Currency,Category,Member,Description\n");
+        csv.append(CSV_HEADER);
         
         for (LedgerEntry entry : entries) {
-            csv.append(entry.getOccurredAt().atZone(java.time.ZoneOffset.UTC).toLocalDate()).append(",")
-               .append(entry.getType()).append(",")
-               .append(entry.getAmount().getMinor() / 100.0).append(",")
-               .append(entry.getAmount().getCurrency()).append(",")
-               .append(entry.getCategoryId()).append(",")
-               .append(entry.getMemberId()).append(",")
-               .append("\"").append((entry.getNotes() != null ? entry.getNotes() : "").replace("\"", "\"\"")).append("\"")
-               .append("\n");
+            appendCsvLine(csv, entry);
         }
         
         return csv.toString();
     }
 
-    private static class MonthlyData {
-        long income = 0;
-        long expense = 0;
+    static final String CSV_HEADER = "Date,Type,Amount,Currency,Category,Member,Description\n";
+
+    static StringBuilder appendCsvLine(StringBuilder csv, LedgerEntry entry) {
+        return csv.append(entry.getOccurredAt().atZone(java.time.ZoneOffset.UTC).toLocalDate()).append(",")
+                .append(entry.getType()).append(",")
+                .append(entry.getAmount().getMinor() / 100.0).append(",")
+                .append(entry.getAmount().getCurrency()).append(",")
+                .append(entry.getCategoryId()).append(",")
+                .append(entry.getMemberId()).append(",")
+                .append("\"").append((entry.getNotes() != null ? entry.getNotes() : "").replace("\"", "\"\"")).append("\"")
+                .append("\n");
     }
-}
\ No newline at end of file
+}
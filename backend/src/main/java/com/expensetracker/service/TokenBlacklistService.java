@@ -1,11 +1,13 @@
 package com.expensetracker.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.TimeUnit;
 
 @Service
+@Timed("service.invocations")
 public class TokenBlacklistService {
 
     private final RedisTemplate<String, String> redisTemplate;
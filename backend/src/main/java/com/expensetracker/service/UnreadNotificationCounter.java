@@ -0,0 +1,133 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.NotificationRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps each user's unread notification count in Redis so badges and the event stream never run a
+ * count query. Writes adjust the counter only when it exists; a missing counter is rebuilt from
+ * Mongo on the next read. Every write also bumps a per-user generation, and a rebuilt count is only
+ * stored if the generation is still the one seen before counting, so a write that lands between
+ * the count and the store is never lost. The TTL bounds how long a counter that missed a write
+ * while Redis was unreachable can stay wrong.
+ */
+@Service
+@Timed("service.invocations")
+public class UnreadNotificationCounter {
+
+    private static final String KEY_PREFIX = "notifications:unread:";
+    private static final String GENERATION_PREFIX = "notifications:unread-generation:";
+
+    // Bumps the generation, then adjusts an existing counter without going below zero; a missing
+    // one stays missing
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]) redis.call('pexpire', KEYS[2], ARGV[2]) "
+                    + "if redis.call('exists', KEYS[1]) == 0 then return -1 end "
+                    + "local value = redis.call('incrby', KEYS[1], ARGV[1]) "
+                    + "if value < 0 then redis.call('set', KEYS[1], 0, 'KEEPTTL') value = 0 end "
+                    + "return value", Long.class);
+
+    // Stores a recount unless a write bumped the generation since it started
+    private static final RedisScript<Long> STORE = new DefaultRedisScript<>(
+            "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[2] then return 0 end "
+                    + "if redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[3], 'NX') then return 1 end "
+                    + "return 0", Long.class);
+
+    // Drops counters and bumps their generations; KEYS holds the counters, then the generations
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>(
+            "local users = #KEYS / 2 "
+                    + "for i = 1, users do "
+                    + "redis.call('del', KEYS[i]) "
+                    + "redis.call('incr', KEYS[users + i]) redis.call('pexpire', KEYS[users + i], ARGV[1]) "
+                    + "end "
+                    + "return users", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final Duration ttl;
+
+    public UnreadNotificationCounter(RedisTemplate<String, String> redisTemplate,
+                                     NotificationRepository notificationRepository,
+                                     @Value("${app.notifications.unread-counter-ttl:P1D}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.ttl = ttl;
+    }
+
+    public long get(String userId) {
+        String generation;
+        try {
+            List<String> cached = redisTemplate.opsForValue().multiGet(List.of(key(userId), generationKey(userId)));
+            if (cached != null && cached.get(0) != null) {
+                return Long.parseLong(cached.get(0));
+            }
+            generation = cached == null || cached.get(1) == null ? "0" : cached.get(1);
+        } catch (Exception e) {
+            System.err.println("Unread counter lookup failed: " + e.getMessage());
+            return notificationRepository.countByUserIdAndIsRead(userId, false);
+        }
+        long count = notificationRepository.countByUserIdAndIsRead(userId, false);
+        try {
+            // Not stored if a write raced the count; the next read counts again
+            redisTemplate.execute(STORE, List.of(key(userId), generationKey(userId)),
+                    String.valueOf(count), generation, String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            System.err.println("Unread counter write failed: " + e.getMessage());
+        }
+        return count;
+    }
+
+    public void increment(String userId) {
+        adjust(userId, 1);
+    }
+
+    public void decrement(String userId, long by) {
+        if (by > 0) {
+            adjust(userId, -by);
+        }
+    }
+
+    /**
+     * Drops the counters of users whose notifications changed in bulk; the next read recounts.
+     */
+    public void invalidate(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(userIds.size() * 2);
+        userIds.forEach(userId -> keys.add(key(userId)));
+        userIds.forEach(userId -> keys.add(generationKey(userId)));
+        try {
+            redisTemplate.execute(INVALIDATE, keys, String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            System.err.println("Unread counter invalidation failed: " + e.getMessage());
+        }
+    }
+
+    private void adjust(String userId, long delta) {
+        try {
+            redisTemplate.execute(ADJUST, List.of(key(userId), generationKey(userId)),
+                    String.valueOf(delta), String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            System.err.println("Unread counter update failed: " + e.getMessage());
+        }
+    }
+
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String generationKey(String userId) {
+        return GENERATION_PREFIX + userId;
+    }
+}
@@ -2,11 +2,13 @@ package com.expensetracker.service;
 
 import com.expensetracker.domain.User;
 import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
 @Service
+@Timed("service.invocations")
 public class UserService {
 
     private final UserRepository userRepository;
@@ -22,7 +24,10 @@ public class UserService {
     public String getCurrentUserFamilyId(String userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
+        return currentFamilyId(user);
+    }
+
+    static String currentFamilyId(User user) {
         if (user.getFamilies().isEmpty()) {
             return null;
         }
@@ -6,9 +6,14 @@ import com.expensetracker.domain.VoiceExpenseData;
 import com.expensetracker.dto.ledger.CreateLedgerEntryRequest;
 import com.expensetracker.dto.ledger.LedgerEntryResponse;
 import com.expensetracker.dto.voice.CreateExpenseFromVoiceRequest;
+import com.expensetracker.dto.voice.VoiceExpenseBatchRequest;
 import com.expensetracker.dto.voice.VoiceExpenseRequest;
+import com.expensetracker.parser.VoiceExpenseParser;
+import com.expensetracker.parser.VoiceParseResult;
 import com.expensetracker.repository.VoiceExpenseDataRepository;
 import com.expensetracker.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -16,260 +21,147 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
+@Timed("service.invocations")
 public class VoiceExpenseService {
 
     private final VoiceExpenseDataRepository voiceExpenseDataRepository;
     private final LedgerService ledgerService;
     private final CategoryService categoryService;
+    private final UserService userService;
+    private final MerchantCategoryService merchantCategoryService;
+    private final VoiceExpenseParser voiceExpenseParser;
+
+    @Value("${app.voice.batch.max-size:100}")
+    private int maxBatchSize;
 
     public VoiceExpenseService(VoiceExpenseDataRepository voiceExpenseDataRepository,
                               LedgerService ledgerService,
-                              CategoryService categoryService) {
+                              CategoryService categoryService,
+                              UserService userService,
+                              MerchantCategoryService merchantCategoryService,
+                              VoiceExpenseParser voiceExpenseParser) {
         this.voiceExpenseDataRepository = voiceExpenseDataRepository;
         this.ledgerService = ledgerService;
         this.categoryService = categoryService;
+        this.userService = userService;
+        this.merchantCategoryService = merchantCategoryService;
+        this.voiceExpenseParser = voiceExpenseParser;
     }
 
     public VoiceExpenseData processVoiceExpense(VoiceExpenseRequest request, String userId) {
         // Parse the spoken text
-        ExpenseParseResult parseResult = parseVoiceExpense(request.getSpokenText(), request.getPreferredCurrency());
-        
-        // Create voice expense data
-        VoiceExpenseData voiceData = new VoiceExpenseData();
-        voiceData.setUserId(userId);
-        voiceData.setOriginalText(request.getSpokenText());
-        voiceData.setParseResult(parseResult);
-        voiceData.setOverallConfidence(parseResult.getConfidence());
-        
-        // Generate suggestions for improvement
-        List<String> suggestions = generateSuggestions(parseResult);
-        voiceData.setSuggestions(suggestions);
-        
-        // Calculate field confidences
-        Map<String, Double> fieldConfidences = calculateFieldConfidences(request.getSpokenText(), parseResult);
-        voiceData.setFieldConfidences(fieldConfidences);
-        
-        return voiceExpenseDataRepository.save(voiceData);
-    }
+        String familyId = userService.getCurrentUserFamilyId(userId);
+        VoiceParseResult parsed = voiceExpenseParser.parse(request.getSpokenText(), request.getPreferredCurrency(),
+                request.getLanguage(), Instant.now());
 
-    private ExpenseParseResult parseVoiceExpense(String spokenText, String preferredCurrency) {
-        ExpenseParseResult result = new ExpenseParseResult();
-        
-        // Extract amount
-        Long amountMinor = extractAmountMinor(spokenText);
-        result.setAmountMinor(amountMinor);
-        
-        // Extract or default currency
-        String currency = extractCurrency(spokenText, preferredCurrency);
-        result.setCurrency(currency);
-        
-        // Extract description
-        String description = extractDescription(spokenText);
-        result.setDescription(description);
-        
-        // Extract merchant
-        String merchant = extractMerchant(spokenText);
-        result.setMerchant(merchant);
-        
-        // Suggest category
-        String categoryId = suggestCategory(description, merchant);
-        result.setCategoryId(categoryId);
-        
-        // Set occurrence time (now for simplicity, could extract from text)
-        result.setOccurredAt(Instant.now());
-        
-        // Calculate confidence based on how much we could extract
-        double confidence = calculateConfidence(spokenText, result);
-        result.setConfidence(confidence);
-        
-        return result;
+        return voiceExpenseDataRepository.save(toVoiceExpenseData(userId, familyId, request.getSpokenText(), parsed));
     }
 
-    private Long extractAmountMinor(String spokenText) {
-        // Patterns to match various amount formats
-        Pattern[] patterns = {
-            Pattern.compile("(\\d+\\.\\d{2})\\s*(?:dollars?|usd|bucks?)", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("(\\d+)\\s*(?:dollars?|usd|bucks?)\\s*(?:and\\s*)?(\\d+)\\s*cents?", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("\\$\\s*(\\d+\\.\\d{2})"),
-            Pattern.compile("(\\d+\\.\\d{2})"),
-            Pattern.compile("(\\d+)\\s*(?:dollars?|usd)", Pattern.CASE_INSENSITIVE)
-        };
-        
-        for (Pattern pattern : patterns) {
-            Matcher matcher = pattern.matcher(spokenText);
-            if (matcher.find()) {
-                try {
-                    if (pattern.pattern().contains("cents")) {
-                        // Handle "X dollars and Y cents" format
-                        long dollars = Long.parseLong(matcher.group(1));
-                        long cents = matcher.groupCount() > 1 ? Long.parseLong(matcher.group(2)) : 0;
-                        return dollars * 100 + cents;
-                    } else {
-                        // Handle decimal format
-                        double amount = Double.parseDouble(matcher.group(1));
-                        return Math.round(amount * 100);
-                    }
-                } catch (NumberFormatException e) {
-                    continue;
-                }
-            }
+    /**
+     * Parses several utterances with one family lookup and a single bulk insert.
+     */
+    public List<VoiceExpenseData> processVoiceExpenseBatch(VoiceExpenseBatchRequest request, String userId) {
+        List<String> utterances = request.getUtterances();
+        if (utterances == null || utterances.isEmpty()) {
+            throw new RuntimeException("At least one utterance is required");
         }
-        
-        return 0L; // Default if no amount found
-    }
-
-    private String extractCurrency(String spokenText, String preferredCurrency) {
-        String lowerText = spokenText.toLowerCase();
-        
-        if (lowerText.contains("dollar") || lowerText.contains("usd") || lowerText.contains("$")) {
-            return "USD";
-        } else if (lowerText.contains("euro") || lowerText.contains("eur")) {
-            return "EUR";
-        } else if (lowerText.contains("pound") || lowerText.contains("gbp")) {
-            return "GBP";
-        } else if (lowerText.contains("lira") || lowerText.contains("try")) {
-            return "TRY";
+        if (utterances.size() > maxBatchSize) {
+            throw new RuntimeException("At most " + maxBatchSize + " utterances can be processed at once");
         }
-        
-        return preferredCurrency; // Default to user's preference
-    }
 
-    private String extractDescription(String spokenText) {
-        // Remove amount-related parts and extract the main expense description
-        String cleaned = spokenText.toLowerCase();
-        
-        // Remove common phrases
-        cleaned = cleaned.replaceAll("i spent|paid|cost me|bought|purchase", "");
-        cleaned = cleaned.replaceAll("\\d+\\.?\\d*\\s*(?:dollars?|usd|euros?|pounds?|lira|bucks?)", "");
-        cleaned = cleaned.replaceAll("\\$\\d+\\.?\\d*", "");
-        cleaned = cleaned.replaceAll("\\bat\\b.*", ""); // Remove "at [store]" part
-        cleaned = cleaned.replaceAll("\\bon\\b", ""); // Remove "on"
-        
-        // Common expense categories/items
-        if (cleaned.contains("coffee")) return "Coffee";
-        if (cleaned.contains("lunch")) return "Lunch";
-        if (cleaned.contains("dinner")) return "Dinner";
-        if (cleaned.contains("breakfast")) return "Breakfast";
-        if (cleaned.contains("groceries") || cleaned.contains("grocery")) return "Groceries";
-        if (cleaned.contains("gas") || cleaned.contains("fuel")) return "Gas";
-        if (cleaned.contains("parking")) return "Parking";
-        if (cleaned.contains("taxi") || cleaned.contains("uber") || cleaned.contains("ride")) return "Transportation";
-        
-        // Return cleaned up text or default
-        cleaned = cleaned.trim().replaceAll("\\s+", " ");
-        return cleaned.isEmpty() ? "Expense" : cleaned;
-    }
+        String familyId = userService.getCurrentUserFamilyId(userId);
+        List<VoiceParseResult> parsed = voiceExpenseParser.parseAll(utterances, request.getPreferredCurrency(),
+                request.getLanguage(), Instant.now());
 
-    private String extractMerchant(String spokenText) {
-        // Look for "at [merchant]" pattern
-        Pattern merchantPattern = Pattern.compile("\\bat\\s+([a-zA-Z][a-zA-Z\\s&'.-]+?)(?:\\s|$)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = merchantPattern.matcher(spokenText);
-        
-        if (matcher.find()) {
-            String merchant = matcher.group(1).trim();
-            // Clean up common trailing words
-            merchant = merchant.replaceAll("\\s+(today|yesterday|this morning|this afternoon)$", "");
-            return merchant;
+        List<VoiceExpenseData> voiceData = new ArrayList<>(parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            voiceData.add(toVoiceExpenseData(userId, familyId, utterances.get(i), parsed.get(i)));
         }
-        
-        return null;
+        return voiceExpenseDataRepository.saveAll(voiceData);
     }
 
-    private String suggestCategory(String description, String merchant) {
-        String text = (description + " " + (merchant != null ? merchant : "")).toLowerCase();
-        
-        if (text.contains("coffee") || text.contains("starbucks") || text.contains("cafe")) {
-            return "food-dining";
-        } else if (text.contains("lunch") || text.contains("dinner") || text.contains("breakfast") || 
-                   text.contains("restaurant") || text.contains("mcdonald")) {
-            return "food-dining";
-        } else if (text.contains("grocery") || text.contains("market") || text.contains("walmart") || 
-                   text.contains("target")) {
-            return "groceries";
-        } else if (text.contains("gas") || text.contains("fuel") || text.contains("shell") || 
-                   text.contains("exxon") || text.contains("bp")) {
-            return "transportation";
-        } else if (text.contains("taxi") || text.contains("uber") || text.contains("lyft") || 
-                   text.contains("bus") || text.contains("train")) {
-            return "transportation";
-        } else if (text.contains("parking")) {
-            return "transportation";
-        }
-        
-        return "other";
+    private VoiceExpenseData toVoiceExpenseData(String userId, String familyId, String spokenText,
+                                                VoiceParseResult parsed) {
+        ExpenseParseResult parseResult = new ExpenseParseResult();
+        parseResult.setAmountMinor(parsed.getAmountMinor() != null ? parsed.getAmountMinor() : 0L);
+        parseResult.setCurrency(parsed.getCurrency());
+        parseResult.setDescription(parsed.getDescription());
+        parseResult.setMerchant(parsed.getMerchant());
+        parseResult.setOccurredAt(parsed.getOccurredAt());
+
+        // Suggest category
+        String categoryId = merchantCategoryService.suggestCategory(familyId,
+                parsed.getDescription() + " " + (parsed.getMerchant() != null ? parsed.getMerchant() : ""));
+        parseResult.setCategoryId(categoryId);
+        parseResult.setConfidence(calculateConfidence(parsed, categoryId));
+
+        // Create voice expense data
+        VoiceExpenseData voiceData = new VoiceExpenseData();
+        voiceData.setUserId(userId);
+        voiceData.setOriginalText(spokenText);
+        voiceData.setParseResult(parseResult);
+        voiceData.setOverallConfidence(parseResult.getConfidence());
+        voiceData.setSuggestions(generateSuggestions(parsed));
+
+        Map<String, Double> fieldConfidences = new HashMap<>(parsed.getFieldConfidences());
+        fieldConfidences.put("category", categoryId == null ? 0.3 : 0.7);
+        voiceData.setFieldConfidences(fieldConfidences);
+        return voiceData;
     }
 
-    private double calculateConfidence(String spokenText, ExpenseParseResult result) {
+    private double calculateConfidence(VoiceParseResult parsed, String categoryId) {
         double confidence = 0.0;
         
         // Amount confidence (most important)
-        if (result.getAmountMinor() != null && result.getAmountMinor() > 0) {
+        if (parsed.getAmountMinor() != null && parsed.getAmountMinor() > 0) {
             confidence += 0.4;
         }
         
         // Description confidence
-        if (result.getDescription() != null && !result.getDescription().equals("Expense")) {
+        if (parsed.isDescriptionRecognized()) {
             confidence += 0.3;
         }
         
         // Category confidence
-        if (result.getCategoryId() != null && !result.getCategoryId().equals("other")) {
+        if (categoryId != null) {
             confidence += 0.2;
         }
         
         // Merchant confidence
-        if (result.getMerchant() != null) {
+        if (parsed.getMerchant() != null) {
             confidence += 0.1;
         }
         
         return confidence;
     }
 
-    private List<String> generateSuggestions(ExpenseParseResult result) {
+    private List<String> generateSuggestions(VoiceParseResult parsed) {
+        boolean turkish = VoiceExpenseParser.LANGUAGE_TURKISH.equals(parsed.getLanguage());
         List<String> suggestions = new ArrayList<>();
         
-        if (result.getAmountMinor() == null || result.getAmountMinor() <= 0) {
-            suggestions.add("Try including a clear amount like '$25.50' or '25 dollars'");
+        if (parsed.getAmountMinor() == null || parsed.getAmountMinor() <= 0) {
+            suggestions.add(turkish
+                    ? "Tutarı açıkça söyleyin, örneğin '25,50 TL' veya '25 lira'"
+                    : "Try including a clear amount like '$25.50' or '25 dollars'");
         }
         
-        if (result.getDescription() == null || result.getDescription().equals("Expense")) {
-            suggestions.add("Include what you bought, like 'coffee' or 'lunch'");
+        if (!parsed.isDescriptionRecognized()) {
+            suggestions.add(turkish
+                    ? "Ne aldığınızı ekleyin, örneğin 'kahve' veya 'öğle yemeği'"
+                    : "Include what you bought, like 'coffee' or 'lunch'");
         }
         
-        if (result.getMerchant() == null) {
-            suggestions.add("Try including where you spent it, like 'at Starbucks'");
+        if (parsed.getMerchant() == null) {
+            suggestions.add(turkish
+                    ? "Nerede harcadığınızı ekleyin, örneğin 'Migros'ta'"
+                    : "Try including where you spent it, like 'at Starbucks'");
         }
         
         return suggestions;
     }
 
-    private Map<String, Double> calculateFieldConfidences(String spokenText, ExpenseParseResult result) {
-        Map<String, Double> confidences = new HashMap<>();
-        
-        // Amount confidence
-        if (spokenText.toLowerCase().matches(".*\\d+\\.\\d{2}.*") || 
-            spokenText.toLowerCase().matches(".*\\d+\\s*dollars?.*")) {
-            confidences.put("amount", 0.9);
-        } else {
-            confidences.put("amount", 0.5);
-        }
-        
-        // Description confidence
-        confidences.put("description", result.getDescription().equals("Expense") ? 0.3 : 0.8);
-        
-        // Merchant confidence
-        confidences.put("merchant", result.getMerchant() != null ? 0.8 : 0.0);
-        
-        // Category confidence
-        confidences.put("category", result.getCategoryId().equals("other") ? 0.3 : 0.7);
-        
-        return confidences;
-    }
-
     public LedgerEntryResponse createExpenseFromVoice(CreateExpenseFromVoiceRequest request, String userId) {
         // Create a CreateLedgerEntryRequest from voice data
         CreateLedgerEntryRequest ledgerRequest = new CreateLedgerEntryRequest();
@@ -284,7 +176,14 @@ public class VoiceExpenseService {
         // Create UserPrincipal for the service call
         UserPrincipal userPrincipal = new UserPrincipal(userId, "");
         
-        return ledgerService.createEntry(userPrincipal, ledgerRequest);
+        LedgerEntryResponse response = ledgerService.createEntry(userPrincipal, ledgerRequest);
+        
+        // Notes only carry the description, so learn the merchant separately
+        if (request.getMerchant() != null) {
+            merchantCategoryService.recordChoice(userService.getCurrentUserFamilyId(userId),
+                    request.getMerchant(), request.getCategoryId());
+        }
+        return response;
     }
 
     public List<VoiceExpenseData> getUserVoiceExpenseData(String userId) {
@@ -0,0 +1,312 @@
+package com.expensetracker.view;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.LedgerView;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@code ledger_view} in step with the ledger from Mongo write events. Every saved entry,
+ * whether from the ledger API, a recurring rule, a receipt or a voice expense, is re-projected by
+ * the same aggregation that rebuilds the view, so one pipeline defines what a row holds.
+ * Soft-deleted entries are projected too, as tombstone rows that listings skip, and category
+ * edits are copied into the category's rows.
+ * <p>
+ * Projection runs right after the write on the writing thread and never fails it. A row is only
+ * replaced by a projection of an entry at least as new, and a tombstone never is, so racing
+ * updates settle on the latest and an update projected after the delete cannot bring a row back.
+ * When a projection fails, its family is rebuilt by the next {@link #reconcile}, every
+ * {@code app.ledger-view.reconcile-interval}. Bulk loads go through {@link #bulkLoad}, which
+ * skips the per-entry projections and rebuilds once at the end.
+ * <p>
+ * A full rebuild records its completion in {@code ledger_view_state}. Until one has completed,
+ * on this deployment's data, {@link #isReady()} is false and listings read the ledger; the
+ * rebuild starts in the background on startup and is retried by each reconcile.
+ */
+@Component
+public class LedgerViewProjector extends AbstractMongoEventListener<Object> {
+
+    private static final String LEDGER = "ledger";
+    private static final String STATE = "ledger_view_state";
+    private static final String FULL_REBUILD = "rebuild";
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    // Set while the current thread runs a bulk load
+    private final ThreadLocal<Boolean> suspended = ThreadLocal.withInitial(() -> false);
+    private final ExecutorService rebuildThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ledger-view-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Families with a failed projection, rebuilt by the next reconcile
+    private final Set<String> staleFamilies = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public LedgerViewProjector(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (suspended.get()) {
+            return;
+        }
+        try {
+            if (event.getSource() instanceof LedgerEntry entry) {
+                project(entry);
+            } else if (event.getSource() instanceof Category category) {
+                copyCategory(category);
+            }
+        } catch (Exception e) {
+            count("failed");
+            String familyId = familyOf(event.getSource());
+            if (familyId != null) {
+                staleFamilies.add(familyId);
+            }
+            System.err.println("Ledger view not updated for " + event.getCollectionName() + " write, "
+                    + "reconciled later: " + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        startRebuild();
+    }
+
+    /**
+     * Rebuilds the families whose projection failed since the last run, or retries the full
+     * rebuild while none has completed yet.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger-view.reconcile-interval:PT1M}",
+            initialDelayString = "${app.ledger-view.reconcile-interval:PT1M}")
+    public void reconcile() {
+        if (!ready) {
+            startRebuild();
+            return;
+        }
+        for (String familyId : List.copyOf(staleFamilies)) {
+            staleFamilies.remove(familyId);
+            try {
+                rebuild(familyId);
+            } catch (Exception e) {
+                staleFamilies.add(familyId);
+                System.err.println("Ledger view reconcile failed for family " + familyId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether the view has been fully rebuilt at least once and can serve listings.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildThread.shutdownNow();
+    }
+
+    /**
+     * Runs a load that writes many entries, such as synthetic data, without projecting them one by
+     * one, then rebuilds the whole view.
+     */
+    public <T> T bulkLoad(Supplier<T> load) {
+        suspended.set(true);
+        T result;
+        try {
+            result = load.get();
+        } finally {
+            suspended.remove();
+        }
+        rebuild(null);
+        return result;
+    }
+
+    private void startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildThread.execute(() -> {
+                try {
+                    if (mongoTemplate.exists(new Query(Criteria.where("_id").is(FULL_REBUILD)), STATE)) {
+                        ready = true;
+                    } else {
+                        rebuild(null);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Ledger view rebuild failed, retried on the next reconcile: " + e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            rebuilding.set(false);
+        }
+    }
+
+    void project(LedgerEntry entry) {
+        mongoTemplate.getCollection(LEDGER)
+                .aggregate(pipeline(new Document("familyId", entry.getFamilyId()).append("_id", storedId(entry.getId())),
+                        Instant.now()))
+                .toCollection();
+        count(entry.getDeletedAt() != null ? "removed" : "projected");
+    }
+
+    void copyCategory(Category category) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("familyId").is(category.getFamilyId()).and("categoryId").is(category.getId())),
+                new Update().set("categoryName", category.getName())
+                        .set("categoryIcon", category.getIcon())
+                        .set("categoryColor", category.getColor()),
+                LedgerView.class);
+    }
+
+    /**
+     * Re-projects every entry of a family, or of all families when {@code familyId} is null, and
+     * removes the rows of entries that are gone from the ledger. A full rebuild marks the view ready. Returns
+     * how many rows were removed.
+     */
+    public long rebuild(String familyId) {
+        Instant started = Instant.now();
+        Document match = familyId != null ? new Document("familyId", familyId) : new Document();
+        mongoTemplate.getCollection(LEDGER).aggregate(pipeline(match, started)).allowDiskUse(true).toCollection();
+
+        // Rows the rebuild did not reach belong to entries no longer in the ledger; projections since carry a later stamp
+        Criteria stale = Criteria.where("projectedAt").lt(started);
+        if (familyId != null) {
+            stale = stale.and("familyId").is(familyId);
+        }
+        long removed = mongoTemplate.remove(new Query(stale), LedgerView.class).getDeletedCount();
+        meterRegistry.counter("ledger.view.rebuilds", "scope", familyId != null ? "family" : "all").increment();
+        if (familyId == null) {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(FULL_REBUILD)),
+                    new Update().set("completedAt", Date.from(Instant.now())), STATE);
+            ready = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Entries matching {@code match}, joined with their category and member, flattened and merged
+     * into the view. A matched row is kept when it is a tombstone or its entry is newer, but takes
+     * the new stamp, so a rebuild does not mistake it for stale.
+     */
+    static List<Document> pipeline(Document match, Instant projectedAt) {
+        Document category = lookup("categories",
+                new Document("familyId", "$familyId").append("categoryId", "$categoryId"),
+                new Document("$and", List.of(
+                        new Document("$eq", List.of("$familyId", "$$familyId")),
+                        new Document("$eq", List.of("$_id", storedIdExpression("$$categoryId"))))),
+                new Document("name", 1).append("icon", 1).append("color", 1),
+                "category");
+        Document member = lookup("users",
+                new Document("memberId", "$memberId"),
+                new Document("$eq", List.of("$_id", storedIdExpression("$$memberId"))),
+                new Document("email", 1),
+                "member");
+        Document row = new Document("familyId", 1)
+                .append("memberId", 1)
+                .append("memberName", first("$member.email"))
+                .append("type", 1)
+                .append("amountMinor", "$amount.minor")
+                .append("currency", "$amount.currency")
+                .append("categoryId", 1)
+                .append("categoryName", new Document("$ifNull", List.of(first("$category.name"), "Unknown")))
+                .append("categoryIcon", first("$category.icon"))
+                .append("categoryColor", first("$category.color"))
+                .append("occurredAt", 1)
+                .append("notes", 1)
+                .append("attachments", 1)
+                .append("recurringId", 1)
+                .append("createdAt", 1)
+                .append("updatedAt", 1)
+                .append("deletedAt", 1)
+                .append("projectedAt", new Document("$literal", Date.from(projectedAt)));
+        Document merge = new Document("into", "ledger_view")
+                .append("on", List.of("familyId", "_id"))
+                .append("whenMatched", List.of(new Document("$replaceWith", new Document("$cond", List.of(
+                        new Document("$or", List.of(
+                                new Document("$ne", Arrays.asList(new Document("$ifNull", Arrays.asList("$deletedAt", null)), null)),
+                                new Document("$gt", List.of("$updatedAt", "$$new.updatedAt")))),
+                        new Document("$mergeObjects", List.of("$$ROOT",
+                                new Document("projectedAt", "$$new.projectedAt"))),
+                        "$$new")))))
+                .append("whenNotMatched", "insert");
+        return List.of(
+                new Document("$match", match),
+                category,
+                member,
+                new Document("$project", row),
+                new Document("$merge", merge));
+    }
+
+    private static Document lookup(String from, Document let, Document matches, Document fields, String as) {
+        return new Document("$lookup", new Document("from", from)
+                .append("let", let)
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", matches)),
+                        new Document("$project", fields)))
+                .append("as", as));
+    }
+
+    private static Document first(String array) {
+        return new Document("$first", array);
+    }
+
+    // References are stored as strings, the documents they point to under ObjectId keys when valid
+    private static Document storedIdExpression(String variable) {
+        return new Document("$convert", new Document("input", variable)
+                .append("to", "objectId")
+                .append("onError", variable)
+                .append("onNull", null));
+    }
+
+    private static Object storedId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private static String familyOf(Object source) {
+        if (source instanceof LedgerEntry entry) {
+            return entry.getFamilyId();
+        }
+        if (source instanceof Category category) {
+            return category.getFamilyId();
+        }
+        return null;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("ledger.view.projections", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,36 @@
+package com.expensetracker.compression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrotliCompressionFilterTest {
+
+    private final BrotliCompressionFilter filter =
+            new BrotliCompressionFilter(5, 1024, new String[] {"application/json", "text/csv"});
+
+    @Test
+    void acceptsBrotli_ShouldBeTrue_WhenBrIsListed() {
+        assertTrue(BrotliCompressionFilter.acceptsBrotli("gzip, deflate, br"));
+        assertTrue(BrotliCompressionFilter.acceptsBrotli("BR;q=0.8, gzip"));
+    }
+
+    @Test
+    void acceptsBrotli_ShouldBeFalse_WhenBrIsMissingOrRuledOut() {
+        assertFalse(BrotliCompressionFilter.acceptsBrotli(null));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("gzip, deflate"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("gzip, br;q=0"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("br;q=0.0"));
+        assertFalse(BrotliCompressionFilter.acceptsBrotli("br;q=high"));
+    }
+
+    @Test
+    void compressible_ShouldMatchConfiguredTypes_IgnoringParameters() {
+        assertTrue(filter.compressible("application/json"));
+        assertTrue(filter.compressible("text/csv;charset=UTF-8"));
+        assertFalse(filter.compressible("text/event-stream"));
+        assertFalse(filter.compressible("image/png"));
+        assertFalse(filter.compressible(null));
+        assertFalse(filter.compressible("not a type"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.expensetracker.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrotliResponseTest {
+
+    private final BrotliCompressionFilter filter =
+            new BrotliCompressionFilter(5, 1024, new String[] {"application/json"});
+    private final MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+    private final NonBlockingResponse container = new NonBlockingResponse(servletResponse);
+    private final BrotliResponse response = new BrotliResponse(container, new MockHttpServletRequest(), filter);
+
+    @Test
+    void setWriteListener_ShouldSendBodyUnencoded_WhenSetBeforeTheBody() throws Exception {
+        // Given
+        response.setContentType("application/json");
+        ServletOutputStream stream = response.getOutputStream();
+        WriteListener listener = new NoOpListener();
+
+        // When
+        stream.setWriteListener(listener);
+        stream.write(new byte[2048]);
+        response.finish();
+
+        // Then
+        assertSame(listener, container.stream.listener);
+        assertEquals(2048, container.stream.written.size());
+        assertNull(servletResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void isReady_ShouldFollowTheContainer_WhenWritesAreNonBlocking() throws Exception {
+        // Given
+        ServletOutputStream stream = response.getOutputStream();
+        assertTrue(stream.isReady());
+
+        // When
+        stream.setWriteListener(new NoOpListener());
+        container.stream.ready = false;
+
+        // Then
+        assertFalse(stream.isReady());
+    }
+
+    // The container's non-blocking output, which the mock response does not offer
+    private static final class NonBlockingResponse extends HttpServletResponseWrapper {
+        private final RecordingStream stream = new RecordingStream();
+
+        private NonBlockingResponse(MockHttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return stream;
+        }
+    }
+
+    private static final class RecordingStream extends ServletOutputStream {
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private WriteListener listener;
+        private boolean ready = true;
+
+        @Override
+        public void write(int b) {
+            written.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+    }
+
+    private static final class NoOpListener implements WriteListener {
+
+        @Override
+        public void onWritePossible() {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+    }
+}
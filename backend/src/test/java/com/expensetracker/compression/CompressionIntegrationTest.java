@@ -0,0 +1,255 @@
+package com.expensetracker.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import com.expensetracker.config.CborConfig;
+import com.expensetracker.config.HttpServerConfig;
+import com.expensetracker.config.ReactiveRoutesConfig;
+import com.expensetracker.controller.LedgerController;
+import com.expensetracker.controller.TestSecurityConfig;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.json.LedgerPageMessageConverter;
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.service.LedgerService;
+import com.expensetracker.service.ReactiveReadService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures what goes over the wire from a running Tomcat: a 100-row ledger page and a streamed
+ * CSV export, plain, gzipped and Brotli-encoded, over HTTP/1.1 and h2c. The JDK client does not
+ * decompress, so body sizes are the encoded sizes.
+ */
+@SpringBootTest(classes = CompressionIntegrationTest.WebApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.reactive.enabled=true")
+class CompressionIntegrationTest {
+
+    private static final int ROWS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @MockBean
+    private ReactiveReadService reactiveReadService;
+
+    private final HttpClient http11 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+    @BeforeEach
+    void setUp() {
+        List<LedgerEntryResponse> entries = entries();
+        when(ledgerService.getEntries(any(), any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(entries, PageRequest.of(0, ROWS), 1000));
+        when(reactiveReadService.exportCsv(any(), any(), any())).thenAnswer(invocation -> Flux.concat(
+                Flux.just("Date,Type,Category,Amount,Currency,Notes\n"),
+                Flux.fromIterable(entries).map(CompressionIntegrationTest::csvRow)
+                        .delayElements(Duration.ofMillis(1))));
+    }
+
+    @Test
+    void ledgerPage_ShouldBeCompressed_WhenClientAcceptsGzipOrBrotli() throws Exception {
+        // When
+        HttpResponse<byte[]> identity = get(http11, "/api/v1/ledger?size=100", "identity");
+        HttpResponse<byte[]> gzip = get(http11, "/api/v1/ledger?size=100", "gzip");
+        HttpResponse<byte[]> brotli = get(http11, "/api/v1/ledger?size=100", "br, gzip");
+
+        // Then
+        assertEquals(200, identity.statusCode());
+        assertTrue(identity.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("br", brotli.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(brotli.headers().allValues("Vary").stream().anyMatch(v -> v.contains("Accept-Encoding")));
+
+        String json = new String(identity.body(), StandardCharsets.UTF_8);
+        assertEquals(json, gunzip(gzip.body()));
+        assertEquals(json, unbrotli(brotli.body()));
+
+        int plain = identity.body().length;
+        System.out.printf("Ledger page, %d rows: %d bytes, gzip %d, br %d%n",
+                ROWS, plain, gzip.body().length, brotli.body().length);
+        assertTrue(gzip.body().length * 4 < plain, "gzip should shrink the page at least 4x");
+        assertTrue(brotli.body().length * 4 < plain, "br should shrink the page at least 4x");
+    }
+
+    @Test
+    void streamedExport_ShouldDecodeToSameCsv_WhenEncodedWhileStreaming() throws Exception {
+        // Given
+        String path = "/api/v1/reactive/reports/export?startDate=2026-01-01&endDate=2026-12-31";
+
+        // When
+        HttpResponse<byte[]> identity = get(http11, path, "identity");
+        HttpResponse<byte[]> gzip = get(http11, path, "gzip");
+        HttpResponse<byte[]> brotli = get(http11, path, "br");
+
+        // Then
+        assertEquals(200, identity.statusCode());
+        String csv = new String(identity.body(), StandardCharsets.UTF_8);
+        assertEquals(ROWS + 1, csv.lines().count());
+        assertEquals("br", brotli.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(brotli.headers().firstValue("Content-Length").isEmpty());
+        assertEquals(csv, gunzip(gzip.body()));
+        assertEquals(csv, unbrotli(brotli.body()));
+
+        System.out.printf("Streamed export, %d rows: %d bytes, gzip %d, br %d%n",
+                ROWS, identity.body().length, gzip.body().length, brotli.body().length);
+        assertTrue(brotli.body().length < identity.body().length);
+    }
+
+    @Test
+    void smallResponse_ShouldNotBeEncoded_WhenBelowMinResponseSize() throws Exception {
+        // Given
+        when(ledgerService.getEntries(any(), any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(entries().subList(0, 1), PageRequest.of(0, 20), 1));
+
+        // When
+        HttpResponse<byte[]> brotli = get(http11, "/api/v1/ledger", "br, gzip");
+
+        // Then
+        assertEquals(200, brotli.statusCode());
+        assertTrue(brotli.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(String.valueOf(brotli.body().length), brotli.headers().firstValue("Content-Length").orElse(null));
+    }
+
+    @Test
+    void ledgerPage_ShouldBeCompressed_WhenServedOverH2c() throws Exception {
+        // When
+        HttpResponse<byte[]> gzip = get(http2, "/api/v1/ledger?size=100", "gzip");
+        HttpResponse<byte[]> brotli = get(http2, "/api/v1/ledger?size=100", "br");
+
+        // Then
+        assertEquals(HttpClient.Version.HTTP_2, gzip.version());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("br", brotli.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals(gunzip(gzip.body()), unbrotli(brotli.body()));
+    }
+
+    private HttpResponse<byte[]> get(HttpClient client, String path, String acceptEncoding)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String unbrotli(byte[] body) throws IOException {
+        Brotli4jLoader.ensureAvailability();
+        DirectDecompress decompressed = Decoder.decompress(body);
+        assertEquals(DecoderJNI.Status.DONE, decompressed.getResultStatus());
+        return new String(decompressed.getDecompressedData(), StandardCharsets.UTF_8);
+    }
+
+    private static List<LedgerEntryResponse> entries() {
+        String[][] categories = {
+                {"cat-groceries", "Groceries", "cart", "#4CAF50"},
+                {"cat-transport", "Transport", "bus", "#2196F3"},
+                {"cat-dining", "Dining Out", "utensils", "#FF9800"},
+                {"cat-utilities", "Utilities", "bolt", "#9C27B0"}};
+        Instant start = Instant.parse("2026-10-01T00:00:00Z");
+        List<LedgerEntryResponse> entries = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            String[] category = categories[i % categories.length];
+            LedgerEntryResponse entry = new LedgerEntryResponse();
+            entry.setId(String.format("6710a3f2c9e77b1d%08x", i * 7919));
+            entry.setMemberId("member-" + (i % 3));
+            entry.setMemberName(i % 3 == 0 ? "Alex" : "Sam");
+            entry.setType(i % 10 == 0 ? LedgerEntry.TransactionType.INCOME : LedgerEntry.TransactionType.EXPENSE);
+            entry.setAmountMinor(100L + (i * 7919L) % 25000);
+            entry.setCurrency("USD");
+            entry.setCategoryId(category[0]);
+            entry.setCategoryName(category[1]);
+            entry.setCategoryIcon(category[2]);
+            entry.setCategoryColor(category[3]);
+            entry.setOccurredAt(start.minusSeconds(i * 5400L + (i * 7919L) % 3600));
+            entry.setNotes(i % 4 == 0 ? "Weekly shop #" + i : null);
+            entry.setCreatedAt(entry.getOccurredAt());
+            entry.setUpdatedAt(entry.getOccurredAt());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static String csvRow(LedgerEntryResponse entry) {
+        return entry.getOccurredAt() + "," + entry.getType() + "," + entry.getCategoryName() + ","
+                + entry.getAmountMinor() / 100.0 + "," + entry.getCurrency() + ","
+                + (entry.getNotes() != null ? entry.getNotes() : "") + "\n";
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            SecurityFilterAutoConfiguration.class})
+    @Import({HttpServerConfig.class, CborConfig.class, LedgerPageMessageConverter.class, LedgerController.class,
+            ReactiveRoutesConfig.class, TestSecurityConfig.class})
+    static class WebApp {
+
+        // After the security chain, which would otherwise replace the context with an empty one
+        @Bean
+        FilterRegistrationBean<Filter> authenticatedUser() {
+            return new FilterRegistrationBean<>((request, response, chain) -> {
+                UserPrincipal user = new UserPrincipal("user-1", "user@example.com");
+                SecurityContextHolder.setContext(new SecurityContextImpl(
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+                chain.doFilter(request, response);
+            });
+        }
+    }
+}
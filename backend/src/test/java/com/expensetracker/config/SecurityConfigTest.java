@@ -0,0 +1,101 @@
+package com.expensetracker.config;
+
+import com.expensetracker.security.JwtTokenProvider;
+import com.expensetracker.service.RateLimitService;
+import com.expensetracker.service.TokenBlacklistService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The application's own filter chain, with real tokens, in front of stand-ins for the actuator
+ * operations it guards.
+ */
+@WebMvcTest(controllers = SecurityConfigTest.OperatorOperations.class,
+        properties = "app.security.operators=operator-1")
+@Import({SecurityConfig.class, SecurityConfigTest.OperatorOperations.class, SecurityConfigTest.Tokens.class})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @MockBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @Test
+    void archiveRestore_ShouldBeForbidden_WhenUserIsNotOperator() throws Exception {
+        mockMvc.perform(post("/actuator/archive").header("Authorization", bearer("user-1")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void archiveRestore_ShouldBeForbidden_WhenAnonymous() throws Exception {
+        mockMvc.perform(post("/actuator/archive"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void archiveRestore_ShouldBeAllowed_WhenUserIsOperator() throws Exception {
+        mockMvc.perform(post("/actuator/archive").header("Authorization", bearer("operator-1")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void slowQueryReset_ShouldBeForbidden_WhenUserIsNotOperator() throws Exception {
+        mockMvc.perform(delete("/actuator/slowqueries").header("Authorization", bearer("user-1")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void slowQueryReset_ShouldBeAllowed_WhenUserIsOperator() throws Exception {
+        mockMvc.perform(delete("/actuator/slowqueries").header("Authorization", bearer("operator-1")))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(String userId) {
+        return "Bearer " + tokenProvider.generateAccessToken(userId, userId + "@example.com");
+    }
+
+    @RestController
+    static class OperatorOperations {
+
+        @PostMapping("/actuator/archive")
+        ResponseEntity<Void> restore() {
+            return ResponseEntity.ok().build();
+        }
+
+        @DeleteMapping("/actuator/slowqueries")
+        ResponseEntity<Void> reset() {
+            return ResponseEntity.ok().build();
+        }
+    }
+
+    @TestConfiguration
+    static class Tokens {
+
+        @Bean
+        JwtTokenProvider jwtTokenProvider() {
+            return new JwtTokenProvider(
+                    "testSecretKeyForJWTTokenGenerationThatShouldBeStoredSecurely", 900000L, 2592000000L);
+        }
+    }
+}
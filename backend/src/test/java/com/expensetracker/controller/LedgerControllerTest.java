@@ -0,0 +1,83 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.config.CborConfig;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.service.LedgerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LedgerController.class)
+@Import({TestSecurityConfig.class, CborConfig.class})
+class LedgerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @Test
+    @WithMockUser
+    void getEntries_ShouldWritePageWithoutRequestEcho_WhenEntriesExist() throws Exception {
+        // Given
+        LedgerEntryResponse entry = new LedgerEntryResponse();
+        entry.setId("entry-1");
+        entry.setType(LedgerEntry.TransactionType.EXPENSE);
+        entry.setAmountMinor(1250L);
+        entry.setOccurredAt(Instant.parse("2026-10-01T10:15:30Z"));
+        when(ledgerService.getEntries(any(), any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(List.of(entry), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/ledger"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value("entry-1"))
+                .andExpect(jsonPath("$.content[0].amountMinor").value(1250))
+                .andExpect(jsonPath("$.content[0].occurredAt").value("2026-10-01T10:15:30Z"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void getRecentEntries_ShouldReturnCbor_WhenClientAcceptsCbor() throws Exception {
+        // Given
+        LedgerEntryResponse entry = new LedgerEntryResponse();
+        entry.setId("entry-1");
+        entry.setOccurredAt(Instant.parse("2026-10-01T10:15:30Z"));
+        when(ledgerService.getRecentEntries(any())).thenReturn(List.of(entry));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/ledger/recent").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode entries = new CBORMapper().readTree(body);
+        assertEquals("entry-1", entries.get(0).get("id").asText());
+        assertEquals("2026-10-01T10:15:30Z", entries.get(0).get("occurredAt").asText());
+        assertFalse(entries.get(0).has("notes"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.expensetracker.datagen;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.fx.FxRateProvider;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRates;
+import com.expensetracker.repository.FamilyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyntheticDataGeneratorTest {
+
+    private static final FxRateProvider STUB_PROVIDER = () -> new FxRates("USD", Instant.parse("2026-10-01T00:00:00Z"),
+            Map.of("EUR", new BigDecimal("0.80"), "TRY", new BigDecimal("34.0")));
+    private static final LocalDate UNTIL = LocalDate.of(2026, 10, 15);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private final List<List<?>> batches = new ArrayList<>();
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        fxRateService = new FxRateService(STUB_PROVIDER, mock(FamilyRepository.class), "USD");
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+            batches.add(new ArrayList<>((List<?>) invocation.getArgument(0)));
+            return bulkOperations;
+        });
+    }
+
+    @Test
+    void generate_ShouldProduceSameDocumentsForSameSeed() {
+        // Given
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(mongoTemplate, fxRateService, 2, 30);
+
+        // When
+        List<GeneratedFamily> first = generator.generate(3, 7L, UNTIL, "hash");
+        List<String> firstLedger = ledger().stream().map(SyntheticDataGeneratorTest::describe).toList();
+        batches.clear();
+        List<GeneratedFamily> second = generator.generate(3, 7L, UNTIL, "hash");
+        List<String> secondLedger = ledger().stream().map(SyntheticDataGeneratorTest::describe).toList();
+
+        // Then
+        assertEquals(first.stream().map(GeneratedFamily::getFamilyId).toList(),
+                second.stream().map(GeneratedFamily::getFamilyId).toList());
+        assertEquals(firstLedger, secondLedger);
+        assertFalse(firstLedger.isEmpty());
+    }
+
+    @Test
+    void generate_ShouldKeepLedgerInsideHistoryAndFamily() {
+        // Given
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(mongoTemplate, fxRateService, 2, 30);
+
+        // When
+        List<GeneratedFamily> families = generator.generate(5, 11L, UNTIL, "hash");
+
+        // Then
+        Instant from = LocalDate.of(2024, 10, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = UNTIL.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Map<String, GeneratedFamily> byId = families.stream()
+                .collect(Collectors.toMap(GeneratedFamily::getFamilyId, family -> family));
+        List<LedgerEntry> ledger = ledger();
+        assertEquals(families.stream().mapToLong(GeneratedFamily::getLedgerEntries).sum(), ledger.size());
+        for (LedgerEntry entry : ledger) {
+            GeneratedFamily family = byId.get(entry.getFamilyId());
+            assertTrue(family.getMemberIds().contains(entry.getMemberId()));
+            assertTrue(family.getCategoryIds().contains(entry.getCategoryId()));
+            assertFalse(entry.getOccurredAt().isBefore(from));
+            assertTrue(entry.getOccurredAt().isBefore(to));
+            assertEquals(family.getCurrency(), entry.getFamilyAmount().getCurrency());
+        }
+        Set<String> ids = ledger.stream().map(LedgerEntry::getId).collect(Collectors.toSet());
+        assertEquals(ledger.size(), ids.size());
+        // Salary, rent and streaming post once a month for 25 months
+        assertEquals(families.size() * 3L * 25, ledger.stream().filter(entry -> entry.getRecurringId() != null).count());
+    }
+
+    @Test
+    void generate_ShouldWriteLedgerInBatchesOfConfiguredSize() {
+        // Given
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(mongoTemplate, fxRateService, 1, 50, 100);
+
+        // When
+        generator.generate(2, 3L, UNTIL, "hash");
+
+        // Then
+        List<List<?>> ledgerBatches = batches.stream()
+                .filter(batch -> batch.get(0) instanceof LedgerEntry)
+                .toList();
+        assertTrue(ledgerBatches.size() > 2);
+        assertTrue(ledgerBatches.stream().allMatch(batch -> batch.size() <= 100));
+        assertEquals(2, batches.stream().filter(batch -> batch.get(0) instanceof Category).count());
+    }
+
+    private List<LedgerEntry> ledger() {
+        return batches.stream()
+                .flatMap(List::stream)
+                .filter(LedgerEntry.class::isInstance)
+                .map(LedgerEntry.class::cast)
+                .toList();
+    }
+
+    private static String describe(LedgerEntry entry) {
+        return entry.getId() + "|" + entry.getMemberId() + "|" + entry.getCategoryId() + "|"
+                + entry.getAmount().getMinor() + entry.getAmount().getCurrency() + "|" + entry.getOccurredAt();
+    }
+}
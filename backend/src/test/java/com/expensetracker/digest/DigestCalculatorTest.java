@@ -0,0 +1,109 @@
+package com.expensetracker.digest;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.DigestRun;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRateSnapshot;
+import com.expensetracker.fx.FxRates;
+import com.expensetracker.mongo.AnalyticsReads;
+import com.expensetracker.repository.CategoryRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DigestCalculatorTest {
+
+    private static final Instant FROM = Instant.parse("2026-10-12T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-10-19T00:00:00Z");
+
+    @Mock
+    private AnalyticsReads analyticsReads;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Test
+    void summarize_ShouldConvertGroupTotalsAndRankCategories_WhenEntriesInSeveralCurrencies() {
+        // Given
+        List<Document> groups = List.of(
+                group("INCOME", null, "TRY", 500_000, 1),
+                group("EXPENSE", "groceries", "TRY", 120_000, 4),
+                group("EXPENSE", "travel", "EUR", 10_000, 1),
+                group("EXPENSE", "rent", "TRY", 300_000, 1),
+                group("EXPENSE", "coffee", "TRY", 5_000, 3));
+        when(analyticsReads.aggregate(eq(AnalyticsReads.Path.DIGESTS), isNull(), any(Aggregation.class),
+                eq(LedgerEntry.class), eq(Document.class))).thenReturn(groups);
+        when(fxRateService.snapshot()).thenReturn(FxRateSnapshot.of(
+                new FxRates("TRY", FROM, Map.of("EUR", new BigDecimal("0.025")))));
+        when(categoryRepository.findByFamilyIdAndIdIn("family-1", List.of("travel", "rent", "groceries")))
+                .thenReturn(List.of(category("rent", "Kira"), category("groceries", "Market"), category("travel", "Seyahat")));
+        DigestCalculator calculator = new DigestCalculator(analyticsReads, categoryRepository, fxRateService);
+
+        // When
+        FamilyDigest digest = calculator.summarize("family-1", "TRY", FROM, TO);
+
+        // Then
+        assertEquals(500_000, digest.getIncomeMinor());
+        assertEquals(120_000 + 400_000 + 300_000 + 5_000, digest.getExpenseMinor());
+        assertEquals(10, digest.getEntries());
+        assertEquals(List.of("Seyahat", "Kira", "Market"),
+                digest.getTopCategories().stream().map(FamilyDigest.CategoryTotal::name).toList());
+        verify(analyticsReads, times(1)).aggregate(any(), any(), any(Aggregation.class), any(), any());
+
+        DigestRun run = new DigestRun();
+        run.setFrom(FROM);
+        run.setTo(TO);
+        String content = digest.render(run);
+        assertTrue(content.startsWith("Dönem: 12.10.2026 - 18.10.2026"));
+        assertTrue(content.contains("Gelir: 5000.00 TRY"));
+        assertTrue(content.contains("- Seyahat: 4000.00 TRY"));
+    }
+
+    @Test
+    void summarize_ShouldBeEmpty_WhenNoEntriesInWindow() {
+        // Given
+        when(analyticsReads.aggregate(eq(AnalyticsReads.Path.DIGESTS), isNull(), any(Aggregation.class),
+                eq(LedgerEntry.class), eq(Document.class))).thenReturn(List.of());
+        when(fxRateService.snapshot()).thenReturn(FxRateSnapshot.empty("TRY"));
+        DigestCalculator calculator = new DigestCalculator(analyticsReads, categoryRepository, fxRateService);
+
+        // When
+        FamilyDigest digest = calculator.summarize("family-1", "TRY", FROM, TO);
+
+        // Then
+        assertTrue(digest.isEmpty());
+        verifyNoInteractions(categoryRepository);
+    }
+
+    private static Document group(String type, String categoryId, String currency, long minor, int entries) {
+        return new Document("_id", new Document("type", type).append("categoryId", categoryId).append("currency", currency))
+                .append("minor", minor)
+                .append("entries", entries);
+    }
+
+    private static Category category(String id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,63 @@
+package com.expensetracker.digest;
+
+import com.expensetracker.domain.DigestRun;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigestJobTest {
+
+    @Test
+    void window_ShouldCoverLastCompleteIsoWeek_WhenWeekly() {
+        // When
+        DigestRun run = DigestJob.window(DigestRun.Period.WEEKLY, Instant.parse("2026-10-19T09:00:00Z"));
+
+        // Then
+        assertEquals("WEEKLY:2026-W42", run.getId());
+        assertEquals(Instant.parse("2026-10-12T00:00:00Z"), run.getFrom());
+        assertEquals(Instant.parse("2026-10-19T00:00:00Z"), run.getTo());
+    }
+
+    @Test
+    void window_ShouldCoverPreviousMonth_WhenMonthlyAcrossYearEnd() {
+        // When
+        DigestRun run = DigestJob.window(DigestRun.Period.MONTHLY, Instant.parse("2027-01-01T00:30:00Z"));
+
+        // Then
+        assertEquals("MONTHLY:2026-12", run.getId());
+        assertEquals(Instant.parse("2026-12-01T00:00:00Z"), run.getFrom());
+        assertEquals(Instant.parse("2027-01-01T00:00:00Z"), run.getTo());
+    }
+
+    @Test
+    void shards_ShouldSplitIntoContiguousRanges_WhenMoreFamiliesThanShards() {
+        // Given
+        List<String> familyIds = List.of("a", "b", "c", "d", "e", "f", "g");
+
+        // When
+        List<DigestRun.Shard> shards = DigestJob.shards(familyIds, 3);
+
+        // Then
+        assertEquals(3, shards.size());
+        assertNull(shards.get(0).getFromFamilyId());
+        assertEquals("c", shards.get(0).getToFamilyId());
+        assertEquals("c", shards.get(1).getFromFamilyId());
+        assertEquals("e", shards.get(1).getToFamilyId());
+        assertEquals("e", shards.get(2).getFromFamilyId());
+        assertNull(shards.get(2).getToFamilyId());
+    }
+
+    @Test
+    void shards_ShouldKeepOneOpenShard_WhenNoFamiliesYet() {
+        // When
+        List<DigestRun.Shard> shards = DigestJob.shards(List.of(), 8);
+
+        // Then
+        assertEquals(1, shards.size());
+        assertNull(shards.get(0).getFromFamilyId());
+        assertNull(shards.get(0).getToFamilyId());
+    }
+}
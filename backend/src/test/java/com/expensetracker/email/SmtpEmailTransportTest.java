@@ -0,0 +1,61 @@
+package com.expensetracker.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpEmailTransportTest {
+
+    @RegisterExtension
+    static final GreenMailExtension SMTP = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void send_ShouldDeliverWholeBatch() throws Exception {
+        // Given
+        SmtpEmailTransport transport = new SmtpEmailTransport(mailSender(SMTP.getSmtp().getPort()));
+        List<EmailMessage> batch = List.of(
+                new EmailMessage("n-1", "noreply@expensetracker.com", "ayse@example.com", "Bütçe Uyarısı - Market", "Merhaba"),
+                new EmailMessage("n-2", "noreply@expensetracker.com", "mehmet@example.com", "Haftalık Harcama Özeti", "Özet"));
+
+        // When
+        Map<String, String> failures = transport.send(batch);
+
+        // Then
+        assertEquals(Map.of(), failures);
+        MimeMessage[] received = SMTP.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Bütçe Uyarısı - Market", received[0].getSubject());
+        assertEquals("mehmet@example.com", received[1].getAllRecipients()[0].toString());
+    }
+
+    @Test
+    void send_ShouldReportEveryMessageFailed_WhenServerIsUnreachable() {
+        // Given
+        SmtpEmailTransport transport = new SmtpEmailTransport(mailSender(1));
+        List<EmailMessage> batch = List.of(
+                new EmailMessage("n-1", "noreply@expensetracker.com", "ayse@example.com", "s", "b"),
+                new EmailMessage("n-2", "noreply@expensetracker.com", "mehmet@example.com", "s", "b"));
+
+        // When
+        Map<String, String> failures = transport.send(batch);
+
+        // Then
+        assertEquals(2, failures.size());
+        assertTrue(failures.containsKey("n-1") && failures.containsKey("n-2"));
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+}
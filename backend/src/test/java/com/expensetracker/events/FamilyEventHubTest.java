@@ -0,0 +1,175 @@
+package com.expensetracker.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FamilyEventHubTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Sends run inline so deliveries can be checked as soon as they are made
+    private final FamilyEventHub hub = new FamilyEventHub(objectMapper, meterRegistry, Duration.ofMinutes(30),
+            Runnable::run, 64);
+
+    @Test
+    void onMessage_ShouldRelayToFamilyStreamsOnly() throws Exception {
+        // Given
+        RecordingEmitter alice = new RecordingEmitter();
+        RecordingEmitter bob = new RecordingEmitter();
+        RecordingEmitter otherFamily = new RecordingEmitter();
+        hub.register("family-1", "alice", alice);
+        hub.register("family-1", "bob", bob);
+        hub.register("family-2", "carol", otherFamily);
+        FamilyEvent event = new FamilyEvent(FamilyEvent.Type.LEDGER_CREATED, "family-1", null, "entry-1");
+
+        // When
+        hub.onMessage(message("family-1", event), null);
+
+        // Then
+        assertEquals(1, alice.sent.size());
+        assertEquals(1, bob.sent.size());
+        assertTrue(otherFamily.sent.isEmpty());
+        assertTrue(alice.sent.get(0).contains("event:LEDGER_CREATED"));
+        assertTrue(alice.sent.get(0).contains("\"entityId\":\"entry-1\""));
+        assertEquals(3.0, meterRegistry.get("events.connections").gauge().value());
+        assertEquals(2.0, meterRegistry.counter("events.delivered", "type", "LEDGER_CREATED").count());
+        assertEquals(1, meterRegistry.get("events.lag").timer().count());
+    }
+
+    @Test
+    void deliver_ShouldSendUserEventsToThatMemberOnly() {
+        // Given
+        RecordingEmitter alice = new RecordingEmitter();
+        RecordingEmitter bob = new RecordingEmitter();
+        hub.register("family-1", "alice", alice);
+        hub.register("family-1", "bob", bob);
+
+        // When
+        hub.deliver(new FamilyEvent(FamilyEvent.Type.NOTIFICATION_CREATED, "family-1", "bob", "notification-1"));
+
+        // Then
+        assertTrue(alice.sent.isEmpty());
+        assertEquals(1, bob.sent.size());
+    }
+
+    @Test
+    void deliver_ShouldDropStreamsWhoseClientWentAway() {
+        // Given
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.broken = true;
+        RecordingEmitter alive = new RecordingEmitter();
+        hub.register("family-1", "alice", gone);
+        hub.register("family-1", "bob", alive);
+
+        // When
+        hub.deliver(new FamilyEvent(FamilyEvent.Type.LEDGER_DELETED, "family-1", null, "entry-1"));
+        hub.heartbeat();
+
+        // Then
+        assertEquals(1, hub.connectionCount());
+        assertEquals(2, alive.sent.size());
+        assertTrue(alive.sent.get(1).contains(":heartbeat"));
+    }
+
+    @Test
+    void deliver_ShouldNotWaitForSlowClient_AndCloseItOnceTooFarBehind() throws Exception {
+        // Given
+        ExecutorService sendPool = Executors.newFixedThreadPool(2);
+        FamilyEventHub pooledHub = new FamilyEventHub(objectMapper, meterRegistry, Duration.ofMinutes(30),
+                sendPool, 2);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockedBy = new CountDownLatch(1);
+        RecordingEmitter fast = new RecordingEmitter();
+        fast.written = new Semaphore(0);
+        pooledHub.register("family-1", "alice", slow);
+        pooledHub.register("family-1", "bob", fast);
+
+        try {
+            // When
+            // A client that keeps up takes each event before the next one arrives
+            for (int i = 0; i < 4; i++) {
+                pooledHub.deliver(new FamilyEvent(FamilyEvent.Type.LEDGER_CREATED, "family-1", null, "entry-" + i));
+                assertTrue(fast.written.tryAcquire(5, TimeUnit.SECONDS));
+            }
+
+            // Then
+            assertEquals(4, fast.sent.size());
+            assertEquals(1, pooledHub.connectionCount());
+            assertEquals(1.0, meterRegistry.counter("events.dropped").count());
+
+            slow.blockedBy.countDown();
+            assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+            assertEquals(1, slow.sent.size());
+        } finally {
+            slow.blockedBy.countDown();
+            sendPool.shutdownNow();
+        }
+    }
+
+    private DefaultMessage message(String familyId, FamilyEvent event) throws IOException {
+        return new DefaultMessage((FamilyEventPublisher.CHANNEL_PREFIX + familyId).getBytes(StandardCharsets.UTF_8),
+                objectMapper.writeValueAsBytes(event));
+    }
+
+    // Captures what would be written to the response instead of needing a servlet container
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean broken;
+        // Holds the first write, as a client that stopped reading would
+        private volatile CountDownLatch blockedBy;
+        private volatile Semaphore written;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            if (blockedBy != null) {
+                try {
+                    blockedBy.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder frame = new StringBuilder();
+            Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+            for (ResponseBodyEmitter.DataWithMediaType part : parts) {
+                frame.append(part.getData() instanceof String text ? text : writeJson(part.getData()));
+            }
+            sent.add(frame.toString());
+            if (written != null) {
+                written.release();
+            }
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completed.countDown();
+        }
+
+        private static String writeJson(Object data) throws IOException {
+            return new ObjectMapper().writeValueAsString(data);
+        }
+    }
+}
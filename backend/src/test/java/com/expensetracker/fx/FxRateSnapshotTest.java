@@ -0,0 +1,65 @@
+package com.expensetracker.fx;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.repository.FamilyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FxRateSnapshotTest {
+
+    // Local stub so tests never depend on the shipped rate file
+    private static final FxRateProvider STUB_PROVIDER = () -> new FxRates("USD", Instant.parse("2026-10-01T00:00:00Z"),
+            Map.of("EUR", new BigDecimal("0.80"), "TRY", new BigDecimal("40"), "JPY", new BigDecimal("150")));
+
+    private final FxRateSnapshot rates = FxRateSnapshot.of(STUB_PROVIDER.fetchRates());
+
+    @Test
+    void convert_ShouldUseCrossRatesInMinorUnits() {
+        assertEquals(1000, rates.convert(1250, "USD", "EUR"));
+        assertEquals(1250, rates.convert(1000, "EUR", "USD"));
+        assertEquals(50000, rates.convert(1000, "EUR", "TRY"));
+        assertEquals(12345, rates.convert(12345, "TRY", "TRY"));
+    }
+
+    @Test
+    void convert_ShouldRespectCurrencyFractionDigits() {
+        // JPY has no minor unit: $10.00 is 1500 yen, not 150000
+        assertEquals(1500, rates.convert(1000, "USD", "JPY"));
+        assertEquals(1000, rates.convert(1500, "JPY", "USD"));
+    }
+
+    @Test
+    void convert_ShouldRoundHalfAwayFromZero() {
+        // 1 kuruş = 0.025 cents
+        assertEquals(0, rates.convert(1, "TRY", "USD"));
+        assertEquals(1, rates.convert(20, "TRY", "USD"));
+        assertEquals(-1, rates.convert(-20, "TRY", "USD"));
+    }
+
+    @Test
+    void convert_ShouldStayExact_WhenProductOverflowsLong() {
+        assertEquals(100_000_000_000_000L * 40, rates.convert(100_000_000_000_000L, "USD", "TRY"));
+    }
+
+    @Test
+    void convert_ShouldRejectUnknownCurrency() {
+        assertThrows(IllegalArgumentException.class, () -> rates.convert(100, "USD", "XYZ"));
+    }
+
+    @Test
+    void toFamilyAmount_ShouldReturnNull_WhenNoRateIsKnown() {
+        FxRateService service = new FxRateService(STUB_PROVIDER, mock(FamilyRepository.class), "USD");
+
+        LedgerEntry.MoneyAmount converted = service.toFamilyAmount(new LedgerEntry.MoneyAmount(1250L, "USD"), "EUR");
+
+        assertEquals(1000L, converted.getMinor());
+        assertEquals("EUR", converted.getCurrency());
+        assertNull(service.toFamilyAmount(new LedgerEntry.MoneyAmount(1250L, "XYZ"), "EUR"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.expensetracker.health;
+
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HealthSamplerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class, RETURNS_DEEP_STUBS);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final HealthSampler sampler = new HealthSampler(mongoTemplate, redisTemplate,
+            Duration.ofSeconds(5), Duration.ofMillis(200));
+
+    @Test
+    void refresh_ShouldPublishSnapshotOfAllProbes() throws Exception {
+        // Given
+        when(mongoTemplate.getCollection("ledger").estimatedDocumentCount(any(EstimatedDocumentCountOptions.class)))
+                .thenReturn(42L);
+        Properties info = new Properties();
+        info.setProperty("used_memory_human", "1.50M");
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(info);
+        assertFalse(sampler.isHealthy());
+
+        // When
+        HealthSnapshot snapshot = sampler.refresh().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertSame(snapshot, sampler.snapshot());
+        assertTrue(sampler.isHealthy());
+        assertEquals(42L, snapshot.component("mongodb").getDetails().get("transactions"));
+        assertEquals("1.50M", snapshot.component("redis").getDetails().get("memory_usage"));
+        // Connections are borrowed through execute() only, which returns them to the pool
+        verify(redisTemplate, never()).getConnectionFactory();
+    }
+
+    @Test
+    void refresh_ShouldTimeOutSlowProbe_WithoutHoldingUpOthers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return new Properties();
+        });
+
+        try {
+            // When
+            long start = System.nanoTime();
+            HealthSnapshot first = sampler.refresh().get(5, TimeUnit.SECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            HealthSnapshot second = sampler.refresh().get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + "ms");
+            assertTrue(first.component("mongodb").isUp());
+            assertEquals("timed out after 200ms", first.component("redis").getError());
+            assertEquals("previous probe still running", second.component("redis").getError());
+            assertFalse(sampler.isHealthy());
+            verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void refresh_ShouldReportProbeFailure() throws Exception {
+        // Given
+        when(mongoTemplate.getDb().runCommand(any(Bson.class))).thenThrow(new IllegalStateException("no primary"));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(new Properties());
+
+        // When
+        HealthSnapshot snapshot = sampler.refresh().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("DOWN", snapshot.component("mongodb").getStatus());
+        assertEquals("no primary", snapshot.component("mongodb").getError());
+        assertTrue(snapshot.component("redis").isUp());
+    }
+}
@@ -0,0 +1,207 @@
+package com.expensetracker.json;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerPageWriterTest {
+
+    // Configured like the mapper Spring Boot builds
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void write_ShouldMatchJackson_WhenAllFieldsAreWritten() throws Exception {
+        // Given
+        Page<LedgerEntryResponse> page = new PageImpl<>(List.of(entry("entry-1", "Market"), entry("entry-2", null)),
+                PageRequest.of(1, 2), 7);
+        LedgerPageWriter writer = new LedgerPageWriter(LedgerPageWriter.fields(""), LedgerPageWriter.Timestamps.ISO);
+
+        // When
+        JsonNode written = objectMapper.readTree(write(writer, page));
+
+        // Then
+        JsonNode jackson = objectMapper.readTree(objectMapper.writeValueAsString(page));
+        assertEquals(jackson.get("content"), written.get("content"));
+        for (String field : List.of("totalElements", "totalPages", "number", "size", "numberOfElements",
+                "first", "last", "empty")) {
+            assertEquals(jackson.get(field), written.get(field), field);
+        }
+        assertFalse(written.has("pageable"));
+        assertFalse(written.get("content").get(1).has("notes"));
+    }
+
+    @Test
+    void write_ShouldWriteOnlyConfiguredFields_WhenTimestampsAreEpochMillis() throws Exception {
+        // Given
+        Page<LedgerEntryResponse> page = new PageImpl<>(List.of(entry("entry-1", "Market")));
+        LedgerPageWriter writer = new LedgerPageWriter(LedgerPageWriter.fields("id, amountMinor,occurredAt"),
+                LedgerPageWriter.timestamps("epoch-millis"));
+
+        // When
+        JsonNode row = objectMapper.readTree(write(writer, page)).get("content").get(0);
+
+        // Then
+        List<String> names = new ArrayList<>();
+        row.fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("id", "amountMinor", "occurredAt"), names);
+        assertEquals(1250L, row.get("amountMinor").asLong());
+        assertEquals(Instant.parse("2026-10-01T10:15:30.120Z").toEpochMilli(), row.get("occurredAt").asLong());
+    }
+
+    @Test
+    void compact_ShouldUseShortNamesAndDeltaTimestamps() throws Exception {
+        // Given
+        LedgerEntryResponse older = entry("entry-2", null);
+        older.setOccurredAt(Instant.parse("2026-10-01T09:00:00Z"));
+        older.setUpdatedAt(null);
+        Page<LedgerEntryResponse> page = new PageImpl<>(List.of(entry("entry-1", "Market"), older,
+                entry("entry-3", null)));
+        LedgerPageWriter writer = LedgerPageWriter.compact(LedgerPageWriter.fields(""));
+
+        // When
+        JsonNode content = objectMapper.readTree(write(writer, page)).get("content");
+
+        // Then
+        long occurredAt = Instant.parse("2026-10-01T10:15:30.120Z").toEpochMilli();
+        assertEquals("entry-1", content.get(0).get("i").asText());
+        assertEquals(1250L, content.get(0).get("a").asLong());
+        assertFalse(content.get(0).has("id"));
+        assertEquals(occurredAt, content.get(0).get("o").asLong());
+        assertEquals(Instant.parse("2026-10-01T09:00:00Z").toEpochMilli() - occurredAt,
+                content.get(1).get("o").asLong());
+        assertEquals(occurredAt - Instant.parse("2026-10-01T09:00:00Z").toEpochMilli(),
+                content.get(2).get("o").asLong());
+        // Measured from the last row that had the field
+        assertFalse(content.get(1).has("ua"));
+        assertEquals(0L, content.get(2).get("ua").asLong());
+        assertEquals(3, objectMapper.readTree(write(writer, page)).get("totalElements").asInt());
+    }
+
+    @Test
+    void isoInstants_ShouldFormatLikeInstantToString() throws Exception {
+        // Given
+        List<Instant> instants = List.of(
+                Instant.parse("2026-10-01T10:15:30Z"),
+                Instant.parse("2026-10-01T23:59:59.120Z"),
+                Instant.parse("2026-10-02T00:00:00.000450Z"),
+                Instant.parse("2026-10-02T00:00:00.000000007Z"),
+                Instant.parse("1969-12-31T23:59:59.999Z"),
+                Instant.parse("0001-01-01T00:00:00Z"),
+                Instant.parse("+10000-01-01T00:00:00Z"));
+        LedgerPageWriter.IsoInstants isoInstants = new LedgerPageWriter.IsoInstants();
+        StringWriter out = new StringWriter();
+
+        // When
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Instant instant : instants) {
+                isoInstants.write(instant, generator);
+            }
+            generator.writeEndArray();
+        }
+
+        // Then
+        assertEquals(instants.stream().map(Instant::toString).toList(),
+                objectMapper.readValue(out.toString(), List.class));
+    }
+
+    @Test
+    void fields_ShouldRejectUnknownNames() {
+        assertThrows(IllegalArgumentException.class, () -> LedgerPageWriter.fields("id,amount"));
+        assertThrows(IllegalArgumentException.class, () -> LedgerPageWriter.timestamps("rfc1123"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LedgerPageWriter(EnumSet.noneOf(LedgerPageWriter.Field.class), LedgerPageWriter.Timestamps.ISO));
+    }
+
+    @Test
+    void converter_ShouldWriteLedgerPagesOnly() throws Exception {
+        // Given
+        LedgerPageMessageConverter converter = new LedgerPageMessageConverter(objectMapper, "", "iso");
+        var ledgerPage = new ParameterizedTypeReference<Page<LedgerEntryResponse>>() {}.getType();
+        var otherPage = new ParameterizedTypeReference<Page<String>>() {}.getType();
+        Page<LedgerEntryResponse> page = new PageImpl<>(List.of(entry("entry-1", "Market")));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(page, ledgerPage, MediaType.APPLICATION_JSON, output);
+
+        // Then
+        assertTrue(converter.canWrite(ledgerPage, PageImpl.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(otherPage, PageImpl.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(ledgerPage, PageImpl.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(ledgerPage, null, MediaType.APPLICATION_JSON));
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+        assertEquals("entry-1", objectMapper.readTree(output.getBodyAsString()).get("content").get(0).get("id").asText());
+    }
+
+    @Test
+    void converter_ShouldWriteCompactCbor_WhenCborIsAccepted() throws Exception {
+        // Given
+        LedgerPageMessageConverter converter = new LedgerPageMessageConverter(objectMapper, "", "iso");
+        var ledgerPage = new ParameterizedTypeReference<Page<LedgerEntryResponse>>() {}.getType();
+        Page<LedgerEntryResponse> page = new PageImpl<>(List.of(entry("entry-1", "Market")));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(page, ledgerPage, MediaType.APPLICATION_CBOR, output);
+
+        // Then
+        JsonNode row = new CBORMapper().readTree(output.getBodyAsBytes()).get("content").get(0);
+        assertEquals(MediaType.APPLICATION_CBOR, output.getHeaders().getContentType());
+        assertEquals("entry-1", row.get("i").asText());
+        assertEquals(Instant.parse("2026-10-01T10:15:30.120Z").toEpochMilli(), row.get("o").asLong());
+        assertTrue(output.getBodyAsBytes().length < write(new LedgerPageWriter(LedgerPageWriter.fields(""),
+                LedgerPageWriter.Timestamps.ISO), page).length());
+    }
+
+    private static LedgerEntryResponse entry(String id, String notes) {
+        LedgerEntryResponse entry = new LedgerEntryResponse();
+        entry.setId(id);
+        entry.setMemberId("member-1");
+        entry.setMemberName("ayse@example.com");
+        entry.setType(LedgerEntry.TransactionType.EXPENSE);
+        entry.setAmountMinor(1250L);
+        entry.setCurrency("TRY");
+        entry.setCategoryId("category-1");
+        entry.setCategoryName("Groceries \"weekly\"");
+        entry.setCategoryIcon("🛒");
+        entry.setOccurredAt(Instant.parse("2026-10-01T10:15:30.120Z"));
+        entry.setNotes(notes);
+        entry.setAttachments(List.of("attachment-1"));
+        entry.setCreatedAt(Instant.parse("2026-10-01T10:16:00Z"));
+        entry.setUpdatedAt(Instant.parse("2026-10-02T08:00:00.123456Z"));
+        return entry;
+    }
+
+    private static String write(LedgerPageWriter writer, Page<LedgerEntryResponse> page) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(out)) {
+            writer.write(page, generator);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.security.UserPrincipal;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a single-node replica set, the smallest deployment that reports cluster times and
+ * accepts causally consistent sessions.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class AnalyticsReadsReplicaSetTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(90);
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+    private MongoClient client;
+    private CausalTokenTracker tracker;
+    private SimpleMeterRegistry meterRegistry;
+    private AnalyticsReads analyticsReads;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CausalTokenTracker(MAX_STALENESS);
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(MONGO.getReplicaSetUrl("analytics")))
+                .addCommandListener(tracker)
+                .build());
+        mongoTemplate = new MongoTemplate(client, "analytics");
+        meterRegistry = new SimpleMeterRegistry();
+        analyticsReads = new AnalyticsReads(mongoTemplate, tracker, meterRegistry, MAX_STALENESS,
+                "secondaryPreferred", "secondaryPreferred", "secondaryPreferred", "secondaryPreferred");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        client.close();
+    }
+
+    @Test
+    void find_ShouldReadOwnWriteInCausalSession_WhenUserJustWrote() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal("user-1", "user-1@example.com"), null, List.of()));
+        mongoTemplate.insert(new Document("familyId", "family-1").append("amount", 1250), "ledger");
+
+        // When
+        List<Document> rows = analyticsReads.find(AnalyticsReads.Path.REPORTS, "user-1",
+                new Query(Criteria.where("familyId").is("family-1")), Document.class);
+
+        // Then
+        assertTrue(tracker.tokenOf("user-1").isPresent());
+        assertEquals(1, rows.size());
+        assertEquals(1.0, meterRegistry.counter("mongodb.analytics.reads", "path", "reports", "causal", "true").count());
+    }
+
+    @Test
+    void find_ShouldNotTrackWrites_WhenNoUserIsAuthenticated() {
+        // Given
+        mongoTemplate.insert(new Document("familyId", "family-2"), "ledger");
+
+        // When
+        List<Document> rows = analyticsReads.find(AnalyticsReads.Path.DIGESTS, null,
+                new Query(Criteria.where("familyId").is("family-2")), Document.class);
+
+        // Then
+        assertTrue(tracker.tokenOf("user-1").isEmpty());
+        assertFalse(rows.isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package com.expensetracker.mongo;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsReadsTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(120);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void readPreference_ShouldBoundStaleness_WhenSecondaryMode() {
+        // When
+        ReadPreference secondary = AnalyticsReads.readPreference("secondaryPreferred", MAX_STALENESS);
+        ReadPreference primary = AnalyticsReads.readPreference("primary", MAX_STALENESS);
+
+        // Then
+        assertEquals(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS), secondary);
+        assertEquals(ReadPreference.primary(), primary);
+    }
+
+    @Test
+    void find_ShouldRouteToConfiguredPreferenceWithoutSession_WhenUserHasNoRecentWrite() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AnalyticsReads analyticsReads = new AnalyticsReads(mongoTemplate, new CausalTokenTracker(MAX_STALENESS),
+                meterRegistry, MAX_STALENESS, "secondaryPreferred", "secondary", "primary", "nearest");
+        when(mongoTemplate.find(any(Query.class), eq(String.class))).thenReturn(List.of("row"));
+
+        // When
+        List<String> rows = analyticsReads.find(AnalyticsReads.Path.EXPORTS, "user-1",
+                new Query(Criteria.where("familyId").is("family-1")), String.class);
+
+        // Then
+        assertEquals(List.of("row"), rows);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(String.class));
+        assertEquals(ReadPreference.secondary(120, TimeUnit.SECONDS), query.getValue().getReadPreference());
+        verify(mongoTemplate, never()).getMongoDatabaseFactory();
+        assertEquals(1.0, meterRegistry.counter("mongodb.analytics.reads", "path", "exports", "causal", "false").count());
+        assertEquals(ReadPreference.primary(), analyticsReads.readPreferenceFor(AnalyticsReads.Path.BUDGETS));
+    }
+}
@@ -0,0 +1,71 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.domain.Attachment;
+import com.expensetracker.domain.LedgerEntry;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AttachmentFamilyBackfillTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations updates = mock(BulkOperations.class);
+    private final AttachmentFamilyBackfill backfill = new AttachmentFamilyBackfill(mongoTemplate);
+
+    @Test
+    void onReady_ShouldGiveAttachmentsTheFamilyOfTheirEntry_AndSkipOrphans() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Attachment.class)))
+                .thenReturn(List.of(attachment("attachment-1", "entry-1"), attachment("attachment-2", "entry-gone")))
+                .thenReturn(List.of());
+        LedgerEntry entry = new LedgerEntry();
+        entry.setId("entry-1");
+        entry.setFamilyId("family-1");
+        when(mongoTemplate.find(any(Query.class), eq(LedgerEntry.class))).thenReturn(List.of(entry));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attachment.class)).thenReturn(updates);
+        when(updates.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        assertFalse(backfill.isComplete());
+
+        // When
+        backfill.onReady();
+
+        // Then
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(updates).updateOne(filter.capture(), update.capture());
+        assertEquals("attachment-1", filter.getValue().getQueryObject().get("id"));
+        assertEquals("family-1", update.getValue().getUpdateObject().get("$set", Document.class).get("familyId"));
+        assertTrue(backfill.isComplete());
+    }
+
+    @Test
+    void onReady_ShouldStayIncomplete_WhenBackfillFails() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Attachment.class))).thenThrow(new IllegalStateException("down"));
+
+        // When
+        backfill.onReady();
+
+        // Then
+        assertFalse(backfill.isComplete());
+    }
+
+    private static Attachment attachment(String id, String ledgerEntryId) {
+        Attachment attachment = new Attachment();
+        attachment.setId(id);
+        attachment.setLedgerEntryId(ledgerEntryId);
+        return attachment;
+    }
+}
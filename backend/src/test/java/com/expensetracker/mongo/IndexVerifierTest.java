@@ -0,0 +1,149 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.repository.AttachmentRepository;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.FamilyRepository;
+import com.expensetracker.repository.LedgerEntryRepository;
+import com.expensetracker.repository.NotificationRepository;
+import com.expensetracker.repository.ReactiveCategoryRepository;
+import com.expensetracker.repository.ReactiveFamilyRepository;
+import com.expensetracker.repository.ReactiveLedgerEntryRepository;
+import com.expensetracker.repository.ReactiveUserRepository;
+import com.expensetracker.repository.ReceiptDataRepository;
+import com.expensetracker.repository.RecurringRuleRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.repository.VoiceExpenseDataRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndexVerifierTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(AttachmentRepository.class, BudgetRepository.class,
+            CategoryRepository.class, FamilyRepository.class, LedgerEntryRepository.class,
+            NotificationRepository.class, ReceiptDataRepository.class, RecurringRuleRepository.class,
+            UserRepository.class, VoiceExpenseDataRepository.class, ReactiveCategoryRepository.class,
+            ReactiveFamilyRepository.class, ReactiveLedgerEntryRepository.class, ReactiveUserRepository.class);
+
+    private final MongoMappingContext mappingContext = mappingContext();
+    private final IndexVerifier verifier = verifier(mappingContext);
+
+    @Test
+    void declaredIndexes_ShouldServeEveryRepositoryQuery() {
+        // Given
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<IndexFinding> findings = new ArrayList<>();
+
+        // When
+        for (Class<?> repository : REPOSITORIES) {
+            Class<?> domainType = AbstractRepositoryMetadata.getMetadata(repository).getDomainType();
+            Map<String, List<String>> indexes = new LinkedHashMap<>();
+            indexes.put("_id_", List.of("_id"));
+            resolver.resolveIndexFor(domainType).forEach(index ->
+                    indexes.put(index.getIndexKeys().toJson(), List.copyOf(index.getIndexKeys().keySet())));
+            for (Method method : repository.getDeclaredMethods()) {
+                List<IndexVerifier.QueryShape> shapes = verifier.shapesOf(method, domainType);
+                if (!shapes.isEmpty()) {
+                    findings.add(IndexVerifier.evaluate(repository.getSimpleName(), method.getName(),
+                            domainType.getSimpleName(), shapes, indexes));
+                }
+            }
+        }
+
+        // Then
+        assertTrue(findings.size() > 30);
+        assertEquals(List.of(), findings.stream()
+                .filter(finding -> finding.getStatus() == IndexFinding.Status.MISSING).toList());
+        assertEquals(List.of(), findings.stream()
+                .filter(finding -> finding.getRepository().equals("LedgerEntryRepository")
+                        || finding.getRepository().equals("NotificationRepository")
+                        || finding.getRepository().equals("RecurringRuleRepository"))
+                .filter(finding -> finding.getStatus() != IndexFinding.Status.INDEXED).toList());
+    }
+
+    @Test
+    void shapesOf_ShouldSplitDerivedPredicatesBySelectivity() throws Exception {
+        // Given
+        Method method = LedgerEntryRepository.class.getMethod("findTop5ByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc",
+                String.class);
+
+        // When
+        IndexVerifier.QueryShape shape = verifier.shapesOf(method, LedgerEntry.class).get(0);
+
+        // Then
+        assertEquals(List.of("familyId"), List.copyOf(shape.equality));
+        assertEquals(List.of("deletedAt"), List.copyOf(shape.filter));
+        assertTrue(shape.range.isEmpty());
+        assertEquals(Map.of("occurredAt", -1), shape.sort);
+    }
+
+    @Test
+    void parse_ShouldClassifyAnnotatedQueryFields() {
+        // When
+        IndexVerifier.QueryShape shape = IndexVerifier.QueryShape.parse(
+                "{'familyId': ?0, 'type': {'$in': ?1}, 'occurredAt': {'$gte': ?2, '$lte': ?3}, 'deletedAt': null, "
+                        + "'notes': {'$regex': ?4}}", "{'occurredAt': -1}");
+
+        // Then
+        assertEquals(List.of("familyId", "type"), List.copyOf(shape.equality));
+        assertEquals(List.of("occurredAt"), List.copyOf(shape.range));
+        assertEquals(List.of("deletedAt", "notes"), List.copyOf(shape.filter));
+        assertEquals(Map.of("occurredAt", -1), shape.sort);
+    }
+
+    @Test
+    void evaluate_ShouldGradeIndexesAndSuggestMissingOnes() {
+        // Given
+        IndexVerifier.QueryShape shape = IndexVerifier.QueryShape.parse(
+                "{'familyId': ?0, 'categoryId': ?1, 'occurredAt': {'$gte': ?2}, 'deletedAt': null}", "");
+        Map<String, List<String>> unrelated = Map.of("_id_", List.of("_id"), "userId_1", List.of("userId"));
+        Map<String, List<String>> leadingOnly = Map.of("familyId_1_occurredAt_-1", List.of("familyId", "occurredAt"));
+        Map<String, List<String>> full = Map.of("familyId_1_categoryId_1_occurredAt_-1",
+                List.of("familyId", "categoryId", "occurredAt"));
+
+        // When
+        IndexFinding missing = IndexVerifier.evaluate("Repo", "find", "ledger", List.of(shape), unrelated);
+        IndexFinding partial = IndexVerifier.evaluate("Repo", "find", "ledger", List.of(shape), leadingOnly);
+        IndexFinding indexed = IndexVerifier.evaluate("Repo", "find", "ledger", List.of(shape), full);
+
+        // Then
+        assertEquals(IndexFinding.Status.MISSING, missing.getStatus());
+        assertNull(missing.getIndex());
+        assertEquals("{familyId: 1, categoryId: 1, occurredAt: 1}", missing.getSuggestion());
+        assertEquals(IndexFinding.Status.PARTIAL, partial.getStatus());
+        assertEquals("familyId_1_occurredAt_-1", partial.getIndex());
+        assertEquals(IndexFinding.Status.INDEXED, indexed.getStatus());
+        assertNull(indexed.getSuggestion());
+    }
+
+    private static MongoMappingContext mappingContext() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return mappingContext;
+    }
+
+    private static IndexVerifier verifier(MongoMappingContext mappingContext) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        return new IndexVerifier(mock(ApplicationContext.class), mongoTemplate, "warn");
+    }
+}
@@ -0,0 +1,108 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.domain.Attachment;
+import com.expensetracker.domain.Budget;
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.RecurringRule;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shards the hot collections on a real cluster (config server, one shard and a mongos in one
+ * container). This catches shard keys the declared indexes cannot back, unique indexes a shard
+ * key rules out, and writes that fail to name their shard key.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ShardedClusterTest {
+
+    private static final List<Class<?>> SHARDED = List.of(LedgerEntry.class, Budget.class, Category.class,
+            RecurringRule.class, Notification.class, Attachment.class);
+
+    @Container
+    static final MongoDBContainer MONGOS = new MongoDBContainer(DockerImageName.parse("mongo:7.0")).withSharding();
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(MONGOS.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "expense-tracker");
+        mongoTemplate.getDb().drop();
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : SHARDED) {
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                mongoTemplate.indexOps(type).ensureIndex(index);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void shardCollections_ShouldShardEveryHotCollection_WhenIndexesAreDeclared() {
+        // When
+        Map<String, Document> sharded = new ShardingInitializer(mongoTemplate, true).shardCollections();
+
+        // Then
+        assertEquals(SHARDED.size(), sharded.size());
+        Document ledger = client.getDatabase("config").getCollection("collections")
+                .find(new Document("_id", "expense-tracker.ledger")).first();
+        assertNotNull(ledger);
+        assertEquals(new Document("familyId", 1).append("_id", 1), ledger.get("key", Document.class));
+    }
+
+    @Test
+    void writes_ShouldCarryTheShardKey_WhenCollectionsAreSharded() {
+        // Given
+        new ShardingInitializer(mongoTemplate, true).shardCollections();
+        LedgerEntry entry = new LedgerEntry("family-1", "member-1", LedgerEntry.TransactionType.EXPENSE,
+                new LedgerEntry.MoneyAmount(1250L, "TRY"), "category-1", Instant.parse("2026-10-01T10:00:00Z"));
+        entry = mongoTemplate.save(entry);
+
+        // When
+        entry.setNotes("Market");
+        mongoTemplate.save(entry);
+        Notification digest = new Notification("user-1", "family-1", Notification.NotificationType.WEEKLY_SUMMARY,
+                "title", "message");
+        digest.setDigestKey("WEEKLY:2026-W40:family-1:user-1");
+        mongoTemplate.insert(digest);
+        Notification duplicate = new Notification("user-1", "family-1", Notification.NotificationType.WEEKLY_SUMMARY,
+                "title", "message");
+        duplicate.setDigestKey("WEEKLY:2026-W40:family-1:user-1");
+
+        // Then
+        LedgerEntry stored = mongoTemplate.findOne(new Query(Criteria.where("familyId").is("family-1")
+                .and("_id").is(entry.getId())), LedgerEntry.class);
+        assertNotNull(stored);
+        assertEquals("Market", stored.getNotes());
+        assertThrows(DuplicateKeyException.class, () -> mongoTemplate.insert(duplicate));
+    }
+}
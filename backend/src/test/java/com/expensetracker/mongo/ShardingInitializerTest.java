@@ -0,0 +1,97 @@
+package com.expensetracker.mongo;
+
+import com.expensetracker.domain.Attachment;
+import com.expensetracker.domain.Budget;
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.ReceiptData;
+import com.expensetracker.domain.RecurringRule;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShardingInitializerTest {
+
+    @Test
+    void shardCollections_ShouldShardHotCollectionsOnTheirOwnerKey() {
+        // Given
+        MongoMappingContext mappingContext = mappingContext(Set.of(LedgerEntry.class, Budget.class, Category.class,
+                RecurringRule.class, Notification.class, Attachment.class, ReceiptData.class));
+        MongoDatabase admin = mock(MongoDatabase.class);
+        ShardingInitializer initializer = initializer(mappingContext, admin);
+
+        // When
+        Map<String, Document> sharded = initializer.shardCollections();
+
+        // Then
+        assertEquals(List.of("attachments", "budgets", "categories", "ledger", "notifications", "recurring_rules"),
+                List.copyOf(sharded.keySet()));
+        assertEquals(new Document("familyId", 1).append("_id", 1), sharded.get("ledger"));
+        assertEquals(new Document("familyId", 1), sharded.get("categories"));
+        assertEquals(new Document("userId", 1), sharded.get("notifications"));
+
+        ArgumentCaptor<Bson> commands = ArgumentCaptor.forClass(Bson.class);
+        verify(admin, times(7)).runCommand(commands.capture());
+        assertEquals(new Document("enableSharding", "expense-tracker"), commands.getAllValues().get(0));
+        assertEquals(new Document("shardCollection", "expense-tracker.ledger")
+                .append("key", new Document("familyId", 1).append("_id", 1)), commands.getAllValues().get(4));
+    }
+
+    @Test
+    void shardKey_ShouldHashOnlyTheLeadingField_WhenStrategyIsHash() {
+        // Given
+        MongoMappingContext mappingContext = mappingContext(Set.of(HashedEntry.class));
+
+        // When
+        Document key = ShardingInitializer.shardKey(mappingContext.getRequiredPersistentEntity(HashedEntry.class));
+
+        // Then
+        assertEquals(new Document("family", "hashed").append("_id", 1), key);
+    }
+
+    @org.springframework.data.mongodb.core.mapping.Document(collection = "hashed")
+    @Sharded(shardKey = {"familyId", "_id"}, shardingStrategy = ShardingStrategy.HASH)
+    static class HashedEntry {
+        String id;
+        @org.springframework.data.mongodb.core.mapping.Field("family")
+        String familyId;
+    }
+
+    private static MongoMappingContext mappingContext(Set<Class<?>> entities) {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(entities);
+        mappingContext.initialize();
+        return mappingContext;
+    }
+
+    private static ShardingInitializer initializer(MongoMappingContext mappingContext, MongoDatabase admin) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        MongoDatabaseFactory databaseFactory = mock(MongoDatabaseFactory.class);
+        when(mongoTemplate.getMongoDatabaseFactory()).thenReturn(databaseFactory);
+        when(databaseFactory.getMongoDatabase("admin")).thenReturn(admin);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getName()).thenReturn("expense-tracker");
+        when(mongoTemplate.getDb()).thenReturn(database);
+        return new ShardingInitializer(mongoTemplate, true);
+    }
+}
@@ -0,0 +1,103 @@
+package com.expensetracker.mongo;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SlowQueryRecorderTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+            new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final SlowQueryRecorder recorder = new SlowQueryRecorder(mock(ObjectProvider.class), meterRegistry,
+            Duration.ofMillis(100), 2, false, Duration.ofMinutes(10));
+
+    @Test
+    void commandSucceeded_ShouldRecordRedactedShape_WhenSlowerThanThreshold() {
+        // Given
+        BsonDocument find = BsonDocument.parse("{'find': 'ledger', 'filter': {'familyId': 'f-1', 'deletedAt': null, "
+                + "'occurredAt': {'$gte': {'$date': '2026-01-01T00:00:00Z'}}}, 'sort': {'occurredAt': -1}, "
+                + "'$db': 'expense-tracker'}");
+        BsonDocument response = BsonDocument.parse("{'cursor': {'firstBatch': [{}, {}, {}], 'id': 0}, 'ok': 1}");
+
+        // When
+        run(1, "find", find, response, 150);
+        run(2, "find", find, response, 20);
+
+        // Then
+        List<SlowQueryRecorder.SlowQuery> recent = recorder.recent();
+        assertEquals(1, recent.size());
+        assertEquals("ledger", recent.get(0).getCollection());
+        assertEquals(150, recent.get(0).getDurationMillis());
+        assertEquals(3, recent.get(0).getDocsReturned());
+        assertEquals("{\"filter\": {\"familyId\": \"?\", \"deletedAt\": null, \"occurredAt\": {\"$gte\": \"?\"}}, "
+                + "\"sort\": {\"occurredAt\": -1}}", recent.get(0).getShape());
+        assertEquals(1.0, meterRegistry.counter("mongodb.slow.commands", "collection", "ledger", "command", "find").count());
+    }
+
+    @Test
+    void record_ShouldAggregateByShapeAndKeepOnlyLatestCommands() {
+        // Given
+        BsonDocument first = BsonDocument.parse("{'find': 'notifications', 'filter': {'emailSent': false}}");
+        BsonDocument second = BsonDocument.parse("{'find': 'notifications', 'filter': {'emailSent': true}}");
+        BsonDocument other = BsonDocument.parse("{'count': 'notifications', 'query': {'userId': 'u-1', 'isRead': false}}");
+
+        // When
+        run(1, "find", first, BsonDocument.parse("{'cursor': {'firstBatch': []}}"), 300);
+        run(2, "find", second, BsonDocument.parse("{'cursor': {'firstBatch': []}}"), 200);
+        run(3, "count", other, BsonDocument.parse("{'n': 7}"), 120);
+
+        // Then
+        assertEquals(2, recorder.recent().size());
+        assertEquals("count", recorder.recent().get(0).getCommand());
+        assertEquals(7, recorder.recent().get(0).getDocsReturned());
+        SlowQueryRecorder.ShapeStats top = recorder.shapes().get(0);
+        assertEquals("find", top.getCommand());
+        assertEquals(2, top.getCount());
+        assertEquals(500, top.getTotalMillis());
+        assertEquals(300, top.getMaxMillis());
+    }
+
+    @Test
+    void summary_ShouldDescribeWinningPlanAndExamined() {
+        // Given
+        org.bson.Document explain = org.bson.Document.parse("{'stages': [{'$cursor': {"
+                + "'queryPlanner': {'winningPlan': {'stage': 'FETCH', 'inputStage': "
+                + "{'stage': 'IXSCAN', 'indexName': 'familyId_1_occurredAt_-1'}}}, "
+                + "'executionStats': {'nReturned': 10, 'totalKeysExamined': 10, 'totalDocsExamined': 10}}}, "
+                + "{'$group': {}}]}");
+
+        // When
+        ExplainSummary summary = ExplainSummary.of(explain);
+
+        // Then
+        assertEquals("FETCH <- IXSCAN familyId_1_occurredAt_-1", summary.getPlan());
+        assertEquals(10, summary.getDocsExamined());
+        assertFalse(summary.isCollectionScan());
+    }
+
+    private void run(int requestId, String commandName, BsonDocument command, BsonDocument response, long millis) {
+        recorder.commandStarted(new CommandStartedEvent(null, requestId, requestId, CONNECTION, "expense-tracker",
+                commandName, command));
+        recorder.commandSucceeded(new CommandSucceededEvent(null, requestId, requestId, CONNECTION, "expense-tracker",
+                commandName, response, TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+}
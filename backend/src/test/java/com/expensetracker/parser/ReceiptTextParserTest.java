@@ -0,0 +1,121 @@
+package com.expensetracker.parser;
+
+import com.expensetracker.domain.ReceiptItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReceiptTextParserTest {
+
+    private static final String GOLDEN_DIRECTORY = "/receipts/golden";
+
+    private final ReceiptTextParser parser = new ReceiptTextParser();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static Stream<String> goldenReceipts() throws IOException, URISyntaxException {
+        Path directory = Paths.get(ReceiptTextParserTest.class.getResource(GOLDEN_DIRECTORY).toURI());
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> names = files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".txt"))
+                    .map(name -> name.substring(0, name.length() - ".txt".length()))
+                    .sorted()
+                    .collect(Collectors.toList());
+            return names.stream();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("goldenReceipts")
+    void parse_ShouldMatchGoldenFile(String receipt) throws Exception {
+        // Given
+        String ocrText = read(receipt + ".txt");
+        JsonNode expected = objectMapper.readTree(read(receipt + ".expected.json"));
+
+        // When
+        ReceiptParseResult result = parser.parse(ocrText);
+
+        // Then
+        assertEquals(expected.get("storeName").asText(), result.getStoreName());
+        assertEquals(dateOrNull(expected.get("date")), result.getDate());
+        assertAmount(expected.get("subtotal"), result.getSubtotal());
+        assertAmount(expected.get("tax"), result.getTax());
+        assertAmount(expected.get("total"), result.getTotal());
+
+        JsonNode expectedItems = expected.get("items");
+        assertEquals(expectedItems.size(), result.getItems().size(), "item count");
+        for (int i = 0; i < expectedItems.size(); i++) {
+            JsonNode expectedItem = expectedItems.get(i);
+            ReceiptItem item = result.getItems().get(i);
+            assertEquals(expectedItem.get("name").asText(), item.getName());
+            assertAmount(expectedItem.get("price"), item.getPrice());
+            assertEquals(expectedItem.get("quantity").asInt(), item.getQuantity());
+        }
+
+        result.getFieldConfidences().values()
+                .forEach(confidence -> assertTrue(confidence >= 0.0 && confidence <= 1.0));
+    }
+
+    @Test
+    void parse_ShouldReportHighConfidence_WhenTotalsReconcile() throws Exception {
+        ReceiptParseResult result = parser.parse(read("01-grocery-us.txt"));
+
+        assertEquals(0.98, result.getFieldConfidences().get(ReceiptParseResult.FIELD_TOTAL));
+        assertEquals(0.95, result.getFieldConfidences().get(ReceiptParseResult.FIELD_ITEMS));
+        assertTrue(result.getConfidence() > 0.9);
+    }
+
+    @Test
+    void parse_ShouldReportLowTotalConfidence_WhenTotalIsInferred() throws Exception {
+        ReceiptParseResult result = parser.parse(read("08-no-total-keyword.txt"));
+
+        assertEquals(0.4, result.getFieldConfidences().get(ReceiptParseResult.FIELD_TOTAL));
+        assertEquals(0.0, result.getFieldConfidences().get(ReceiptParseResult.FIELD_DATE));
+    }
+
+    @Test
+    void parse_ShouldReturnEmptyResult_WhenTextIsBlank() {
+        ReceiptParseResult result = parser.parse("");
+
+        assertEquals(ReceiptTextParser.UNKNOWN_STORE, result.getStoreName());
+        assertNull(result.getTotal());
+        assertNull(result.getDate());
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(0.0, result.getConfidence());
+    }
+
+    private String read(String fileName) throws IOException, URISyntaxException {
+        Path path = Paths.get(getClass().getResource(GOLDEN_DIRECTORY + "/" + fileName).toURI());
+        return Files.readString(path, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDateTime dateOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : LocalDateTime.parse(node.asText());
+    }
+
+    private static void assertAmount(JsonNode expected, BigDecimal actual) {
+        if (expected == null || expected.isNull()) {
+            assertNull(actual);
+        } else {
+            assertNotNull(actual);
+            assertEquals(0, new BigDecimal(expected.asText()).compareTo(actual),
+                    "expected " + expected.asText() + " but was " + actual);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.expensetracker.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoiceExpenseParserTest {
+
+    private static final String CORPUS = "/voice/corpus.tsv";
+    private static final Instant NOW = Instant.parse("2026-10-15T12:00:00Z");
+    private static final String PREFERRED_CURRENCY = "USD";
+
+    private final VoiceExpenseParser parser = new VoiceExpenseParser();
+
+    static Stream<Arguments> corpus() throws IOException {
+        return readCorpus().stream().map(columns -> Arguments.of((Object[]) columns));
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("corpus")
+    void parse_ShouldMatchLabeledCorpus(String language, String utterance, String amountMinor, String currency,
+                                        String merchant, String description, String daysBack) {
+        // When
+        VoiceParseResult result = parser.parse(utterance, PREFERRED_CURRENCY, language, NOW);
+
+        // Then
+        assertEquals(orNull(amountMinor) == null ? null : Long.valueOf(amountMinor), result.getAmountMinor(), "amount");
+        assertEquals(currency, result.getCurrency(), "currency");
+        assertEquals(orNull(merchant), result.getMerchant(), "merchant");
+        assertEquals(description, result.getDescription(), "description");
+        assertEquals(NOW.minus(Duration.ofDays(Long.parseLong(daysBack))), result.getOccurredAt(), "date");
+    }
+
+    @Test
+    void parseAll_ShouldMatchSingleParses_AcrossMixedLanguages() throws IOException {
+        // Given
+        List<String> utterances = readCorpus().stream()
+                .filter(columns -> columns[0].equals("auto"))
+                .map(columns -> columns[1])
+                .collect(Collectors.toList());
+
+        // When
+        List<VoiceParseResult> results = parser.parseAll(utterances, PREFERRED_CURRENCY, null, NOW);
+
+        // Then
+        assertEquals(utterances.size(), results.size());
+        for (int i = 0; i < utterances.size(); i++) {
+            VoiceParseResult single = parser.parse(utterances.get(i), PREFERRED_CURRENCY, null, NOW);
+            assertEquals(single.getAmountMinor(), results.get(i).getAmountMinor());
+            assertEquals(single.getCurrency(), results.get(i).getCurrency());
+            assertEquals(single.getMerchant(), results.get(i).getMerchant());
+            assertEquals(single.getDescription(), results.get(i).getDescription());
+            assertEquals(single.getLanguage(), results.get(i).getLanguage());
+        }
+    }
+
+    @Test
+    void parse_ShouldDetectLanguage() {
+        assertEquals(VoiceExpenseParser.LANGUAGE_ENGLISH,
+                parser.parse("I paid 5 dollars for parking", PREFERRED_CURRENCY, null, NOW).getLanguage());
+        assertEquals(VoiceExpenseParser.LANGUAGE_TURKISH,
+                parser.parse("otopark için 5 lira ödedim", PREFERRED_CURRENCY, null, NOW).getLanguage());
+    }
+
+    @Test
+    void parse_ShouldReportLowConfidence_WhenNothingIsRecognized() {
+        // When
+        VoiceParseResult result = parser.parse("I just paid", PREFERRED_CURRENCY, null, NOW);
+
+        // Then
+        assertNull(result.getAmountMinor());
+        assertFalse(result.isDescriptionRecognized());
+        assertEquals(0.0, result.getFieldConfidences().get(VoiceParseResult.FIELD_AMOUNT));
+        assertEquals(0.3, result.getFieldConfidences().get(VoiceParseResult.FIELD_DESCRIPTION));
+        assertEquals(0.5, result.getFieldConfidences().get(VoiceParseResult.FIELD_CURRENCY));
+    }
+
+    static List<String[]> readCorpus() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                VoiceExpenseParserTest.class.getResourceAsStream(CORPUS), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    rows.add(line.split("\t"));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String orNull(String column) {
+        return column.equals("-") ? null : column;
+    }
+}
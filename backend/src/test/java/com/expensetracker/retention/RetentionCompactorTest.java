@@ -0,0 +1,145 @@
+package com.expensetracker.retention;
+
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.ReceiptData;
+import com.expensetracker.domain.VoiceExpenseData;
+import com.expensetracker.service.UnreadNotificationCounter;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionCompactorTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T03:30:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @TempDir
+    Path archiveDirectory;
+
+    private ArchiveStore archiveStore;
+    private RetentionCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Notification.class)).thenReturn("notifications");
+        when(mongoTemplate.getCollectionName(ReceiptData.class)).thenReturn("receipt_data");
+        when(mongoTemplate.getCollectionName(VoiceExpenseData.class)).thenReturn("voice_expense_data");
+        archiveStore = new ArchiveStore(archiveDirectory.toString());
+        compactor = new RetentionCompactor(mongoTemplate, archiveStore, unreadCounter, new SimpleMeterRegistry(),
+                Duration.ofDays(90), Duration.ofDays(365), Duration.ofDays(180), Duration.ofDays(180),
+                Duration.ofDays(30), 2);
+    }
+
+    @Test
+    void compact_ShouldArchiveByMonthThenDelete_WhenDocumentsArePastWindow() {
+        // Given
+        Document march = notification("user-1", "2025-03-10T08:00:00Z", false);
+        Document marchRead = notification("user-2", "2025-03-28T08:00:00Z", true);
+        Document april = notification("user-3", "2025-04-02T08:00:00Z", false);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("notifications")))
+                .thenReturn(List.of(march, marchRead), List.of(april));
+
+        // When
+        int archived = compactor.compact("notifications", NOW);
+
+        // Then
+        assertEquals(3, archived);
+        Map<String, Integer> months = archiveStore.bundles().get("notifications");
+        assertEquals(Map.of("2025-03", 1, "2025-04", 1), months);
+        List<Document> restoredMarch = new ArrayList<>();
+        archiveStore.read("notifications", YearMonth.of(2025, 3), restoredMarch::add);
+        assertEquals(List.of(march.getObjectId("_id"), marchRead.getObjectId("_id")),
+                restoredMarch.stream().map(document -> document.getObjectId("_id")).toList());
+        assertEquals(march.get("createdAt"), restoredMarch.get(0).get("createdAt"));
+
+        verify(mongoTemplate, times(2)).remove(any(Query.class), eq("notifications"));
+        verify(unreadCounter).invalidate(Set.of("user-1"));
+        verify(unreadCounter).invalidate(Set.of("user-3"));
+    }
+
+    @Test
+    void restore_ShouldInsertOnlyTheUsersMissingDocuments_WhenUserIdGiven() {
+        // Given
+        Document receipt = new Document("_id", new ObjectId())
+                .append("userId", "user-1")
+                .append("totalAmount", new Decimal128(new BigDecimal("42.50")))
+                .append("createdAt", Date.from(Instant.parse("2025-01-15T10:00:00Z")));
+        Document otherUser = new Document("_id", new ObjectId())
+                .append("userId", "user-2")
+                .append("createdAt", Date.from(Instant.parse("2025-01-16T10:00:00Z")));
+        archiveStore.write("receipt_data", YearMonth.of(2025, 1), "part", List.of(receipt, otherUser));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "receipt_data")).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0,
+                List.of(new BulkWriteUpsert(0, new BsonObjectId(receipt.getObjectId("_id")))), List.of()));
+
+        // When
+        long restored = compactor.restore("receipt_data", "2025-01", "user-1");
+
+        // Then
+        assertEquals(1, restored);
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).upsert(filter.capture(), update.capture());
+        assertEquals(new Document("_id", receipt.getObjectId("_id")), filter.getValue().getQueryObject());
+        // Every field is set on insert only, so a live document is never overwritten
+        assertEquals(Set.of("$setOnInsert"), update.getValue().getUpdateObject().keySet());
+        Document written = update.getValue().getUpdateObject().get("$setOnInsert", Document.class);
+        assertEquals(new Decimal128(new BigDecimal("42.50")), written.get("totalAmount"));
+        assertNotNull(written.get("restoredAt"));
+        verify(bulkOperations).execute();
+        verifyNoInteractions(unreadCounter);
+    }
+
+    @Test
+    void restore_ShouldReject_WhenCollectionHasNoPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> compactor.restore("users", "2025-01", null));
+        assertThrows(IllegalArgumentException.class, () -> compactor.restore("receipt_data", "January", null));
+    }
+
+    private static Document notification(String userId, String createdAt, boolean read) {
+        return new Document("_id", new ObjectId())
+                .append("userId", userId)
+                .append("isRead", read)
+                .append("createdAt", Date.from(Instant.parse(createdAt)));
+    }
+}
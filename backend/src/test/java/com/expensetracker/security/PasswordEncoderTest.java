@@ -0,0 +1,68 @@
+package com.expensetracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void encode_ShouldProduceHashThatMatches() {
+        PasswordEncoder encoder = encoder(1024, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("correct horse");
+
+        assertTrue(encoder.matches("correct horse", hash));
+        assertFalse(encoder.matches("wrong horse", hash));
+        assertEquals(1, meterRegistry.get("security.password.hash").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_ShouldFailFast_WhenAllSlotsAreBusy() throws Exception {
+        // One slot, held by a slow hash while a second caller waits
+        PasswordEncoder encoder = encoder(64 * 1024, Duration.ofMillis(1));
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = callers.submit(() -> {
+                    start.await();
+                    return encoder.encode("password");
+                });
+            }
+            start.countDown();
+
+            int rejected = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(PasswordHashingUnavailableException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertTrue(rejected > 0, "expected at least one caller to be turned away");
+            assertEquals(rejected, meterRegistry.get("security.password.hash.rejected").counter().count());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private PasswordEncoder encoder(int memoryKib, Duration queueTimeout) {
+        // Budget equals one hash, so only one runs at a time
+        return new PasswordEncoder(meterRegistry, memoryKib, 2, 1, false, Duration.ofMillis(250),
+                Math.max(1, memoryKib / 1024), queueTimeout);
+    }
+}
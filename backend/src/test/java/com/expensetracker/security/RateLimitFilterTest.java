@@ -0,0 +1,79 @@
+package com.expensetracker.security;
+
+import com.expensetracker.service.RateLimitPolicy;
+import com.expensetracker.service.RateLimitService;
+import io.github.bucket4j.ConsumptionProbe;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitService rateLimitService = mock(RateLimitService.class);
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimitService);
+
+    @Test
+    void authRequest_ShouldBeRejectedWithRetryAfter_WhenBucketIsEmpty() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        when(rateLimitService.tryConsume(RateLimitPolicy.AUTH, "ip:203.0.113.7"))
+                .thenReturn(ConsumptionProbe.rejected(0, TimeUnit.MILLISECONDS.toNanos(4200), 0));
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("5", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void request_ShouldPass_WhenTokenIsAvailable() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/receipts/process");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        when(rateLimitService.tryConsume(eq(RateLimitPolicy.OCR), any())).thenReturn(ConsumptionProbe.consumed(19, 0));
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("19", response.getHeader("X-RateLimit-Remaining"));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void request_ShouldPass_WhenRateLimiterIsUnavailable() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reports/export");
+        MockFilterChain chain = new MockFilterChain();
+        when(rateLimitService.tryConsume(eq(RateLimitPolicy.EXPORT), any())).thenReturn(null);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void unlimitedPath_ShouldNotTouchRateLimiter() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/ledger"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(rateLimitService);
+    }
+}
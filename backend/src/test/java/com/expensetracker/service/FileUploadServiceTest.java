@@ -0,0 +1,105 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Attachment;
+import com.expensetracker.mongo.AttachmentFamilyBackfill;
+import com.expensetracker.repository.AttachmentRepository;
+import com.expensetracker.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileUploadServiceTest {
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AttachmentFamilyBackfill attachmentFamilyBackfill;
+
+    private FileUploadService fileUploadService;
+
+    @BeforeEach
+    void setUp() {
+        fileUploadService = new FileUploadService(attachmentRepository, userService, ledgerEntryRepository,
+                attachmentFamilyBackfill);
+        when(userService.getCurrentUserFamilyId("user-1")).thenReturn("family-1");
+    }
+
+    @Test
+    void getFileUrl_ShouldFindUnmigratedAttachment_WhenItsEntryBelongsToTheFamily() {
+        // Given
+        when(attachmentRepository.findByIdAndFamilyId("attachment-1", "family-1")).thenReturn(Optional.empty());
+        when(attachmentFamilyBackfill.isComplete()).thenReturn(false);
+        when(attachmentRepository.findById("attachment-1")).thenReturn(Optional.of(legacy("attachment-1", "entry-1")));
+        when(ledgerEntryRepository.existsByIdAndFamilyId("entry-1", "family-1")).thenReturn(true);
+
+        // When
+        String url = fileUploadService.getFileUrl("user-1", "attachment-1");
+
+        // Then
+        assertEquals("/api/v1/files/attachment-1/download", url);
+    }
+
+    @Test
+    void getFileUrl_ShouldRefuseUnmigratedAttachment_WhenItsEntryBelongsToAnotherFamily() {
+        // Given
+        when(attachmentRepository.findByIdAndFamilyId("attachment-1", "family-1")).thenReturn(Optional.empty());
+        when(attachmentFamilyBackfill.isComplete()).thenReturn(false);
+        when(attachmentRepository.findById("attachment-1")).thenReturn(Optional.of(legacy("attachment-1", "entry-9")));
+        when(ledgerEntryRepository.existsByIdAndFamilyId("entry-9", "family-1")).thenReturn(false);
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> fileUploadService.getFileUrl("user-1", "attachment-1"));
+    }
+
+    @Test
+    void getFileUrl_ShouldNotFallBack_WhenBackfillHasRun() {
+        // Given
+        when(attachmentRepository.findByIdAndFamilyId("attachment-1", "family-1")).thenReturn(Optional.empty());
+        when(attachmentFamilyBackfill.isComplete()).thenReturn(true);
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> fileUploadService.getFileUrl("user-1", "attachment-1"));
+        verify(attachmentRepository, never()).findById(any());
+    }
+
+    @Test
+    void getAttachmentsByLedgerEntry_ShouldIncludeUnmigratedAttachments_UntilBackfillHasRun() {
+        // Given
+        Attachment migrated = legacy("attachment-1", "entry-1");
+        migrated.setFamilyId("family-1");
+        when(attachmentRepository.findByFamilyIdAndLedgerEntryId("family-1", "entry-1")).thenReturn(List.of(migrated));
+        when(attachmentFamilyBackfill.isComplete()).thenReturn(false);
+        when(ledgerEntryRepository.existsByIdAndFamilyId("entry-1", "family-1")).thenReturn(true);
+        when(attachmentRepository.findByFamilyIdAndLedgerEntryId(null, "entry-1"))
+                .thenReturn(List.of(legacy("attachment-2", "entry-1")));
+
+        // When
+        List<Attachment> attachments = fileUploadService.getAttachmentsByLedgerEntry("user-1", "entry-1");
+
+        // Then
+        assertEquals(List.of("attachment-1", "attachment-2"), attachments.stream().map(Attachment::getId).toList());
+    }
+
+    private static Attachment legacy(String id, String ledgerEntryId) {
+        Attachment attachment = new Attachment();
+        attachment.setId(id);
+        attachment.setLedgerEntryId(ledgerEntryId);
+        return attachment;
+    }
+}
@@ -0,0 +1,60 @@
+package com.expensetracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MerchantCategoryIndexTest {
+
+    @Test
+    void suggest_ShouldReturnLearnedCategory() {
+        // Given
+        MerchantCategoryIndex index = new MerchantCategoryIndex();
+        index.record("Groceries", "cat-groceries", 2);
+        index.record("Receipt from Migros", "cat-groceries", 1);
+        index.record("Starbucks latte", "cat-coffee", 1);
+
+        // When & Then
+        assertEquals("cat-groceries", index.suggest("MIGROS TICARET"));
+        assertEquals("cat-coffee", index.suggest("Starbucks Coffee"));
+    }
+
+    @Test
+    void suggest_ShouldReturnNull_WhenTokenIsAmbiguousOrUnknown() {
+        // Given
+        MerchantCategoryIndex index = new MerchantCategoryIndex();
+        index.record("corner market", "cat-groceries", 1);
+        index.record("flea market", "cat-shopping", 1);
+        index.record("night market", "cat-dining", 1);
+
+        // When & Then
+        assertNull(index.suggest("market"));
+        assertNull(index.suggest("unknown merchant"));
+        assertNull(index.suggest(null));
+    }
+
+    @Test
+    void suggest_ShouldPreferMostFrequentCategory() {
+        // Given
+        MerchantCategoryIndex index = new MerchantCategoryIndex();
+        index.record("Shell", "cat-fuel", 1);
+        index.record("Shell", "cat-fuel", 1);
+        index.record("Shell", "cat-snacks", 1);
+
+        // When & Then
+        assertEquals("cat-fuel", index.suggest("SHELL #0917"));
+    }
+
+    @Test
+    void removeCategory_ShouldStopSuggestingIt() {
+        // Given
+        MerchantCategoryIndex index = new MerchantCategoryIndex();
+        index.record("Netflix", "cat-subscriptions", 1);
+
+        // When
+        index.removeCategory("cat-subscriptions");
+
+        // Then
+        assertNull(index.suggest("Netflix"));
+    }
+}
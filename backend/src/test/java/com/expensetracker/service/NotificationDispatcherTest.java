@@ -0,0 +1,173 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Budget;
+import com.expensetracker.domain.Notification;
+import com.expensetracker.domain.User;
+import com.expensetracker.email.EmailMessage;
+import com.expensetracker.email.EmailTransport;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T09:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private final List<List<EmailMessage>> sentBatches = new ArrayList<>();
+    private final EmailService emailService = new EmailService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@expensetracker.com");
+        ReflectionTestUtils.setField(emailService, "emailEnabled", true);
+        // Local stand-in transport: the weekly summaries bounce
+        EmailTransport transport = messages -> {
+            sentBatches.add(messages);
+            return Map.of("n-2", "452 mailbox full", "n-3", "452 mailbox full");
+        };
+        dispatcher = new NotificationDispatcher(mongoTemplate, userRepository, budgetRepository, emailService,
+                transport, meterRegistry, 100, 5, Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void dispatchBatch_ShouldSendClaimedBatchAndSettleEveryOutcome() {
+        // Given
+        Notification alert = notification("n-1", "u-1", Notification.NotificationType.BUDGET_ALERT, 0,
+                Map.of("budgetId", "b-1", "usagePercentage", 85.4));
+        Notification retried = notification("n-2", "u-1", Notification.NotificationType.WEEKLY_SUMMARY, 0,
+                Map.of("content", "Toplam: 1.250,00 TL"));
+        Notification exhausted = notification("n-3", "u-1", Notification.NotificationType.WEEKLY_SUMMARY, 4,
+                Map.of("content", "Toplam: 0 TL"));
+        Notification orphaned = notification("n-4", "u-gone", Notification.NotificationType.WEEKLY_SUMMARY, 0,
+                Map.of("content", "-"));
+        List<Notification> batch = List.of(alert, retried, exhausted, orphaned);
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(batch, batch);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user("u-1", "ayse@example.com")));
+        Budget budget = new Budget();
+        budget.setId("b-1");
+        budget.setName("Market");
+        when(budgetRepository.findByFamilyIdInAndIdIn(Set.of("f-1"), Set.of("b-1"))).thenReturn(List.of(budget));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class)).thenReturn(bulkOperations);
+
+        // When
+        int claimed = dispatcher.dispatchBatch(NOW);
+
+        // Then
+        assertEquals(4, claimed);
+        assertEquals(1, sentBatches.size());
+        List<EmailMessage> messages = sentBatches.get(0);
+        assertEquals(3, messages.size());
+        assertEquals("Bütçe Uyarısı - Market", messages.get(0).subject());
+        assertTrue(messages.get(0).body().contains("Market bütçenizin %85'ını kullandınız."));
+        assertTrue(messages.get(1).body().contains("Toplam: 1.250,00 TL"));
+        verify(userRepository, times(1)).findAllById(anyIterable());
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(4)).updateOne(any(Query.class), updates.capture());
+        verify(bulkOperations).execute();
+        Document sent = updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class);
+        assertEquals(true, sent.get("emailSent"));
+        assertEquals(Notification.EmailStatus.SENT, sent.get("emailStatus"));
+        Document retry = updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class);
+        assertEquals(1, retry.get("emailAttempts"));
+        assertEquals(NOW.plus(Duration.ofMinutes(1)), retry.get("nextAttemptAt"));
+        assertEquals("452 mailbox full", retry.get("lastEmailError"));
+        Document dead = updates.getAllValues().get(2).getUpdateObject().get("$set", Document.class);
+        assertEquals(Notification.EmailStatus.DEAD, dead.get("emailStatus"));
+        assertEquals(5, dead.get("emailAttempts"));
+        Document unrenderable = updates.getAllValues().get(3).getUpdateObject().get("$set", Document.class);
+        assertEquals(Notification.EmailStatus.DEAD, unrenderable.get("emailStatus"));
+        assertEquals(1.0, meterRegistry.counter("notifications.email", "outcome", "sent").count());
+        assertEquals(1.0, meterRegistry.counter("notifications.email", "outcome", "retried").count());
+        assertEquals(2.0, meterRegistry.counter("notifications.email", "outcome", "dead").count());
+    }
+
+    @Test
+    void dispatchBatch_ShouldClaimOnlyDueNotificationsAndStopWhenNoneAreLeft() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(List.of());
+
+        // When
+        int claimed = dispatcher.dispatchBatch(NOW);
+
+        // Then
+        assertEquals(0, claimed);
+        ArgumentCaptor<Query> due = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(due.capture(), eq(Notification.class));
+        Document filter = due.getValue().getQueryObject();
+        assertEquals(false, filter.get("emailSent"));
+        assertEquals(new Document("$lte", NOW), filter.get("nextAttemptAt"));
+        assertEquals(100, due.getValue().getLimit());
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Notification.class));
+        assertTrue(sentBatches.isEmpty());
+    }
+
+    @Test
+    void dispatch_ShouldNotTouchOutbox_WhenEmailIsDisabled() {
+        // Given
+        ReflectionTestUtils.setField(emailService, "emailEnabled", false);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Notification notification(String id, String userId, Notification.NotificationType type,
+                                             int attempts, Map<String, Object> data) {
+        Notification notification = new Notification(userId, "f-1", type, "title", "message");
+        notification.setId(id);
+        notification.setData(data);
+        notification.setEmailStatus(Notification.EmailStatus.PENDING);
+        notification.setEmailAttempts(attempts);
+        return notification;
+    }
+
+    private static User user(String id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,153 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Notification;
+import com.expensetracker.dto.notification.NotificationPageDTO;
+import com.expensetracker.events.FamilyEvent;
+import com.expensetracker.events.FamilyEventPublisher;
+import com.expensetracker.repository.NotificationRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T09:00:00Z");
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private FamilyEventPublisher familyEventPublisher;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationService(notificationRepository, new EmailService(), userService,
+                familyEventPublisher, mongoTemplate, unreadCounter);
+    }
+
+    @Test
+    void getUnreadNotifications_ShouldReturnNextCursor_WhenMoreRowsFollow() {
+        // Given
+        List<Notification> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(notification(new ObjectId().toHexString(), NOW.minusSeconds(i)));
+        }
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(rows);
+
+        // When
+        NotificationPageDTO page = notificationService.getUnreadNotifications("user-1", null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Notification.class));
+        assertEquals(3, query.getValue().getLimit());
+        assertEquals(new Document("createdAt", -1).append("_id", -1), query.getValue().getSortObject());
+        assertFalse(query.getValue().getFieldsObject().containsKey("data"));
+        assertEquals(false, query.getValue().getQueryObject().get("isRead"));
+
+        // When the cursor is passed back
+        NotificationService.Cursor cursor = NotificationService.Cursor.decode(page.getNextCursor());
+        notificationService.getUnreadNotifications("user-1", page.getNextCursor(), 2);
+
+        // Then the next page starts after the last row
+        assertEquals(rows.get(1).getCreatedAt(), cursor.createdAt());
+        assertEquals(rows.get(1).getId(), cursor.id());
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Notification.class));
+        assertTrue(query.getValue().getQueryObject().containsKey("$or"));
+    }
+
+    @Test
+    void getUserNotifications_ShouldReturnNoCursor_WhenLastPage() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Notification.class)))
+                .thenReturn(List.of(notification(new ObjectId().toHexString(), NOW)));
+
+        // When
+        NotificationPageDTO page = notificationService.getUserNotifications("user-1", null, 20);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getUserNotifications_ShouldReject_WhenCursorIsMalformed() {
+        assertThrows(IllegalArgumentException.class,
+                () -> notificationService.getUserNotifications("user-1", "not-a-cursor", 20));
+    }
+
+    @Test
+    void markAsRead_ShouldUpdateOnceAndDecrementCounter_WhenSeveralIdsGiven() {
+        // Given
+        List<String> ids = List.of(new ObjectId().toHexString(), new ObjectId().toHexString());
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+        when(userService.getCurrentUserFamilyId("user-1")).thenReturn("family-1");
+
+        // When
+        long updated = notificationService.markAsRead("user-1", ids);
+
+        // Then
+        assertEquals(2, updated);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).updateMulti(query.capture(), any(Update.class), eq(Notification.class));
+        assertEquals("user-1", query.getValue().getQueryObject().get("userId"));
+        verify(unreadCounter).decrement("user-1", 2);
+        verify(familyEventPublisher).publish(eq(FamilyEvent.Type.NOTIFICATION_READ), eq("family-1"), eq("user-1"), isNull());
+    }
+
+    @Test
+    void markAllAsRead_ShouldNotPublish_WhenNothingWasUnread() {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When
+        long updated = notificationService.markAllAsRead("user-1");
+
+        // Then
+        assertEquals(0, updated);
+        verifyNoInteractions(unreadCounter, familyEventPublisher);
+    }
+
+    private static Notification notification(String id, Instant createdAt) {
+        Notification notification = new Notification("user-1", "family-1", Notification.NotificationType.BUDGET_ALERT,
+                "Bütçe Uyarısı", "Bütçenizin %80'ını kullandınız");
+        notification.setId(id);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+}
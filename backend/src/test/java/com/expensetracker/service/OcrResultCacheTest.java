@@ -0,0 +1,91 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.ReceiptData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OcrResultCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OcrResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new OcrResultCache(redisTemplate, objectMapper, meterRegistry);
+    }
+
+    @Test
+    void get_ShouldCountHit_WhenEntryDecodes() throws Exception {
+        // Given
+        ReceiptData receiptData = new ReceiptData();
+        receiptData.setStoreName("Corner Market");
+        when(valueOperations.get(anyString())).thenReturn(
+                objectMapper.writeValueAsString(new OcrResultCache.CachedOcrResult("TOTAL 12.50", receiptData)));
+
+        // When
+        Optional<OcrResultCache.CachedOcrResult> result = cache.get("abc");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("TOTAL 12.50", result.get().getOcrText());
+        assertEquals("Corner Market", result.get().getReceiptData().getStoreName());
+        assertEquals(1.0, count("hit"));
+        assertEquals(0.0, count("miss"));
+        assertEquals(1.0, cache.hitRatio());
+    }
+
+    @Test
+    void get_ShouldCountMiss_WhenEntryIsAbsent() {
+        // Given
+        when(valueOperations.get(anyString())).thenReturn(null);
+
+        // When
+        Optional<OcrResultCache.CachedOcrResult> result = cache.get("abc");
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(0.0, count("hit"));
+        assertEquals(1.0, count("miss"));
+    }
+
+    @Test
+    void get_ShouldCountOnlyMiss_WhenEntryIsCorrupt() {
+        // Given
+        when(valueOperations.get(anyString())).thenReturn("{not json");
+
+        // When
+        Optional<OcrResultCache.CachedOcrResult> result = cache.get("abc");
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(0.0, count("hit"));
+        assertEquals(1.0, count("miss"));
+        assertEquals(0.0, cache.hitRatio());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("receipt.ocr.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,209 @@
+package com.expensetracker.service;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.Family;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.User;
+import com.expensetracker.dto.ledger.LedgerEntryResponse;
+import com.expensetracker.dto.reports.ReportSummaryDTO;
+import com.expensetracker.fx.FxRateProvider;
+import com.expensetracker.fx.FxRateService;
+import com.expensetracker.fx.FxRates;
+import com.expensetracker.repository.FamilyRepository;
+import com.expensetracker.repository.ReactiveCategoryRepository;
+import com.expensetracker.repository.ReactiveFamilyRepository;
+import com.expensetracker.repository.ReactiveLedgerEntryRepository;
+import com.expensetracker.repository.ReactiveUserRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveReadServiceTest {
+
+    private static final FxRateProvider STUB_PROVIDER = () -> new FxRates("USD", Instant.parse("2026-10-01T00:00:00Z"),
+            Map.of("EUR", new BigDecimal("0.80")));
+
+    @Mock
+    private ReactiveLedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private ReactiveCategoryRepository categoryRepository;
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private ReactiveFamilyRepository familyRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReactiveReadService reactiveReadService;
+
+    @BeforeEach
+    void setUp() {
+        FxRateService fxRateService = new FxRateService(STUB_PROVIDER, mock(FamilyRepository.class), "USD");
+        reactiveReadService = new ReactiveReadService(ledgerEntryRepository, categoryRepository,
+                userRepository, familyRepository, fxRateService, meterRegistry);
+    }
+
+    @Test
+    void generateReport_ShouldAggregateInFamilyCurrency() {
+        // Given
+        givenUserInFamily();
+        when(familyRepository.findById("family1")).thenReturn(Mono.just(new Family("Family", "EUR")));
+        when(ledgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(eq("family1"), any(), any()))
+                .thenReturn(Flux.just(
+                        entry("1", LedgerEntry.TransactionType.INCOME, 10000, "USD", "2026-09-01T10:00:00Z"),
+                        entry("2", LedgerEntry.TransactionType.EXPENSE, 2500, "USD", "2026-09-15T10:00:00Z"),
+                        entry("3", LedgerEntry.TransactionType.EXPENSE, 1000, "EUR", "2026-10-02T10:00:00Z")));
+
+        // When
+        ReportSummaryDTO report = reactiveReadService
+                .generateReport("user123", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 10, 31))
+                .block();
+
+        // Then
+        assertNotNull(report);
+        assertEquals("EUR", report.getCurrency());
+        assertEquals(8000L, report.getTotalIncomeMinor());
+        assertEquals(3000L, report.getTotalExpensesMinor());
+        assertEquals(5000L, report.getBalanceMinor());
+        assertEquals(2, report.getPerMonth().size());
+        assertEquals(List.of("3", "2", "1"),
+                report.getRecentTransactions().stream().map(ReportSummaryDTO.TransactionSummaryDTO::getId).toList());
+    }
+
+    @Test
+    void generateReport_ShouldSkipAndFlagEntries_WhenCurrencyHasNoRate() {
+        // Given
+        givenUserInFamily();
+        when(familyRepository.findById("family1")).thenReturn(Mono.just(new Family("Family", "EUR")));
+        when(ledgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(eq("family1"), any(), any()))
+                .thenReturn(Flux.just(
+                        entry("1", LedgerEntry.TransactionType.EXPENSE, 2500, "USD", "2026-09-15T10:00:00Z"),
+                        entry("2", LedgerEntry.TransactionType.EXPENSE, 9900, "CHF", "2026-09-16T10:00:00Z"),
+                        entry("3", LedgerEntry.TransactionType.EXPENSE, 1000, "EUR", "2026-09-17T10:00:00Z"),
+                        entry("4", LedgerEntry.TransactionType.INCOME, 5000, "CHF", "2026-09-18T10:00:00Z")));
+
+        // When
+        ReportSummaryDTO report = reactiveReadService
+                .generateReport("user123", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30))
+                .block();
+
+        // Then
+        assertNotNull(report);
+        assertEquals(3000L, report.getTotalExpensesMinor());
+        assertEquals(0L, report.getTotalIncomeMinor());
+        assertEquals(2L, report.getUnconvertedEntries());
+        assertEquals(List.of("CHF"), report.getUnconvertedCurrencies());
+        assertEquals(List.of("3", "1"),
+                report.getRecentTransactions().stream().map(ReportSummaryDTO.TransactionSummaryDTO::getId).toList());
+    }
+
+    @Test
+    void generateReport_ShouldFail_WhenUserHasNoFamily() {
+        // Given
+        User loner = new User("loner@example.com", "hashedPassword");
+        when(userRepository.findById("loner")).thenReturn(Mono.just(loner));
+
+        // When & Then
+        Mono<ReportSummaryDTO> report = reactiveReadService
+                .generateReport("loner", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30));
+        RuntimeException exception = assertThrows(RuntimeException.class, report::block);
+        assertEquals("User must belong to a family to generate reports", exception.getMessage());
+    }
+
+    @Test
+    void exportCsv_ShouldStreamHeaderThenOneLinePerEntry() {
+        // Given
+        givenUserInFamily();
+        LedgerEntry lunch = entry("1", LedgerEntry.TransactionType.EXPENSE, 1250, "USD", "2026-09-15T10:00:00Z");
+        lunch.setNotes("Lunch \"downtown\"");
+        when(ledgerEntryRepository.findByFamilyIdAndOccurredAtBetweenAndDeletedAtIsNull(eq("family1"), any(), any()))
+                .thenReturn(Flux.just(lunch));
+
+        // When
+        List<String> lines = reactiveReadService
+                .exportCsv("user123", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30))
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(List.of(
+                "Date,Type,Amount,Currency,Category,Member,Description\n",
+                "2026-09-15,EXPENSE,12.5,USD,groceries,user123,\"Lunch \"\"downtown\"\"\"\n"), lines);
+    }
+
+    @Test
+    void generateReport_ShouldTimeInvocationUntilPublisherTerminates() {
+        // Given
+        User loner = new User("loner@example.com", "hashedPassword");
+        when(userRepository.findById("loner")).thenReturn(Mono.just(loner));
+        Mono<ReportSummaryDTO> report = reactiveReadService
+                .generateReport("loner", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30));
+        assertNull(meterRegistry.find("service.invocations").timer());
+
+        // When
+        assertThrows(RuntimeException.class, report::block);
+
+        // Then
+        Timer timer = meterRegistry.get("service.invocations")
+                .tag("method", "generateReport")
+                .tag("exception", "RuntimeException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void getRecentEntries_ShouldResolveCategoryNamesWithOneQuery() {
+        // Given
+        givenUserInFamily();
+        Category groceries = new Category("family1", "Groceries", Category.CategoryType.EXPENSE);
+        groceries.setId("groceries");
+        when(categoryRepository.findByFamilyId("family1")).thenReturn(Flux.just(groceries));
+        LedgerEntry orphan = entry("2", LedgerEntry.TransactionType.EXPENSE, 500, "USD", "2026-09-14T10:00:00Z");
+        orphan.setCategoryId("deleted");
+        when(ledgerEntryRepository.findTop5ByFamilyIdAndDeletedAtIsNullOrderByOccurredAtDesc("family1"))
+                .thenReturn(Flux.just(entry("1", LedgerEntry.TransactionType.EXPENSE, 1250, "USD", "2026-09-15T10:00:00Z"), orphan));
+
+        // When
+        List<LedgerEntryResponse> entries = reactiveReadService.getRecentEntries("user123").collectList().block();
+
+        // Then
+        assertNotNull(entries);
+        assertEquals(List.of("Groceries", "Unknown"), entries.stream().map(LedgerEntryResponse::getCategoryName).toList());
+    }
+
+    private void givenUserInFamily() {
+        User user = new User("test@example.com", "hashedPassword");
+        user.setId("user123");
+        user.getFamilies().add(new User.FamilyMembership("family1", User.Role.ADMIN));
+        when(userRepository.findById("user123")).thenReturn(Mono.just(user));
+    }
+
+    private static LedgerEntry entry(String id, LedgerEntry.TransactionType type, long minor, String currency, String at) {
+        LedgerEntry entry = new LedgerEntry("family1", "user123", type, new LedgerEntry.MoneyAmount(minor, currency),
+                "groceries", Instant.parse(at));
+        entry.setId(id);
+        entry.setCreatedAt(Instant.parse(at));
+        return entry;
+    }
+}
@@ -0,0 +1,109 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the counter's scripts on a real server, with writes landing while a recount is in flight.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UnreadNotificationCounterContainerTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+        counter = new UnreadNotificationCounter(redisTemplate, notificationRepository, Duration.ofDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void get_ShouldStoreCountAndApplyLaterWrites() {
+        // Given
+        when(notificationRepository.countByUserIdAndIsRead("user-1", false)).thenReturn(3L);
+
+        // When
+        long first = counter.get("user-1");
+        counter.increment("user-1");
+        counter.decrement("user-1", 10);
+
+        // Then
+        assertEquals(3, first);
+        assertEquals(0, counter.get("user-1"));
+        verify(notificationRepository, times(1)).countByUserIdAndIsRead("user-1", false);
+        assertTrue(redisTemplate.getExpire("notifications:unread:user-1") > 0);
+    }
+
+    @Test
+    void get_ShouldNotStoreCount_WhenIncrementLandsDuringTheCount() {
+        // Given: a notification is created after Mongo counted but before the count is stored
+        when(notificationRepository.countByUserIdAndIsRead("user-1", false))
+                .thenAnswer(invocation -> {
+                    counter.increment("user-1");
+                    return 3L;
+                })
+                .thenReturn(4L);
+
+        // When
+        long raced = counter.get("user-1");
+        long next = counter.get("user-1");
+
+        // Then
+        assertEquals(3, raced);
+        assertEquals(4, next);
+        assertEquals("4", redisTemplate.opsForValue().get("notifications:unread:user-1"));
+        assertEquals(4, counter.get("user-1"));
+        verify(notificationRepository, times(2)).countByUserIdAndIsRead("user-1", false);
+    }
+
+    @Test
+    void get_ShouldNotStoreCount_WhenInvalidatedDuringTheCount() {
+        // Given
+        when(notificationRepository.countByUserIdAndIsRead("user-1", false))
+                .thenAnswer(invocation -> {
+                    counter.invalidate(Set.of("user-1"));
+                    return 5L;
+                })
+                .thenReturn(0L);
+
+        // When
+        counter.get("user-1");
+
+        // Then
+        assertNull(redisTemplate.opsForValue().get("notifications:unread:user-1"));
+        assertEquals(0, counter.get("user-1"));
+    }
+}
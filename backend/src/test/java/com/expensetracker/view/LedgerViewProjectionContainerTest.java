@@ -0,0 +1,151 @@
+package com.expensetracker.view;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.LedgerView;
+import com.expensetracker.domain.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the projection pipeline on a real server, with the template's write events wired to the
+ * projector as the application context would.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerViewProjectionContainerTest {
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private LedgerViewProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(MONGO.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "ledger-view");
+        mongoTemplate.getDb().drop();
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        for (IndexDefinition index : new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(LedgerView.class)) {
+            mongoTemplate.indexOps(LedgerView.class).ensureIndex(index);
+        }
+        projector = new LedgerViewProjector(mongoTemplate, new SimpleMeterRegistry());
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.addApplicationListener(projector);
+        context.refresh();
+        mongoTemplate.setApplicationContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void writes_ShouldKeepViewRowsDenormalized() {
+        // Given
+        User member = mongoTemplate.save(new User("ayse@example.com", "hash"));
+        Category category = new Category("family-1", "Market", Category.CategoryType.EXPENSE);
+        category.setIcon("cart");
+        category = mongoTemplate.save(category);
+
+        // When
+        LedgerEntry entry = mongoTemplate.save(new LedgerEntry("family-1", member.getId(),
+                LedgerEntry.TransactionType.EXPENSE, new LedgerEntry.MoneyAmount(1250L, "TRY"), category.getId(),
+                Instant.parse("2026-10-01T10:00:00Z")));
+        category.setName("Groceries");
+        mongoTemplate.save(category);
+
+        // Then
+        LedgerView row = mongoTemplate.findById(entry.getId(), LedgerView.class);
+        assertNotNull(row);
+        assertEquals(1250L, row.getAmountMinor());
+        assertEquals("TRY", row.getCurrency());
+        assertEquals("Groceries", row.getCategoryName());
+        assertEquals("cart", row.getCategoryIcon());
+        assertEquals("ayse@example.com", row.getMemberName());
+
+        // When
+        entry.setDeletedAt(Instant.now());
+        entry.setUpdatedAt(entry.getDeletedAt());
+        mongoTemplate.save(entry);
+
+        // Then
+        LedgerView tombstone = mongoTemplate.findById(entry.getId(), LedgerView.class);
+        assertNotNull(tombstone);
+        assertNotNull(tombstone.getDeletedAt());
+    }
+
+    @Test
+    void project_ShouldKeepTombstone_WhenUpdateReadBeforeTheDeleteLandsAfterIt() {
+        // Given
+        User member = mongoTemplate.save(new User("ayse@example.com", "hash"));
+        LedgerEntry entry = mongoTemplate.save(new LedgerEntry("family-1", member.getId(),
+                LedgerEntry.TransactionType.EXPENSE, new LedgerEntry.MoneyAmount(1250L, "TRY"), "category-1",
+                Instant.parse("2026-10-01T10:00:00Z")));
+        entry.setDeletedAt(Instant.now());
+        entry.setUpdatedAt(entry.getDeletedAt());
+        mongoTemplate.save(entry);
+
+        // When: an update's aggregation saw the entry live, as if it read the ledger before the delete
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(entry.getId())),
+                new Update().unset("deletedAt").set("updatedAt", entry.getCreatedAt()), LedgerEntry.class);
+        projector.project(entry);
+
+        // Then
+        LedgerView row = mongoTemplate.findById(entry.getId(), LedgerView.class);
+        assertNotNull(row);
+        assertNotNull(row.getDeletedAt());
+
+        // And a rebuild keeps the tombstone rather than dropping it as stale
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(entry.getId())),
+                new Update().set("deletedAt", entry.getDeletedAt()).set("updatedAt", entry.getDeletedAt()),
+                LedgerEntry.class);
+        projector.rebuild("family-1");
+        assertNotNull(mongoTemplate.findById(entry.getId(), LedgerView.class).getDeletedAt());
+    }
+
+    @Test
+    void rebuild_ShouldRestoreMissingRowsAndDropStaleOnes() {
+        // Given
+        LedgerEntry kept = projector.bulkLoad(() -> mongoTemplate.save(new LedgerEntry("family-1", "member-1",
+                LedgerEntry.TransactionType.INCOME, new LedgerEntry.MoneyAmount(500000L, "TRY"), "missing",
+                Instant.parse("2026-10-01T10:00:00Z"))));
+        LedgerView orphan = new LedgerView();
+        orphan.setId("orphan");
+        orphan.setFamilyId("family-1");
+        orphan.setProjectedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        mongoTemplate.insert(orphan);
+        mongoTemplate.remove(mongoTemplate.findById(kept.getId(), LedgerView.class));
+
+        // When
+        long removed = projector.rebuild("family-1");
+
+        // Then
+        assertEquals(1, removed);
+        LedgerView row = mongoTemplate.findById(kept.getId(), LedgerView.class);
+        assertNotNull(row);
+        assertEquals("Unknown", row.getCategoryName());
+    }
+}
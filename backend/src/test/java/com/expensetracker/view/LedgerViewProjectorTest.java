@@ -0,0 +1,236 @@
+package com.expensetracker.view;
+
+import com.expensetracker.domain.Category;
+import com.expensetracker.domain.LedgerEntry;
+import com.expensetracker.domain.LedgerView;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerViewProjectorTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T09:00:00Z");
+    private static final String ENTRY_ID = "6710a1b2c3d4e5f601234567";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> ledger;
+
+    @Mock
+    private AggregateIterable<Document> aggregation;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerViewProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        projector = new LedgerViewProjector(mongoTemplate, meterRegistry);
+    }
+
+    @Test
+    void pipeline_ShouldMergeLiveEntriesOnTheShardKeyKeepingNewerRows() {
+        // When
+        List<Document> pipeline = LedgerViewProjector.pipeline(new Document("familyId", "family-1"), NOW);
+
+        // Then
+        assertEquals(List.of("$match", "$lookup", "$lookup", "$project", "$merge"),
+                pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList());
+        // Soft-deleted entries are projected as tombstones rather than filtered out
+        assertEquals(new Document("familyId", "family-1"), pipeline.get(0).get("$match", Document.class));
+
+        Document row = pipeline.get(3).get("$project", Document.class);
+        assertEquals("$amount.minor", row.get("amountMinor"));
+        assertEquals(1, row.get("deletedAt"));
+        assertEquals(new Document("$literal", Date.from(NOW)), row.get("projectedAt"));
+
+        Document merge = pipeline.get(4).get("$merge", Document.class);
+        assertEquals("ledger_view", merge.get("into"));
+        assertEquals(List.of("familyId", "_id"), merge.get("on"));
+        assertEquals("insert", merge.get("whenNotMatched"));
+        // Tombstones and rows of newer entries are kept
+        List<Object> cond = merge.getList("whenMatched", Document.class).get(0)
+                .get("$replaceWith", Document.class).getList("$cond", Object.class);
+        List<Document> keep = ((Document) cond.get(0)).getList("$or", Document.class);
+        assertTrue(keep.get(0).toJson().contains("$deletedAt"));
+        assertTrue(keep.get(1).containsKey("$gt"));
+    }
+
+    @Test
+    void onAfterSave_ShouldProjectOnlyTheSavedEntry_WhenEntryIsLive() {
+        // Given
+        when(mongoTemplate.getCollection("ledger")).thenReturn(ledger);
+        when(ledger.aggregate(anyList())).thenReturn(aggregation);
+
+        // When
+        projector.onAfterSave(saved(entry(null)));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Document>> pipeline = ArgumentCaptor.forClass(List.class);
+        verify(ledger).aggregate(pipeline.capture());
+        verify(aggregation).toCollection();
+        Document match = pipeline.getValue().get(0).get("$match", Document.class);
+        assertEquals("family-1", match.get("familyId"));
+        assertEquals(new ObjectId(ENTRY_ID), match.get("_id"));
+        assertEquals(1.0, meterRegistry.counter("ledger.view.projections", "outcome", "projected").count());
+    }
+
+    @Test
+    void onAfterSave_ShouldProjectTombstone_WhenEntryIsSoftDeleted() {
+        // Given
+        when(mongoTemplate.getCollection("ledger")).thenReturn(ledger);
+        when(ledger.aggregate(anyList())).thenReturn(aggregation);
+
+        // When
+        projector.onAfterSave(saved(entry(NOW)));
+
+        // Then
+        verify(ledger).aggregate(anyList());
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(LedgerView.class));
+        assertEquals(1.0, meterRegistry.counter("ledger.view.projections", "outcome", "removed").count());
+    }
+
+    @Test
+    void onAfterSave_ShouldCopyCategoryIntoItsRows_WhenCategoryIsEdited() {
+        // Given
+        Category category = new Category("family-1", "Market", Category.CategoryType.EXPENSE);
+        category.setId("category-1");
+        category.setIcon("cart");
+        category.setColor("#00AA00");
+
+        // When
+        projector.onAfterSave(saved(category));
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(LedgerView.class));
+        assertEquals(new Document("familyId", "family-1").append("categoryId", "category-1"), query.getValue().getQueryObject());
+        assertEquals(new Document("categoryName", "Market").append("categoryIcon", "cart").append("categoryColor", "#00AA00"),
+                update.getValue().getUpdateObject().get("$set", Document.class));
+    }
+
+    @Test
+    void onAfterSave_ShouldNotFailTheWrite_WhenProjectionFails() {
+        // Given
+        when(mongoTemplate.getCollection("ledger")).thenThrow(new IllegalStateException("connection reset"));
+
+        // When
+        assertDoesNotThrow(() -> projector.onAfterSave(saved(entry(null))));
+
+        // Then
+        assertEquals(1.0, meterRegistry.counter("ledger.view.projections", "outcome", "failed").count());
+    }
+
+    @Test
+    void rebuild_ShouldMarkViewReady_WhenAllFamiliesAreRebuilt() {
+        // Given
+        stubRebuild();
+        assertFalse(projector.isReady());
+
+        // When
+        projector.rebuild("family-1");
+        boolean readyAfterFamily = projector.isReady();
+        projector.rebuild(null);
+
+        // Then
+        assertFalse(readyAfterFamily);
+        assertTrue(projector.isReady());
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq("ledger_view_state"));
+        assertEquals(1.0, meterRegistry.counter("ledger.view.rebuilds", "scope", "all").count());
+        assertEquals(1.0, meterRegistry.counter("ledger.view.rebuilds", "scope", "family").count());
+    }
+
+    @Test
+    void reconcile_ShouldRebuildFamilyOfFailedProjection_UntilItSucceeds() {
+        // Given
+        stubRebuild();
+        projector.rebuild(null);
+        clearInvocations(ledger);
+        when(mongoTemplate.getCollection("ledger"))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(ledger);
+        projector.onAfterSave(saved(entry(null)));
+
+        // When
+        projector.reconcile();
+        projector.reconcile();
+        projector.reconcile();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Document>> pipeline = ArgumentCaptor.forClass(List.class);
+        verify(ledger, times(1)).aggregate(pipeline.capture());
+        assertEquals(new Document("familyId", "family-1"), pipeline.getValue().get(0).get("$match", Document.class));
+        assertEquals(1.0, meterRegistry.counter("ledger.view.rebuilds", "scope", "family").count());
+    }
+
+    @Test
+    void bulkLoad_ShouldSkipPerEntryProjectionsAndRebuildOnce() {
+        // Given
+        when(mongoTemplate.getCollection("ledger")).thenReturn(ledger);
+        when(ledger.aggregate(anyList())).thenReturn(aggregation);
+        when(aggregation.allowDiskUse(true)).thenReturn(aggregation);
+        when(mongoTemplate.remove(any(Query.class), eq(LedgerView.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        // When
+        int loaded = projector.bulkLoad(() -> {
+            projector.onAfterSave(saved(entry(null)));
+            projector.onAfterSave(saved(entry(null)));
+            return 2;
+        });
+
+        // Then
+        assertEquals(2, loaded);
+        verify(ledger, times(1)).aggregate(anyList());
+        verify(aggregation).allowDiskUse(true);
+        assertEquals(0.0, meterRegistry.counter("ledger.view.projections", "outcome", "projected").count());
+    }
+
+    private void stubRebuild() {
+        when(mongoTemplate.getCollection("ledger")).thenReturn(ledger);
+        when(ledger.aggregate(anyList())).thenReturn(aggregation);
+        when(aggregation.allowDiskUse(true)).thenReturn(aggregation);
+        when(mongoTemplate.remove(any(Query.class), eq(LedgerView.class))).thenReturn(DeleteResult.acknowledged(0));
+    }
+
+    private static LedgerEntry entry(Instant deletedAt) {
+        LedgerEntry entry = new LedgerEntry("family-1", "member-1", LedgerEntry.TransactionType.EXPENSE,
+                new LedgerEntry.MoneyAmount(1250L, "TRY"), "category-1", NOW);
+        entry.setId(ENTRY_ID);
+        entry.setDeletedAt(deletedAt);
+        return entry;
+    }
+
+    private static AfterSaveEvent<Object> saved(Object source) {
+        return new AfterSaveEvent<>(source, new Document(), "collection");
+    }
+}
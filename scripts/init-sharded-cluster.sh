@@ -0,0 +1,44 @@
+#!/bin/bash
+
+# Expense Tracker Sharded Cluster Setup
+# Initiates the config server and shard replica sets of docker-compose.sharded.yml and adds both
+# shards to the mongos. Safe to run again; members and shards that already exist are kept.
+
+set -e
+
+wait_for() {
+    for i in {1..60}; do
+        if mongosh --quiet "mongodb://$1" --eval 'db.adminCommand({ ping: 1 }).ok' >/dev/null 2>&1; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "❌ $1 did not come up"
+    exit 1
+}
+
+initiate() {
+    wait_for "$2"
+    mongosh --quiet "mongodb://$2" --eval "
+        try { rs.status(); } catch (e) {
+            rs.initiate({ _id: '$1', $3 members: [{ _id: 0, host: '$2' }] });
+        }
+        while (!db.hello().isWritablePrimary) { sleep(500); }"
+    echo "✅ Replica set $1 ready"
+}
+
+initiate configrs configsvr:27019 "configsvr: true,"
+initiate shard1rs shard1:27018
+initiate shard2rs shard2:27018
+
+wait_for mongos:27017
+mongosh --quiet "mongodb://mongos:27017" --eval "
+    const existing = db.adminCommand({ listShards: 1 }).shards.map(shard => shard._id);
+    for (const shard of ['shard1rs/shard1:27018', 'shard2rs/shard2:27018']) {
+        if (!existing.includes(shard.split('/')[0])) {
+            sh.addShard(shard);
+        }
+    }
+    printjson(db.adminCommand({ listShards: 1 }).shards.map(shard => shard._id));"
+
+echo "🎉 Sharded cluster ready at localhost:27117"
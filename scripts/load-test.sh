@@ -0,0 +1,86 @@
+#!/bin/bash
+
+# Expense Tracker Load Test
+# Compares platform and virtual thread request handling at 1k, 5k and 10k concurrent
+# connections. Start the backend once with VIRTUAL_THREADS_ENABLED=false and once with
+# VIRTUAL_THREADS_ENABLED=true, run this script against each and compare the summaries.
+#
+# STACK=reactive targets the /api/v1/reactive read routes instead of the MVC controllers
+# (start the backend with REACTIVE_READS_ENABLED=true). Throughput is also reported per
+# server core; set SERVER_CORES when the backend runs on another machine.
+#
+# Requires wrk, curl and jq. Raise the open file limit first (ulimit -n 65536).
+
+set -e  # Exit on any error
+
+BASE_URL="${BASE_URL:-http://localhost:8080/api/v1}"
+MODE="${MODE:-unknown}"
+DURATION="${DURATION:-60s}"
+THREADS="${THREADS:-8}"
+CONNECTIONS="${CONNECTIONS:-1000 5000 10000}"
+EMAIL="${EMAIL:-loadtest@example.com}"
+PASSWORD="${PASSWORD:-loadtest123}"
+RESULTS_DIR="${RESULTS_DIR:-load-test-results}"
+STACK="${STACK:-mvc}"
+SERVER_CORES="${SERVER_CORES:-$(nproc)}"
+
+if [ "$STACK" = "reactive" ]; then
+    READ_URL="$BASE_URL/reactive"
+else
+    READ_URL="$BASE_URL"
+fi
+
+if ! command -v wrk &> /dev/null; then
+    echo "wrk is required for load tests. Please install wrk."
+    exit 1
+fi
+
+echo "🏋️ Starting Expense Tracker Load Test (mode: $MODE, stack: $STACK)"
+echo "======================================="
+
+# Sign up, or log in when the user already exists from a previous run
+TOKEN_RESPONSE=$(curl -s -X POST "$BASE_URL/auth/signup" \
+    -H "Content-Type: application/json" \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}")
+ACCESS_TOKEN=$(echo "$TOKEN_RESPONSE" | jq -r '.accessToken // empty')
+if [ -z "$ACCESS_TOKEN" ]; then
+    TOKEN_RESPONSE=$(curl -s -X POST "$BASE_URL/auth/login" \
+        -H "Content-Type: application/json" \
+        -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}")
+    ACCESS_TOKEN=$(echo "$TOKEN_RESPONSE" | jq -r '.accessToken // empty')
+fi
+if [ -z "$ACCESS_TOKEN" ]; then
+    echo "❌ Could not obtain an access token: $TOKEN_RESPONSE"
+    exit 1
+fi
+
+# Make sure the user has a family so ledger reads hit MongoDB
+curl -s -X POST "$BASE_URL/families" \
+    -H "Content-Type: application/json" \
+    -H "Authorization: Bearer $ACCESS_TOKEN" \
+    -d '{"name":"Load Test Family","currency":"USD"}' > /dev/null
+
+mkdir -p "$RESULTS_DIR"
+
+TODAY=$(date +%Y-%m-%d)
+YEAR_AGO=$(date -d "1 year ago" +%Y-%m-%d 2>/dev/null || date -v-1y +%Y-%m-%d)
+
+# MongoDB read on every request: a ledger page and a year long report
+for route in "ledger?page=0&size=20" "reports/summary?startDate=$YEAR_AGO&endDate=$TODAY"; do
+    name="${route%%\?*}"
+    name="${name//\//-}"
+    for c in $CONNECTIONS; do
+        result="$RESULTS_DIR/$MODE-$STACK-$name-$c.txt"
+        echo ""
+        echo "📈 GET /$route with $c connections for $DURATION..."
+        wrk -t"$THREADS" -c"$c" -d"$DURATION" --latency --timeout 10s \
+            -H "Authorization: Bearer $ACCESS_TOKEN" \
+            "$READ_URL/$route" | tee "$result"
+        per_core=$(awk -v cores="$SERVER_CORES" '/^Requests\/sec:/ { printf "Requests/sec/core: %.1f (%d cores)", $2 / cores, cores }' "$result")
+        echo "$per_core" | tee -a "$result"
+    done
+done
+
+echo ""
+echo "✅ Load test complete! Results written to $RESULTS_DIR/$MODE-$STACK-*.txt"
+echo "   Compare Requests/sec/core, the latency percentiles and socket errors between runs."